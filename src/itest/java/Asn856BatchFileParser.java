@@ -19,8 +19,6 @@ public class Asn856BatchFileParser extends BatchFileParser {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Asn856BatchFileParser.class);
     
-    private Path targetFile;
-    
     public static void main(String[] args) throws IOException {
         BatchFileParser bfp = new Asn856BatchFileParser();
         bfp.verifyArgsAndRun(bfp, args);
@@ -34,13 +32,14 @@ public class Asn856BatchFileParser extends BatchFileParser {
     
     @Override
     protected void checkDocument(StandardX12Document x12Doc, Path sourceFileName, Path okFolder) {
-        this.createCheckDocumentFile(sourceFileName, okFolder);
-        this.examineDocument(x12Doc);
+        // files are checked in parallel so the target file is passed along
+        Path targetFile = this.createCheckDocumentFile(sourceFileName, okFolder);
+        this.examineDocument(x12Doc, targetFile);
     }
     
-    private void createCheckDocumentFile(Path sourceFileName, Path okFolder) {
+    private Path createCheckDocumentFile(Path sourceFileName, Path okFolder) {
         // set the name of the file
-        this.targetFile = okFolder.resolve(sourceFileName + ".transactions.txt");
+        Path targetFile = okFolder.resolve(sourceFileName + ".transactions.txt");
         
         // open it for writing
         try {
@@ -50,9 +49,10 @@ public class Asn856BatchFileParser extends BatchFileParser {
            LOGGER.error(e.getMessage(), e);
         }
         
+        return targetFile;
     }
     
-    private void writeTransactionToFile(StringBuilder sb) {
+    private void writeTransactionToFile(Path targetFile, StringBuilder sb) {
         try {
             
             Files.write(targetFile, sb.toString().getBytes(), StandardOpenOption.APPEND);
@@ -62,21 +62,21 @@ public class Asn856BatchFileParser extends BatchFileParser {
         }        
     }
     
-    private void examineDocument(StandardX12Document x12Doc) {
+    private void examineDocument(StandardX12Document x12Doc, Path targetFile) {
         List<X12Group> groups = x12Doc.getGroups();
         if (!CollectionUtils.isEmpty(groups)) {
-            groups.forEach(this::checkGroup);
+            groups.forEach(group -> this.checkGroup(group, targetFile));
         }
     }
     
-    private void checkGroup(X12Group group) {
+    private void checkGroup(X12Group group, Path targetFile) {
         List<X12TransactionSet> transactions = group.getTransactions();
         if (!CollectionUtils.isEmpty(transactions)) {
-            transactions.forEach(this::checkTransaction);
+            transactions.forEach(transaction -> this.checkTransaction(transaction, targetFile));
         }
     }
     
-    private void checkTransaction(X12TransactionSet transaction) {
+    private void checkTransaction(X12TransactionSet transaction, Path targetFile) {
         if ("856".equals(transaction.getTransactionSetIdentifierCode())) {
             StringBuilder sb = new StringBuilder();
             sb.append("\r\n");
@@ -110,7 +110,7 @@ public class Asn856BatchFileParser extends BatchFileParser {
                 
             LOGGER.info(sb.toString());
                 
-            this.writeTransactionToFile(sb);
+            this.writeTransactionToFile(targetFile, sb);
             
         }
             
@@ -38,6 +38,8 @@ public abstract class AbstractX12TransactionSet implements X12TransactionSet {
      */
     // CTT 01
     private Integer transactionLineItems;
+    // CTT 02
+    private String transactionHashTotal;
 
     /*
      * SE
@@ -98,4 +100,14 @@ public abstract class AbstractX12TransactionSet implements X12TransactionSet {
         this.transactionLineItems = transactionLineItems;
     }
 
+    @Override
+    public String getTransactionHashTotal() {
+        return transactionHashTotal;
+    }
+
+    @Override
+    public void setTransactionHashTotal(String transactionHashTotal) {
+        this.transactionHashTotal = transactionHashTotal;
+    }
+
 }
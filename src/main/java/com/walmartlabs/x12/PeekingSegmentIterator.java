@@ -0,0 +1,80 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12;
+
+import java.util.List;
+
+/**
+ * {@link SegmentIterator} that can look at the next segment
+ * without moving the cursor
+ *
+ * parsers that need to decide whether the next segment belongs
+ * to them should peek at it instead of reading it with next()
+ * and backing up with previous()
+ */
+public class PeekingSegmentIterator extends SegmentIterator {
+
+    private final List<X12Segment> segmentLines;
+
+    public PeekingSegmentIterator(List<X12Segment> segmentLines) {
+        super(segmentLines);
+        this.segmentLines = segmentLines;
+    }
+
+    /**
+     * a {@link PeekingSegmentIterator} over the same segments
+     * starting at the current position of the segment iterator
+     *
+     * when the segment iterator is not already a {@link PeekingSegmentIterator}
+     * the caller should reset it to the {@link #currentIndex()} of the
+     * returned iterator when it is done
+     *
+     * @param segmentIterator
+     * @return the segment iterator itself or a new iterator at the same position
+     */
+    public static PeekingSegmentIterator from(SegmentIterator segmentIterator) {
+        if (segmentIterator instanceof PeekingSegmentIterator) {
+            return (PeekingSegmentIterator) segmentIterator;
+        }
+        PeekingSegmentIterator peekingIterator = new PeekingSegmentIterator(
+            segmentIterator.subList(0, segmentIterator.lastIndex() + 1));
+        peekingIterator.reset(segmentIterator.currentIndex());
+        return peekingIterator;
+    }
+
+    /**
+     * non-standard iterator method
+     * returns the element that would be returned by next()
+     * without advancing the cursor position
+     *
+     * @return the next segment or null if the iteration has no next element
+     */
+    public X12Segment peek() {
+        return this.hasNext() ? segmentLines.get(this.currentIndex()) : null;
+    }
+
+    /**
+     * non-standard iterator method
+     * returns the identifier of the segment that would be returned by next()
+     * without advancing the cursor position
+     *
+     * @return the segment identifier or null if the iteration has no next element
+     */
+    public String peekIdentifier() {
+        return this.hasNext() ? segmentLines.get(this.currentIndex()).getIdentifier() : null;
+    }
+}
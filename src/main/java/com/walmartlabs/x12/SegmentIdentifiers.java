@@ -0,0 +1,93 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12;
+
+/**
+ * the segment identifiers (ex: ST, HL, G83) are the same
+ * few Strings over and over so each segment uses
+ * a canonical (interned) instance of its identifier
+ *
+ * an identifier of 1 to 3 printable ASCII characters
+ * is also packed into an int code (one character per byte)
+ * which can be compared w/o looking at the String
+ *
+ * the recently used identifiers are kept in a small direct mapped cache
+ * so the identifier of most segments is found w/o creating a String
+ */
+final class SegmentIdentifiers {
+
+    static final int NO_CODE = 0;
+    static final int MAX_CODE_LENGTH = 3;
+
+    // must be a power of 2
+    private static final int CACHE_SIZE = 1024;
+    private static final int CACHE_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(CACHE_SIZE);
+    private static final int GOLDEN_RATIO = 0x9E3779B1;
+
+    // the slots are written w/o synchronization
+    // a lost write only results in a cache miss
+    // and the identifier is always checked against the segment
+    private static final String[] CACHE = new String[CACHE_SIZE];
+
+    /**
+     * @param source the identifier or a segment that starts w/ the identifier
+     * @param length the length of the identifier
+     * @return the code or {@link #NO_CODE} if the identifier can't be packed
+     */
+    static int code(CharSequence source, int length) {
+        if (length < 1 || length > MAX_CODE_LENGTH) {
+            return NO_CODE;
+        }
+        int code = 0;
+        for (int i = 0; i < length; i++) {
+            char ch = source.charAt(i);
+            if (ch <= ' ' || ch > '~') {
+                return NO_CODE;
+            }
+            code = (code << Byte.SIZE) | ch;
+        }
+        return code;
+    }
+
+    /**
+     * @param segment the segment
+     * @param length the length of the identifier at the start of the segment
+     * @param code the code for the identifier
+     * @return the canonical instance of the identifier
+     */
+    static String canonical(String segment, int length, int code) {
+        if (code == NO_CODE) {
+            return segment.substring(0, length);
+        }
+
+        int slot = (code * GOLDEN_RATIO) >>> CACHE_SHIFT;
+        String cached = CACHE[slot];
+        if (cached != null && cached.length() == length && segment.startsWith(cached)) {
+            return cached;
+        }
+
+        // the interned String is the same instance
+        // as the String constants used by the parsers
+        String identifier = segment.substring(0, length).intern();
+        CACHE[slot] = identifier;
+        return identifier;
+    }
+
+    private SegmentIdentifiers() {
+        // you can't make me
+    }
+}
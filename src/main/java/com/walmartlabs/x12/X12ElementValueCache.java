@@ -0,0 +1,137 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12;
+
+/**
+ * the values of the data elements repeat throughout a document
+ * (ex: qualifiers like UP, VN and EA, N1 entity codes, DUNS numbers, dates, PO numbers)
+ *
+ * this cache is used when a segment is split into its elements
+ * so that the same value is shared by every element instead of
+ * each element holding its own copy of the value
+ *
+ * the cache is bounded: it has a fixed number of slots
+ * and a value replaces whatever value was in its slot
+ * only values up to the max value length are cached
+ *
+ * the cache is NOT thread safe
+ * it is meant to be used for a single parse (or by a single thread)
+ */
+public final class X12ElementValueCache {
+
+    public static final int DEFAULT_MAX_VALUE_LENGTH = 16;
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final int MAX_CAPACITY = 1 << 20;
+    private static final int GOLDEN_RATIO = 0x9E3779B1;
+
+    private final int maxValueLength;
+    private final String[] values;
+    private final int shift;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * cache w/ the default max value length and capacity
+     */
+    public X12ElementValueCache() {
+        this(DEFAULT_MAX_VALUE_LENGTH, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * cache w/ the default capacity
+     * @param maxValueLength the longest value that will be cached
+     */
+    public X12ElementValueCache(int maxValueLength) {
+        this(maxValueLength, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param maxValueLength the longest value that will be cached
+     * @param capacity the number of slots, rounded up to a power of 2
+     * @throws IllegalArgumentException if the max value length or capacity is not positive
+     */
+    public X12ElementValueCache(int maxValueLength, int capacity) {
+        if (maxValueLength < 1) {
+            throw new IllegalArgumentException("maxValueLength must be positive");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        // clamp before rounding up so a large capacity can not overflow
+        int slots = Integer.highestOneBit(Math.max(2, Math.min(MAX_CAPACITY, capacity)) - 1) << 1;
+        this.maxValueLength = maxValueLength;
+        this.values = new String[slots];
+        this.shift = Integer.SIZE - Integer.numberOfTrailingZeros(slots);
+    }
+
+    /**
+     * get the value between the start (inclusive) and end (exclusive)
+     * without creating a new String when the value is already in the cache
+     *
+     * @param source the segment
+     * @param start
+     * @param end
+     * @return the value, the same as source.substring(start, end)
+     */
+    public String value(String source, int start, int end) {
+        int length = end - start;
+        if (length < 1 || length > maxValueLength) {
+            return source.substring(start, end);
+        }
+
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + source.charAt(i);
+        }
+        int slot = (hash * GOLDEN_RATIO) >>> shift;
+
+        String cached = values[slot];
+        if (cached != null && cached.length() == length && source.regionMatches(start, cached, 0, length)) {
+            hits++;
+            return cached;
+        }
+
+        misses++;
+        String value = source.substring(start, end);
+        values[slot] = value;
+        return value;
+    }
+
+    public int getMaxValueLength() {
+        return maxValueLength;
+    }
+
+    public int getCapacity() {
+        return values.length;
+    }
+
+    /**
+     * @return the number of values that were found in the cache
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of values that were added to the cache
+     */
+    public long getMisses() {
+        return misses;
+    }
+}
@@ -22,7 +22,6 @@ import org.apache.commons.lang3.StringUtils;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.PatternSyntaxException;
 
 /**
  *  Each line in an X12 document is called a segment
@@ -30,11 +29,22 @@ import java.util.regex.PatternSyntaxException;
  *  The first element identifies the type of segment
  *
  *  This class will parse a segment into the individual elements
+ *
+ *  The identifier is a canonical (interned) instance
+ *  and is also available as a packed int code
+ *  see {@link #getIdentifierCode()}
  */
 public class X12Segment {
 
+    /**
+     * the code when the segment does not have an identifier
+     * or the identifier is not 1 to 3 printable ASCII characters
+     */
+    public static final int NO_IDENTIFIER_CODE = SegmentIdentifiers.NO_CODE;
+
     private String segmentValue;
     private List<String> segmentElements;
+    private int identifierCode = NO_IDENTIFIER_CODE;
 
     /**
      * create the {@link X12Segment} using the default delimiter
@@ -48,12 +58,24 @@ public class X12Segment {
     /**
      * create the {@link X12Segment} using the delimiter provided
      * @param segment
+     * @param dataElementDelimiter the delimiter or null if the segment is a single element
      * @return {@link X12Segment}
-     * @throws PatternSyntaxException if the delimiter results in invalid regular expression
      */
     public X12Segment(String segment, Character dataElementDelimiter) {
+        this(segment, dataElementDelimiter, null);
+    }
+
+    /**
+     * create the {@link X12Segment} using the delimiter provided
+     * and sharing the repeated element values through the cache
+     * @param segment
+     * @param dataElementDelimiter the delimiter or null if the segment is a single element
+     * @param valueCache the cache for the element values or null to not cache them
+     * @return {@link X12Segment}
+     */
+    public X12Segment(String segment, Character dataElementDelimiter, X12ElementValueCache valueCache) {
         segmentValue = segment;
-        segmentElements = this.splitSegmentIntoDataElements(segment, dataElementDelimiter);
+        segmentElements = this.splitSegmentIntoDataElements(segment, dataElementDelimiter, valueCache);
     }
 
     /**
@@ -76,6 +98,28 @@ public class X12Segment {
         }
     }
 
+    /**
+     * the identifier packed into an int (one character per byte)
+     * so that it can be compared w/ == or used in a switch
+     * ex: segment.getIdentifierCode() == X12Segment.identifierCode("HL")
+     *
+     * @return the code or {@link #NO_IDENTIFIER_CODE}
+     */
+    public int getIdentifierCode() {
+        return identifierCode;
+    }
+
+    /**
+     * the code for a segment identifier
+     * it is the same as {@link #getIdentifierCode()} for a segment w/ that identifier
+     *
+     * @param identifier
+     * @return the code or {@link #NO_IDENTIFIER_CODE} if the identifier is not 1 to 3 printable ASCII characters
+     */
+    public static int identifierCode(CharSequence identifier) {
+        return identifier != null ? SegmentIdentifiers.code(identifier, identifier.length()) : NO_IDENTIFIER_CODE;
+    }
+
     /**
      * retrieve the element at a particular index in the segment
      */
@@ -95,25 +139,50 @@ public class X12Segment {
     /**
      * parses the segment into a list of data elements
      * each date element is separated by an asterisk (*)
+     *
+     * the elements are the same as String.split would return
+     * (trailing empty elements are removed) w/o using a regular expression
      */
-    private List<String> splitSegmentIntoDataElements(String segment, Character dataElementDelimiter) {
+    private List<String> splitSegmentIntoDataElements(String segment, Character dataElementDelimiter, X12ElementValueCache valueCache) {
         if (StringUtils.isEmpty(segment)) {
             return Collections.emptyList();
-        } else {
-            String splitRegEx = this.convertDataElementDelimiterToRegEx(dataElementDelimiter);
-            return Arrays.asList(segment.split(splitRegEx));
         }
-    }
 
-    private String convertDataElementDelimiterToRegEx(Character dataElementDelimiter) {
-        if (dataElementDelimiter != null) {
-            if (Character.isLetterOrDigit(dataElementDelimiter.charValue())) {
-                return dataElementDelimiter.toString();
-            } else {
-                return "\\" + dataElementDelimiter;
+        // a segment w/o a delimiter is a single element
+        char delimiter = dataElementDelimiter != null ? dataElementDelimiter.charValue() : Character.MIN_VALUE;
+
+        // ignore the trailing empty elements
+        int end = segment.length();
+        while (end > 0 && segment.charAt(end - 1) == delimiter) {
+            end--;
+        }
+        if (end == 0) {
+            return Collections.emptyList();
+        }
+
+        int elementCount = 1;
+        for (int i = 0; i < end; i++) {
+            if (segment.charAt(i) == delimiter) {
+                elementCount++;
+            }
+        }
+
+        String[] elements = new String[elementCount];
+        int elementIdx = 0;
+        int elementStart = 0;
+        for (int i = 0; i <= end; i++) {
+            if (i == end || segment.charAt(i) == delimiter) {
+                if (elementIdx == 0) {
+                    identifierCode = SegmentIdentifiers.code(segment, i);
+                    elements[elementIdx++] = SegmentIdentifiers.canonical(segment, i, identifierCode);
+                } else if (valueCache != null) {
+                    elements[elementIdx++] = valueCache.value(segment, elementStart, i);
+                } else {
+                    elements[elementIdx++] = segment.substring(elementStart, i);
+                }
+                elementStart = i + 1;
             }
-        } else {
-            return String.valueOf(Character.MIN_VALUE);
         }
+        return Arrays.asList(elements);
     }
 }
@@ -82,4 +82,20 @@ public interface X12TransactionSet {
 
     void setTransactionLineItems(Integer transactionLineItems);
 
+    /**
+     * The CTT02 segment element contains the hash total.
+     * This is an optional segment element
+     *
+     * the value is kept as it was sent (ex: 30 or 12.5)
+     *
+     * @return the CTT02 segment value
+     */
+    default String getTransactionHashTotal() {
+        return null;
+    }
+
+    default void setTransactionHashTotal(String transactionHashTotal) {
+        // not kept unless the implementation overrides it
+    }
+
 }
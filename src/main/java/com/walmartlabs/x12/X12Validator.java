@@ -16,6 +16,7 @@ limitations under the License.
 
 package com.walmartlabs.x12;
 
+import com.walmartlabs.x12.exceptions.X12ErrorCollector;
 import com.walmartlabs.x12.exceptions.X12ErrorDetail;
 
 import java.util.Set;
@@ -40,4 +41,19 @@ public interface X12Validator<T extends X12Document> {
      * @return Set of error details ({@link X12ErrorDetail}
      */
     Set<X12ErrorDetail> validate(T pojo, boolean performCrcCheck);
+
+    /**
+     * validate the X12 transmission with option to turn on/off the CRC integrity
+     * check adding any errors to the collector
+     *
+     * validators should override this to stop
+     * once the collector is full
+     *
+     * @param pojo the domain object returned by an {@link X12Parser}
+     * @param performCrcCheck set to true to perform the check
+     * @param errorCollector the errors found are added to the collector
+     */
+    default void validate(T pojo, boolean performCrcCheck, X12ErrorCollector errorCollector) {
+        errorCollector.addAll(this.validate(pojo, performCrcCheck));
+    }
 }
@@ -16,6 +16,7 @@ limitations under the License.
 
 package com.walmartlabs.x12.common.segment.parser;
 
+import com.walmartlabs.x12.PeekingSegmentIterator;
 import com.walmartlabs.x12.SegmentIterator;
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.common.segment.N1PartyIdentification;
@@ -49,14 +50,17 @@ public final class N1PartyIdentificationParser {
     /**
      * parse the N1 segment and "attach" all related segment lines
      * this is the preferred method to use
+     *
+     * the iterator is only advanced past the N3, N4 and REF segments
+     * that belong to the N1 loop
+     *
      * @param segment
      * @param segmentIterator
      * @return
      */
-    public static N1PartyIdentification handleN1Loop(X12Segment segment, SegmentIterator segmentIterator) {
+    public static N1PartyIdentification handleN1Loop(X12Segment segment, PeekingSegmentIterator segmentIterator) {
         N1PartyIdentification n1 = N1PartyIdentificationParser.parse(segment);
-        boolean keepLooping = true;
-        while (n1 != null && keepLooping && segmentIterator.hasNext()) {
+        while (n1 != null && N1PartyIdentificationParser.isN1LoopSegment(segmentIterator.peekIdentifier())) {
             X12Segment nextSegment = segmentIterator.next();
             switch (nextSegment.getIdentifier()) {
                 case N3PartyLocation.IDENTIFIER:
@@ -65,20 +69,36 @@ public final class N1PartyIdentificationParser {
                 case N4GeographicLocation.IDENTIFIER:
                     n1.setN4(N4GeographicLocationParser.parse(nextSegment));
                     break;
-                case REFReferenceInformation.IDENTIFIER:
-                    n1.addReferenceInformation(REFReferenceInformationParser.parse(nextSegment));
-                    break;
                 default:
-                    // assume any other identifier is a break out of the N1 loop
-                    // and let the other parser deal with it
-                    segmentIterator.previous();
-                    keepLooping = false;
+                    n1.addReferenceInformation(REFReferenceInformationParser.parse(nextSegment));
                     break;
             }
         }
         return n1;
     }
 
+    /**
+     * parse the N1 segment and "attach" all related segment lines
+     * @param segment
+     * @param segmentIterator
+     * @return
+     */
+    public static N1PartyIdentification handleN1Loop(X12Segment segment, SegmentIterator segmentIterator) {
+        if (segmentIterator == null) {
+            return N1PartyIdentificationParser.parse(segment);
+        }
+        PeekingSegmentIterator peekingIterator = PeekingSegmentIterator.from(segmentIterator);
+        N1PartyIdentification n1 = N1PartyIdentificationParser.handleN1Loop(segment, peekingIterator);
+        segmentIterator.reset(peekingIterator.currentIndex());
+        return n1;
+    }
+
+    private static boolean isN1LoopSegment(String segmentIdentifier) {
+        return N3PartyLocation.IDENTIFIER.equals(segmentIdentifier)
+            || N4GeographicLocation.IDENTIFIER.equals(segmentIdentifier)
+            || REFReferenceInformation.IDENTIFIER.equals(segmentIdentifier);
+    }
+
     private N1PartyIdentificationParser() {
         // you can't make me
     }
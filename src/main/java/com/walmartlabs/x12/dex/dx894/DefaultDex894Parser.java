@@ -16,22 +16,28 @@ limitations under the License.
 
 package com.walmartlabs.x12.dex.dx894;
 
+import com.walmartlabs.x12.X12ElementValueCache;
 import com.walmartlabs.x12.X12Parser;
 import com.walmartlabs.x12.X12Segment;
+import com.walmartlabs.x12.exceptions.X12ErrorCollector;
 import com.walmartlabs.x12.exceptions.X12ErrorDetail;
 import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.metrics.X12Metrics;
+import com.walmartlabs.x12.metrics.X12Phase;
 import com.walmartlabs.x12.types.InvoiceType;
 import com.walmartlabs.x12.types.ProductQualifier;
 import com.walmartlabs.x12.types.UnitMeasure;
 import com.walmartlabs.x12.util.ConversionUtil;
 import com.walmartlabs.x12.util.SourceToSegmentUtil;
 import com.walmartlabs.x12.util.X12ParsingUtil;
+import com.walmartlabs.x12.util.crc.DefaultCrc16;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 /**
  * DEX 894 Base Record Transaction Set is essentially a set of invoices
@@ -78,6 +84,98 @@ public class DefaultDex894Parser implements X12Parser<Dex894> {
     public static final String LOOP_HEADER_ID = "LS";
     public static final String LOOP_TRAILER_ID = "LE";
 
+    private static final int TRANSACTION_SET_HEADER_CODE = X12Segment.identifierCode(TRANSACTION_SET_HEADER_ID);
+    private static final int G22_CODE = X12Segment.identifierCode(G22_ID);
+    private static final int G72_CODE = X12Segment.identifierCode(G72_ID);
+    private static final int G83_CODE = X12Segment.identifierCode(G83_ID);
+    private static final int G84_CODE = X12Segment.identifierCode(G84_ID);
+    private static final int G86_CODE = X12Segment.identifierCode(G86_ID);
+    private static final int LOOP_HEADER_CODE = X12Segment.identifierCode(LOOP_HEADER_ID);
+    private static final int LOOP_TRAILER_CODE = X12Segment.identifierCode(LOOP_TRAILER_ID);
+
+    private static final String SEGMENT_LINE_ENDING = "\r\n";
+
+    private final DefaultCrc16 crc16 = new DefaultCrc16();
+    private boolean generateIntegrityCheck = false;
+    private boolean retainTransactionData = true;
+    private X12Metrics metrics = X12Metrics.NO_OP;
+    private int elementValueCacheMaxLength = 0;
+
+    /**
+     * when true the CRC-16 of each transaction (ST thru G86)
+     * is computed while parsing and is available
+     * from {@link Dex894TransactionSet#getComputedIntegrityCheck()}
+     *
+     * the default is false
+     *
+     * @param generateIntegrityCheck
+     */
+    public void setGenerateIntegrityCheck(boolean generateIntegrityCheck) {
+        this.generateIntegrityCheck = generateIntegrityCheck;
+    }
+
+    public boolean isGenerateIntegrityCheck() {
+        return generateIntegrityCheck;
+    }
+
+    /**
+     * when false the text of each transaction (ST thru G86)
+     * is not kept on the {@link Dex894TransactionSet}
+     * which is only useful when the integrity check is generated while parsing
+     *
+     * the default is true
+     *
+     * @param retainTransactionData
+     */
+    public void setRetainTransactionData(boolean retainTransactionData) {
+        this.retainTransactionData = retainTransactionData;
+    }
+
+    public boolean isRetainTransactionData() {
+        return retainTransactionData;
+    }
+
+    /**
+     * the metrics recorded while parsing
+     * the default is {@link X12Metrics#NO_OP}
+     *
+     * @param metrics
+     */
+    public void setMetrics(X12Metrics metrics) {
+        this.metrics = metrics != null ? metrics : X12Metrics.NO_OP;
+    }
+
+    public X12Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * when greater than 0 the element values up to this length
+     * are shared between the segments of a document
+     * (ex: qualifiers, DUNS numbers, dates) instead of
+     * each segment holding its own copy of the value
+     *
+     * a new bounded {@link X12ElementValueCache} is used for each parse
+     * so the parser can still be shared between threads
+     *
+     * this is most useful when the parsed DEX transmissions are kept in memory
+     *
+     * the default is 0 (the values are not shared)
+     *
+     * @param elementValueCacheMaxLength
+     */
+    public void setElementValueCacheMaxLength(int elementValueCacheMaxLength) {
+        this.elementValueCacheMaxLength = Math.max(0, elementValueCacheMaxLength);
+    }
+
+    public int getElementValueCacheMaxLength() {
+        return elementValueCacheMaxLength;
+    }
+
+    private X12ElementValueCache newElementValueCache() {
+        return elementValueCacheMaxLength > 0 ? new X12ElementValueCache(elementValueCacheMaxLength) : null;
+    }
+
     /**
      * parse the DEX 894 transmission into
      * a representative Java object
@@ -87,35 +185,143 @@ public class DefaultDex894Parser implements X12Parser<Dex894> {
      */
     @Override
     public Dex894 parse(String sourceData) {
+        return this.parseDex(sourceData, null, false);
+    }
+
+    /**
+     * parse and validate the DEX 894 transmission in a single pass
+     * using a {@link DefaultDex894Validator}
+     *
+     * @param sourceData
+     * @return {@link Dex894ParseResult}
+     * @throws X12ParserException
+     */
+    public Dex894ParseResult parseAndValidate(String sourceData) {
+        return this.parseAndValidate(sourceData, new DefaultDex894Validator(), true, new X12ErrorCollector());
+    }
+
+    /**
+     * parse and validate the DEX 894 transmission in a single pass
+     *
+     * each transaction is validated w/ {@link DefaultDex894Validator#validateDexTransaction}
+     * as soon as all of its segments have been parsed,
+     * the CRC is computed while the segments are scanned
+     * and the transaction text is not retained
+     * (unless the validator uses a CRC other than {@link DefaultCrc16})
+     *
+     * the DXE checks are done once the transmission has been parsed
+     * and the errors are in the same order as {@link DefaultDex894Validator#validate(Dex894, boolean)}
+     *
+     * @param sourceData
+     * @param dexValidator
+     * @param performCrcCheck
+     * @param errorCollector the errors found are added to the collector
+     * @return {@link Dex894ParseResult}
+     * @throws X12ParserException
+     */
+    public Dex894ParseResult parseAndValidate(String sourceData, DefaultDex894Validator dexValidator, boolean performCrcCheck,
+        X12ErrorCollector errorCollector) {
+
+        boolean retainData = performCrcCheck && dexValidator.crc16 != null && !(dexValidator.crc16 instanceof DefaultCrc16);
+        int previousErrorCount = errorCollector.size();
+
+        X12ErrorCollector transactionErrors = new X12ErrorCollector(errorCollector.getMaxErrors());
+        Dex894 dex = this.parseDex(sourceData, (dexVersion, dexTx) -> {
+            if (!transactionErrors.isFull()) {
+                dexValidator.validateDexTransaction(dexVersion, dexTx, performCrcCheck, transactionErrors);
+            }
+        }, retainData);
+
+        // keep the same order of errors as validate
+        if (dex != null) {
+            dexValidator.validateTransmission(dex, errorCollector);
+        }
+        errorCollector.addAll(transactionErrors.getErrors());
+        if (metrics.isEnabled()) {
+            // only the errors found by this parse
+            metrics.recordErrors(errorCollector.getErrors().stream()
+                .skip(previousErrorCount)
+                .collect(Collectors.toList()));
+        }
+
+        return new Dex894ParseResult(dex, errorCollector.getErrors());
+    }
+
+    /**
+     * @param sourceData
+     * @param transactionValidator when not null each transaction is passed to it after it is parsed
+     * @param retainData whether to keep the transaction text when validating while parsing
+     */
+    private Dex894 parseDex(String sourceData, BiConsumer<Integer, Dex894TransactionSet> transactionValidator, boolean retainData) {
         Dex894 dex = null;
 
         if (StringUtils.isNotEmpty(sourceData)) {
-            dex = new Dex894();
-            List<X12Segment> segmentLines = SourceToSegmentUtil.splitSourceDataIntoSegments(sourceData);
-
-            if (!this.isValidEnvelope(segmentLines)) {
-                throw new X12ParserException("invalid envelope");
-            } else {
-                try {
-                    int lastSegmentIndex = this.findLastSegmentIndex(segmentLines);
-                    // application header
-                    this.parseApplicationHeader(segmentLines.get(0), dex);
-
-                    // parse transactions...
-                    int idx = 1;
-                    do {
-                        Dex894TransactionSet dexTx = new Dex894TransactionSet();
-                        idx = this.parseDexTransaction(idx, segmentLines, dexTx);
-                        dex.addTransaction(dexTx);
-                    } while (idx < lastSegmentIndex);
-
-                    // application trailer
-                    this.parseApplicationTrailer(segmentLines.get(lastSegmentIndex), dex);
-                } catch (ArrayIndexOutOfBoundsException e) {
-                    throw new X12ParserException("Invalid DEX message: missing mandatory fields");
-                } catch (StringIndexOutOfBoundsException e) {
-                    throw new X12ParserException("Invalid DEX message: unexpected segments");
+            boolean timed = metrics.isEnabled();
+            long startTime = timed ? System.nanoTime() : 0L;
+            // time spent parsing and validating the transactions
+            long otherPhaseNanos = 0L;
+            try {
+                dex = new Dex894();
+                List<X12Segment> segmentLines = SourceToSegmentUtil.splitSourceDataIntoSegments(sourceData, this.newElementValueCache());
+                if (timed) {
+                    long tokenizedTime = System.nanoTime();
+                    metrics.recordPhase(X12Phase.TOKENIZE, tokenizedTime - startTime);
+                    metrics.recordTokenized(sourceData.length(), segmentLines.size());
+                    startTime = tokenizedTime;
+                }
+
+                if (!this.isValidEnvelope(segmentLines)) {
+                    throw new X12ParserException("invalid envelope");
+                } else {
+                    try {
+                        int lastSegmentIndex = this.findLastSegmentIndex(segmentLines);
+                        // application header
+                        this.parseApplicationHeader(segmentLines.get(0), dex);
+
+                        // parse transactions...
+                        int idx = 1;
+                        do {
+                            long transactionStartTime = timed ? System.nanoTime() : 0L;
+                            Dex894TransactionSet dexTx = new Dex894TransactionSet();
+                            if (transactionValidator == null) {
+                                idx = this.parseDexTransaction(idx, segmentLines, dexTx);
+                            } else {
+                                idx = this.parseDexTransaction(idx, segmentLines, dexTx, true, retainData);
+                            }
+                            if (timed) {
+                                long elapsed = System.nanoTime() - transactionStartTime;
+                                metrics.recordPhase(X12Phase.TRANSACTION_SET_PARSE, elapsed);
+                                metrics.recordTransactionSet(dexTx.getTransactionSetIdentifierCode());
+                                otherPhaseNanos += elapsed;
+                            }
+                            if (transactionValidator != null) {
+                                long validateStartTime = timed ? System.nanoTime() : 0L;
+                                transactionValidator.accept(dex.getVersionNumber(), dexTx);
+                                if (timed) {
+                                    long elapsed = System.nanoTime() - validateStartTime;
+                                    metrics.recordPhase(X12Phase.VALIDATE, elapsed);
+                                    otherPhaseNanos += elapsed;
+                                }
+                            }
+                            dex.addTransaction(dexTx);
+                        } while (idx < lastSegmentIndex);
+
+                        // application trailer
+                        this.parseApplicationTrailer(segmentLines.get(lastSegmentIndex), dex);
+                    } catch (ArrayIndexOutOfBoundsException e) {
+                        throw new X12ParserException("Invalid DEX message: missing mandatory fields");
+                    } catch (StringIndexOutOfBoundsException e) {
+                        throw new X12ParserException("Invalid DEX message: unexpected segments");
+                    }
+                }
+            } catch (X12ParserException e) {
+                if (timed) {
+                    metrics.recordError(e.getErrorDetail() != null ? e.getErrorDetail().getSegmentId() : null);
                 }
+                throw e;
+            }
+            if (timed) {
+                metrics.recordPhase(X12Phase.ENVELOPE, System.nanoTime() - startTime - otherPhaseNanos);
             }
         }
 
@@ -144,12 +350,29 @@ public class DefaultDex894Parser implements X12Parser<Dex894> {
      * @throws ArrayIndexOutOfBoundsException if a mandatory element is missing
      */
     protected int parseDexTransaction(final int startingIdx, final List<X12Segment> dexSegments, final Dex894TransactionSet dexTx) {
-        LOGGER.debug("parseDexTransaction:" + startingIdx);
+        return this.parseDexTransaction(startingIdx, dexSegments, dexTx, generateIntegrityCheck, retainTransactionData);
+    }
+
+    /**
+     * parses one DEX transaction
+     * @param startingIdx which segment line to start with
+     * @param dexSegments
+     * @param dexTx
+     * @param generateCrc compute the CRC-16 while parsing
+     * @param retainData keep the transaction text (ST thru G86)
+     * @return the starting point for the next transaction
+     * @throws X12ParserException if the DEX transaction is invalid
+     * @throws ArrayIndexOutOfBoundsException if a mandatory element is missing
+     */
+    protected int parseDexTransaction(final int startingIdx, final List<X12Segment> dexSegments, final Dex894TransactionSet dexTx,
+        final boolean generateCrc, final boolean retainData) {
+
+        LOGGER.debug("parseDexTransaction:{}", startingIdx);
         X12Segment segment = dexSegments.get(startingIdx);
-        String segmentId = segment.getIdentifier();
+        int segmentCode = segment.getIdentifierCode();
 
         int segmentIdx = startingIdx;
-        if (!TRANSACTION_SET_HEADER_ID.equals(segmentId)) {
+        if (segmentCode != TRANSACTION_SET_HEADER_CODE) {
             throw new X12ParserException("Expected start of DEX transaction");
         } else {
             // ST line
@@ -166,36 +389,31 @@ public class DefaultDex894Parser implements X12Parser<Dex894> {
             do {
                 segmentIdx = this.parseDexTransactionLoop(segmentIdx, dexSegments, dexTx);
                 segment = dexSegments.get(segmentIdx);
-                segmentId = segment.getIdentifier();
-            } while (TRANSACTION_SET_HEADER_ID.equals(segmentId));
+                segmentCode = segment.getIdentifierCode();
+            } while (segmentCode == TRANSACTION_SET_HEADER_CODE);
 
             // next set of lines after the transaction loop can vary
             segment = dexSegments.get(segmentIdx);
-            segmentId = segment.getIdentifier();
+            segmentCode = segment.getIdentifierCode();
 
             // G84 line (conditional)
-            if (G84_ID.equals(segmentId)) {
+            if (segmentCode == G84_CODE) {
                 this.parseG84(segment, dexTx);
                 // update next segment & segment id
                 segment = dexSegments.get(++segmentIdx);
-                segmentId = segment.getIdentifier();
+                segmentCode = segment.getIdentifierCode();
             }
 
             // G86 line (optional)
-            if (G86_ID.equals(segmentId)) {
+            if (segmentCode == G86_CODE) {
                 this.parseG86(segment, dexTx);
                 // update next segment & segment id
                 segment = dexSegments.get(++segmentIdx);
             }
 
             // store the entire transaction (ST thru G86)
-            // for possible integrity verification
-            StringBuilder transactionData = new StringBuilder();
-            IntStream.range(startingIdx, segmentIdx)
-                .forEach(i -> {
-                    transactionData.append(dexSegments.get(i)).append("\r\n");
-                });
-            dexTx.setTransactionData(transactionData.toString());
+            // and/or its CRC for possible integrity verification
+            this.captureTransactionIntegrityData(startingIdx, segmentIdx, dexSegments, dexTx, generateCrc, retainData);
 
             // G85 line (mandatory)
             this.parseG85(segment, dexTx);
@@ -215,6 +433,46 @@ public class DefaultDex894Parser implements X12Parser<Dex894> {
         return segmentIdx;
     }
 
+    /**
+     * captures the data needed to verify the integrity check (G85)
+     * for the segments ST thru G86
+     *
+     * when retaining the transaction data the segments are joined into a String
+     * when generating the integrity check the CRC-16 is computed directly
+     * from each segment so the text does not need to be built or scanned again
+     *
+     * @param startingIdx index of the ST segment
+     * @param endingIdx index of the G85 segment
+     * @param dexSegments
+     * @param dexTx
+     * @param generateCrc
+     * @param retainData
+     */
+    protected void captureTransactionIntegrityData(final int startingIdx, final int endingIdx,
+        final List<X12Segment> dexSegments, final Dex894TransactionSet dexTx, final boolean generateCrc, final boolean retainData) {
+
+        StringBuilder transactionData = retainData ? new StringBuilder() : null;
+        int crc = DefaultCrc16.INITIAL_VALUE;
+
+        for (int i = startingIdx; i < endingIdx; i++) {
+            String segmentValue = dexSegments.get(i).toString();
+            if (transactionData != null) {
+                transactionData.append(segmentValue).append(SEGMENT_LINE_ENDING);
+            }
+            if (generateCrc) {
+                crc = crc16.update(crc, segmentValue);
+                crc = crc16.update(crc, SEGMENT_LINE_ENDING);
+            }
+        }
+
+        if (transactionData != null) {
+            dexTx.setTransactionData(transactionData.toString());
+        }
+        if (generateCrc) {
+            dexTx.setComputedIntegrityCheck(crc);
+        }
+    }
+
     /**
      * parses one DEX transaction loop (LS to LE)
      * @param startingIdx which segment line to start with
@@ -225,12 +483,12 @@ public class DefaultDex894Parser implements X12Parser<Dex894> {
      * @throws ArrayIndexOutOfBoundsException if a mandatory element is missing
      */
     protected int parseDexTransactionLoop(final int startingIdx, final List<X12Segment> dexSegments, final Dex894TransactionSet dexTx) {
-        LOGGER.debug("parseDexTransactionLoop:" + startingIdx);
+        LOGGER.debug("parseDexTransactionLoop:{}", startingIdx);
         X12Segment segment = dexSegments.get(startingIdx);
-        String segmentId = segment.getIdentifier();
+        int segmentCode = segment.getIdentifierCode();
 
         int segmentIdx = startingIdx;
-        if (!LOOP_HEADER_ID.equals(segmentId)) {
+        if (segmentCode != LOOP_HEADER_CODE) {
             throw new X12ParserException("Expected start of DEX transaction loop");
         } else {
             // LS line
@@ -242,20 +500,20 @@ public class DefaultDex894Parser implements X12Parser<Dex894> {
             do {
                 // get the segment
                 segment = dexSegments.get(segmentIdx);
-                segmentId = segment.getIdentifier();
+                segmentCode = segment.getIdentifierCode();
 
-                if (G83_ID.equals(segmentId)) {
+                if (segmentCode == G83_CODE) {
                     segmentIdx = this.parseDexItem(segmentIdx, dexSegments, dexTx);
-                } else if (LOOP_TRAILER_ID.equals(segmentId)) {
+                } else if (segmentCode == LOOP_TRAILER_CODE) {
                     this.parseLoopTrailer(segment, dexTx);
                     // increase the index
                     segmentIdx++;
                 } else {
                     // unexpected segment
-                    this.handleUnexpectedSegment(G83_ID, segmentId);
+                    this.handleUnexpectedSegment(G83_ID, segment.getIdentifier());
                 }
 
-            } while (!LOOP_TRAILER_ID.equals(segmentId));
+            } while (segmentCode != LOOP_TRAILER_CODE);
         }
 
         return segmentIdx;
@@ -271,7 +529,7 @@ public class DefaultDex894Parser implements X12Parser<Dex894> {
      * @throws ArrayIndexOutOfBoundsException if a mandatory element is missing
      */
     protected int parseDexItem(final int startingIdx, final List<X12Segment> dexSegments, final Dex894TransactionSet dexTx) {
-        LOGGER.debug("parseDexItem:" + startingIdx);
+        LOGGER.debug("parseDexItem:{}", startingIdx);
 
         int segmentIdx = startingIdx;
         X12Segment segment = dexSegments.get(segmentIdx);
@@ -282,22 +540,22 @@ public class DefaultDex894Parser implements X12Parser<Dex894> {
 
         // check next segments
         segment = dexSegments.get(++segmentIdx);
-        String segmentId = segment.getIdentifier();
+        int segmentCode = segment.getIdentifierCode();
 
         // G22 pricing (optional)
-        if (G22_ID.equals(segmentId)) {
+        if (segmentCode == G22_CODE) {
             this.parseG22(segment, dexItem);
             // update next segment & segment id
             segment = dexSegments.get(++segmentIdx);
-            segmentId = segment.getIdentifier();
+            segmentCode = segment.getIdentifierCode();
         }
 
         // G72 allowance (optional)
-        while (G72_ID.equals(segmentId)) {
+        while (segmentCode == G72_CODE) {
             this.parseG72(segment, dexItem);
             // update next segment & segment id
             segment = dexSegments.get(++segmentIdx);
-            segmentId = segment.getIdentifier();
+            segmentCode = segment.getIdentifierCode();
         }
 
         dexTx.addItem(dexItem);
@@ -372,7 +630,9 @@ public class DefaultDex894Parser implements X12Parser<Dex894> {
 
         String segmentIdentifier = segment.getIdentifier();
         if (G82_ID.equals(segmentIdentifier)) {
-            dexTx.setDebitCreditFlag(InvoiceType.convert(segment.getElement(1)));
+            String debitCreditCode = segment.getElement(1);
+            dexTx.setDebitCreditCode(debitCreditCode);
+            dexTx.setDebitCreditFlag(InvoiceType.convert(debitCreditCode));
             dexTx.setSupplierNumber(segment.getElement(2));
             dexTx.setReceiverDuns(segment.getElement(3));
             dexTx.setReceiverLocation(segment.getElement(4));
@@ -420,16 +680,22 @@ public class DefaultDex894Parser implements X12Parser<Dex894> {
             // this will do a simple parsing of the G83 elements
             // a separate utility will need to determine the retail selling unit
             dexItem.setItemSequenceNumber(segment.getElement(1));
-            dexItem.setQuantity(ConversionUtil.convertStringToBigDecimal(segment.getElement(2), 3));
-            dexItem.setUom(UnitMeasure.convert(segment.getElement(3)));
+            dexItem.setQuantityUnscaled(ConversionUtil.convertStringToUnscaledLong(segment.getElement(2), Dex894Item.QUANTITY_SCALE));
+            String uomCode = segment.getElement(3);
+            dexItem.setUomCode(uomCode);
+            dexItem.setUom(UnitMeasure.convert(uomCode));
             dexItem.setUpc(segment.getElement(4));
-            dexItem.setConsumerProductQualifier(ProductQualifier.convert(segment.getElement(5)));
+            String consumerQualifierCode = segment.getElement(5);
+            dexItem.setConsumerProductQualifierCode(consumerQualifierCode);
+            dexItem.setConsumerProductQualifier(ProductQualifier.convert(consumerQualifierCode));
             dexItem.setConsumerProductId(segment.getElement(6));
             dexItem.setCaseUpc(segment.getElement(7));
-            dexItem.setItemListCost(ConversionUtil.convertStringToBigDecimal(segment.getElement(8), 4));
+            dexItem.setItemListCostUnscaled(ConversionUtil.convertStringToUnscaledLong(segment.getElement(8), Dex894Item.ITEM_LIST_COST_SCALE));
             dexItem.setPackCount(ConversionUtil.convertStringToInteger(segment.getElement(9)));
             dexItem.setItemDescription(segment.getElement(10));
-            dexItem.setCaseProductQualifier(ProductQualifier.convert(segment.getElement(11)));
+            String caseQualifierCode = segment.getElement(11);
+            dexItem.setCaseProductQualifierCode(caseQualifierCode);
+            dexItem.setCaseProductQualifier(ProductQualifier.convert(caseQualifierCode));
             dexItem.setCaseProductId(segment.getElement(12));
             dexItem.setInnerPackCount(ConversionUtil.convertStringToInteger(segment.getElement(13)));
         } else {
@@ -471,11 +737,17 @@ public class DefaultDex894Parser implements X12Parser<Dex894> {
             dexAllowance.setMethodOfHandlingCode(segment.getElement(2));
             dexAllowance.setAllowanceNumber(segment.getElement(3));
             dexAllowance.setExceptionNumber(segment.getElement(4));
-            dexAllowance.setAllowanceRate(ConversionUtil.convertStringToBigDecimal(segment.getElement(5), 4));
-            dexAllowance.setAllowanceQuantity(ConversionUtil.convertStringToBigDecimal(segment.getElement(6), 3));
-            dexAllowance.setAllowanceUom(UnitMeasure.convert(segment.getElement(7)));
-            dexAllowance.setAllowanceAmount(ConversionUtil.convertStringToBigDecimal(segment.getElement(8), 2));
-            dexAllowance.setAllowancePercent(ConversionUtil.convertStringToBigDecimal(segment.getElement(9), 3));
+            dexAllowance.setAllowanceRateUnscaled(
+                ConversionUtil.convertStringToUnscaledLong(segment.getElement(5), Dex894Allowance.ALLOWANCE_RATE_SCALE));
+            dexAllowance.setAllowanceQuantityUnscaled(
+                ConversionUtil.convertStringToUnscaledLong(segment.getElement(6), Dex894Allowance.ALLOWANCE_QUANTITY_SCALE));
+            String allowanceUomCode = segment.getElement(7);
+            dexAllowance.setAllowanceUomCode(allowanceUomCode);
+            dexAllowance.setAllowanceUom(UnitMeasure.convert(allowanceUomCode));
+            dexAllowance.setAllowanceAmountInCents(
+                ConversionUtil.convertStringToUnscaledLong(segment.getElement(8), Dex894Allowance.ALLOWANCE_AMOUNT_SCALE));
+            dexAllowance.setAllowancePercentUnscaled(
+                ConversionUtil.convertStringToUnscaledLong(segment.getElement(9), Dex894Allowance.ALLOWANCE_PERCENT_SCALE));
             dexAllowance.setOptionNumber(segment.getElement(10));
         } else {
             handleUnexpectedSegment(G72_ID, segmentIdentifier);
@@ -512,9 +784,12 @@ public class DefaultDex894Parser implements X12Parser<Dex894> {
 
         String segmentIdentifier = segment.getIdentifier();
         if (G84_ID.equals(segmentIdentifier)) {
-            dexTx.setTransactionTotalQuantity(ConversionUtil.convertStringToBigDecimal(segment.getElement(1), 3));
-            dexTx.setTransactionTotalAmount(ConversionUtil.convertStringToBigDecimal(segment.getElement(2), 2));
-            dexTx.setTransactionTotalDepositAmount(ConversionUtil.convertStringToBigDecimal(segment.getElement(3), 2));
+            dexTx.setTransactionTotalQuantityUnscaled(
+                ConversionUtil.convertStringToUnscaledLong(segment.getElement(1), Dex894TransactionSet.TRANSACTION_TOTAL_QUANTITY_SCALE));
+            dexTx.setTransactionTotalAmountInCents(
+                ConversionUtil.convertStringToUnscaledLong(segment.getElement(2), Dex894TransactionSet.TRANSACTION_TOTAL_AMOUNT_SCALE));
+            dexTx.setTransactionTotalDepositAmountInCents(
+                ConversionUtil.convertStringToUnscaledLong(segment.getElement(3), Dex894TransactionSet.TRANSACTION_TOTAL_DEPOSIT_AMOUNT_SCALE));
         } else {
             handleUnexpectedSegment(G84_ID, segmentIdentifier);
         }
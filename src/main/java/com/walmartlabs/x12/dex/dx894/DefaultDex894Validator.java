@@ -17,15 +17,30 @@ limitations under the License.
 package com.walmartlabs.x12.dex.dx894;
 
 import com.walmartlabs.x12.X12Validator;
+import com.walmartlabs.x12.exceptions.X12ErrorCollector;
 import com.walmartlabs.x12.exceptions.X12ErrorDetail;
+import com.walmartlabs.x12.metrics.X12Metrics;
+import com.walmartlabs.x12.metrics.X12Phase;
+import com.walmartlabs.x12.metrics.jfr.X12ValidateEvent;
 import com.walmartlabs.x12.types.UnitMeasure;
+import com.walmartlabs.x12.util.ConcurrencyUtil;
+import com.walmartlabs.x12.util.ConversionUtil;
 import com.walmartlabs.x12.util.crc.CyclicRedundancyCheck;
 import com.walmartlabs.x12.util.crc.DefaultCrc16;
+import com.walmartlabs.x12.util.dedup.DocumentFingerprint;
+import com.walmartlabs.x12.util.dedup.DocumentFingerprintStore;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 public class DefaultDex894Validator implements X12Validator<Dex894> {
@@ -34,73 +49,296 @@ public class DefaultDex894Validator implements X12Validator<Dex894> {
     public static final int DEX_4010 = 4010;
     public static final int DEX_5010 = 5010;
 
+    // validating one DEX transaction is cheap so a transmission
+    // needs enough transactions to make up for the task overhead
+    public static final int DEFAULT_MIN_PARALLEL_TRANSACTIONS = 64;
+
     public CyclicRedundancyCheck crc16;
 
+    private final ExecutorService executorService;
+    private DocumentFingerprintStore fingerprintStore;
+    private X12Metrics metrics = X12Metrics.NO_OP;
+    private int minParallelTransactions = DEFAULT_MIN_PARALLEL_TRANSACTIONS;
+
     public DefaultDex894Validator() {
-        this.crc16 = new DefaultCrc16();
+        this(new DefaultCrc16());
     }
 
     public DefaultDex894Validator(CyclicRedundancyCheck crc16) {
+        this(crc16, null);
+    }
+
+    /**
+     * the DEX transactions will be validated in parallel
+     * using the {@link ExecutorService} (ex: a {@link java.util.concurrent.ForkJoinPool})
+     *
+     * the DXE checks are still done against the whole transmission
+     * and the errors for each transaction are merged in the
+     * same order as a sequential validation
+     *
+     * @param executorService the executor or null to validate sequentially
+     */
+    public DefaultDex894Validator(ExecutorService executorService) {
+        this(new DefaultCrc16(), executorService);
+    }
+
+    /**
+     * @param crc16
+     * @param executorService the executor or null to validate sequentially
+     */
+    public DefaultDex894Validator(CyclicRedundancyCheck crc16, ExecutorService executorService) {
         this.crc16 = crc16;
+        this.executorService = executorService;
+    }
+
+    /**
+     * the transactions are only validated in parallel
+     * when a DEX transmission has at least this many
+     *
+     * the default is {@link #DEFAULT_MIN_PARALLEL_TRANSACTIONS}
+     *
+     * @param minParallelTransactions
+     */
+    public void setMinParallelTransactions(int minParallelTransactions) {
+        this.minParallelTransactions = Math.max(1, minParallelTransactions);
+    }
+
+    public int getMinParallelTransactions() {
+        return minParallelTransactions;
+    }
+
+    public DocumentFingerprintStore getDocumentFingerprintStore() {
+        return fingerprintStore;
+    }
+
+    /**
+     * check the G8202 supplier number against the
+     * invoices received in earlier DEX transmissions
+     * the sender of an invoice is the DXS01 communication id
+     *
+     * @param fingerprintStore the store or null to only check within a transmission
+     */
+    public void setDocumentFingerprintStore(DocumentFingerprintStore fingerprintStore) {
+        this.fingerprintStore = fingerprintStore;
+    }
+
+    /**
+     * the metrics recorded while validating
+     * the default is {@link X12Metrics#NO_OP}
+     *
+     * @param metrics
+     */
+    public void setMetrics(X12Metrics metrics) {
+        this.metrics = metrics != null ? metrics : X12Metrics.NO_OP;
+    }
+
+    public X12Metrics getMetrics() {
+        return metrics;
     }
 
     @Override
     public Set<X12ErrorDetail> validate(Dex894 dex, boolean performCrcCheck) {
+        X12ErrorCollector errorCollector = new X12ErrorCollector();
+        this.validate(dex, performCrcCheck, errorCollector);
+        return errorCollector.getErrors();
+    }
 
-        Set<X12ErrorDetail> errors = new HashSet<>();
+    @Override
+    public void validate(Dex894 dex, boolean performCrcCheck, X12ErrorCollector errorCollector) {
+        X12ValidateEvent event = new X12ValidateEvent();
+        event.begin();
+        boolean timed = metrics.isEnabled();
+        long startTime = timed ? System.nanoTime() : 0L;
+        int previousErrorCount = errorCollector.size();
+
+        this.doValidate(dex, performCrcCheck, errorCollector);
+
+        if (timed) {
+            metrics.recordPhase(X12Phase.VALIDATE, System.nanoTime() - startTime);
+            // only the errors found by this validation
+            metrics.recordErrors(errorCollector.getErrors().stream()
+                .skip(previousErrorCount)
+                .collect(Collectors.toList()));
+        }
+        if (event.shouldCommit()) {
+            event.setValidator(this.getClass().getName());
+            event.setTransactionCount(dex != null && dex.getTransactions() != null ? dex.getTransactions().size() : 0);
+            event.setErrorCount(errorCollector.size() - previousErrorCount);
+            event.commit();
+        }
+    }
+
+    private void doValidate(Dex894 dex, boolean performCrcCheck, X12ErrorCollector errorCollector) {
         if (dex != null) {
-            // DXE validations
-            errors.add(this.compareTransactionCounts(dex));
-            errors.add(this.checkForDuplicateInvoiceNumbers(dex));
+            this.validateTransmission(dex, errorCollector);
 
             List<Dex894TransactionSet> dexTxList = dex.getTransactions();
-            for (Dex894TransactionSet dexTx : dexTxList) {
-                errors.addAll(this.validateDexTransaction(dex.getVersionNumber(), dexTx, performCrcCheck));
+            if (dexTxList != null && !errorCollector.isFull()) {
+                if (executorService != null && dexTxList.size() >= minParallelTransactions) {
+                    this.validateDexTransactionsInParallel(dex.getVersionNumber(), dexTxList, performCrcCheck, errorCollector);
+                } else {
+                    for (Dex894TransactionSet dexTx : dexTxList) {
+                        if (errorCollector.isFull()) {
+                            break;
+                        }
+                        this.validateDexTransaction(dex.getVersionNumber(), dexTx, performCrcCheck, errorCollector);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * the DXE validations that apply to the whole transmission
+     * @param dex
+     * @param errorCollector
+     */
+    protected void validateTransmission(Dex894 dex, X12ErrorCollector errorCollector) {
+        this.compareTransactionCounts(dex, errorCollector);
+        errorCollector.add(this.checkForDuplicateInvoiceNumbers(dex));
+    }
+
+    /**
+     * validate each transaction as a separate task
+     * and then merge the errors in the order
+     * the transactions appeared in the DEX transmission
+     */
+    private void validateDexTransactionsInParallel(Integer dexVersion, List<Dex894TransactionSet> dexTxList,
+        boolean performCrcCheck, X12ErrorCollector errorCollector) {
+
+        List<Callable<Set<X12ErrorDetail>>> validationTasks = new ArrayList<>(dexTxList.size());
+        for (Dex894TransactionSet dexTx : dexTxList) {
+            validationTasks.add(() -> {
+                X12ErrorCollector txErrorCollector = new X12ErrorCollector(errorCollector.getMaxErrors());
+                this.validateDexTransaction(dexVersion, dexTx, performCrcCheck, txErrorCollector);
+                return txErrorCollector.getErrors();
+            });
+        }
+
+        try {
+            List<Future<Set<X12ErrorDetail>>> validationResults = executorService.invokeAll(validationTasks);
+            for (Future<Set<X12ErrorDetail>> validationResult : validationResults) {
+                errorCollector.addAll(this.getValidationErrors(validationResult));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while validating DEX transactions", e);
+        }
+    }
+
+    private Set<X12ErrorDetail> getValidationErrors(Future<Set<X12ErrorDetail>> validationResult) throws InterruptedException {
+        try {
+            return validationResult.get();
+        } catch (ExecutionException e) {
+            // rethrow the exception from the task
+            // so callers see the same exception as
+            // a sequential validation
+            Throwable cause = ConcurrencyUtil.getTaskException(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
             }
+            throw new IllegalStateException(cause);
         }
-        return this.removeNullValues(errors);
     }
 
     /**
      * compare the actual number of DEX transactions/invoices w/ the expected count
      */
     protected X12ErrorDetail compareTransactionCounts(Dex894 dex) {
-        X12ErrorDetail detail = null;
+        X12ErrorCollector errorCollector = X12ErrorCollector.failFast();
+        this.compareTransactionCounts(dex, errorCollector);
+        return this.firstError(errorCollector);
+    }
+
+    /**
+     * compare the actual number of DEX transactions/invoices w/ the expected count
+     * the message is only built when the collector will keep the error
+     */
+    protected void compareTransactionCounts(Dex894 dex, X12ErrorCollector errorCollector) {
         int actualTransactionCount = (dex.getTransactions() != null ? dex.getTransactions().size() : 0);
         if (dex.getNumberOfTransactions() == null) {
-            detail = new X12ErrorDetail(DefaultDex894Parser.DEX_TRAILER_ID, "DXE02", "Transaction count is missing");
+            errorCollector.add(new X12ErrorDetail(DefaultDex894Parser.DEX_TRAILER_ID, "DXE02", "Transaction count is missing"));
         } else if (dex.getNumberOfTransactions() != actualTransactionCount) {
-            StringBuilder sb = new StringBuilder();
-            sb.append("Expected ").append(dex.getNumberOfTransactions()).append(" transactions");
-            sb.append(" but got ").append(actualTransactionCount).append(" transactions");
-            detail = new X12ErrorDetail(DefaultDex894Parser.DEX_TRAILER_ID, "", sb.toString());
+            errorCollector.add(DefaultDex894Parser.DEX_TRAILER_ID, "", () -> {
+                StringBuilder sb = new StringBuilder();
+                sb.append("Expected ").append(dex.getNumberOfTransactions()).append(" transactions");
+                sb.append(" but got ").append(actualTransactionCount).append(" transactions");
+                return sb.toString();
+            });
         }
-        return detail;
     }
 
     /**
      * insure the G8202 supplier number is not duplicated
      * within the DEX transmission
+     *
+     * when a {@link DocumentFingerprintStore} is set the invoices
+     * are also checked against the invoices from earlier transmissions
+     * (the store is not changed, see {@link #recordAccepted(Dex894)})
      */
     protected X12ErrorDetail checkForDuplicateInvoiceNumbers(Dex894 dex) {
         X12ErrorDetail detail = null;
         List<Dex894TransactionSet> dexTxList = dex.getTransactions();
-        if (dexTxList != null) {
-            long duplicatedInvoiceCount = dexTxList.stream()
-                .map(dexTx -> dexTx.getSupplierNumber())
-                .filter(suppNum -> suppNum != null)
-                .collect(Collectors.groupingBy(suppNum -> suppNum, Collectors.counting()))
-                .values().stream()
-                .filter(count -> count > 1)
-                .count();
-
-            if (duplicatedInvoiceCount > 0) {
-                detail = new X12ErrorDetail(DefaultDex894Parser.G82_ID, "G8202", "Duplicate invoice numbers on DEX");
+        if (dexTxList != null && dexTxList.size() > 1) {
+            Set<String> supplierNumbers = new HashSet<>(dexTxList.size() * 2);
+            for (Dex894TransactionSet dexTx : dexTxList) {
+                String supplierNumber = dexTx.getSupplierNumber();
+                if (supplierNumber != null && !supplierNumbers.add(supplierNumber)) {
+                    detail = new X12ErrorDetail(DefaultDex894Parser.G82_ID, "G8202", "Duplicate invoice numbers on DEX");
+                    break;
+                }
             }
         }
+        if (detail == null && dexTxList != null && fingerprintStore != null) {
+            detail = this.checkForPreviouslyReceivedInvoices(dex.getSenderCommId(), dexTxList);
+        }
         return detail;
     }
 
+    private X12ErrorDetail checkForPreviouslyReceivedInvoices(String sender, List<Dex894TransactionSet> dexTxList) {
+        for (long fingerprint : this.getInvoiceFingerprints(sender, dexTxList)) {
+            if (fingerprintStore.contains(fingerprint)) {
+                return new X12ErrorDetail(DefaultDex894Parser.G82_ID, "G8202", "Invoice number previously received");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * add the invoices on an accepted DEX transmission
+     * to the {@link DocumentFingerprintStore}
+     *
+     * validating does not change the store so this should be
+     * called once the transmission has been validated and accepted,
+     * the invoices are added in one atomic operation so when two
+     * threads accept the same invoices only one of them will succeed
+     *
+     * @param dex
+     * @return true if the invoices were added (or there is no store),
+     *     false if any of them had already been received
+     */
+    public boolean recordAccepted(Dex894 dex) {
+        boolean recorded = true;
+        if (dex != null && dex.getTransactions() != null && fingerprintStore != null) {
+            recorded = fingerprintStore.addAllIfAbsent(this.getInvoiceFingerprints(dex.getSenderCommId(), dex.getTransactions()));
+        }
+        return recorded;
+    }
+
+    private long[] getInvoiceFingerprints(String sender, List<Dex894TransactionSet> dexTxList) {
+        long[] fingerprints = new long[dexTxList.size()];
+        int count = 0;
+        for (Dex894TransactionSet dexTx : dexTxList) {
+            String supplierNumber = dexTx.getSupplierNumber();
+            if (supplierNumber != null) {
+                fingerprints[count++] = DocumentFingerprint.fingerprint(sender, supplierNumber, dexTx.getTransactionDate());
+            }
+        }
+        return count < fingerprints.length ? Arrays.copyOf(fingerprints, count) : fingerprints;
+    }
+
     /**
      * validate each Transaction in the DEX transmission
      * @param dexVersion
@@ -109,22 +347,33 @@ public class DefaultDex894Validator implements X12Validator<Dex894> {
      * @return
      */
     protected Set<X12ErrorDetail> validateDexTransaction(Integer dexVersion, Dex894TransactionSet dexTx, boolean performCrcCheck) {
-        Set<X12ErrorDetail> errors = new HashSet<>();
+        X12ErrorCollector errorCollector = new X12ErrorCollector();
+        this.validateDexTransaction(dexVersion, dexTx, performCrcCheck, errorCollector);
+        return errorCollector.getErrors();
+    }
+
+    /**
+     * validate each Transaction in the DEX transmission
+     * @param dexVersion
+     * @param dexTx
+     * @param performCrcCheck
+     * @param errorCollector
+     */
+    protected void validateDexTransaction(Integer dexVersion, Dex894TransactionSet dexTx, boolean performCrcCheck,
+        X12ErrorCollector errorCollector) {
 
         // integrity check
         if (performCrcCheck) {
-            errors.add(this.checkTransactionIntegrity(dexVersion, dexTx));
+            errorCollector.add(this.checkTransactionIntegrity(dexVersion, dexTx));
         }
 
         // SE validations
-        errors.add(this.checkSupplierNumber(dexVersion, dexTx));
-        errors.add(this.checkReceiverLocationNumber(dexVersion, dexTx));
-        errors.add(this.checkSupplierDate(dexVersion, dexTx));
-        errors.add(this.compareTransactionSegmentCounts(dexVersion, dexTx));
-        errors.add(this.compareTransactionControlNumbers(dexVersion, dexTx));
-        errors.addAll(this.validateItems(dexVersion, dexTx));
-
-        return this.removeNullValues(errors);
+        errorCollector.add(this.checkSupplierNumber(dexVersion, dexTx));
+        errorCollector.add(this.checkReceiverLocationNumber(dexVersion, dexTx));
+        errorCollector.add(this.checkSupplierDate(dexVersion, dexTx));
+        this.compareTransactionSegmentCounts(dexVersion, dexTx, errorCollector);
+        this.compareTransactionControlNumbers(dexVersion, dexTx, errorCollector);
+        this.validateItems(dexVersion, dexTx, errorCollector);
     }
 
     /**
@@ -134,23 +383,34 @@ public class DefaultDex894Validator implements X12Validator<Dex894> {
      * @return
      */
     protected Set<X12ErrorDetail> validateItems(Integer dexVersion, Dex894TransactionSet dexTx) {
-        Set<X12ErrorDetail> errors = new HashSet<>();
+        X12ErrorCollector errorCollector = new X12ErrorCollector();
+        this.validateItems(dexVersion, dexTx, errorCollector);
+        return errorCollector.getErrors();
+    }
 
+    /**
+     * validate each Item in the DEX Transaction
+     * @param dexVersion
+     * @param dexTx
+     * @param errorCollector
+     */
+    protected void validateItems(Integer dexVersion, Dex894TransactionSet dexTx, X12ErrorCollector errorCollector) {
         if (dexTx != null) {
             List<Dex894Item> dexItems = dexTx.getItems();
             if (dexItems != null) {
                 for (Dex894Item dexItem : dexItems) {
-                    errors.add(this.checkQuantity(dexVersion, dexItem));
-                    errors.add(this.checkUnitMeasure(dexVersion, dexItem));
-                    errors.add(this.checkItemIdentifier(dexVersion, dexItem));
-                    errors.add(this.checkCaseUpc(dexVersion, dexItem));
-                    errors.add(this.checkCaseCount(dexVersion, dexItem));
-                    errors.addAll(this.validateAllowances(dexVersion, dexItem.getAllowances()));
+                    if (errorCollector.isFull()) {
+                        break;
+                    }
+                    errorCollector.add(this.checkQuantity(dexVersion, dexItem));
+                    errorCollector.add(this.checkUnitMeasure(dexVersion, dexItem));
+                    errorCollector.add(this.checkItemIdentifier(dexVersion, dexItem));
+                    errorCollector.add(this.checkCaseUpc(dexVersion, dexItem));
+                    errorCollector.add(this.checkCaseCount(dexVersion, dexItem));
+                    this.validateAllowances(dexVersion, dexItem.getAllowances(), errorCollector);
                 }
             }
         }
-
-        return this.removeNullValues(errors);
     }
 
     /**
@@ -160,19 +420,30 @@ public class DefaultDex894Validator implements X12Validator<Dex894> {
      * @return
      */
     protected Set<X12ErrorDetail> validateAllowances(Integer dexVersion, List<Dex894Allowance> dexAllowances) {
-        Set<X12ErrorDetail> errors = new HashSet<>();
+        X12ErrorCollector errorCollector = new X12ErrorCollector();
+        this.validateAllowances(dexVersion, dexAllowances, errorCollector);
+        return errorCollector.getErrors();
+    }
 
-        if (dexAllowances != null && !dexAllowances.isEmpty()) {
-            dexAllowances.forEach(dexAllowance -> {
+    /**
+     * validate allowance/charge for the DEX Item
+     * @param dexVersion
+     * @param dexAllowances
+     * @param errorCollector
+     */
+    protected void validateAllowances(Integer dexVersion, List<Dex894Allowance> dexAllowances, X12ErrorCollector errorCollector) {
+        if (dexAllowances != null) {
+            for (Dex894Allowance dexAllowance : dexAllowances) {
+                if (errorCollector.isFull()) {
+                    break;
+                }
                 if (dexAllowance != null) {
-                    errors.add(this.checkAllowanceCode(dexVersion, dexAllowance));
-                    errors.add(this.checkMethodHandlingCode(dexVersion, dexAllowance));
-                    errors.add(this.checkAllowanceAmount(dexVersion, dexAllowance));
+                    errorCollector.add(this.checkAllowanceCode(dexVersion, dexAllowance));
+                    errorCollector.add(this.checkMethodHandlingCode(dexVersion, dexAllowance));
+                    errorCollector.add(this.checkAllowanceAmount(dexVersion, dexAllowance));
                 }
-            });
+            }
         }
-
-        return this.removeNullValues(errors);
     }
 
     /**
@@ -221,9 +492,9 @@ public class DefaultDex894Validator implements X12Validator<Dex894> {
     protected X12ErrorDetail checkAllowanceAmount(Integer dexVersion, Dex894Allowance dexAllowance) {
         X12ErrorDetail detail = null;
 
-        if (dexAllowance.getAllowanceAmount() == null
-            && dexAllowance.getAllowancePercent() == null
-            && dexAllowance.getAllowanceRate() == null) {
+        if (dexAllowance.getAllowanceAmountInCents() == ConversionUtil.NO_VALUE
+            && dexAllowance.getAllowancePercentUnscaled() == ConversionUtil.NO_VALUE
+            && dexAllowance.getAllowanceRateUnscaled() == ConversionUtil.NO_VALUE) {
 
             detail = new X12ErrorDetail(DefaultDex894Parser.G72_ID, "G7205", "Must have allowance rate, percent, or amount");
 
@@ -238,7 +509,15 @@ public class DefaultDex894Validator implements X12Validator<Dex894> {
         X12ErrorDetail detail = null;
 
         if (dexTx != null && crc16 != null) {
-            if (! crc16.verifyBlockOfText(dexTx.getIntegrityCheckValue(), dexTx.getTransactionData(), DEX_CRC_VALUE_MIN_SIZE)) {
+            boolean crcMatches;
+            if (dexTx.getComputedIntegrityCheck() != null && crc16 instanceof DefaultCrc16) {
+                // the parser already computed the CRC-16
+                crcMatches = this.verifyComputedIntegrityCheck(dexTx.getIntegrityCheckValue(), dexTx.getComputedIntegrityCheck());
+            } else {
+                crcMatches = crc16.verifyBlockOfText(dexTx.getIntegrityCheckValue(), dexTx.getTransactionData(), DEX_CRC_VALUE_MIN_SIZE);
+            }
+
+            if (!crcMatches) {
                 detail = new X12ErrorDetail(DefaultDex894Parser.G85_ID, "G8501", "CRC Integrity Check does not match");
             }
         }
@@ -246,6 +525,21 @@ public class DefaultDex894Validator implements X12Validator<Dex894> {
         return detail;
     }
 
+    /**
+     * compare the integrity check value on G85
+     * with the CRC computed during parsing
+     * w/o formatting the computed CRC as a hex string
+     * (the G8501 value must still have at least {@link #DEX_CRC_VALUE_MIN_SIZE} digits)
+     */
+    protected boolean verifyComputedIntegrityCheck(String crcValue, int computedCrc) {
+        boolean crcMatches = false;
+        if (crcValue != null && crcValue.length() >= DEX_CRC_VALUE_MIN_SIZE) {
+            int expectedCrc = CyclicRedundancyCheck.parseCrcValue(crcValue);
+            crcMatches = expectedCrc >= 0 && expectedCrc == computedCrc;
+        }
+        return crcMatches;
+    }
+
     /**
      * make sure G8202 has value
      */
@@ -297,34 +591,54 @@ public class DefaultDex894Validator implements X12Validator<Dex894> {
      * compare the actual number of DEX transactions segments w/ the expected count
      */
     protected X12ErrorDetail compareTransactionSegmentCounts(Integer dexVersion, Dex894TransactionSet dexTx) {
-        X12ErrorDetail detail = null;
+        X12ErrorCollector errorCollector = X12ErrorCollector.failFast();
+        this.compareTransactionSegmentCounts(dexVersion, dexTx, errorCollector);
+        return this.firstError(errorCollector);
+    }
 
+    /**
+     * compare the actual number of DEX transactions segments w/ the expected count
+     * the message is only built when the collector will keep the error
+     */
+    protected void compareTransactionSegmentCounts(Integer dexVersion, Dex894TransactionSet dexTx, X12ErrorCollector errorCollector) {
         if (dexTx.getExpectedNumberOfSegments() != null && dexTx.getActualNumberOfSegments() != null
                 && !dexTx.getExpectedNumberOfSegments().equals(dexTx.getActualNumberOfSegments())) {
-            StringBuilder sb = new StringBuilder();
-            sb.append("Expected ").append(dexTx.getExpectedNumberOfSegments()).append(" segments in a transaction");
-            sb.append(" but got ").append(dexTx.getActualNumberOfSegments()).append(" segments in a transaction");
-            detail = new X12ErrorDetail(DefaultDex894Parser.TRANSACTION_SET_TRAILER_ID, "", sb.toString());
+            errorCollector.add(DefaultDex894Parser.TRANSACTION_SET_TRAILER_ID, "", () -> {
+                StringBuilder sb = new StringBuilder();
+                sb.append("Expected ").append(dexTx.getExpectedNumberOfSegments()).append(" segments in a transaction");
+                sb.append(" but got ").append(dexTx.getActualNumberOfSegments()).append(" segments in a transaction");
+                return sb.toString();
+            });
         }
-
-        return detail;
     }
 
     /**
      * compare the DEX transaction control numbers on ST and SE segments
      */
     protected X12ErrorDetail compareTransactionControlNumbers(Integer dexVersion, Dex894TransactionSet dexTx) {
-        X12ErrorDetail detail = null;
+        X12ErrorCollector errorCollector = X12ErrorCollector.failFast();
+        this.compareTransactionControlNumbers(dexVersion, dexTx, errorCollector);
+        return this.firstError(errorCollector);
+    }
 
+    /**
+     * compare the DEX transaction control numbers on ST and SE segments
+     * the message is only built when the collector will keep the error
+     */
+    protected void compareTransactionControlNumbers(Integer dexVersion, Dex894TransactionSet dexTx, X12ErrorCollector errorCollector) {
         if (dexTx.getHeaderControlNumber() != null && dexTx.getTrailerControlNumber() != null
                 && !dexTx.getHeaderControlNumber().equals(dexTx.getTrailerControlNumber())) {
-            StringBuilder sb = new StringBuilder();
-            sb.append("Mismatched transaction control numbers: header(").append(dexTx.getHeaderControlNumber());
-            sb.append(") and trailer(").append(dexTx.getTrailerControlNumber()).append(")");
-            detail = new X12ErrorDetail(DefaultDex894Parser.TRANSACTION_SET_TRAILER_ID, "", sb.toString());
+            errorCollector.add(DefaultDex894Parser.TRANSACTION_SET_TRAILER_ID, "", () -> {
+                StringBuilder sb = new StringBuilder();
+                sb.append("Mismatched transaction control numbers: header(").append(dexTx.getHeaderControlNumber());
+                sb.append(") and trailer(").append(dexTx.getTrailerControlNumber()).append(")");
+                return sb.toString();
+            });
         }
+    }
 
-        return detail;
+    private X12ErrorDetail firstError(X12ErrorCollector errorCollector) {
+        return errorCollector.hasErrors() ? errorCollector.getErrors().iterator().next() : null;
     }
 
 
@@ -336,9 +650,10 @@ public class DefaultDex894Validator implements X12Validator<Dex894> {
         X12ErrorDetail detail = null;
 
         if (dexItem != null) {
-            if (dexItem.getQuantity() == null) {
+            long quantity = dexItem.getQuantityUnscaled();
+            if (quantity == ConversionUtil.NO_VALUE) {
                 detail = new X12ErrorDetail(DefaultDex894Parser.G83_ID, "G8302", "Missing quantity");
-            } else if (dexItem.getQuantity().signum() < 0) {
+            } else if (quantity < 0) {
                 detail = new X12ErrorDetail(DefaultDex894Parser.G83_ID, "G8302", "Quantity must be positive");
             }
         }
@@ -430,7 +745,7 @@ public class DefaultDex894Validator implements X12Validator<Dex894> {
     protected Set<X12ErrorDetail> removeNullValues(Set<X12ErrorDetail> errors) {
         return errors.stream()
                 .filter(detail -> detail != null)
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
 }
@@ -17,11 +17,17 @@ limitations under the License.
 package com.walmartlabs.x12.dex.dx894;
 
 import com.walmartlabs.x12.types.UnitMeasure;
+import com.walmartlabs.x12.util.ConversionUtil;
 
 import java.math.BigDecimal;
 
 public class Dex894Allowance {
 
+    public static final int ALLOWANCE_RATE_SCALE = 4;
+    public static final int ALLOWANCE_QUANTITY_SCALE = 3;
+    public static final int ALLOWANCE_AMOUNT_SCALE = 2;
+    public static final int ALLOWANCE_PERCENT_SCALE = 3;
+
     /*
      * G72
      */
@@ -34,14 +40,19 @@ public class Dex894Allowance {
     // G7204: exception number
     private String exceptionNumber;
     // G7205: allowance or charge rate
+    private long allowanceRateUnscaled = ConversionUtil.NO_VALUE;
     private BigDecimal allowanceRate;
     // G7206: allowance quantity
+    private long allowanceQuantityUnscaled = ConversionUtil.NO_VALUE;
     private BigDecimal allowanceQuantity;
     // G7207: UOM
     private UnitMeasure allowanceUom;
+    private String allowanceUomCode;
     // G7208: Allowance Amount
+    private long allowanceAmountUnscaled = ConversionUtil.NO_VALUE;
     private BigDecimal allowanceAmount;
     // G7209: Allowance percent
+    private long allowancePercentUnscaled = ConversionUtil.NO_VALUE;
     private BigDecimal allowancePercent;
     // G7210: Dollar basis for percent
     private BigDecimal dollarBasis;
@@ -82,19 +93,51 @@ public class Dex894Allowance {
     }
 
     public BigDecimal getAllowanceRate() {
+        if (allowanceRate == null) {
+            allowanceRate = ConversionUtil.toBigDecimal(allowanceRateUnscaled, ALLOWANCE_RATE_SCALE);
+        }
         return allowanceRate;
     }
 
     public void setAllowanceRate(BigDecimal allowanceRate) {
         this.allowanceRate = allowanceRate;
+        this.allowanceRateUnscaled = ConversionUtil.toUnscaledLong(allowanceRate, ALLOWANCE_RATE_SCALE);
+    }
+
+    /**
+     * @return the value unscaled using {@link #ALLOWANCE_RATE_SCALE} decimal places or {@link ConversionUtil#NO_VALUE} if there is no value
+     */
+    public long getAllowanceRateUnscaled() {
+        return allowanceRateUnscaled;
+    }
+
+    public void setAllowanceRateUnscaled(long allowanceRateUnscaled) {
+        this.allowanceRateUnscaled = allowanceRateUnscaled;
+        this.allowanceRate = null;
     }
 
     public BigDecimal getAllowanceQuantity() {
+        if (allowanceQuantity == null) {
+            allowanceQuantity = ConversionUtil.toBigDecimal(allowanceQuantityUnscaled, ALLOWANCE_QUANTITY_SCALE);
+        }
         return allowanceQuantity;
     }
 
     public void setAllowanceQuantity(BigDecimal allowanceQuantity) {
         this.allowanceQuantity = allowanceQuantity;
+        this.allowanceQuantityUnscaled = ConversionUtil.toUnscaledLong(allowanceQuantity, ALLOWANCE_QUANTITY_SCALE);
+    }
+
+    /**
+     * @return the value unscaled using {@link #ALLOWANCE_QUANTITY_SCALE} decimal places or {@link ConversionUtil#NO_VALUE} if there is no value
+     */
+    public long getAllowanceQuantityUnscaled() {
+        return allowanceQuantityUnscaled;
+    }
+
+    public void setAllowanceQuantityUnscaled(long allowanceQuantityUnscaled) {
+        this.allowanceQuantityUnscaled = allowanceQuantityUnscaled;
+        this.allowanceQuantity = null;
     }
 
     public UnitMeasure getAllowanceUom() {
@@ -105,20 +148,60 @@ public class Dex894Allowance {
         this.allowanceUom = allowanceUom;
     }
 
+    public String getAllowanceUomCode() {
+        return allowanceUomCode;
+    }
+
+    public void setAllowanceUomCode(String allowanceUomCode) {
+        this.allowanceUomCode = allowanceUomCode;
+    }
+
     public BigDecimal getAllowanceAmount() {
+        if (allowanceAmount == null) {
+            allowanceAmount = ConversionUtil.toBigDecimal(allowanceAmountUnscaled, ALLOWANCE_AMOUNT_SCALE);
+        }
         return allowanceAmount;
     }
 
     public void setAllowanceAmount(BigDecimal allowanceAmount) {
         this.allowanceAmount = allowanceAmount;
+        this.allowanceAmountUnscaled = ConversionUtil.toUnscaledLong(allowanceAmount, ALLOWANCE_AMOUNT_SCALE);
+    }
+
+    /**
+     * @return the value in cents or {@link ConversionUtil#NO_VALUE} if there is no value
+     */
+    public long getAllowanceAmountInCents() {
+        return allowanceAmountUnscaled;
+    }
+
+    public void setAllowanceAmountInCents(long allowanceAmountInCents) {
+        this.allowanceAmountUnscaled = allowanceAmountInCents;
+        this.allowanceAmount = null;
     }
 
     public BigDecimal getAllowancePercent() {
+        if (allowancePercent == null) {
+            allowancePercent = ConversionUtil.toBigDecimal(allowancePercentUnscaled, ALLOWANCE_PERCENT_SCALE);
+        }
         return allowancePercent;
     }
 
     public void setAllowancePercent(BigDecimal allowancePercent) {
         this.allowancePercent = allowancePercent;
+        this.allowancePercentUnscaled = ConversionUtil.toUnscaledLong(allowancePercent, ALLOWANCE_PERCENT_SCALE);
+    }
+
+    /**
+     * @return the value unscaled using {@link #ALLOWANCE_PERCENT_SCALE} decimal places or {@link ConversionUtil#NO_VALUE} if there is no value
+     */
+    public long getAllowancePercentUnscaled() {
+        return allowancePercentUnscaled;
+    }
+
+    public void setAllowancePercentUnscaled(long allowancePercentUnscaled) {
+        this.allowancePercentUnscaled = allowancePercentUnscaled;
+        this.allowancePercent = null;
     }
 
     public BigDecimal getDollarBasis() {
@@ -18,6 +18,7 @@ package com.walmartlabs.x12.dex.dx894;
 
 import com.walmartlabs.x12.types.ProductQualifier;
 import com.walmartlabs.x12.types.UnitMeasure;
+import com.walmartlabs.x12.util.ConversionUtil;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -27,24 +28,31 @@ import java.util.List;
  * The 894 Base Record Transaction Set is comprised of items
  */
 public class Dex894Item {
+
+    public static final int QUANTITY_SCALE = 3;
+    public static final int ITEM_LIST_COST_SCALE = 4;
     /*
      * G83
      */
     // G8301: DSD Sequence Number
     private String itemSequenceNumber;
     // G8302: Quantity
+    private long quantityUnscaled = ConversionUtil.NO_VALUE;
     private BigDecimal quantity;
     // G8303: UOM
     private UnitMeasure uom;
+    private String uomCode;
     // G8304: 12 digit UPC
     private String upc;
     // G8305: Product Qualifier for G8306
     private ProductQualifier consumerProductQualifier;
+    private String consumerProductQualifierCode;
     // G8306: Product Id
     private String consumerProductId;
     // G8307: 12 digit UPC Case Code
     private String caseUpc;
     // G8308: Item List Cost
+    private long itemListCostUnscaled = ConversionUtil.NO_VALUE;
     private BigDecimal itemListCost;
     // G8309: Pack
     private Integer packCount;
@@ -52,6 +60,7 @@ public class Dex894Item {
     private String itemDescription;
     // G8311: Product Qualifier for G8312
     private ProductQualifier caseProductQualifier;
+    private String caseProductQualifierCode;
     // G8312: Product Id
     private String caseProductId;
     // G8313: inner pack count
@@ -82,11 +91,27 @@ public class Dex894Item {
     }
 
     public BigDecimal getQuantity() {
+        if (quantity == null) {
+            quantity = ConversionUtil.toBigDecimal(quantityUnscaled, QUANTITY_SCALE);
+        }
         return quantity;
     }
 
     public void setQuantity(BigDecimal quantity) {
         this.quantity = quantity;
+        this.quantityUnscaled = ConversionUtil.toUnscaledLong(quantity, QUANTITY_SCALE);
+    }
+
+    /**
+     * @return the value unscaled using {@link #QUANTITY_SCALE} decimal places or {@link ConversionUtil#NO_VALUE} if there is no value
+     */
+    public long getQuantityUnscaled() {
+        return quantityUnscaled;
+    }
+
+    public void setQuantityUnscaled(long quantityUnscaled) {
+        this.quantityUnscaled = quantityUnscaled;
+        this.quantity = null;
     }
 
     public UnitMeasure getUom() {
@@ -97,6 +122,14 @@ public class Dex894Item {
         this.uom = uom;
     }
 
+    public String getUomCode() {
+        return uomCode;
+    }
+
+    public void setUomCode(String uomCode) {
+        this.uomCode = uomCode;
+    }
+
     public String getUpc() {
         return upc;
     }
@@ -113,6 +146,14 @@ public class Dex894Item {
         this.consumerProductQualifier = consumerProductQualifier;
     }
 
+    public String getConsumerProductQualifierCode() {
+        return consumerProductQualifierCode;
+    }
+
+    public void setConsumerProductQualifierCode(String consumerProductQualifierCode) {
+        this.consumerProductQualifierCode = consumerProductQualifierCode;
+    }
+
     public String getConsumerProductId() {
         return consumerProductId;
     }
@@ -130,11 +171,27 @@ public class Dex894Item {
     }
 
     public BigDecimal getItemListCost() {
+        if (itemListCost == null) {
+            itemListCost = ConversionUtil.toBigDecimal(itemListCostUnscaled, ITEM_LIST_COST_SCALE);
+        }
         return itemListCost;
     }
 
     public void setItemListCost(BigDecimal itemListCost) {
         this.itemListCost = itemListCost;
+        this.itemListCostUnscaled = ConversionUtil.toUnscaledLong(itemListCost, ITEM_LIST_COST_SCALE);
+    }
+
+    /**
+     * @return the value unscaled using {@link #ITEM_LIST_COST_SCALE} decimal places or {@link ConversionUtil#NO_VALUE} if there is no value
+     */
+    public long getItemListCostUnscaled() {
+        return itemListCostUnscaled;
+    }
+
+    public void setItemListCostUnscaled(long itemListCostUnscaled) {
+        this.itemListCostUnscaled = itemListCostUnscaled;
+        this.itemListCost = null;
     }
 
     public Integer getPackCount() {
@@ -161,6 +218,14 @@ public class Dex894Item {
         this.caseProductQualifier = caseProductQualifier;
     }
 
+    public String getCaseProductQualifierCode() {
+        return caseProductQualifierCode;
+    }
+
+    public void setCaseProductQualifierCode(String caseProductQualifierCode) {
+        this.caseProductQualifierCode = caseProductQualifierCode;
+    }
+
     public String getCaseProductId() {
         return caseProductId;
     }
@@ -0,0 +1,48 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.dex.dx894;
+
+import com.walmartlabs.x12.exceptions.X12ErrorDetail;
+
+import java.util.Set;
+
+/**
+ * the DEX 894 transmission and the errors found
+ * while parsing and validating it
+ */
+public class Dex894ParseResult {
+
+    private final Dex894 dex;
+    private final Set<X12ErrorDetail> errors;
+
+    public Dex894ParseResult(Dex894 dex, Set<X12ErrorDetail> errors) {
+        this.dex = dex;
+        this.errors = errors;
+    }
+
+    public Dex894 getDex() {
+        return dex;
+    }
+
+    public Set<X12ErrorDetail> getErrors() {
+        return errors;
+    }
+
+    public boolean hasErrors() {
+        return errors != null && !errors.isEmpty();
+    }
+}
@@ -18,6 +18,7 @@ package com.walmartlabs.x12.dex.dx894;
 
 import com.walmartlabs.x12.AbstractX12TransactionSet;
 import com.walmartlabs.x12.types.InvoiceType;
+import com.walmartlabs.x12.util.ConversionUtil;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -29,6 +30,10 @@ import java.util.List;
  */
 public class Dex894TransactionSet extends AbstractX12TransactionSet {
 
+    public static final int TRANSACTION_TOTAL_QUANTITY_SCALE = 3;
+    public static final int TRANSACTION_TOTAL_AMOUNT_SCALE = 2;
+    public static final int TRANSACTION_TOTAL_DEPOSIT_AMOUNT_SCALE = 2;
+
     // used for validation routines
     // to cmp against expected segments
     private Integer actualNumberOfSegments;
@@ -38,6 +43,7 @@ public class Dex894TransactionSet extends AbstractX12TransactionSet {
      */
     // G8201
     private InvoiceType debitCreditFlag;
+    private String debitCreditCode;
     // G8202
     private String supplierNumber;
     // G8203
@@ -64,10 +70,13 @@ public class Dex894TransactionSet extends AbstractX12TransactionSet {
      * G84
      */
     // G8401
+    private long transactionTotalQuantityUnscaled = ConversionUtil.NO_VALUE;
     private BigDecimal transactionTotalQuantity;
     // G8402
+    private long transactionTotalAmountUnscaled = ConversionUtil.NO_VALUE;
     private BigDecimal transactionTotalAmount;
     // G8403
+    private long transactionTotalDepositAmountUnscaled = ConversionUtil.NO_VALUE;
     private BigDecimal transactionTotalDepositAmount;
 
     /*
@@ -76,6 +85,7 @@ public class Dex894TransactionSet extends AbstractX12TransactionSet {
     // G8501
     private String integrityCheckValue;
     private String transactionData;
+    private Integer computedIntegrityCheck;
 
     /*
      * G86
@@ -113,6 +123,14 @@ public class Dex894TransactionSet extends AbstractX12TransactionSet {
         this.debitCreditFlag = debitCreditFlag;
     }
 
+    public String getDebitCreditCode() {
+        return debitCreditCode;
+    }
+
+    public void setDebitCreditCode(String debitCreditCode) {
+        this.debitCreditCode = debitCreditCode;
+    }
+
     public String getReceiverDuns() {
         return receiverDuns;
     }
@@ -210,27 +228,78 @@ public class Dex894TransactionSet extends AbstractX12TransactionSet {
     }
 
     public BigDecimal getTransactionTotalQuantity() {
+        if (transactionTotalQuantity == null) {
+            transactionTotalQuantity = ConversionUtil.toBigDecimal(transactionTotalQuantityUnscaled, TRANSACTION_TOTAL_QUANTITY_SCALE);
+        }
         return transactionTotalQuantity;
     }
 
     public void setTransactionTotalQuantity(BigDecimal transactionTotalQuantity) {
         this.transactionTotalQuantity = transactionTotalQuantity;
+        this.transactionTotalQuantityUnscaled = ConversionUtil.toUnscaledLong(transactionTotalQuantity, TRANSACTION_TOTAL_QUANTITY_SCALE);
+    }
+
+    /**
+     * @return the value unscaled using {@link #TRANSACTION_TOTAL_QUANTITY_SCALE} decimal places
+     *         or {@link ConversionUtil#NO_VALUE} if there is no value
+     */
+    public long getTransactionTotalQuantityUnscaled() {
+        return transactionTotalQuantityUnscaled;
+    }
+
+    public void setTransactionTotalQuantityUnscaled(long transactionTotalQuantityUnscaled) {
+        this.transactionTotalQuantityUnscaled = transactionTotalQuantityUnscaled;
+        this.transactionTotalQuantity = null;
     }
 
     public BigDecimal getTransactionTotalAmount() {
+        if (transactionTotalAmount == null) {
+            transactionTotalAmount = ConversionUtil.toBigDecimal(transactionTotalAmountUnscaled, TRANSACTION_TOTAL_AMOUNT_SCALE);
+        }
         return transactionTotalAmount;
     }
 
     public void setTransactionTotalAmount(BigDecimal transactionTotalAmount) {
         this.transactionTotalAmount = transactionTotalAmount;
+        this.transactionTotalAmountUnscaled = ConversionUtil.toUnscaledLong(transactionTotalAmount, TRANSACTION_TOTAL_AMOUNT_SCALE);
+    }
+
+    /**
+     * @return the value in cents or {@link ConversionUtil#NO_VALUE} if there is no value
+     */
+    public long getTransactionTotalAmountInCents() {
+        return transactionTotalAmountUnscaled;
+    }
+
+    public void setTransactionTotalAmountInCents(long transactionTotalAmountInCents) {
+        this.transactionTotalAmountUnscaled = transactionTotalAmountInCents;
+        this.transactionTotalAmount = null;
     }
 
     public BigDecimal getTransactionTotalDepositAmount() {
+        if (transactionTotalDepositAmount == null) {
+            transactionTotalDepositAmount = ConversionUtil.toBigDecimal(transactionTotalDepositAmountUnscaled,
+                TRANSACTION_TOTAL_DEPOSIT_AMOUNT_SCALE);
+        }
         return transactionTotalDepositAmount;
     }
 
     public void setTransactionTotalDepositAmount(BigDecimal transactionTotalDepositAmount) {
         this.transactionTotalDepositAmount = transactionTotalDepositAmount;
+        this.transactionTotalDepositAmountUnscaled = ConversionUtil.toUnscaledLong(transactionTotalDepositAmount,
+            TRANSACTION_TOTAL_DEPOSIT_AMOUNT_SCALE);
+    }
+
+    /**
+     * @return the value in cents or {@link ConversionUtil#NO_VALUE} if there is no value
+     */
+    public long getTransactionTotalDepositAmountInCents() {
+        return transactionTotalDepositAmountUnscaled;
+    }
+
+    public void setTransactionTotalDepositAmountInCents(long transactionTotalDepositAmountInCents) {
+        this.transactionTotalDepositAmountUnscaled = transactionTotalDepositAmountInCents;
+        this.transactionTotalDepositAmount = null;
     }
 
     public String getTransactionData() {
@@ -240,4 +309,18 @@ public class Dex894TransactionSet extends AbstractX12TransactionSet {
     public void setTransactionData(String transactionData) {
         this.transactionData = transactionData;
     }
+
+    /**
+     * the CRC-16 computed over the transaction (ST thru G86)
+     * when the parser was asked to generate it while parsing
+     *
+     * @return the CRC value or null if it was not computed
+     */
+    public Integer getComputedIntegrityCheck() {
+        return computedIntegrityCheck;
+    }
+
+    public void setComputedIntegrityCheck(Integer computedIntegrityCheck) {
+        this.computedIntegrityCheck = computedIntegrityCheck;
+    }
 }
@@ -0,0 +1,268 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.dex.dx894;
+
+import com.walmartlabs.x12.types.InvoiceType;
+import com.walmartlabs.x12.types.ProductQualifier;
+import com.walmartlabs.x12.types.UnitMeasure;
+import com.walmartlabs.x12.util.ConversionUtil;
+import com.walmartlabs.x12.util.crc.DefaultCrc16;
+import com.walmartlabs.x12.writer.X12Delimiters;
+import com.walmartlabs.x12.writer.X12OutputListener;
+import com.walmartlabs.x12.writer.X12Writer;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.List;
+
+/**
+ * writes a {@link Dex894} as a DEX 894 transmission
+ * the reverse of {@link DefaultDex894Parser}
+ *
+ * DXS
+ * -- ST
+ * ---- G82
+ * ---- LS
+ * ------ G83
+ * ------ G72 (Optional)
+ * ---- LE
+ * ---- G84 (when there are totals)
+ * ---- G86 (when there is a signature)
+ * ---- G85
+ * -- SE
+ * DXE
+ *
+ * the G85 integrity check is computed with {@link DefaultCrc16}
+ * from the characters as they are written (ST thru G86)
+ * the integrity check value on the {@link Dex894TransactionSet} is not used
+ *
+ * the SE01 and DXE02 counts are calculated from what is written
+ */
+public class Dex894Writer {
+
+    /**
+     * the segments are terminated with CR LF which
+     * is expected by {@link DefaultDex894Parser} when verifying the G85
+     */
+    public static final X12Delimiters DEX_DELIMITERS = new X12Delimiters('*', ':', "\r\n");
+
+    /**
+     * the loop identifier used on the LS and LE segments
+     */
+    public static final String LOOP_IDENTIFIER = "0100";
+
+    public static final String DEX_894_TRANSACTION_CODE = "894";
+
+    private final DefaultCrc16 crc16 = new DefaultCrc16();
+
+    /**
+     * write the DEX 894 transmission
+     * @param dex
+     * @return the bytes of the transmission
+     */
+    public byte[] write(Dex894 dex) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            this.write(dex, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * write the DEX 894 transmission to the stream
+     * the stream is flushed but not closed
+     *
+     * @param dex
+     * @param outputStream
+     */
+    public void write(Dex894 dex, OutputStream outputStream) throws IOException {
+        X12Writer x12Writer = new X12Writer(outputStream, DEX_DELIMITERS);
+        this.write(dex, x12Writer);
+        x12Writer.flush();
+    }
+
+    /**
+     * write the DEX 894 transmission
+     * @param dex
+     * @param x12Writer must use segment terminator CR LF for the G85 to be verified by {@link DefaultDex894Parser}
+     */
+    public void write(Dex894 dex, X12Writer x12Writer) throws IOException {
+        x12Writer.startSegment(DefaultDex894Parser.DEX_HEADER_ID)
+            .element(dex.getSenderCommId())
+            .element(dex.getFunctionalId())
+            .element(dex.getVersion())
+            .element(dex.getHeaderTransmissionControlNumber())
+            .element(dex.getReceiverCommId())
+            .element(dex.getTestIndicator())
+            .endSegment();
+
+        int numberOfTransactions = 0;
+        List<Dex894TransactionSet> transactions = dex.getTransactions();
+        if (transactions != null) {
+            for (Dex894TransactionSet dexTx : transactions) {
+                this.writeTransaction(dexTx, x12Writer);
+                numberOfTransactions++;
+            }
+        }
+
+        x12Writer.startSegment(DefaultDex894Parser.DEX_TRAILER_ID)
+            .element(dex.getHeaderTransmissionControlNumber())
+            .element(numberOfTransactions)
+            .endSegment();
+    }
+
+    /**
+     * write one DEX transaction (ST thru SE)
+     * @param dexTx
+     * @param x12Writer
+     * @return the CRC-16 written on the G85
+     */
+    public int writeTransaction(Dex894TransactionSet dexTx, X12Writer x12Writer) throws IOException {
+        CrcListener crcListener = new CrcListener();
+        x12Writer.setOutputListener(crcListener);
+
+        String transactionCode = dexTx.getTransactionSetIdentifierCode();
+        x12Writer.startTransaction(transactionCode != null ? transactionCode : DEX_894_TRANSACTION_CODE, dexTx.getHeaderControlNumber());
+        this.writeG82(dexTx, x12Writer);
+
+        x12Writer.writeSegment(DefaultDex894Parser.LOOP_HEADER_ID, LOOP_IDENTIFIER);
+        List<Dex894Item> items = dexTx.getItems();
+        if (items != null) {
+            for (Dex894Item dexItem : items) {
+                this.writeItem(dexItem, x12Writer);
+            }
+        }
+        x12Writer.writeSegment(DefaultDex894Parser.LOOP_TRAILER_ID, LOOP_IDENTIFIER);
+
+        this.writeG84(dexTx, x12Writer);
+        if (StringUtils.isNotEmpty(dexTx.getElectronicSignature())) {
+            x12Writer.writeSegment(DefaultDex894Parser.G86_ID, dexTx.getElectronicSignature(), dexTx.getSignatureName());
+        }
+
+        // the integrity check covers ST thru G86
+        x12Writer.setOutputListener(null);
+        int crc = crcListener.crc;
+        x12Writer.writeSegment(DefaultDex894Parser.G85_ID,
+            StringUtils.leftPad(DefaultCrc16.toHexString(crc), DefaultDex894Validator.DEX_CRC_VALUE_MIN_SIZE, '0'));
+
+        x12Writer.endTransaction();
+        return crc;
+    }
+
+    protected void writeG82(Dex894TransactionSet dexTx, X12Writer x12Writer) throws IOException {
+        String debitCreditCode = dexTx.getDebitCreditCode();
+        if (debitCreditCode == null && dexTx.getDebitCreditFlag() != null && dexTx.getDebitCreditFlag() != InvoiceType.UNKNOWN) {
+            debitCreditCode = dexTx.getDebitCreditFlag().name();
+        }
+        x12Writer.startSegment(DefaultDex894Parser.G82_ID)
+            .element(debitCreditCode)
+            .element(dexTx.getSupplierNumber())
+            .element(dexTx.getReceiverDuns())
+            .element(dexTx.getReceiverLocation())
+            .element(dexTx.getSupplierDuns())
+            .element(dexTx.getSupplierLocation())
+            .element(dexTx.getTransactionDate())
+            .element(dexTx.getPurchaseOrderNumber())
+            .element(dexTx.getPurchaseOrderDate())
+            .endSegment();
+    }
+
+    protected void writeItem(Dex894Item dexItem, X12Writer x12Writer) throws IOException {
+        x12Writer.startSegment(DefaultDex894Parser.G83_ID)
+            .element(dexItem.getItemSequenceNumber())
+            .decimalElement(dexItem.getQuantityUnscaled(), Dex894Item.QUANTITY_SCALE)
+            .element(this.code(dexItem.getUomCode(), dexItem.getUom(), UnitMeasure.UNKNOWN))
+            .element(dexItem.getUpc())
+            .element(this.code(dexItem.getConsumerProductQualifierCode(), dexItem.getConsumerProductQualifier(), ProductQualifier.UNKNOWN))
+            .element(dexItem.getConsumerProductId())
+            .element(dexItem.getCaseUpc())
+            .decimalElement(dexItem.getItemListCostUnscaled(), Dex894Item.ITEM_LIST_COST_SCALE)
+            .element(dexItem.getPackCount())
+            .element(dexItem.getItemDescription())
+            .element(this.code(dexItem.getCaseProductQualifierCode(), dexItem.getCaseProductQualifier(), ProductQualifier.UNKNOWN))
+            .element(dexItem.getCaseProductId())
+            .element(dexItem.getInnerPackCount())
+            .endSegment();
+
+        List<Dex894Allowance> allowances = dexItem.getAllowances();
+        if (allowances != null) {
+            for (Dex894Allowance dexAllowance : allowances) {
+                this.writeG72(dexAllowance, x12Writer);
+            }
+        }
+    }
+
+    protected void writeG72(Dex894Allowance dexAllowance, X12Writer x12Writer) throws IOException {
+        x12Writer.startSegment(DefaultDex894Parser.G72_ID)
+            .element(dexAllowance.getAllowanceCode())
+            .element(dexAllowance.getMethodOfHandlingCode())
+            .element(dexAllowance.getAllowanceNumber())
+            .element(dexAllowance.getExceptionNumber())
+            .decimalElement(dexAllowance.getAllowanceRateUnscaled(), Dex894Allowance.ALLOWANCE_RATE_SCALE)
+            .decimalElement(dexAllowance.getAllowanceQuantityUnscaled(), Dex894Allowance.ALLOWANCE_QUANTITY_SCALE)
+            .element(this.code(dexAllowance.getAllowanceUomCode(), dexAllowance.getAllowanceUom(), UnitMeasure.UNKNOWN))
+            .decimalElement(dexAllowance.getAllowanceAmountInCents(), Dex894Allowance.ALLOWANCE_AMOUNT_SCALE)
+            .decimalElement(dexAllowance.getAllowancePercentUnscaled(), Dex894Allowance.ALLOWANCE_PERCENT_SCALE)
+            .element(dexAllowance.getOptionNumber())
+            .endSegment();
+    }
+
+    protected void writeG84(Dex894TransactionSet dexTx, X12Writer x12Writer) throws IOException {
+        long totalQuantity = dexTx.getTransactionTotalQuantityUnscaled();
+        long totalAmount = dexTx.getTransactionTotalAmountInCents();
+        long totalDepositAmount = dexTx.getTransactionTotalDepositAmountInCents();
+        if (totalQuantity != ConversionUtil.NO_VALUE
+            || totalAmount != ConversionUtil.NO_VALUE
+            || totalDepositAmount != ConversionUtil.NO_VALUE) {
+            x12Writer.startSegment(DefaultDex894Parser.G84_ID)
+                .decimalElement(totalQuantity, Dex894TransactionSet.TRANSACTION_TOTAL_QUANTITY_SCALE)
+                .decimalElement(totalAmount, Dex894TransactionSet.TRANSACTION_TOTAL_AMOUNT_SCALE)
+                .decimalElement(totalDepositAmount, Dex894TransactionSet.TRANSACTION_TOTAL_DEPOSIT_AMOUNT_SCALE)
+                .endSegment();
+        }
+    }
+
+    /**
+     * use the code that was parsed
+     * otherwise the code of the enum (when known)
+     */
+    private <E extends Enum<E>> String code(String code, E type, E unknown) {
+        if (code == null && type != null && type != unknown) {
+            return type.name();
+        }
+        return code;
+    }
+
+    /**
+     * computes the CRC-16 of the characters as they are written
+     */
+    private final class CrcListener implements X12OutputListener {
+
+        private int crc = DefaultCrc16.INITIAL_VALUE;
+
+        @Override
+        public void onOutput(char[] chars, int offset, int length) {
+            crc = crc16.update(crc, CharBuffer.wrap(chars, offset, length));
+        }
+    }
+}
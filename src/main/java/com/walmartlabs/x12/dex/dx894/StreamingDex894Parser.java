@@ -0,0 +1,213 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.dex.dx894;
+
+import com.walmartlabs.x12.X12Segment;
+import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.util.SourceToSegmentUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * parses a DEX 894 transmission from a {@link Reader} or {@link InputStream}
+ * one transaction (ST thru SE) at a time
+ *
+ * each {@link Dex894TransactionSet} is passed to a consumer as soon as its SE
+ * segment has been read and is not added to the {@link Dex894}, so only the
+ * segments of the current transaction are held in memory
+ *
+ * the segments are parsed by a {@link DefaultDex894Parser}, so its settings
+ * (ex: generating the integrity check and not retaining the transaction data)
+ * also apply to the streaming parser
+ *
+ * each segment is expected to be on a separate line,
+ * blank lines are ignored
+ */
+public class StreamingDex894Parser {
+
+    private final DefaultDex894Parser segmentParser;
+
+    public StreamingDex894Parser() {
+        this(new DefaultDex894Parser());
+    }
+
+    /**
+     * @param segmentParser the parser used for the DEX segments
+     */
+    public StreamingDex894Parser(DefaultDex894Parser segmentParser) {
+        this.segmentParser = segmentParser;
+    }
+
+    /**
+     * parse the DEX 894 transmission as UTF-8
+     *
+     * @param inputStream
+     * @param transactionConsumer called with each transaction as it is parsed
+     * @return the {@link Dex894} with the DXS and DXE data (but no transactions) or null if the stream is empty
+     * @throws IOException if the stream can not be read
+     * @throws X12ParserException if the DEX transmission is invalid
+     */
+    public Dex894 parse(InputStream inputStream, Consumer<Dex894TransactionSet> transactionConsumer) throws IOException {
+        return this.parse(inputStream, StandardCharsets.UTF_8, transactionConsumer);
+    }
+
+    /**
+     * parse the DEX 894 transmission
+     *
+     * @param inputStream
+     * @param charset
+     * @param transactionConsumer called with each transaction as it is parsed
+     * @return the {@link Dex894} with the DXS and DXE data (but no transactions) or null if the stream is empty
+     * @throws IOException if the stream can not be read
+     * @throws X12ParserException if the DEX transmission is invalid
+     */
+    public Dex894 parse(InputStream inputStream, Charset charset, Consumer<Dex894TransactionSet> transactionConsumer) throws IOException {
+        return this.parse(new InputStreamReader(inputStream, charset), transactionConsumer);
+    }
+
+    /**
+     * parse the DEX 894 transmission
+     *
+     * @param reader
+     * @param transactionConsumer called with each transaction as it is parsed
+     * @return the {@link Dex894} with the DXS and DXE data (but no transactions) or null if the reader is empty
+     * @throws IOException if the reader can not be read
+     * @throws X12ParserException if the DEX transmission is invalid
+     */
+    public Dex894 parse(Reader reader, Consumer<Dex894TransactionSet> transactionConsumer) throws IOException {
+        return this.parse(reader, null, transactionConsumer);
+    }
+
+    /**
+     * parse the DEX 894 transmission
+     *
+     * @param reader
+     * @param headerConsumer called with the DXS data before any transactions are parsed (optional)
+     * @param transactionConsumer called with each transaction as it is parsed
+     * @return the {@link Dex894} with the DXS and DXE data (but no transactions) or null if the reader is empty
+     * @throws IOException if the reader can not be read
+     * @throws X12ParserException if the DEX transmission is invalid
+     */
+    public Dex894 parse(Reader reader, Consumer<Dex894> headerConsumer, Consumer<Dex894TransactionSet> transactionConsumer)
+        throws IOException {
+
+        BufferedReader bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        StringBuilder lineBuffer = new StringBuilder(128);
+
+        String line = this.readSegment(bufferedReader, lineBuffer);
+        if (line == null) {
+            return null;
+        }
+
+        // DXS line
+        Character dataElementDelimiter = this.findElementDelimiterCharacter(line);
+        X12Segment segment = new X12Segment(line, dataElementDelimiter);
+        if (!DefaultDex894Parser.DEX_HEADER_ID.equals(segment.getIdentifier())) {
+            throw new X12ParserException("invalid envelope");
+        }
+
+        Dex894 dex = new Dex894();
+        try {
+            segmentParser.parseApplicationHeader(segment, dex);
+            if (headerConsumer != null) {
+                headerConsumer.accept(dex);
+            }
+
+            List<X12Segment> transactionSegments = new ArrayList<>();
+            boolean foundTrailer = false;
+            while (!foundTrailer && (line = this.readSegment(bufferedReader, lineBuffer)) != null) {
+                segment = new X12Segment(line, dataElementDelimiter);
+                String segmentId = segment.getIdentifier();
+
+                if (transactionSegments.isEmpty() && DefaultDex894Parser.DEX_TRAILER_ID.equals(segmentId)) {
+                    // DXE line
+                    segmentParser.parseApplicationTrailer(segment, dex);
+                    foundTrailer = true;
+                } else if (transactionSegments.isEmpty() && !DefaultDex894Parser.TRANSACTION_SET_HEADER_ID.equals(segmentId)) {
+                    throw new X12ParserException("Expected start of DEX transaction");
+                } else {
+                    transactionSegments.add(segment);
+                    if (DefaultDex894Parser.TRANSACTION_SET_TRAILER_ID.equals(segmentId)) {
+                        transactionConsumer.accept(this.parseTransaction(transactionSegments));
+                        transactionSegments.clear();
+                    }
+                }
+            }
+
+            if (!foundTrailer) {
+                throw new X12ParserException("invalid envelope");
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new X12ParserException("Invalid DEX message: missing mandatory fields");
+        } catch (StringIndexOutOfBoundsException e) {
+            throw new X12ParserException("Invalid DEX message: unexpected segments");
+        } catch (IndexOutOfBoundsException e) {
+            // ran out of segments before the end of a transaction
+            throw new X12ParserException("Invalid DEX message: unexpected segments");
+        }
+
+        return dex;
+    }
+
+    private Dex894TransactionSet parseTransaction(List<X12Segment> transactionSegments) {
+        Dex894TransactionSet dexTx = new Dex894TransactionSet();
+        segmentParser.parseDexTransaction(0, transactionSegments, dexTx);
+        return dexTx;
+    }
+
+    /**
+     * reads the next segment (line) ignoring blank lines
+     *
+     * @return the segment or null at the end of the reader
+     */
+    private String readSegment(BufferedReader reader, StringBuilder lineBuffer) throws IOException {
+        String segment = null;
+        int ch = 0;
+        while (segment == null && ch != -1) {
+            lineBuffer.setLength(0);
+            while ((ch = reader.read()) != -1 && ch != '\n') {
+                lineBuffer.append((char) ch);
+            }
+
+            int length = lineBuffer.length();
+            if (length > 0 && lineBuffer.charAt(length - 1) == '\r') {
+                lineBuffer.setLength(--length);
+            }
+            if (length > 0) {
+                segment = lineBuffer.toString();
+            }
+        }
+        return segment;
+    }
+
+    private Character findElementDelimiterCharacter(String headerSegment) {
+        if (headerSegment.length() > SourceToSegmentUtil.DATA_ELEMENT_SEPARATOR_INDEX) {
+            return headerSegment.charAt(SourceToSegmentUtil.DATA_ELEMENT_SEPARATOR_INDEX);
+        } else {
+            return SourceToSegmentUtil.DEFAULT_DATA_ELEMENT_SEPARATOR;
+        }
+    }
+}
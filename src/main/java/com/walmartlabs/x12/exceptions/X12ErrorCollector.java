@@ -0,0 +1,145 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.exceptions;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * collects the {@link X12ErrorDetail} found while validating
+ *
+ * validators only add to the collector when a check fails
+ * so nothing is allocated for a valid document
+ *
+ * the number of errors can be limited (ex: fail fast)
+ * once the limit is reached any other errors are ignored
+ * and validators can use {@link #isFull()} to stop early
+ */
+public class X12ErrorCollector {
+
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final int maxErrors;
+    private Set<X12ErrorDetail> errors;
+
+    /**
+     * collect all of the errors
+     */
+    public X12ErrorCollector() {
+        this(UNLIMITED);
+    }
+
+    /**
+     * collect at most maxErrors errors
+     *
+     * @param maxErrors
+     * @throws IllegalArgumentException if maxErrors is less than 1
+     */
+    public X12ErrorCollector(int maxErrors) {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("maxErrors must be at least 1");
+        }
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * collect only the first error
+     *
+     * @return the collector
+     */
+    public static X12ErrorCollector failFast() {
+        return new X12ErrorCollector(1);
+    }
+
+    /**
+     * add an error
+     *
+     * @param errorDetail the error or null if the check passed
+     * @return true if the error was added
+     */
+    public boolean add(X12ErrorDetail errorDetail) {
+        boolean added = false;
+        if (errorDetail != null && !this.isFull()) {
+            if (errors == null) {
+                errors = new LinkedHashSet<>();
+            }
+            added = errors.add(errorDetail);
+        }
+        return added;
+    }
+
+    /**
+     * add an error whose issue text is only formatted
+     * when the error will be kept
+     *
+     * @param segmentId
+     * @param elementId
+     * @param issueText
+     * @return true if the error was added
+     */
+    public boolean add(String segmentId, String elementId, Supplier<String> issueText) {
+        boolean added = false;
+        if (!this.isFull()) {
+            added = this.add(new X12ErrorDetail(segmentId, elementId, issueText.get()));
+        }
+        return added;
+    }
+
+    /**
+     * add the errors in iteration order until the limit is reached
+     *
+     * @param errorDetails
+     */
+    public void addAll(Collection<X12ErrorDetail> errorDetails) {
+        if (errorDetails != null) {
+            for (X12ErrorDetail errorDetail : errorDetails) {
+                if (this.isFull()) {
+                    break;
+                }
+                this.add(errorDetail);
+            }
+        }
+    }
+
+    /**
+     * @return true when no more errors will be added
+     */
+    public boolean isFull() {
+        return errors != null && errors.size() >= maxErrors;
+    }
+
+    public boolean hasErrors() {
+        return errors != null && !errors.isEmpty();
+    }
+
+    public int size() {
+        return errors != null ? errors.size() : 0;
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    /**
+     * @return the errors in the order they were added
+     */
+    public Set<X12ErrorDetail> getErrors() {
+        return errors != null ? errors : new LinkedHashSet<>();
+    }
+}
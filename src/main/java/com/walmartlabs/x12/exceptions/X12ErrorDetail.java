@@ -23,6 +23,8 @@ public class X12ErrorDetail {
     private String issueText;
     // can be used as TED 07 invalid value in 824
     private String invalidValue;
+    // can be used as AK302 segment position in 997
+    private Integer segmentPosition;
     
     public X12ErrorDetail(String segmentId, String elementId, String issueText) {
         this.segmentId = segmentId;
@@ -37,6 +39,18 @@ public class X12ErrorDetail {
         this.invalidValue = invalidValue;
     }
 
+    /**
+     * @param segmentId
+     * @param elementId
+     * @param issueText
+     * @param invalidValue
+     * @param segmentPosition the position of the segment in the transaction set (ST is 1) or null if it is not known
+     */
+    public X12ErrorDetail(String segmentId, String elementId, String issueText, String invalidValue, Integer segmentPosition) {
+        this(segmentId, elementId, issueText, invalidValue);
+        this.segmentPosition = segmentPosition;
+    }
+
     public String getSegmentId() {
         return segmentId;
     }
@@ -53,6 +67,10 @@ public class X12ErrorDetail {
         return invalidValue;
     }
 
+    public Integer getSegmentPosition() {
+        return segmentPosition;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("error:");
@@ -0,0 +1,161 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * records the {@link X12Metrics} in a Micrometer {@link MeterRegistry}
+ *
+ * Micrometer is an optional dependency
+ * it must be on the classpath to use this class
+ *
+ * meters:
+ * x12.tokenized.bytes (counter)
+ * x12.tokenized.segments (counter)
+ * x12.transactions (counter, tag: type)
+ * x12.phase (timer, tag: phase)
+ * x12.loops (summary, tag: type)
+ * x12.errors (counter, tag: segment)
+ *
+ * the meters for each tag value are created once and cached
+ *
+ * the tag values come from the documents being parsed, so only
+ * 2 or 3 uppercase letters or digits (ex: 856 or G85) are used as a tag
+ * and at most {@link #MAX_TAG_VALUES} per meter, anything else is
+ * tagged OTHER so a bad document can not create an unbounded number of meters
+ */
+public class MicrometerX12Metrics implements X12Metrics {
+
+    public static final String TOKENIZED_BYTES = "x12.tokenized.bytes";
+    public static final String TOKENIZED_SEGMENTS = "x12.tokenized.segments";
+    public static final String TRANSACTIONS = "x12.transactions";
+    public static final String PHASE = "x12.phase";
+    public static final String LOOPS = "x12.loops";
+    public static final String ERRORS = "x12.errors";
+
+    public static final String TAG_TYPE = "type";
+    public static final String TAG_PHASE = "phase";
+    public static final String TAG_SEGMENT = "segment";
+
+    /**
+     * the most distinct type or segment tag values kept for a meter
+     */
+    public static final int MAX_TAG_VALUES = 64;
+
+    // used as the tag value when the code or segment is missing
+    private static final String UNKNOWN = "UNKNOWN";
+    // used as the tag value when the code or segment is not valid
+    // or there are already too many tag values
+    private static final String OTHER = "OTHER";
+
+    private final MeterRegistry registry;
+
+    private final Counter tokenizedBytes;
+    private final Counter tokenizedSegments;
+    private final Map<X12Phase, Timer> phaseTimers = new EnumMap<>(X12Phase.class);
+
+    private final ConcurrentMap<String, Counter> transactionCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> loopSummaries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public MicrometerX12Metrics(MeterRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("registry must be provided");
+        }
+        this.registry = registry;
+        this.tokenizedBytes = Counter.builder(TOKENIZED_BYTES).register(registry);
+        this.tokenizedSegments = Counter.builder(TOKENIZED_SEGMENTS).register(registry);
+        for (X12Phase phase : X12Phase.values()) {
+            phaseTimers.put(phase, Timer.builder(PHASE).tag(TAG_PHASE, phase.name()).register(registry));
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void recordTokenized(long bytes, int segments) {
+        tokenizedBytes.increment(bytes);
+        tokenizedSegments.increment(segments);
+    }
+
+    @Override
+    public void recordTransactionSet(String transactionSetCode) {
+        transactionCounters
+            .computeIfAbsent(tagValue(transactionCounters, transactionSetCode),
+                type -> Counter.builder(TRANSACTIONS).tag(TAG_TYPE, type).register(registry))
+            .increment();
+    }
+
+    @Override
+    public void recordPhase(X12Phase phase, long nanos) {
+        phaseTimers.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordLoops(String transactionSetCode, int loopCount) {
+        loopSummaries
+            .computeIfAbsent(tagValue(loopSummaries, transactionSetCode),
+                type -> DistributionSummary.builder(LOOPS).tag(TAG_TYPE, type).register(registry))
+            .record(loopCount);
+    }
+
+    @Override
+    public void recordError(String segmentId) {
+        errorCounters
+            .computeIfAbsent(tagValue(errorCounters, segmentId),
+                segment -> Counter.builder(ERRORS).tag(TAG_SEGMENT, segment).register(registry))
+            .increment();
+    }
+
+    private static String tagValue(Map<String, ?> meters, String value) {
+        if (value == null || value.isEmpty()) {
+            return UNKNOWN;
+        } else if (!isValidTagValue(value)) {
+            return OTHER;
+        } else if (meters.size() >= MAX_TAG_VALUES && !meters.containsKey(value)) {
+            return OTHER;
+        }
+        return value;
+    }
+
+    private static boolean isValidTagValue(String value) {
+        int length = value.length();
+        if (length < 2 || length > 3) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (!(ch >= 'A' && ch <= 'Z') && !(ch >= '0' && ch <= '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.metrics;
+
+/**
+ * the {@link X12Metrics} used when no metrics are configured
+ */
+final class NoOpX12Metrics implements X12Metrics {
+
+    static final NoOpX12Metrics INSTANCE = new NoOpX12Metrics();
+
+    private NoOpX12Metrics() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void recordTokenized(long bytes, int segments) {
+        // no-op
+    }
+
+    @Override
+    public void recordTransactionSet(String transactionSetCode) {
+        // no-op
+    }
+
+    @Override
+    public void recordPhase(X12Phase phase, long nanos) {
+        // no-op
+    }
+
+    @Override
+    public void recordLoops(String transactionSetCode, int loopCount) {
+        // no-op
+    }
+
+    @Override
+    public void recordError(String segmentId) {
+        // no-op
+    }
+}
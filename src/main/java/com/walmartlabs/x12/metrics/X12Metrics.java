@@ -0,0 +1,90 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.metrics;
+
+import com.walmartlabs.x12.exceptions.X12ErrorDetail;
+
+import java.util.Collection;
+
+/**
+ * receives the measurements taken by the parsers, the splitter and the validators
+ *
+ * the default is {@link #NO_OP} which records nothing
+ * callers check {@link #isEnabled()} before taking a measurement
+ * so there is almost no cost when the metrics are disabled
+ *
+ * implementations must be thread safe
+ *
+ * @see MicrometerX12Metrics
+ */
+public interface X12Metrics {
+
+    /**
+     * records nothing
+     */
+    X12Metrics NO_OP = NoOpX12Metrics.INSTANCE;
+
+    /**
+     * @return false when the measurements should not be taken
+     */
+    boolean isEnabled();
+
+    /**
+     * the source data was split into segments
+     * @param bytes the size of the source data (the number of characters for a String)
+     * @param segments the number of segments
+     */
+    void recordTokenized(long bytes, int segments);
+
+    /**
+     * a transaction set was parsed
+     * @param transactionSetCode ST01 (ex: 856)
+     */
+    void recordTransactionSet(String transactionSetCode);
+
+    /**
+     * the time spent in one phase of the processing
+     * @param phase
+     * @param nanos
+     */
+    void recordPhase(X12Phase phase, long nanos);
+
+    /**
+     * the number of HL loops in a transaction set
+     * @param transactionSetCode ST01 (ex: 856)
+     * @param loopCount
+     */
+    void recordLoops(String transactionSetCode, int loopCount);
+
+    /**
+     * an error was found
+     * @param segmentId the segment with the error (can be null)
+     */
+    void recordError(String segmentId);
+
+    /**
+     * record each error
+     * @param errors (can be null)
+     */
+    default void recordErrors(Collection<X12ErrorDetail> errors) {
+        if (errors != null) {
+            for (X12ErrorDetail error : errors) {
+                this.recordError(error != null ? error.getSegmentId() : null);
+            }
+        }
+    }
+}
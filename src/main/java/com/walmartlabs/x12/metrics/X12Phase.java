@@ -0,0 +1,40 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.metrics;
+
+/**
+ * the phases timed by {@link X12Metrics#recordPhase(X12Phase, long)}
+ */
+public enum X12Phase {
+    /**
+     * splitting the source data into segments
+     */
+    TOKENIZE,
+    /**
+     * handling the envelope (ISA/GS/GE/IEA or DXS/DXE)
+     * not including the time spent parsing the transaction sets
+     */
+    ENVELOPE,
+    /**
+     * parsing a single transaction set
+     */
+    TRANSACTION_SET_PARSE,
+    /**
+     * validating a document
+     */
+    VALIDATE
+}
@@ -0,0 +1,64 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * the HL segments were organized into loops
+ * by {@link com.walmartlabs.x12.util.loop.X12LoopUtil}
+ *
+ * disabled by default
+ * enable it in the JFR settings (ex: com.walmartlabs.x12.LoopOrganize#enabled=true)
+ */
+@Name(X12LoopOrganizeEvent.NAME)
+@Label("X12 Loop Organize")
+@Description("HL segments organized into the loop hierarchy")
+@Category({"EDI", "X12"})
+@Enabled(false)
+@StackTrace(false)
+public final class X12LoopOrganizeEvent extends Event {
+
+    public static final String NAME = "com.walmartlabs.x12.LoopOrganize";
+
+    @Label("Segments")
+    private int segmentCount;
+
+    @Label("Top Level Loops")
+    private int topLevelLoopCount;
+
+    @Label("Errors")
+    private int errorCount;
+
+    public void setSegmentCount(int segmentCount) {
+        this.segmentCount = segmentCount;
+    }
+
+    public void setTopLevelLoopCount(int topLevelLoopCount) {
+        this.topLevelLoopCount = topLevelLoopCount;
+    }
+
+    public void setErrorCount(int errorCount) {
+        this.errorCount = errorCount;
+    }
+}
@@ -0,0 +1,57 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * the source data was split into segments
+ * by {@link com.walmartlabs.x12.util.SourceToSegmentUtil}
+ *
+ * disabled by default
+ * enable it in the JFR settings (ex: com.walmartlabs.x12.Tokenize#enabled=true)
+ */
+@Name(X12TokenizeEvent.NAME)
+@Label("X12 Tokenize")
+@Description("EDI source data split into segments")
+@Category({"EDI", "X12"})
+@Enabled(false)
+@StackTrace(false)
+public final class X12TokenizeEvent extends Event {
+
+    public static final String NAME = "com.walmartlabs.x12.Tokenize";
+
+    @Label("Characters")
+    private long characters;
+
+    @Label("Segments")
+    private int segments;
+
+    public void setCharacters(long characters) {
+        this.characters = characters;
+    }
+
+    public void setSegments(int segments) {
+        this.segments = segments;
+    }
+}
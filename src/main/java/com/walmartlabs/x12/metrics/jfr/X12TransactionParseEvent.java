@@ -0,0 +1,65 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * a transaction set (ST thru SE) was parsed
+ *
+ * disabled by default
+ * enable it in the JFR settings (ex: com.walmartlabs.x12.TransactionParse#enabled=true)
+ */
+@Name(X12TransactionParseEvent.NAME)
+@Label("X12 Transaction Set Parse")
+@Description("one transaction set parsed by the registered transaction set parser")
+@Category({"EDI", "X12"})
+@Enabled(false)
+@StackTrace(false)
+public final class X12TransactionParseEvent extends Event {
+
+    public static final String NAME = "com.walmartlabs.x12.TransactionParse";
+
+    @Label("Transaction Set Code")
+    @Description("ST01")
+    private String transactionSetCode;
+
+    @Label("Control Number")
+    @Description("ST02")
+    private String controlNumber;
+
+    @Label("Segments")
+    private int segmentCount;
+
+    public void setTransactionSetCode(String transactionSetCode) {
+        this.transactionSetCode = transactionSetCode;
+    }
+
+    public void setControlNumber(String controlNumber) {
+        this.controlNumber = controlNumber;
+    }
+
+    public void setSegmentCount(int segmentCount) {
+        this.segmentCount = segmentCount;
+    }
+}
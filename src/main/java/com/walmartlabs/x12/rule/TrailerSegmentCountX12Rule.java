@@ -16,7 +16,6 @@ limitations under the License.
 
 package com.walmartlabs.x12.rule;
 
-import com.walmartlabs.x12.SegmentIterator;
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.X12TransactionSet;
 import com.walmartlabs.x12.exceptions.X12ErrorDetail;
@@ -24,10 +23,9 @@ import com.walmartlabs.x12.exceptions.X12ParserException;
 import com.walmartlabs.x12.standard.StandardX12Parser;
 import com.walmartlabs.x12.util.ConversionUtil;
 
-import java.util.List;
 import java.util.Optional;
 
-public class TrailerSegmentCountX12Rule implements X12Rule {
+public class TrailerSegmentCountX12Rule implements X12StreamingRule {
 
     /**
      * check each trailer record and verify
@@ -37,21 +35,27 @@ public class TrailerSegmentCountX12Rule implements X12Rule {
      * it is designed to work before
      * any EDI message is split
      *
-     * @param segmentList
+     * the problems found on a group trailer
+     * are reported after the IEA segment is checked
+     * so a missing IEA segment is always reported first
      */
     @Override
-    public void verify(List<X12Segment> segmentList) {
+    public X12RuleVerifier newVerifier() {
+        return new TrailerSegmentCountVerifier();
+    }
 
-        SegmentIterator segments = new SegmentIterator(segmentList);
+    private class TrailerSegmentCountVerifier implements X12RuleVerifier {
 
-        int groupHeaders = 0;
-        int groupTrailers = 0;
-        int transactionCount = 0;
-        String currentGroupControlNumber = null;
-        int groupCountOnIeaTrailer = this.findGroupCountOnIeaTrailer(segmentList);
+        private int groupHeaders = 0;
+        private int groupTrailers = 0;
+        private int transactionCount = 0;
+        private String currentGroupControlNumber = null;
+        private X12Segment lastSegment = null;
+        private X12ParserException groupTrailerException = null;
 
-        while (segments.hasNext()) {
-            X12Segment currentSegment = segments.next();
+        @Override
+        public void onSegment(X12Segment currentSegment) {
+            lastSegment = currentSegment;
 
             if (StandardX12Parser.GROUP_HEADER_ID.equals(currentSegment.getIdentifier())) {
                 groupHeaders++;
@@ -61,28 +65,40 @@ public class TrailerSegmentCountX12Rule implements X12Rule {
             if (X12TransactionSet.TRANSACTION_SET_HEADER.equals(currentSegment.getIdentifier())) {
                 transactionCount++;
             }
+        }
 
-            if (StandardX12Parser.GROUP_TRAILER_ID.equals(currentSegment.getIdentifier())) {
-                groupTrailers++;
-                this.verifyTransactionsOnGroupTrailer(currentGroupControlNumber, transactionCount, currentSegment);
-
-                // reset transaction numbers
-                transactionCount = 0;
-                currentGroupControlNumber = null;
+        @Override
+        public void onGroupEnd(X12Segment groupTrailer) {
+            groupTrailers++;
+            if (groupTrailerException == null) {
+                try {
+                    verifyTransactionsOnGroupTrailer(currentGroupControlNumber, transactionCount, groupTrailer);
+                } catch (X12ParserException e) {
+                    groupTrailerException = e;
+                }
             }
+
+            // reset transaction numbers
+            transactionCount = 0;
+            currentGroupControlNumber = null;
         }
 
-        this.verifyInterchangeControlTrailer(groupHeaders, groupTrailers, groupCountOnIeaTrailer);
+        @Override
+        public void onEnd() {
+            int groupCountOnIeaTrailer = findGroupCountOnIeaTrailer(lastSegment);
+            if (groupTrailerException != null) {
+                throw groupTrailerException;
+            }
+            verifyInterchangeControlTrailer(groupHeaders, groupTrailers, groupCountOnIeaTrailer);
+        }
     }
 
     /**
-     * find IEA segment and get number of groups
+     * get number of groups from the IEA segment
      */
-    private int findGroupCountOnIeaTrailer(List<X12Segment> segmentList) {
+    private int findGroupCountOnIeaTrailer(X12Segment ieaTrailer) {
         int groupCountOnIeaTrailer = 0;
-        int segmentCount = segmentList.size();
 
-        X12Segment ieaTrailer = segmentList.get(segmentCount - 1);
         if (ieaTrailer != null && StandardX12Parser.ENVELOPE_TRAILER_ID.equals(ieaTrailer.getIdentifier())) {
             groupCountOnIeaTrailer = Optional
                 .ofNullable(ConversionUtil.convertStringToInteger(ieaTrailer.getElement(1)))
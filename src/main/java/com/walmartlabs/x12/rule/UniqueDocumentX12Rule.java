@@ -16,11 +16,13 @@ limitations under the License.
 
 package com.walmartlabs.x12.rule;
 
-import com.walmartlabs.x12.SegmentIterator;
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.exceptions.X12ErrorDetail;
 import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.util.dedup.DocumentFingerprint;
+import com.walmartlabs.x12.util.dedup.DocumentFingerprintStore;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -40,26 +42,57 @@ import java.util.Set;
  * and will take two locations
  * one for the document number and
  * the other for the document date
+ *
+ * when a {@link DocumentFingerprintStore} is provided
+ * the documents are also checked against the documents
+ * received in earlier files, using the interchange
+ * sender (ISA06) as the sender of the document
+ *
+ * verifying does not change the store, once the file
+ * has been accepted the caller should add its documents
+ * to the store using {@link #recordAccepted(List)}
  */
-public class UniqueDocumentX12Rule implements X12Rule {
+public class UniqueDocumentX12Rule implements X12StreamingRule {
+
+    private static final String ISA_ID = "ISA";
+    private static final int ISA_SENDER_INDEX = 6;
 
     private final String segmentId;
     private final int documentNumberIndex;
     private final int documentDateIndex;
+    private final DocumentFingerprintStore fingerprintStore;
 
     public UniqueDocumentX12Rule(String segmentId, int documentNumberIndex, int documentDateIndex) {
+        this(segmentId, documentNumberIndex, documentDateIndex, null);
+    }
+
+    /**
+     * @param segmentId
+     * @param documentNumberIndex
+     * @param documentDateIndex
+     * @param fingerprintStore the documents received in earlier files or null to only check within the file
+     */
+    public UniqueDocumentX12Rule(String segmentId, int documentNumberIndex, int documentDateIndex,
+        DocumentFingerprintStore fingerprintStore) {
         this.segmentId = segmentId;
         this.documentNumberIndex = documentNumberIndex;
         this.documentDateIndex = documentDateIndex;
+        this.fingerprintStore = fingerprintStore;
     }
 
     @Override
-    public void verify(List<X12Segment> segmentList) {
-        Set<String> documentNumbers = new HashSet<>();
+    public X12RuleVerifier newVerifier() {
+        return new UniqueDocumentVerifier();
+    }
 
-        SegmentIterator segments = new SegmentIterator(segmentList);
-        while (segments.hasNext()) {
-            X12Segment currentSegment = segments.next();
+    private class UniqueDocumentVerifier implements X12RuleVerifier {
+
+        private final Set<String> documentNumbers = new HashSet<>();
+        private final List<Long> fingerprints = new ArrayList<>();
+        private String sender = null;
+
+        @Override
+        public void onSegment(X12Segment currentSegment) {
             if (segmentId.equals(currentSegment.getIdentifier())) {
                 String docNumber = currentSegment.getElement(documentNumberIndex);
                 String docDate = currentSegment.getElement(documentDateIndex);
@@ -67,9 +100,59 @@ public class UniqueDocumentX12Rule implements X12Rule {
                     throw new X12ParserException(
                         new X12ErrorDetail(segmentId, segmentId + documentNumberIndex, "duplicate document numbers"));
                 }
+                if (fingerprintStore != null) {
+                    fingerprints.add(DocumentFingerprint.fingerprint(sender, docNumber, docDate));
+                }
+            } else if (fingerprintStore != null && ISA_ID.equals(currentSegment.getIdentifier())) {
+                sender = trim(currentSegment.getElement(ISA_SENDER_INDEX));
+            }
+        }
+
+        @Override
+        public void onEnd() {
+            if (fingerprintStore != null) {
+                checkPreviouslyReceived(fingerprints);
+            }
+        }
+    }
+
+    /**
+     * add the documents in an accepted file to the {@link DocumentFingerprintStore}
+     *
+     * the documents are added in one atomic operation so when two
+     * threads accept the same documents only one of them will succeed
+     *
+     * @param segmentList the segments in the file
+     * @return true if the documents were added (or there is no store),
+     *     false if any of them had already been received
+     */
+    public boolean recordAccepted(List<X12Segment> segmentList) {
+        boolean recorded = true;
+        if (segmentList != null && fingerprintStore != null) {
+            UniqueDocumentVerifier verifier = new UniqueDocumentVerifier();
+            for (X12Segment segment : segmentList) {
+                verifier.onSegment(segment);
+            }
+            long[] fingerprints = new long[verifier.fingerprints.size()];
+            for (int i = 0; i < fingerprints.length; i++) {
+                fingerprints[i] = verifier.fingerprints.get(i);
             }
+            recorded = fingerprintStore.addAllIfAbsent(fingerprints);
         }
+        return recorded;
+    }
+
+    private void checkPreviouslyReceived(List<Long> fingerprints) {
+        for (Long fingerprint : fingerprints) {
+            if (fingerprintStore.contains(fingerprint)) {
+                throw new X12ParserException(
+                    new X12ErrorDetail(segmentId, segmentId + documentNumberIndex, "document number previously received"));
+            }
+        }
+    }
 
+    private String trim(String value) {
+        return value != null ? value.trim() : null;
     }
 
 }
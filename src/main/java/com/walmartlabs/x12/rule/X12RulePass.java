@@ -0,0 +1,125 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.rule;
+
+import com.walmartlabs.x12.X12Segment;
+import com.walmartlabs.x12.standard.StandardX12Parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * runs a list of {@link X12Rule} over an EDI message
+ * in a single pass over the segments
+ *
+ * an {@link X12StreamingRule} sees each segment as it is passed in,
+ * any other rule is called with the whole segment list at the end
+ *
+ * the outcome is the same as calling verify on each rule in order:
+ * a rule that fails stops sending segments to that rule and
+ * the exception from the first rule (in the order the rules were provided)
+ * that failed is thrown by {@link #onEnd()}, rules after it are not finished
+ */
+public final class X12RulePass {
+
+    private final List<X12RuleVerifier> verifiers;
+    private final RuntimeException[] failures;
+
+    /**
+     * @param rules the rules to run (null rules are ignored)
+     * @param segmentList the segments for rules that can not be streamed
+     */
+    public X12RulePass(List<? extends X12Rule> rules, List<X12Segment> segmentList) {
+        this.verifiers = new ArrayList<>();
+        if (rules != null) {
+            for (X12Rule rule : rules) {
+                if (rule instanceof X12StreamingRule) {
+                    verifiers.add(((X12StreamingRule) rule).newVerifier());
+                } else if (rule != null) {
+                    verifiers.add(new SegmentListVerifier(rule, segmentList));
+                }
+            }
+        }
+        this.failures = new RuntimeException[verifiers.size()];
+    }
+
+    /**
+     * @return true if there are no rules to run
+     */
+    public boolean isEmpty() {
+        return verifiers.isEmpty();
+    }
+
+    /**
+     * pass the next segment to each of the rules
+     * @param segment
+     */
+    public void onSegment(X12Segment segment) {
+        boolean groupEnd = StandardX12Parser.GROUP_TRAILER_ID.equals(segment.getIdentifier());
+        for (int i = 0; i < failures.length; i++) {
+            if (failures[i] == null) {
+                try {
+                    X12RuleVerifier verifier = verifiers.get(i);
+                    verifier.onSegment(segment);
+                    if (groupEnd) {
+                        verifier.onGroupEnd(segment);
+                    }
+                } catch (RuntimeException e) {
+                    failures[i] = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * finish each of the rules
+     * @throws RuntimeException the exception from the first rule that failed
+     */
+    public void onEnd() {
+        for (int i = 0; i < failures.length; i++) {
+            if (failures[i] != null) {
+                throw failures[i];
+            }
+            verifiers.get(i).onEnd();
+        }
+    }
+
+    /**
+     * adapts an {@link X12Rule} that needs
+     * the whole segment list to the verifier
+     */
+    private static class SegmentListVerifier implements X12RuleVerifier {
+
+        private final X12Rule rule;
+        private final List<X12Segment> segmentList;
+
+        SegmentListVerifier(X12Rule rule, List<X12Segment> segmentList) {
+            this.rule = rule;
+            this.segmentList = segmentList;
+        }
+
+        @Override
+        public void onSegment(X12Segment segment) {
+            // the rule is run on the whole list at the end
+        }
+
+        @Override
+        public void onEnd() {
+            rule.verify(segmentList);
+        }
+    }
+}
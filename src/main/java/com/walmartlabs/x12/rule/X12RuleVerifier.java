@@ -0,0 +1,52 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.rule;
+
+import com.walmartlabs.x12.X12Segment;
+
+/**
+ * verifies an EDI message one segment at a time
+ *
+ * a new verifier is created by an {@link X12StreamingRule}
+ * for each EDI message so it can hold the state for that message
+ */
+public interface X12RuleVerifier {
+
+    /**
+     * called for every segment in the EDI message in order
+     * @param segment
+     * @throws com.walmartlabs.x12.exceptions.X12ParserException if the rule is broken
+     */
+    void onSegment(X12Segment segment);
+
+    /**
+     * called after {@link #onSegment(X12Segment)} for each GE segment
+     * @param groupTrailer
+     * @throws com.walmartlabs.x12.exceptions.X12ParserException if the rule is broken
+     */
+    default void onGroupEnd(X12Segment groupTrailer) {
+        // nothing to do by default
+    }
+
+    /**
+     * called after the last segment in the EDI message
+     * @throws com.walmartlabs.x12.exceptions.X12ParserException if the rule is broken
+     */
+    default void onEnd() {
+        // nothing to do by default
+    }
+}
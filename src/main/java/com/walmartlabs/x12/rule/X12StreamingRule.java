@@ -0,0 +1,54 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.rule;
+
+import com.walmartlabs.x12.X12Segment;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * an {@link X12Rule} that can verify the EDI message
+ * as the segments are read
+ *
+ * the {@link com.walmartlabs.x12.util.split.X12TransactionSplitter}
+ * runs all of the streaming rules in the same pass over the
+ * segments that it uses to split the EDI message
+ */
+public interface X12StreamingRule extends X12Rule {
+
+    /**
+     * @return a new verifier for a single EDI message
+     */
+    X12RuleVerifier newVerifier();
+
+    /**
+     * verify the EDI message using a new verifier
+     *
+     * @param segmentList
+     * @throws IllegalArgumentException if the segment list is null
+     */
+    @Override
+    default void verify(List<X12Segment> segmentList) {
+        if (segmentList == null) {
+            throw new IllegalArgumentException("segment list must not be null");
+        }
+        X12RulePass rulePass = new X12RulePass(Collections.singletonList(this), segmentList);
+        segmentList.forEach(rulePass::onSegment);
+        rulePass.onEnd();
+    }
+}
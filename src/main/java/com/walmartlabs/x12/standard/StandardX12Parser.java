@@ -16,11 +16,15 @@ limitations under the License.
 
 package com.walmartlabs.x12.standard;
 
-import com.walmartlabs.x12.SegmentIterator;
+import com.walmartlabs.x12.PeekingSegmentIterator;
+import com.walmartlabs.x12.X12ElementValueCache;
 import com.walmartlabs.x12.X12Parser;
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.X12TransactionSet;
 import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.metrics.X12Metrics;
+import com.walmartlabs.x12.metrics.X12Phase;
+import com.walmartlabs.x12.metrics.jfr.X12TransactionParseEvent;
 import com.walmartlabs.x12.standard.txset.AbstractTransactionSetParserChainable;
 import com.walmartlabs.x12.standard.txset.TransactionSetParser;
 import com.walmartlabs.x12.standard.txset.UnhandledTransactionSet;
@@ -64,8 +68,14 @@ public final class StandardX12Parser implements X12Parser<StandardX12Document> {
     public static final String GROUP_HEADER_ID = "GS";
     public static final String GROUP_TRAILER_ID = "GE";
 
+    private static final int TRANSACTION_SET_HEADER_CODE = X12Segment.identifierCode(X12TransactionSet.TRANSACTION_SET_HEADER);
+    private static final int TRANSACTION_SET_TRAILER_CODE = X12Segment.identifierCode(X12TransactionSet.TRANSACTION_SET_TRAILER);
+    private static final int GROUP_TRAILER_CODE = X12Segment.identifierCode(GROUP_TRAILER_ID);
+
     private TransactionSetParser transactionParser;
     private UnhandledTransactionSet unhandledTransactionSet;
+    private X12Metrics metrics = X12Metrics.NO_OP;
+    private int elementValueCacheMaxLength = 0;
 
     /**
      * parse an X12 document into the representative Java POJO
@@ -78,18 +88,30 @@ public final class StandardX12Parser implements X12Parser<StandardX12Document> {
     public StandardX12Document parse(String sourceData) {
         StandardX12Document x12Doc = null;
 
+        boolean timed = metrics.isEnabled();
         try {
             if (StringUtils.isNotEmpty(sourceData)) {
+                long startTime = timed ? System.nanoTime() : 0L;
                 x12Doc = new StandardX12Document();
 
                 // remove any excess white space
                 // and
                 // break document up into segment lines
-                List<X12Segment> segmentList = SourceToSegmentUtil.splitSourceDataIntoSegments(sourceData.trim());
+                List<X12Segment> segmentList = SourceToSegmentUtil.splitSourceDataIntoSegments(sourceData.trim(), this.newElementValueCache());
+                if (timed) {
+                    long tokenizedTime = System.nanoTime();
+                    metrics.recordPhase(X12Phase.TOKENIZE, tokenizedTime - startTime);
+                    metrics.recordTokenized(sourceData.length(), segmentList.size());
+                    startTime = tokenizedTime;
+                }
+
                 if (X12ParsingUtil.isValidEnvelope(segmentList, ENVELOPE_HEADER_ID, ENVELOPE_TRAILER_ID)) {
                     // standard parsing of segment lines
-                    SegmentIterator segments = new SegmentIterator(segmentList);
-                    this.standardParsingTemplate(segments, x12Doc);
+                    PeekingSegmentIterator segments = new PeekingSegmentIterator(segmentList);
+                    long transactionNanos = this.standardParsingTemplate(segments, x12Doc);
+                    if (timed) {
+                        metrics.recordPhase(X12Phase.ENVELOPE, System.nanoTime() - startTime - transactionNanos);
+                    }
                 } else  {
                     throw new X12ParserException("Invalid EDI X12 message: must be wrapped in ISA/ISE");
                 }
@@ -97,10 +119,16 @@ public final class StandardX12Parser implements X12Parser<StandardX12Document> {
         } catch (X12ParserException e) {
             // if the exception is already an
             // X12ParserException pass it through
+            if (timed) {
+                metrics.recordError(e.getErrorDetail() != null ? e.getErrorDetail().getSegmentId() : null);
+            }
             throw e;
         } catch (Exception e) {
             // all exceptions except an X12ParserException
             // should be wrapped
+            if (timed) {
+                metrics.recordError(null);
+            }
             throw new X12ParserException("Invalid EDI X12 message: unexpected error", e);
         }
 
@@ -145,6 +173,10 @@ public final class StandardX12Parser implements X12Parser<StandardX12Document> {
         boolean isAdded = false;
 
         if (txParser != null) {
+            if (metrics.isEnabled() && txParser instanceof AbstractTransactionSetParserChainable) {
+                ((AbstractTransactionSetParserChainable) txParser).setMetrics(metrics);
+            }
+
             if (this.transactionParser == null) {
                 // we don't have a transaction set parser
                 // so we will register this one
@@ -172,12 +204,61 @@ public final class StandardX12Parser implements X12Parser<StandardX12Document> {
         this.unhandledTransactionSet = txUnhandled;
     }
 
+    /**
+     * the metrics recorded while parsing
+     * the default is {@link X12Metrics#NO_OP}
+     *
+     * the metrics are also passed to the registered {@link AbstractTransactionSetParserChainable}
+     * which time each transaction set that is parsed
+     *
+     * @param metrics
+     */
+    public void setMetrics(X12Metrics metrics) {
+        this.metrics = metrics != null ? metrics : X12Metrics.NO_OP;
+        if (transactionParser instanceof AbstractTransactionSetParserChainable) {
+            ((AbstractTransactionSetParserChainable) transactionParser).setMetrics(this.metrics);
+        }
+    }
+
+    public X12Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * when greater than 0 the element values up to this length
+     * are shared between the segments of a document
+     * (ex: qualifiers, DUNS numbers, dates) instead of
+     * each segment holding its own copy of the value
+     *
+     * a new bounded {@link X12ElementValueCache} is used for each parse
+     * so the parser can still be shared between threads
+     *
+     * this is most useful when the parsed documents are kept in memory
+     *
+     * the default is 0 (the values are not shared)
+     *
+     * @param elementValueCacheMaxLength
+     */
+    public void setElementValueCacheMaxLength(int elementValueCacheMaxLength) {
+        this.elementValueCacheMaxLength = Math.max(0, elementValueCacheMaxLength);
+    }
+
+    public int getElementValueCacheMaxLength() {
+        return elementValueCacheMaxLength;
+    }
+
+    private X12ElementValueCache newElementValueCache() {
+        return elementValueCacheMaxLength > 0 ? new X12ElementValueCache(elementValueCacheMaxLength) : null;
+    }
+
     /**
      * template for parsing a standard EDI X12 document
      *
+     * @return the time spent parsing the transaction sets (when metrics are enabled)
      * @throws X12ParserException if the document can't be parsed
      */
-    private void standardParsingTemplate(SegmentIterator segments, StandardX12Document x12Doc) {
+    private long standardParsingTemplate(PeekingSegmentIterator segments, StandardX12Document x12Doc) {
+        long transactionNanos = 0L;
 
         //
         // interchange control header
@@ -208,7 +289,8 @@ public final class StandardX12Parser implements X12Parser<StandardX12Document> {
                 // get the next segment
                 currentSegment = segments.next();
 
-                if (X12TransactionSet.TRANSACTION_SET_HEADER.equals(currentSegment.getIdentifier())) {
+                int segmentCode = currentSegment.getIdentifierCode();
+                if (segmentCode == TRANSACTION_SET_HEADER_CODE) {
                     if (insideTransaction) {
                         // we are already in a transaction
                         // and have not encountered the end
@@ -218,11 +300,11 @@ public final class StandardX12Parser implements X12Parser<StandardX12Document> {
                         insideTransaction = true;
                         transactionSet.add(currentSegment);
                     }
-                } else if (X12TransactionSet.TRANSACTION_SET_TRAILER.equals(currentSegment.getIdentifier())) {
+                } else if (segmentCode == TRANSACTION_SET_TRAILER_CODE) {
                     if (insideTransaction) {
                         transactionSet.add(currentSegment);
                         // delegate parsing of transaction set
-                        this.parseTransactionSet(transactionSet, currentGroup);
+                        transactionNanos += this.parseTransactionSet(transactionSet, currentGroup);
                         // get ready for next segment
                         insideTransaction = false;
                         transactionSet.clear();
@@ -231,7 +313,7 @@ public final class StandardX12Parser implements X12Parser<StandardX12Document> {
                         // so should not have gotten transaction trailer
                         this.handleUnexpectedSegment(X12TransactionSet.TRANSACTION_SET_HEADER, currentSegment.getIdentifier());
                     }
-                } else if (GROUP_TRAILER_ID.equals(currentSegment.getIdentifier())) {
+                } else if (segmentCode == GROUP_TRAILER_CODE) {
                     if (insideTransaction) {
                         // we are already in a transaction
                         // and have not encountered the end
@@ -262,18 +344,15 @@ public final class StandardX12Parser implements X12Parser<StandardX12Document> {
             this.parseGroupTrailer(currentSegment, currentGroup);
 
             // check for end of message
-            if (segments.hasNext()) {
+            // otherwise let the parser
+            // see if the next segment is valid
+            if (ENVELOPE_TRAILER_ID.equals(segments.peekIdentifier())) {
                 currentSegment = segments.next();
-                if (ENVELOPE_TRAILER_ID.equals(currentSegment.getIdentifier())) {
-                    this.parseInterchangeControlTrailer(currentSegment, x12Doc);
-                } else {
-                    // move back one
-                    // and let the parser
-                    // see if it is valid
-                    currentSegment = segments.previous();
-                }
+                this.parseInterchangeControlTrailer(currentSegment, x12Doc);
             }
         }
+
+        return transactionNanos;
     }
 
     /**
@@ -378,8 +457,18 @@ public final class StandardX12Parser implements X12Parser<StandardX12Document> {
      * register the correct {@link TransactionSetParser} to parse the transaction set(s) and add the resulting objects to the X12 Group
      * @param transactionSegments
      * @param x12Group
+     * @return the time spent parsing the transaction set (when metrics are enabled)
      */
-    private void parseTransactionSet(List<X12Segment> transactionSegments, X12Group x12Group) {
+    private long parseTransactionSet(List<X12Segment> transactionSegments, X12Group x12Group) {
+        boolean timed = metrics.isEnabled();
+        long startTime = 0L;
+        if (timed) {
+            metrics.recordTransactionSet(transactionSegments.get(0).getElement(1));
+            startTime = System.nanoTime();
+        }
+        X12TransactionParseEvent event = new X12TransactionParseEvent();
+        event.begin();
+
         if (transactionParser != null) {
             X12TransactionSet txSet = transactionParser.parseTransactionSet(transactionSegments, x12Group);
             if (txSet != null) {
@@ -393,6 +482,16 @@ public final class StandardX12Parser implements X12Parser<StandardX12Document> {
         } else {
             LOGGER.warn("No TransactionSetParser has been registered!");
         }
+
+        if (event.shouldCommit()) {
+            X12Segment transactionHeader = transactionSegments.get(0);
+            event.setTransactionSetCode(transactionHeader.getElement(1));
+            event.setControlNumber(transactionHeader.getElement(2));
+            event.setSegmentCount(transactionSegments.size());
+            event.commit();
+        }
+
+        return timed ? System.nanoTime() - startTime : 0L;
     }
 
 }
@@ -30,6 +30,11 @@ public class X12Loop {
 
     public static final String HIERARCHY_LOOP_ID = "HL";
 
+    // some loop attributes (ex: TD1, TD5, MAN) occur
+    // only once per loop so their lists are created sized
+    // for a single element and grow only when needed
+    protected static final int INITIAL_LIST_CAPACITY = 1;
+
     /*
      * HL
      */
@@ -40,6 +40,10 @@ public abstract class X12ParsedLoop extends X12Loop {
     // but the PO4 would be unexpected & unparsed)
     private List<X12Segment> unparsedSegments;
 
+    // number of child loops on the unparsed loop
+    // used to size the parsed child loop list exactly
+    private int parsedChildLoopCapacity;
+
     /**
      * helper method to copy the attributes
      * from the unparsed loop to this object
@@ -50,6 +54,11 @@ public abstract class X12ParsedLoop extends X12Loop {
         this.setHierarchicalId(loop.getHierarchicalId());
         this.setParentHierarchicalId(loop.getParentHierarchicalId());
         this.setSegments(loop.getSegments());
+
+        List<X12Loop> childLoops = loop.getChildLoops();
+        if (childLoops != null && !childLoops.isEmpty()) {
+            parsedChildLoopCapacity = childLoops.size();
+        }
     }
 
     /**
@@ -58,7 +67,7 @@ public abstract class X12ParsedLoop extends X12Loop {
      */
     public void addUnparsedSegment(X12Segment segment) {
         if (unparsedSegments == null) {
-            unparsedSegments = new ArrayList<>();
+            unparsedSegments = new ArrayList<>(INITIAL_LIST_CAPACITY);
         }
         unparsedSegments.add(segment);
     }
@@ -69,7 +78,7 @@ public abstract class X12ParsedLoop extends X12Loop {
      */
     public void addParsedChildLoop(X12Loop loop) {
         if (parsedChildrenLoops == null) {
-            parsedChildrenLoops = new ArrayList<>();
+            parsedChildrenLoops = parsedChildLoopCapacity > 0 ? new ArrayList<>(parsedChildLoopCapacity) : new ArrayList<>();
         }
         parsedChildrenLoops.add(loop);
     }
@@ -0,0 +1,78 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.ack;
+
+/**
+ * the type of acknowledgment written by the {@link FunctionalAcknowledgmentGenerator}
+ *
+ * the 997 reports errors with AK3/AK4/AK5
+ * the 999 reports errors with IK3/IK4/IK5 and includes the version on the AK1 and AK2
+ */
+public enum AcknowledgmentType {
+    FA_997("997", "AK3", "AK4", "AK5", false),
+    FA_999("999", "IK3", "IK4", "IK5", true);
+
+    private final String transactionSetCode;
+    private final String segmentErrorId;
+    private final String elementErrorId;
+    private final String transactionResponseId;
+    private final boolean versionIncluded;
+
+    AcknowledgmentType(String transactionSetCode, String segmentErrorId, String elementErrorId, String transactionResponseId,
+        boolean versionIncluded) {
+        this.transactionSetCode = transactionSetCode;
+        this.segmentErrorId = segmentErrorId;
+        this.elementErrorId = elementErrorId;
+        this.transactionResponseId = transactionResponseId;
+        this.versionIncluded = versionIncluded;
+    }
+
+    /**
+     * @return the ST01 value
+     */
+    public String getTransactionSetCode() {
+        return transactionSetCode;
+    }
+
+    /**
+     * @return AK3 or IK3
+     */
+    public String getSegmentErrorId() {
+        return segmentErrorId;
+    }
+
+    /**
+     * @return AK4 or IK4
+     */
+    public String getElementErrorId() {
+        return elementErrorId;
+    }
+
+    /**
+     * @return AK5 or IK5
+     */
+    public String getTransactionResponseId() {
+        return transactionResponseId;
+    }
+
+    /**
+     * @return true when the AK1 and AK2 include the version
+     */
+    public boolean isVersionIncluded() {
+        return versionIncluded;
+    }
+}
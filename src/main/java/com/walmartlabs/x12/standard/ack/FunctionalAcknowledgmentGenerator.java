@@ -0,0 +1,435 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.ack;
+
+import com.walmartlabs.x12.AbstractX12TransactionSetWithLoop;
+import com.walmartlabs.x12.X12TransactionSet;
+import com.walmartlabs.x12.exceptions.X12ErrorDetail;
+import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.standard.InterchangeControlEnvelope;
+import com.walmartlabs.x12.standard.StandardX12Document;
+import com.walmartlabs.x12.standard.X12Group;
+import com.walmartlabs.x12.standard.X12Loop;
+import com.walmartlabs.x12.util.X12ParsingUtil;
+import com.walmartlabs.x12.writer.X12Writer;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * writes 997 or 999 functional acknowledgments to an {@link X12Writer}
+ *
+ * the acknowledgments for many inbound interchanges are written in a single
+ * outbound interchange and group (GS01 FA) with one transaction set per inbound group
+ *
+ * <pre>
+ * generator.startBatch(isa, gs);
+ * generator.acknowledge(x12Document);
+ * generator.acknowledge(anotherX12Document);
+ * generator.endBatch();
+ * </pre>
+ *
+ * the acknowledgments can also be written from envelope events
+ * without a {@link StandardX12Document}
+ *
+ * <pre>
+ * generator.startGroupAcknowledgment(functionalId, groupControlNumber, version);
+ * generator.acknowledgeTransactionSet(transactionSetCode, controlNumber, version, errors);
+ * generator.endGroupAcknowledgment(numberOfTransactions);
+ * </pre>
+ *
+ * nothing is kept in memory other than the counts for the group being acknowledged
+ *
+ * a transaction set with any error is rejected (AK501 R, AK502 5)
+ * each {@link X12ErrorDetail} is written as an AK3 and when the element
+ * position can be taken from the element id (ex: SE01 or 01) an AK4
+ *
+ * the position of the segment in the transaction set (AK302) is taken
+ * from {@link X12ErrorDetail#getSegmentPosition()}, the ST is always 1
+ * and the SE is the number of segments in the transaction set when it is known
+ * an error w/o a segment position or w/o a segment syntax error code (AK304)
+ * only rejects the transaction set, see {@link #segmentSyntaxErrorCode(X12ErrorDetail, int)}
+ *
+ * this class is not thread safe
+ */
+public class FunctionalAcknowledgmentGenerator {
+
+    public static final String GROUP_RESPONSE_HEADER_ID = "AK1";
+    public static final String TRANSACTION_RESPONSE_HEADER_ID = "AK2";
+    public static final String GROUP_RESPONSE_TRAILER_ID = "AK9";
+
+    public static final String ACCEPTED = "A";
+    public static final String PARTIALLY_ACCEPTED = "P";
+    public static final String REJECTED = "R";
+
+    /**
+     * AK304 segment has data element errors
+     */
+    public static final String SEGMENT_HAS_ELEMENT_ERRORS = "8";
+
+    /**
+     * AK304 unexpected segment
+     */
+    public static final String UNEXPECTED_SEGMENT = "2";
+
+    /**
+     * AK304 segment not in proper sequence
+     */
+    public static final String SEGMENT_NOT_IN_PROPER_SEQUENCE = "7";
+
+    /**
+     * AK403 invalid code value
+     */
+    public static final String INVALID_ELEMENT_VALUE = "7";
+
+    /**
+     * AK502 one or more segments in error
+     */
+    public static final String ONE_OR_MORE_SEGMENTS_IN_ERROR = "5";
+
+    private static final int CONTROL_NUMBER_MIN_SIZE = 4;
+
+    private final X12Writer x12Writer;
+    private final AcknowledgmentType acknowledgmentType;
+
+    private int nextControlNumber = 1;
+
+    // the group being acknowledged
+    private boolean groupOpen;
+    private int transactionsReceived;
+    private int transactionsAccepted;
+
+    public FunctionalAcknowledgmentGenerator(X12Writer x12Writer, AcknowledgmentType acknowledgmentType) {
+        if (x12Writer == null || acknowledgmentType == null) {
+            throw new IllegalArgumentException("writer and acknowledgment type must be provided");
+        }
+        this.x12Writer = x12Writer;
+        this.acknowledgmentType = acknowledgmentType;
+    }
+
+    /**
+     * the ST02 of the next acknowledgment
+     * each acknowledgment increments the value
+     * the default is 1
+     *
+     * @param nextControlNumber
+     */
+    public void setNextControlNumber(int nextControlNumber) {
+        this.nextControlNumber = nextControlNumber;
+    }
+
+    public int getNextControlNumber() {
+        return nextControlNumber;
+    }
+
+    /**
+     * write the ISA and GS for the acknowledgments
+     * @param isa the outbound interchange
+     * @param group the outbound group (GS01 should be FA)
+     */
+    public void startBatch(InterchangeControlEnvelope isa, X12Group group) throws IOException {
+        x12Writer.startInterchange(isa);
+        x12Writer.startGroup(group);
+    }
+
+    /**
+     * write the GE and IEA
+     */
+    public void endBatch() throws IOException {
+        x12Writer.endGroup();
+        x12Writer.endInterchange();
+    }
+
+    /**
+     * acknowledge each group in the document
+     * the errors for a transaction set are the looping errors (if any)
+     *
+     * @param x12Document
+     */
+    public void acknowledge(StandardX12Document x12Document) throws IOException {
+        this.acknowledge(x12Document, FunctionalAcknowledgmentGenerator::loopingErrors);
+    }
+
+    /**
+     * acknowledge each group in the document
+     * @param x12Document
+     * @param transactionErrors provides the errors found for a transaction set
+     */
+    public void acknowledge(StandardX12Document x12Document, Function<X12TransactionSet, List<X12ErrorDetail>> transactionErrors)
+        throws IOException {
+        List<X12Group> groups = x12Document.getGroups();
+        if (groups != null) {
+            for (X12Group group : groups) {
+                this.acknowledgeGroup(group, transactionErrors);
+            }
+        }
+    }
+
+    /**
+     * acknowledge each transaction set in the group
+     * @param group
+     * @param transactionErrors provides the errors found for a transaction set
+     */
+    public void acknowledgeGroup(X12Group group, Function<X12TransactionSet, List<X12ErrorDetail>> transactionErrors) throws IOException {
+        this.startGroupAcknowledgment(group.getFunctionalCodeId(), group.getHeaderGroupControlNumber(), group.getVersion());
+        List<X12TransactionSet> transactions = group.getTransactions();
+        if (transactions != null) {
+            for (X12TransactionSet transaction : transactions) {
+                this.acknowledgeTransactionSet(transaction.getTransactionSetIdentifierCode(), transaction.getHeaderControlNumber(),
+                    group.getVersion(), transaction.getExpectedNumberOfSegments(), transactionErrors.apply(transaction));
+            }
+        }
+        this.endGroupAcknowledgment(group.getNumberOfTransactions());
+    }
+
+    /**
+     * reject a group that could not be parsed
+     * @param group the GS values of the inbound group
+     */
+    public void rejectGroup(X12Group group) throws IOException {
+        this.startGroupAcknowledgment(group.getFunctionalCodeId(), group.getHeaderGroupControlNumber(), group.getVersion());
+        this.endGroupAcknowledgment(group.getNumberOfTransactions());
+    }
+
+    /**
+     * write the ST and AK1 for an inbound group
+     * @param functionalId GS01
+     * @param groupControlNumber GS06
+     * @param version GS08
+     */
+    public void startGroupAcknowledgment(String functionalId, String groupControlNumber, String version) throws IOException {
+        if (groupOpen) {
+            throw new IllegalStateException("the previous group acknowledgment was not ended");
+        }
+        groupOpen = true;
+        transactionsReceived = 0;
+        transactionsAccepted = 0;
+
+        String controlNumber = StringUtils.leftPad(Integer.toString(nextControlNumber++), CONTROL_NUMBER_MIN_SIZE, '0');
+        x12Writer.startTransaction(acknowledgmentType.getTransactionSetCode(), controlNumber);
+        x12Writer.startSegment(GROUP_RESPONSE_HEADER_ID)
+            .element(functionalId)
+            .element(groupControlNumber)
+            .element(acknowledgmentType.isVersionIncluded() ? version : null)
+            .endSegment();
+    }
+
+    /**
+     * write the AK2 thru AK5 for an inbound transaction set
+     * @param transactionSetCode ST01
+     * @param controlNumber ST02
+     * @param version the version of the transaction set (only used on a 999)
+     * @param errors the errors found (empty or null when it was accepted)
+     */
+    public void acknowledgeTransactionSet(String transactionSetCode, String controlNumber, String version, List<X12ErrorDetail> errors)
+        throws IOException {
+        this.acknowledgeTransactionSet(transactionSetCode, controlNumber, version, null, errors);
+    }
+
+    /**
+     * write the AK2 thru AK5 for an inbound transaction set
+     * @param transactionSetCode ST01
+     * @param controlNumber ST02
+     * @param version the version of the transaction set (only used on a 999)
+     * @param numberOfSegments SE01 (the position of the SE) or null if it is not known
+     * @param errors the errors found (empty or null when it was accepted)
+     */
+    public void acknowledgeTransactionSet(String transactionSetCode, String controlNumber, String version, Integer numberOfSegments,
+        List<X12ErrorDetail> errors) throws IOException {
+        this.checkGroupOpen();
+        transactionsReceived++;
+
+        x12Writer.startSegment(TRANSACTION_RESPONSE_HEADER_ID)
+            .element(transactionSetCode)
+            .element(controlNumber)
+            .element(acknowledgmentType.isVersionIncluded() ? version : null)
+            .endSegment();
+
+        boolean accepted = errors == null || errors.isEmpty();
+        if (!accepted) {
+            for (X12ErrorDetail error : errors) {
+                this.writeError(error, numberOfSegments);
+            }
+        } else {
+            transactionsAccepted++;
+        }
+
+        x12Writer.startSegment(acknowledgmentType.getTransactionResponseId())
+            .element(accepted ? ACCEPTED : REJECTED)
+            .element(accepted ? null : ONE_OR_MORE_SEGMENTS_IN_ERROR)
+            .endSegment();
+    }
+
+    /**
+     * write the AK2 thru AK5 for an inbound transaction set that failed to parse
+     * @param transactionSetCode ST01
+     * @param controlNumber ST02
+     * @param version the version of the transaction set (only used on a 999)
+     * @param parserException
+     */
+    public void acknowledgeTransactionSet(String transactionSetCode, String controlNumber, String version,
+        X12ParserException parserException) throws IOException {
+        X12ErrorDetail error = parserException.getErrorDetail();
+        if (error == null) {
+            error = new X12ErrorDetail(X12TransactionSet.TRANSACTION_SET_HEADER, null, parserException.getMessage());
+        }
+        this.acknowledgeTransactionSet(transactionSetCode, controlNumber, version, Collections.singletonList(error));
+    }
+
+    /**
+     * write the AK9 and SE for the inbound group
+     * @param numberOfTransactions the GE01 of the inbound group or null to use the number acknowledged
+     */
+    public void endGroupAcknowledgment(Integer numberOfTransactions) throws IOException {
+        this.checkGroupOpen();
+
+        String groupResponse;
+        if (transactionsReceived > 0 && transactionsAccepted == transactionsReceived) {
+            groupResponse = ACCEPTED;
+        } else if (transactionsAccepted > 0) {
+            groupResponse = PARTIALLY_ACCEPTED;
+        } else {
+            groupResponse = REJECTED;
+        }
+
+        x12Writer.startSegment(GROUP_RESPONSE_TRAILER_ID)
+            .element(groupResponse)
+            .element(numberOfTransactions != null ? numberOfTransactions.longValue() : transactionsReceived)
+            .element(transactionsReceived)
+            .element(transactionsAccepted)
+            .endSegment();
+        x12Writer.endTransaction();
+        groupOpen = false;
+    }
+
+    /**
+     * the AK3 (or IK3) for the segment
+     * followed by an AK4 (or IK4) when the element position is known
+     *
+     * @param error
+     * @param numberOfSegments SE01 or null if it is not known
+     */
+    protected void writeError(X12ErrorDetail error, Integer numberOfSegments) throws IOException {
+        int segmentPosition = segmentPosition(error, numberOfSegments);
+        int elementPosition = elementPosition(error.getSegmentId(), error.getElementId());
+        String segmentSyntaxErrorCode = this.segmentSyntaxErrorCode(error, elementPosition);
+
+        if (segmentPosition > 0 && segmentSyntaxErrorCode != null) {
+            x12Writer.startSegment(acknowledgmentType.getSegmentErrorId())
+                .element(error.getSegmentId())
+                .element(segmentPosition)
+                .element((CharSequence) null)
+                .element(segmentSyntaxErrorCode)
+                .endSegment();
+
+            if (elementPosition > 0) {
+                x12Writer.startSegment(acknowledgmentType.getElementErrorId())
+                    .element(elementPosition)
+                    .element((CharSequence) null)
+                    .element(INVALID_ELEMENT_VALUE)
+                    .element(error.getInvalidValue())
+                    .endSegment();
+            }
+        }
+    }
+
+    /**
+     * the segment syntax error code (AK304) for the error
+     *
+     * errors on an element have data element errors (8),
+     * a segment found instead of the one that was expected is unexpected (2)
+     * and the HL looping errors are not in proper sequence (7)
+     *
+     * @param error
+     * @param elementPosition the position of the element or -1 if it is not known
+     * @return the code or null when there is no code for the error
+     */
+    protected String segmentSyntaxErrorCode(X12ErrorDetail error, int elementPosition) {
+        if (elementPosition > 0) {
+            return SEGMENT_HAS_ELEMENT_ERRORS;
+        } else if (X12ParsingUtil.UNEXPECTED_SEGMENT_ERROR.equals(error.getIssueText())) {
+            return UNEXPECTED_SEGMENT;
+        } else if (X12Loop.HIERARCHY_LOOP_ID.equals(error.getSegmentId())) {
+            return SEGMENT_NOT_IN_PROPER_SEQUENCE;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * the position of the segment in the transaction set
+     * either from the error, the ST (1) or the SE
+     *
+     * @return the position or -1 if it is not known
+     */
+    static int segmentPosition(X12ErrorDetail error, Integer numberOfSegments) {
+        if (error.getSegmentPosition() != null && error.getSegmentPosition() > 0) {
+            return error.getSegmentPosition();
+        } else if (X12TransactionSet.TRANSACTION_SET_HEADER.equals(error.getSegmentId())) {
+            return 1;
+        } else if (X12TransactionSet.TRANSACTION_SET_TRAILER.equals(error.getSegmentId()) && numberOfSegments != null
+            && numberOfSegments > 1) {
+            return numberOfSegments;
+        }
+        return -1;
+    }
+
+    /**
+     * the position of the element in the segment
+     * taken from the element id (ex: SE01 or 01 is 1)
+     *
+     * @return the position or -1 if it is not known
+     */
+    static int elementPosition(String segmentId, String elementId) {
+        if (elementId == null || elementId.isEmpty()) {
+            return -1;
+        }
+        int start;
+        if (segmentId != null && elementId.length() > segmentId.length() && elementId.startsWith(segmentId)) {
+            start = segmentId.length();
+        } else if (Character.isDigit(elementId.charAt(0))) {
+            start = 0;
+        } else {
+            return -1;
+        }
+        int position = 0;
+        for (int i = start; i < elementId.length(); i++) {
+            char ch = elementId.charAt(i);
+            if (ch < '0' || ch > '9' || position > 99) {
+                return -1;
+            }
+            position = position * 10 + (ch - '0');
+        }
+        return position > 0 ? position : -1;
+    }
+
+    private static List<X12ErrorDetail> loopingErrors(X12TransactionSet transaction) {
+        if (transaction instanceof AbstractX12TransactionSetWithLoop) {
+            return ((AbstractX12TransactionSetWithLoop) transaction).getLoopingErrors();
+        }
+        return null;
+    }
+
+    private void checkGroupOpen() {
+        if (!groupOpen) {
+            throw new IllegalStateException("a group acknowledgment must be started first");
+        }
+    }
+}
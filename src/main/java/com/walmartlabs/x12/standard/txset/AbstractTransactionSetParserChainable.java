@@ -16,12 +16,16 @@ limitations under the License.
 
 package com.walmartlabs.x12.standard.txset;
 
+import com.walmartlabs.x12.AbstractX12TransactionSetWithLoop;
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.X12TransactionSet;
 import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.metrics.X12Metrics;
+import com.walmartlabs.x12.metrics.X12Phase;
 import com.walmartlabs.x12.standard.X12Group;
 import com.walmartlabs.x12.util.ConversionUtil;
 import com.walmartlabs.x12.util.X12ParsingUtil;
+import com.walmartlabs.x12.util.loop.X12LoopUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +35,7 @@ public abstract class AbstractTransactionSetParserChainable implements Transacti
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractTransactionSetParserChainable.class);
 
     private TransactionSetParser nextParser;
+    private X12Metrics metrics = X12Metrics.NO_OP;
 
     /**
      * chainable implementation of the {@link TransactionSetParser} interface
@@ -43,6 +48,9 @@ public abstract class AbstractTransactionSetParserChainable implements Transacti
         if (this.handlesTransactionSet(transactionSegments, x12Group)) {
             // we handle this transaction
             // so parse it
+            if (metrics.isEnabled()) {
+                return this.doParseWithMetrics(transactionSegments, x12Group);
+            }
             return this.doParse(transactionSegments, x12Group);
         } else if (nextParser != null) {
             // we don't handle the transaction
@@ -55,6 +63,48 @@ public abstract class AbstractTransactionSetParserChainable implements Transacti
         }
     }
 
+    /**
+     * time the parsing of the transaction set
+     * and record the number of loops and any looping errors
+     */
+    private X12TransactionSet doParseWithMetrics(List<X12Segment> transactionSegments, X12Group x12Group) {
+        long startTime = System.nanoTime();
+        X12TransactionSet txSet = this.doParse(transactionSegments, x12Group);
+        metrics.recordPhase(X12Phase.TRANSACTION_SET_PARSE, System.nanoTime() - startTime);
+
+        int loopCount = 0;
+        for (X12Segment segment : transactionSegments) {
+            if (X12LoopUtil.isHierarchicalLoopStart(segment)) {
+                loopCount++;
+            }
+        }
+        metrics.recordLoops(transactionSegments.get(0).getElement(1), loopCount);
+
+        if (txSet instanceof AbstractX12TransactionSetWithLoop) {
+            metrics.recordErrors(((AbstractX12TransactionSetWithLoop) txSet).getLoopingErrors());
+        }
+        return txSet;
+    }
+
+    /**
+     * the metrics recorded while parsing
+     * the default is {@link X12Metrics#NO_OP}
+     *
+     * the metrics are also passed to the next parsers in the chain
+     *
+     * @param metrics
+     */
+    public void setMetrics(X12Metrics metrics) {
+        this.metrics = metrics != null ? metrics : X12Metrics.NO_OP;
+        if (nextParser instanceof AbstractTransactionSetParserChainable) {
+            ((AbstractTransactionSetParserChainable) nextParser).setMetrics(this.metrics);
+        }
+    }
+
+    public X12Metrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * convenience method that will allow one or more {@link TransactionSetParser}
      * to be registered w/ the parser
@@ -73,6 +123,9 @@ public abstract class AbstractTransactionSetParserChainable implements Transacti
                 // so we will register it
                 isAdded = true;
                 this.nextParser = txParser;
+                if (metrics.isEnabled() && txParser instanceof AbstractTransactionSetParserChainable) {
+                    ((AbstractTransactionSetParserChainable) txParser).setMetrics(metrics);
+                }
             } else if (this.nextParser instanceof AbstractTransactionSetParserChainable) {
                 // we have a next parser already
                 // try to add this to the end of the chain
@@ -150,6 +203,7 @@ public abstract class AbstractTransactionSetParserChainable implements Transacti
         String segmentIdentifier = segment.getIdentifier();
         if (X12TransactionSet.TRANSACTION_ITEM_TOTAL.equals(segmentIdentifier)) {
             asnTx.setTransactionLineItems(ConversionUtil.convertStringToInteger(segment.getElement(1)));
+            asnTx.setTransactionHashTotal(segment.getElement(2));
         } else {
             throw X12ParsingUtil.handleUnexpectedSegment(X12TransactionSet.TRANSACTION_ITEM_TOTAL, segmentIdentifier);
         }
@@ -19,6 +19,9 @@ package com.walmartlabs.x12.standard.txset.asn856;
 import com.walmartlabs.x12.AbstractX12TransactionSetWithLoop;
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.common.segment.DTMDateTimeReference;
+import com.walmartlabs.x12.standard.X12ParsedLoop;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Item;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Order;
 import com.walmartlabs.x12.standard.txset.asn856.loop.Shipment;
 import org.apache.commons.collections4.CollectionUtils;
 
@@ -50,6 +53,10 @@ public class AsnTransactionSet extends AbstractX12TransactionSetWithLoop {
     // the first loop in the HL hierarchy
     private Shipment shipment;
 
+    // lookup tables for the shipment
+    // built the first time they are needed
+    private volatile AsnTransactionSetIndex index;
+
     /**
      * helper method to add DTM to list
      * @param dtm
@@ -73,6 +80,61 @@ public class AsnTransactionSet extends AbstractX12TransactionSetWithLoop {
         unexpectedSegmentsBeforeLoop.add(segment);
     }
 
+    /**
+     * get the lookup tables for the shipment
+     *
+     * the index is built on the first call
+     * and rebuilt when the shipment is replaced
+     */
+    public AsnTransactionSetIndex getIndex() {
+        AsnTransactionSetIndex currentIndex = index;
+        if (currentIndex == null) {
+            currentIndex = new AsnTransactionSetIndex(shipment);
+            index = currentIndex;
+        }
+        return currentIndex;
+    }
+
+    /**
+     * find the Pack and Tare loops with a MAN mark number
+     *
+     * @param markNumber
+     * @return the loops or an empty list
+     */
+    public List<X12ParsedLoop> findLoopsByMarkNumber(String markNumber) {
+        return this.getIndex().findLoopsByMarkNumber(markNumber);
+    }
+
+    /**
+     * find the Item loops with a LIN product id
+     *
+     * @param productId
+     * @return the items or an empty list
+     */
+    public List<Item> findItemsByProductId(String productId) {
+        return this.getIndex().findItemsByProductId(productId);
+    }
+
+    /**
+     * find the Order loops with a PRF purchase order number
+     *
+     * @param purchaseOrderNumber
+     * @return the orders or an empty list
+     */
+    public List<Order> findOrdersByPurchaseOrderNumber(String purchaseOrderNumber) {
+        return this.getIndex().findOrdersByPurchaseOrderNumber(purchaseOrderNumber);
+    }
+
+    /**
+     * find the Item loops on an Order with a PRF purchase order number
+     *
+     * @param purchaseOrderNumber
+     * @return the items or an empty list
+     */
+    public List<Item> findItemsByPurchaseOrderNumber(String purchaseOrderNumber) {
+        return this.getIndex().findItemsByPurchaseOrderNumber(purchaseOrderNumber);
+    }
+
     public String getPurposeCode() {
         return purposeCode;
     }
@@ -119,6 +181,7 @@ public class AsnTransactionSet extends AbstractX12TransactionSetWithLoop {
 
     public void setShipment(Shipment shipment) {
         this.shipment = shipment;
+        this.index = null;
     }
 
     public List<DTMDateTimeReference> getDtmReferences() {
@@ -0,0 +1,169 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.txset.asn856;
+
+import com.walmartlabs.x12.common.segment.LINItemIdentification;
+import com.walmartlabs.x12.standard.X12Loop;
+import com.walmartlabs.x12.standard.X12ParsedLoop;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Item;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Order;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Pack;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Shipment;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Tare;
+import com.walmartlabs.x12.standard.txset.asn856.segment.MANMarkNumber;
+import com.walmartlabs.x12.standard.txset.asn856.segment.PRFPurchaseOrderReference;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * lookup tables for the loops in an ASN 856 Shipment
+ *
+ * the index is built with a single pass over the loops
+ * and each lookup is then a hash map get
+ * <ul>
+ * <li>MAN mark number (SSCC-18, etc) to the Pack and Tare loops</li>
+ * <li>LIN product id (UPC, GTIN, etc) to the Item loops</li>
+ * <li>PRF purchase order number to the Order loops and their Item loops</li>
+ * </ul>
+ *
+ * the index is a snapshot, changes made to the loops after
+ * it was built are not reflected in the lookups
+ */
+public class AsnTransactionSetIndex {
+
+    private final Map<String, List<X12ParsedLoop>> loopsByMarkNumber = new HashMap<>();
+    private final Map<String, List<Item>> itemsByProductId = new HashMap<>();
+    private final Map<String, List<Order>> ordersByPurchaseOrderNumber = new HashMap<>();
+    private final Map<String, List<Item>> itemsByPurchaseOrderNumber = new HashMap<>();
+
+    /**
+     * build the index for the shipment
+     *
+     * @param shipment the shipment (null will create an empty index)
+     */
+    public AsnTransactionSetIndex(Shipment shipment) {
+        if (shipment != null) {
+            this.indexChildLoops(shipment, null);
+        }
+    }
+
+    /**
+     * find the Pack and Tare loops with a MAN segment
+     * that has the mark number
+     *
+     * @param markNumber
+     * @return the loops or an empty list
+     */
+    public List<X12ParsedLoop> findLoopsByMarkNumber(String markNumber) {
+        return this.find(loopsByMarkNumber, markNumber);
+    }
+
+    /**
+     * find the Item loops with a LIN product id
+     *
+     * @param productId
+     * @return the items or an empty list
+     */
+    public List<Item> findItemsByProductId(String productId) {
+        return this.find(itemsByProductId, productId);
+    }
+
+    /**
+     * find the Order loops with the PRF purchase order number
+     *
+     * @param purchaseOrderNumber
+     * @return the orders or an empty list
+     */
+    public List<Order> findOrdersByPurchaseOrderNumber(String purchaseOrderNumber) {
+        return this.find(ordersByPurchaseOrderNumber, purchaseOrderNumber);
+    }
+
+    /**
+     * find the Item loops that belong to an Order with the PRF purchase order number
+     *
+     * @param purchaseOrderNumber
+     * @return the items or an empty list
+     */
+    public List<Item> findItemsByPurchaseOrderNumber(String purchaseOrderNumber) {
+        return this.find(itemsByPurchaseOrderNumber, purchaseOrderNumber);
+    }
+
+    private <T> List<T> find(Map<String, List<T>> lookup, String key) {
+        List<T> found = lookup.get(key);
+        return found != null ? Collections.unmodifiableList(found) : Collections.emptyList();
+    }
+
+    private void indexChildLoops(X12ParsedLoop parentLoop, String purchaseOrderNumber) {
+        List<X12Loop> childLoops = parentLoop.getParsedChildrenLoops();
+        if (childLoops != null) {
+            for (X12Loop childLoop : childLoops) {
+                this.indexLoop(childLoop, purchaseOrderNumber);
+            }
+        }
+    }
+
+    private void indexLoop(X12Loop loop, String purchaseOrderNumber) {
+        String currentPurchaseOrderNumber = purchaseOrderNumber;
+
+        if (loop instanceof Order) {
+            Order order = (Order) loop;
+            PRFPurchaseOrderReference prf = order.getPrf();
+            currentPurchaseOrderNumber = prf != null ? prf.getPurchaseOrderNumber() : null;
+            this.addToIndex(ordersByPurchaseOrderNumber, currentPurchaseOrderNumber, order);
+        } else if (loop instanceof Pack) {
+            this.indexMarkNumbers(((Pack) loop).getManList(), (Pack) loop);
+        } else if (loop instanceof Tare) {
+            this.indexMarkNumbers(((Tare) loop).getManList(), (Tare) loop);
+        } else if (loop instanceof Item) {
+            Item item = (Item) loop;
+            this.addToIndex(itemsByPurchaseOrderNumber, currentPurchaseOrderNumber, item);
+            List<LINItemIdentification> linList = item.getItemIdentifications();
+            if (linList != null) {
+                for (LINItemIdentification lin : linList) {
+                    this.addToIndex(itemsByProductId, lin.getProductId(), item);
+                }
+            }
+        }
+
+        if (loop instanceof X12ParsedLoop) {
+            this.indexChildLoops((X12ParsedLoop) loop, currentPurchaseOrderNumber);
+        }
+    }
+
+    private void indexMarkNumbers(List<MANMarkNumber> manList, X12ParsedLoop loop) {
+        if (manList != null) {
+            for (MANMarkNumber man : manList) {
+                this.addToIndex(loopsByMarkNumber, man.getNumber(), loop);
+            }
+        }
+    }
+
+    private <T> void addToIndex(Map<String, List<T>> lookup, String key, T loop) {
+        if (key != null) {
+            List<T> loops = lookup.computeIfAbsent(key, k -> new ArrayList<>(1));
+            // a loop with the same value twice
+            // is only added once
+            if (loops.isEmpty() || loops.get(loops.size() - 1) != loop) {
+                loops.add(loop);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.txset.asn856;
+
+import com.walmartlabs.x12.X12TransactionSet;
+import com.walmartlabs.x12.common.segment.DTMDateTimeReference;
+import com.walmartlabs.x12.writer.TransactionSetWriter;
+import com.walmartlabs.x12.writer.X12Writer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * writes an {@link AsnTransactionSet}
+ *
+ * the BSN and DTM segments are written from the parsed values
+ * and the HL loops are written from the segments kept on each loop
+ */
+public class AsnTransactionSetWriter implements TransactionSetWriter {
+
+    @Override
+    public boolean handlesTransactionSet(X12TransactionSet transactionSet) {
+        return transactionSet instanceof AsnTransactionSet;
+    }
+
+    @Override
+    public void writeTransactionSet(X12TransactionSet transactionSet, X12Writer x12Writer) throws IOException {
+        AsnTransactionSet asnTx = (AsnTransactionSet) transactionSet;
+
+        x12Writer.startSegment(DefaultAsn856TransactionSetParser.ASN_TRANSACTION_HEADER)
+            .element(asnTx.getPurposeCode())
+            .element(asnTx.getShipmentIdentification())
+            .element(asnTx.getShipmentDate())
+            .element(asnTx.getShipmentTime())
+            .element(asnTx.getHierarchicalStructureCode())
+            .endSegment();
+
+        List<DTMDateTimeReference> dtms = asnTx.getDtmReferences();
+        if (dtms != null) {
+            for (DTMDateTimeReference dtm : dtms) {
+                x12Writer.startSegment(DTMDateTimeReference.IDENTIFIER)
+                    .element(dtm.getDateTimeQualifier())
+                    .element(dtm.getDate())
+                    .element(dtm.getTime())
+                    .endSegment();
+            }
+        }
+
+        x12Writer.writeSegments(asnTx.getUnexpectedSegmentsBeforeLoop());
+
+        if (asnTx.getShipment() != null) {
+            x12Writer.writeLoop(asnTx.getShipment());
+        }
+    }
+}
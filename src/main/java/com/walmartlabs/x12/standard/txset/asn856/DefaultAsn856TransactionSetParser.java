@@ -16,6 +16,7 @@ limitations under the License.
 
 package com.walmartlabs.x12.standard.txset.asn856;
 
+import com.walmartlabs.x12.PeekingSegmentIterator;
 import com.walmartlabs.x12.SegmentIterator;
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.X12TransactionSet;
@@ -61,6 +62,7 @@ import com.walmartlabs.x12.standard.txset.asn856.segment.parser.PALPalletTypePar
 import com.walmartlabs.x12.standard.txset.asn856.segment.parser.PO4ItemPhysicalDetailParser;
 import com.walmartlabs.x12.standard.txset.asn856.segment.parser.PRFPurchaseOrderReferenceParser;
 import com.walmartlabs.x12.standard.txset.asn856.segment.parser.SN1ItemDetailParser;
+import com.walmartlabs.x12.util.ConcurrencyUtil;
 import com.walmartlabs.x12.util.TriConsumer;
 import com.walmartlabs.x12.util.X12ParsingUtil;
 import com.walmartlabs.x12.util.loop.X12LoopHolder;
@@ -69,7 +71,12 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * ASN 856 is the Advance Shipping Notice Used to communicate the contents of a
@@ -85,6 +92,49 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
     public static final String ASN_TRANSACTION_HEADER = "BSN";
     public static final String ASN_TRANSACTION_TOTALS = "CTT";
 
+    // parsing one Order subtree is cheap so a Shipment
+    // needs enough Orders to make up for the task overhead
+    public static final int DEFAULT_MIN_PARALLEL_ORDER_LOOPS = 32;
+
+    private final ForkJoinPool forkJoinPool;
+    private int minParallelOrderLoops = DEFAULT_MIN_PARALLEL_ORDER_LOOPS;
+
+    /**
+     * the Order loops will be parsed sequentially
+     */
+    public DefaultAsn856TransactionSetParser() {
+        this(null);
+    }
+
+    /**
+     * the Order loops on a Shipment will be parsed in parallel
+     * using the {@link ForkJoinPool}
+     *
+     * the parsed Orders and any loop errors are added to the
+     * transaction set in the same order as a sequential parse
+     *
+     * @param forkJoinPool the pool or null to parse sequentially
+     */
+    public DefaultAsn856TransactionSetParser(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * the Order loops are only parsed in parallel
+     * when a Shipment has at least this many loops
+     *
+     * the default is {@link #DEFAULT_MIN_PARALLEL_ORDER_LOOPS}
+     *
+     * @param minParallelOrderLoops
+     */
+    public void setMinParallelOrderLoops(int minParallelOrderLoops) {
+        this.minParallelOrderLoops = Math.max(1, minParallelOrderLoops);
+    }
+
+    public int getMinParallelOrderLoops() {
+        return minParallelOrderLoops;
+    }
+
     @Override
     protected boolean handlesTransactionSet(List<X12Segment> transactionSegments, X12Group x12Group) {
         // the first segment should be an ST with the 856 transaction type code
@@ -115,7 +165,7 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
      */
     protected void doParsing(List<X12Segment> transactionSegments, AsnTransactionSet asnTx) {
 
-        SegmentIterator segments = new SegmentIterator(transactionSegments);
+        PeekingSegmentIterator segments = new PeekingSegmentIterator(transactionSegments);
         X12Segment currentSegment = null;
 
         //
@@ -137,12 +187,14 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
         //
         // DTM segment (optional) can be added between the BSN and HL hierarchy
         //
-        this.parseSegmentsBeforeFirstLoop(segments, asnTx);
+        // called through the SegmentIterator signature
+        // so subclasses that override either signature are used
+        this.parseSegmentsBeforeFirstLoop((SegmentIterator) segments, asnTx);
 
         //
         // Hierarchical Loops
         //
-        this.handleLooping(segments, asnTx);
+        this.handleLooping((SegmentIterator) segments, asnTx);
 
         //
         // CTT (optional)
@@ -208,9 +260,13 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
             //
             List<X12Loop> shipmentChildLoops = unparsedLoop.getChildLoops();
             if (CollectionUtils.isNotEmpty(shipmentChildLoops)) {
-                shipmentChildLoops.forEach(childLoop -> {
-                    this.parseOrderLoop(childLoop, shipment, asnTx);
-                });
+                if (forkJoinPool != null && shipmentChildLoops.size() >= minParallelOrderLoops) {
+                    this.parseOrderLoopsInParallel(shipmentChildLoops, shipment, asnTx);
+                } else {
+                    shipmentChildLoops.forEach(childLoop -> {
+                        this.parseOrderLoop(childLoop, shipment, asnTx);
+                    });
+                }
             }
         } else {
             asnTx.addX12ErrorDetailForLoop(
@@ -230,27 +286,88 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
         //
         LOGGER.debug(unparsedLoop.getCode());
         if (Order.isOrderLoop(unparsedLoop)) {
-            Order order = new Order();
-            order.copyAttributes(unparsedLoop);
-            shipment.addParsedChildLoop(order);
+            shipment.addParsedChildLoop(this.parseOrder(unparsedLoop));
+        } else {
+            asnTx.addX12ErrorDetailForLoop(this.unexpectedOrderLoopErrorDetail(unparsedLoop));
+        }
+    }
 
-            //
-            // handle the segments that are associated w/ the Order Loop
-            //
-            this.handleLoopSegments(unparsedLoop, order, this::doOrderSegments);
+    /**
+     * parse each Order subtree as a separate task
+     * and then add the results to the Shipment in
+     * the order the loops appeared in the transaction set
+     *
+     * @param unparsedLoops
+     * @param shipment
+     */
+    private void parseOrderLoopsInParallel(List<X12Loop> unparsedLoops, Shipment shipment, AsnTransactionSet asnTx) {
+        List<Callable<Order>> orderTasks = new ArrayList<>(unparsedLoops.size());
+        for (X12Loop unparsedLoop : unparsedLoops) {
+            if (Order.isOrderLoop(unparsedLoop)) {
+                orderTasks.add(() -> this.parseOrder(unparsedLoop));
+            }
+        }
 
-            //
-            // handle the children loops
-            // these loops can appear in a variety of sequences
-            //
-            this.parseEachChildrenLoop(unparsedLoop, order);
+        List<Future<Order>> orderResults = forkJoinPool.invokeAll(orderTasks);
 
-        } else {
-            asnTx.addX12ErrorDetailForLoop(
-                new X12ErrorDetail("HL", "03", "Unexpected child loop", "expected Order HL but got " + unparsedLoop.getCode()));
+        int orderIdx = 0;
+        for (X12Loop unparsedLoop : unparsedLoops) {
+            if (Order.isOrderLoop(unparsedLoop)) {
+                shipment.addParsedChildLoop(this.getParsedOrder(orderResults.get(orderIdx++)));
+            } else {
+                asnTx.addX12ErrorDetailForLoop(this.unexpectedOrderLoopErrorDetail(unparsedLoop));
+            }
+        }
+    }
+
+    private Order getParsedOrder(Future<Order> orderResult) {
+        try {
+            return orderResult.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new X12ParserException("interrupted while parsing Order loops", e);
+        } catch (ExecutionException e) {
+            // rethrow the exception from the task
+            // so callers see the same exception as
+            // a sequential parse
+            Throwable cause = ConcurrencyUtil.getTaskException(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new X12ParserException(cause);
         }
     }
 
+    /**
+     * parse the Order loop and all of its children
+     *
+     * @param unparsedLoop
+     * @return the parsed {@link Order}
+     */
+    private Order parseOrder(X12Loop unparsedLoop) {
+        Order order = new Order();
+        order.copyAttributes(unparsedLoop);
+
+        //
+        // handle the segments that are associated w/ the Order Loop
+        //
+        this.handleLoopSegments(unparsedLoop, order, this::doOrderSegments);
+
+        //
+        // handle the children loops
+        // these loops can appear in a variety of sequences
+        //
+        this.parseEachChildrenLoop(unparsedLoop, order);
+
+        return order;
+    }
+
+    private X12ErrorDetail unexpectedOrderLoopErrorDetail(X12Loop unparsedLoop) {
+        return new X12ErrorDetail("HL", "03", "Unexpected child loop", "expected Order HL but got " + unparsedLoop.getCode());
+    }
+
     private void parseTareLoop(X12Loop unparsedLoop,  X12ParsedLoop parentLoop) {
         //
         // should be a Tare
@@ -385,10 +502,10 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
      * @param loopObject
      * @param function
      */
-    private <T> void handleLoopSegments(X12Loop loop, T loopObject, TriConsumer<X12Segment, SegmentIterator, T> function) {
+    private <T> void handleLoopSegments(X12Loop loop, T loopObject, TriConsumer<X12Segment, PeekingSegmentIterator, T> function) {
         List<X12Segment> shipmentSegments = loop.getSegments();
         if (CollectionUtils.isNotEmpty(shipmentSegments)) {
-            SegmentIterator segmentIterator = new SegmentIterator(shipmentSegments);
+            PeekingSegmentIterator segmentIterator = new PeekingSegmentIterator(shipmentSegments);
             while (segmentIterator.hasNext()) {
                 X12Segment segment = segmentIterator.next();
                 LOGGER.debug(segment.getIdentifier());
@@ -407,7 +524,7 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
      * @param segmentIterator
      * @param shipment
      */
-    private void doShipmentSegments(X12Segment segment, SegmentIterator segmentIterator, Shipment shipment) {
+    private void doShipmentSegments(X12Segment segment, PeekingSegmentIterator segmentIterator, Shipment shipment) {
 
         switch (segment.getIdentifier()) {
             case TD1CarrierDetail.IDENTIFIER:
@@ -446,7 +563,7 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
      * @param segmentIterator
      * @param order
      */
-    private void doOrderSegments(X12Segment segment, SegmentIterator segmentIterator, Order order) {
+    private void doOrderSegments(X12Segment segment, PeekingSegmentIterator segmentIterator, Order order) {
         switch (segment.getIdentifier()) {
             case PRFPurchaseOrderReference.IDENTIFIER:
                 order.setPrf(PRFPurchaseOrderReferenceParser.parse(segment));
@@ -475,7 +592,7 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
      * @param segmentIterator
      * @param tare
      */
-    private void doTareSegments(X12Segment segment, SegmentIterator segmentIterator, Tare tare) {
+    private void doTareSegments(X12Segment segment, PeekingSegmentIterator segmentIterator, Tare tare) {
         switch (segment.getIdentifier()) {
             case PKGPackaging.IDENTIFIER:
                 tare.addPKGPackaging(PKGPackagingParser.parse(segment));
@@ -501,7 +618,7 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
      * @param segmentIterator
      * @param pack
      */
-    private void doPackSegments(X12Segment segment, SegmentIterator segmentIterator, Pack pack) {
+    private void doPackSegments(X12Segment segment, PeekingSegmentIterator segmentIterator, Pack pack) {
         switch (segment.getIdentifier()) {
             case MANMarkNumber.IDENTIFIER:
                 pack.addMANMarkNumber(MANMarkNumberParser.parse(segment));
@@ -543,7 +660,7 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
      * @param segmentIterator
      * @param items
      */
-    private void doItemSegments(X12Segment segment, SegmentIterator segmentIterator, Item item) {
+    private void doItemSegments(X12Segment segment, PeekingSegmentIterator segmentIterator, Item item) {
         switch (segment.getIdentifier()) {
             case PIDProductIdentification.IDENTIFIER:
                 item.addPIDProductIdentification(PIDPartyIdentificationParser.parse(segment));
@@ -575,7 +692,7 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
      * @param segmentIterator
      * @param items
      */
-    private void doBatchSegments(X12Segment segment, SegmentIterator segmentIterator, Batch batch) {
+    private void doBatchSegments(X12Segment segment, PeekingSegmentIterator segmentIterator, Batch batch) {
         switch (segment.getIdentifier()) {
             case PIDProductIdentification.IDENTIFIER:
                 batch.addPIDProductIdentification(PIDPartyIdentificationParser.parse(segment));
@@ -613,36 +730,57 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
      * @param segments
      * @param txSet
      */
-    protected void parseSegmentsBeforeFirstLoop(SegmentIterator segments, AsnTransactionSet txSet) {
+    protected void parseSegmentsBeforeFirstLoop(PeekingSegmentIterator segments, AsnTransactionSet txSet) {
+
+        // stop when we find one of two things
+        // (1) start of loops (HL)
+        // (2) the end of the transaction (SE)
+        // in either case
+        // the parser template method
+        // starts w/ that segment
+        String segmentId = segments.peekIdentifier();
+        while (segmentId != null
+            && !X12Loop.HIERARCHY_LOOP_ID.equals(segmentId)
+            && !X12TransactionSet.TRANSACTION_SET_TRAILER.equals(segmentId)) {
 
-        while (segments.hasNext()) {
             X12Segment currentSegment = segments.next();
-            String segmentId = currentSegment.getIdentifier();
             LOGGER.debug(segmentId);
-            if (X12LoopUtil.isHierarchicalLoopStart(currentSegment)
-                || X12TransactionSet.TRANSACTION_SET_TRAILER.equals(segmentId)) {
-                // we found one of two things
-                // (1) start of loops (HL)
-                // (2) the end of the transaction (SE)
-                // in either case
-                // we should back up so
-                // the parser template method
-                // starts w/ this segment
-                segments.previous();
-                break;
+            // add DTM segments to the transaction set
+            // ignore other segments until we find the first loop
+            if (DTMDateTimeReference.IDENTIFIER.equals(segmentId)) {
+                txSet.addDTMDateTimeReference(DTMDateTimeReferenceParser.parse(currentSegment));
             } else {
-                // add DTM segments to the transaction set
-                // ignore other segments until we find the first loop
-                if (DTMDateTimeReference.IDENTIFIER.equals(segmentId)) {
-                    txSet.addDTMDateTimeReference(DTMDateTimeReferenceParser.parse(currentSegment));
-                } else {
-                    // add segment to unexpected segment list
-                    txSet.addUnexpectedSegmentBeforeLoop(currentSegment);
-                }
+                // add segment to unexpected segment list
+                txSet.addUnexpectedSegmentBeforeLoop(currentSegment);
             }
+            segmentId = segments.peekIdentifier();
         }
     }
 
+    /**
+     * @deprecated the template calls this method with a {@link PeekingSegmentIterator}
+     *             and it delegates to {@link #parseSegmentsBeforeFirstLoop(PeekingSegmentIterator, AsnTransactionSet)}
+     *             which is the method subclasses should override
+     */
+    @Deprecated
+    protected void parseSegmentsBeforeFirstLoop(SegmentIterator segments, AsnTransactionSet txSet) {
+        PeekingSegmentIterator peekingSegments = PeekingSegmentIterator.from(segments);
+        this.parseSegmentsBeforeFirstLoop(peekingSegments, txSet);
+        segments.reset(peekingSegments.currentIndex());
+    }
+
+    /**
+     * @deprecated the template calls this method with a {@link PeekingSegmentIterator}
+     *             and it delegates to {@link #handleLooping(PeekingSegmentIterator, AsnTransactionSet)}
+     *             which is the method subclasses should override
+     */
+    @Deprecated
+    protected void handleLooping(SegmentIterator segments, AsnTransactionSet asnTx) {
+        PeekingSegmentIterator peekingSegments = PeekingSegmentIterator.from(segments);
+        this.handleLooping(peekingSegments, asnTx);
+        segments.reset(peekingSegments.currentIndex());
+    }
+
     /**
      * parse the HL loops
      * it will also move the segment iterator to first segment after loops
@@ -650,19 +788,18 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
      * @param segments
      * @param txSet
      */
-    protected void handleLooping(SegmentIterator segments, AsnTransactionSet asnTx) {
+    protected void handleLooping(PeekingSegmentIterator segments, AsnTransactionSet asnTx) {
 
-        if (segments.hasNext()) {
-            X12Segment currentSegment = segments.next();
+        X12Segment currentSegment = segments.peek();
+        if (currentSegment != null) {
             if (X12LoopUtil.isHierarchicalLoopStart(currentSegment)) {
-                segments.previous();
                 int firstLoopSegmentIndex = segments.currentIndex();
                 int indexToSegmentAfterHierarchicalLoops = this.findIndexForSegmentAfterHierarchicalLoops(segments);
                 List<X12Segment> loopSegments = segments.subList(firstLoopSegmentIndex, indexToSegmentAfterHierarchicalLoops);
 
                 // manage the loops
                 // assigning the parents and children accordingly
-                X12LoopHolder loopHolder = X12LoopUtil.organizeHierarchicalLoops(loopSegments);
+                X12LoopHolder loopHolder = X12LoopUtil.organizeHierarchicalLoops(loopSegments, firstLoopSegmentIndex + 1);
 
                 // add loop errors to transaction set (if any)
                 List<X12ErrorDetail> loopErrors = loopHolder.getLoopErrors();
@@ -680,11 +817,9 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
             } else {
                 // doesn't start w/ HL
                 asnTx.addX12ErrorDetailForLoop(
-                    new X12ErrorDetail(currentSegment.getIdentifier(), null, "missing shipment loop"));
-                // we should back it up
-                // and let the parser keep going
+                    new X12ErrorDetail(currentSegment.getIdentifier(), null, "missing shipment loop", null, segments.currentIndex() + 1));
+                // let the parser keep going
                 // with that segment
-                segments.previous();
             }
         }
     }
@@ -693,14 +828,12 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
      * expects the current segment to be the first HL loop occurring
      * in the transaction set
      */
-    private int findIndexForSegmentAfterHierarchicalLoops(SegmentIterator segments) {
+    private int findIndexForSegmentAfterHierarchicalLoops(PeekingSegmentIterator segments) {
         int firstLoopSegmentIndex = segments.currentIndex();
         int indexToSegmentAfterHierarchicalLoops = -1;
         while (segments.hasNext()) {
             X12Segment segment = segments.next();
-            if (X12TransactionSet.TRANSACTION_ITEM_TOTAL.equals(segment.getIdentifier())
-                || X12TransactionSet.TRANSACTION_AMOUNT_TOTAL.equals(segment.getIdentifier())
-                || X12TransactionSet.TRANSACTION_SET_TRAILER.equals(segment.getIdentifier())) {
+            if (X12ParsingUtil.isTransactionTotalOrTrailer(segment)) {
                 // CTT segment or AMT segment or SE segment
                 indexToSegmentAfterHierarchicalLoops = segments.currentIndex() - 1;
                 break;
@@ -732,19 +865,11 @@ public class DefaultAsn856TransactionSetParser extends AbstractTransactionSetPar
     /**
      * checks for CTT or AMT
      */
-    private void handleOptionalSegments(SegmentIterator segments, AsnTransactionSet genericTx) {
-        while (segments.hasNext()) {
-            X12Segment currentSegment = segments.next();
-            String segmentId = currentSegment.getIdentifier();
-            if (X12TransactionSet.TRANSACTION_ITEM_TOTAL.equals(segmentId)) {
-                this.parseTransactionTotals(currentSegment, genericTx);
-            } else {
-                // was not CTT or AMT
-                // hopefully it is SE
-                segments.previous();
-                break;
-            }
-
+    private void handleOptionalSegments(PeekingSegmentIterator segments, AsnTransactionSet genericTx) {
+        // stop when it is not CTT
+        // hopefully it is SE
+        while (X12TransactionSet.TRANSACTION_ITEM_TOTAL.equals(segments.peekIdentifier())) {
+            this.parseTransactionTotals(segments.next(), genericTx);
         }
     }
 }
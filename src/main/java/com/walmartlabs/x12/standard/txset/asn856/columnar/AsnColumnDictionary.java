@@ -0,0 +1,86 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.txset.asn856.columnar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * dictionary encoding for low cardinality column values
+ * (unit of measure, product id qualifiers, etc)
+ *
+ * each distinct value is assigned an int code in the
+ * order it was first seen, the column stores the code
+ * and the value is only kept once in the dictionary
+ */
+public class AsnColumnDictionary {
+
+    /**
+     * code used when the value was not present
+     */
+    public static final int NO_VALUE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * get the code for the value, adding it to the dictionary
+     * if it has not been seen before
+     *
+     * @param value
+     * @return the code or {@link #NO_VALUE} if value is null
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NO_VALUE;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * get the value for a code
+     *
+     * @param code
+     * @return the value or null if the code is {@link #NO_VALUE}
+     */
+    public String decode(int code) {
+        return code == NO_VALUE ? null : values.get(code);
+    }
+
+    /**
+     * the number of distinct values
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * the distinct values indexed by code
+     */
+    public List<String> getValues() {
+        return Collections.unmodifiableList(values);
+    }
+}
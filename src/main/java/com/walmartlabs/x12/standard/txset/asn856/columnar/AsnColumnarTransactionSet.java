@@ -0,0 +1,62 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.txset.asn856.columnar;
+
+import com.walmartlabs.x12.standard.txset.asn856.AsnTransactionSet;
+
+/**
+ * ASN 856 transaction set where the HL hierarchy
+ * was written to {@link AsnItemColumns} instead of
+ * being built as Shipment/Order/Pack/Item objects
+ *
+ * the header and trailer attributes are the same as
+ * {@link AsnTransactionSet} but the shipment will be null
+ */
+public class AsnColumnarTransactionSet extends AsnTransactionSet {
+
+    // the columns the items were written to
+    // (may be shared with other transaction sets)
+    private AsnItemColumns columns;
+
+    // the item rows that belong to this transaction set
+    private int firstItemIndex;
+    private int itemCount;
+
+    public AsnItemColumns getColumns() {
+        return columns;
+    }
+
+    public void setColumns(AsnItemColumns columns) {
+        this.columns = columns;
+    }
+
+    public int getFirstItemIndex() {
+        return firstItemIndex;
+    }
+
+    public void setFirstItemIndex(int firstItemIndex) {
+        this.firstItemIndex = firstItemIndex;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(int itemCount) {
+        this.itemCount = itemCount;
+    }
+}
@@ -0,0 +1,270 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.txset.asn856.columnar;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * flattened, columnar view of the Shipment, Order, Pack and Item
+ * levels of one or more ASN 856 transaction sets
+ *
+ * each level is a table of primitive arrays and each child row
+ * points to its parent with an int index instead of an object reference
+ * <ul>
+ * <li>shipment: BSN02 shipment id</li>
+ * <li>order: shipment index, PRF01 purchase order number</li>
+ * <li>pack: order index, MAN02 mark number</li>
+ * <li>item: order index, pack index (or {@link #NO_PARENT}), LIN product id, SN1 quantity and unit of measure</li>
+ * </ul>
+ *
+ * the column getters return the backing arrays without copying,
+ * only the first {@code getXxxCount()} entries are populated
+ *
+ * this class is not thread safe
+ */
+public class AsnItemColumns {
+
+    /**
+     * parent index used when a row has no parent at that level
+     */
+    public static final int NO_PARENT = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final String CSV_HEADER = "shipment_id,purchase_order_number,pack_mark_number,"
+        + "product_id_qualifier,product_id,quantity,unit_of_measure";
+
+    // shipments
+    private int shipmentCount;
+    private String[] shipmentIds = new String[INITIAL_CAPACITY];
+
+    // orders
+    private int orderCount;
+    private int[] orderShipmentIndexes = new int[INITIAL_CAPACITY];
+    private String[] orderPurchaseOrderNumbers = new String[INITIAL_CAPACITY];
+
+    // packs
+    private int packCount;
+    private int[] packOrderIndexes = new int[INITIAL_CAPACITY];
+    private String[] packMarkNumbers = new String[INITIAL_CAPACITY];
+
+    // items
+    private int itemCount;
+    private int[] itemOrderIndexes = new int[INITIAL_CAPACITY];
+    private int[] itemPackIndexes = new int[INITIAL_CAPACITY];
+    private int[] itemProductIdQualifierCodes = new int[INITIAL_CAPACITY];
+    private String[] itemProductIds = new String[INITIAL_CAPACITY];
+    private double[] itemQuantities = new double[INITIAL_CAPACITY];
+    private int[] itemUnitOfMeasureCodes = new int[INITIAL_CAPACITY];
+
+    private final AsnColumnDictionary productIdQualifiers = new AsnColumnDictionary();
+    private final AsnColumnDictionary unitsOfMeasure = new AsnColumnDictionary();
+
+    /**
+     * add a shipment row
+     *
+     * @param shipmentId
+     * @return the index of the new row
+     */
+    public int addShipment(String shipmentId) {
+        if (shipmentCount == shipmentIds.length) {
+            shipmentIds = Arrays.copyOf(shipmentIds, shipmentCount * 2);
+        }
+        shipmentIds[shipmentCount] = shipmentId;
+        return shipmentCount++;
+    }
+
+    /**
+     * add an order row
+     *
+     * @param shipmentIndex
+     * @param purchaseOrderNumber
+     * @return the index of the new row
+     */
+    public int addOrder(int shipmentIndex, String purchaseOrderNumber) {
+        if (orderCount == orderShipmentIndexes.length) {
+            int capacity = orderCount * 2;
+            orderShipmentIndexes = Arrays.copyOf(orderShipmentIndexes, capacity);
+            orderPurchaseOrderNumbers = Arrays.copyOf(orderPurchaseOrderNumbers, capacity);
+        }
+        orderShipmentIndexes[orderCount] = shipmentIndex;
+        orderPurchaseOrderNumbers[orderCount] = purchaseOrderNumber;
+        return orderCount++;
+    }
+
+    /**
+     * add a pack row
+     *
+     * @param orderIndex
+     * @param markNumber
+     * @return the index of the new row
+     */
+    public int addPack(int orderIndex, String markNumber) {
+        if (packCount == packOrderIndexes.length) {
+            int capacity = packCount * 2;
+            packOrderIndexes = Arrays.copyOf(packOrderIndexes, capacity);
+            packMarkNumbers = Arrays.copyOf(packMarkNumbers, capacity);
+        }
+        packOrderIndexes[packCount] = orderIndex;
+        packMarkNumbers[packCount] = markNumber;
+        return packCount++;
+    }
+
+    /**
+     * add an item row
+     *
+     * @param orderIndex
+     * @param packIndex the pack or {@link #NO_PARENT}
+     * @param productIdQualifier
+     * @param productId
+     * @param quantity the quantity or {@link Double#NaN} when not provided
+     * @param unitOfMeasure
+     * @return the index of the new row
+     */
+    public int addItem(int orderIndex, int packIndex, String productIdQualifier, String productId,
+        double quantity, String unitOfMeasure) {
+
+        if (itemCount == itemOrderIndexes.length) {
+            int capacity = itemCount * 2;
+            itemOrderIndexes = Arrays.copyOf(itemOrderIndexes, capacity);
+            itemPackIndexes = Arrays.copyOf(itemPackIndexes, capacity);
+            itemProductIdQualifierCodes = Arrays.copyOf(itemProductIdQualifierCodes, capacity);
+            itemProductIds = Arrays.copyOf(itemProductIds, capacity);
+            itemQuantities = Arrays.copyOf(itemQuantities, capacity);
+            itemUnitOfMeasureCodes = Arrays.copyOf(itemUnitOfMeasureCodes, capacity);
+        }
+        itemOrderIndexes[itemCount] = orderIndex;
+        itemPackIndexes[itemCount] = packIndex;
+        itemProductIdQualifierCodes[itemCount] = productIdQualifiers.encode(productIdQualifier);
+        itemProductIds[itemCount] = productId;
+        itemQuantities[itemCount] = quantity;
+        itemUnitOfMeasureCodes[itemCount] = unitsOfMeasure.encode(unitOfMeasure);
+        return itemCount++;
+    }
+
+    /**
+     * write the item rows as CSV with the parent levels denormalized on each row
+     *
+     * @param out
+     */
+    public void writeItemsAsCsv(Appendable out) {
+        try {
+            out.append(CSV_HEADER).append("\r\n");
+            for (int i = 0; i < itemCount; i++) {
+                int orderIdx = itemOrderIndexes[i];
+                int packIdx = itemPackIndexes[i];
+                this.appendCsvValue(out, shipmentIds[orderShipmentIndexes[orderIdx]]).append(',');
+                this.appendCsvValue(out, orderPurchaseOrderNumbers[orderIdx]).append(',');
+                this.appendCsvValue(out, packIdx == NO_PARENT ? null : packMarkNumbers[packIdx]).append(',');
+                this.appendCsvValue(out, productIdQualifiers.decode(itemProductIdQualifierCodes[i])).append(',');
+                this.appendCsvValue(out, itemProductIds[i]).append(',');
+                double quantity = itemQuantities[i];
+                if (!Double.isNaN(quantity)) {
+                    if (quantity == Math.rint(quantity) && Math.abs(quantity) < Long.MAX_VALUE) {
+                        out.append(Long.toString((long) quantity));
+                    } else {
+                        out.append(Double.toString(quantity));
+                    }
+                }
+                out.append(',');
+                this.appendCsvValue(out, unitsOfMeasure.decode(itemUnitOfMeasureCodes[i])).append("\r\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Appendable appendCsvValue(Appendable out, String value) throws IOException {
+        if (value != null) {
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                out.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                out.append(value);
+            }
+        }
+        return out;
+    }
+
+    public int getShipmentCount() {
+        return shipmentCount;
+    }
+
+    public String[] getShipmentIds() {
+        return shipmentIds;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    public int[] getOrderShipmentIndexes() {
+        return orderShipmentIndexes;
+    }
+
+    public String[] getOrderPurchaseOrderNumbers() {
+        return orderPurchaseOrderNumbers;
+    }
+
+    public int getPackCount() {
+        return packCount;
+    }
+
+    public int[] getPackOrderIndexes() {
+        return packOrderIndexes;
+    }
+
+    public String[] getPackMarkNumbers() {
+        return packMarkNumbers;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public int[] getItemOrderIndexes() {
+        return itemOrderIndexes;
+    }
+
+    public int[] getItemPackIndexes() {
+        return itemPackIndexes;
+    }
+
+    public int[] getItemProductIdQualifierCodes() {
+        return itemProductIdQualifierCodes;
+    }
+
+    public String[] getItemProductIds() {
+        return itemProductIds;
+    }
+
+    public double[] getItemQuantities() {
+        return itemQuantities;
+    }
+
+    public int[] getItemUnitOfMeasureCodes() {
+        return itemUnitOfMeasureCodes;
+    }
+
+    public AsnColumnDictionary getProductIdQualifiers() {
+        return productIdQualifiers;
+    }
+
+    public AsnColumnDictionary getUnitsOfMeasure() {
+        return unitsOfMeasure;
+    }
+}
@@ -0,0 +1,227 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.txset.asn856.columnar;
+
+import com.walmartlabs.x12.X12Segment;
+import com.walmartlabs.x12.X12TransactionSet;
+import com.walmartlabs.x12.common.segment.LINItemIdentification;
+import com.walmartlabs.x12.exceptions.X12ErrorDetail;
+import com.walmartlabs.x12.standard.X12Group;
+import com.walmartlabs.x12.standard.X12Loop;
+import com.walmartlabs.x12.standard.txset.asn856.AsnTransactionSet;
+import com.walmartlabs.x12.standard.txset.asn856.DefaultAsn856TransactionSetParser;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Item;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Order;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Pack;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Shipment;
+import com.walmartlabs.x12.standard.txset.asn856.segment.MANMarkNumber;
+import com.walmartlabs.x12.standard.txset.asn856.segment.PRFPurchaseOrderReference;
+import com.walmartlabs.x12.standard.txset.asn856.segment.SN1ItemDetail;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ASN 856 parser that writes the Shipment, Order, Pack and Item
+ * levels straight into {@link AsnItemColumns} without creating
+ * the loop objects for each level
+ *
+ * only the attributes held by {@link AsnItemColumns} are captured,
+ * use {@link DefaultAsn856TransactionSetParser} when the other
+ * segments in the loops are needed
+ *
+ * when the parser is created with a shared {@link AsnItemColumns}
+ * the rows from every transaction set are appended to it and the
+ * parser should not be used by more than one thread at a time
+ */
+public class ColumnarAsn856TransactionSetParser extends DefaultAsn856TransactionSetParser {
+
+    // LIN qualifiers for UPC, EAN and GTIN
+    // preferred over other product ids
+    // when there is more than one on the LIN
+    private static final Set<String> UPC_GTIN_QUALIFIERS = new HashSet<>(Arrays.asList("UP", "UK", "EN", "UA"));
+
+    private final AsnItemColumns sharedColumns;
+
+    /**
+     * each transaction set will have its own columns
+     */
+    public ColumnarAsn856TransactionSetParser() {
+        this(null);
+    }
+
+    /**
+     * every transaction set will be written to the same columns
+     * @param sharedColumns
+     */
+    public ColumnarAsn856TransactionSetParser(AsnItemColumns sharedColumns) {
+        this.sharedColumns = sharedColumns;
+    }
+
+    @Override
+    protected X12TransactionSet doParse(List<X12Segment> transactionSegments, X12Group x12Group) {
+        AsnColumnarTransactionSet asnTx = null;
+
+        if (CollectionUtils.isNotEmpty(transactionSegments)) {
+            asnTx = new AsnColumnarTransactionSet();
+            AsnItemColumns columns = sharedColumns != null ? sharedColumns : new AsnItemColumns();
+            asnTx.setColumns(columns);
+            asnTx.setFirstItemIndex(columns.getItemCount());
+
+            this.doParsing(transactionSegments, asnTx);
+
+            asnTx.setItemCount(columns.getItemCount() - asnTx.getFirstItemIndex());
+        }
+
+        return asnTx;
+    }
+
+    @Override
+    protected void doLoopParsing(List<X12Loop> loops, AsnTransactionSet asnTx) {
+        if (CollectionUtils.isNotEmpty(loops) && loops.size() == 1) {
+            this.writeShipmentLoop(loops.get(0), (AsnColumnarTransactionSet) asnTx);
+        } else {
+            asnTx.addX12ErrorDetailForLoop(new X12ErrorDetail("HL", null, "expected one top level Shipment HL"));
+        }
+    }
+
+    private void writeShipmentLoop(X12Loop unparsedLoop, AsnColumnarTransactionSet asnTx) {
+        if (Shipment.isShipmentLoop(unparsedLoop)) {
+            AsnItemColumns columns = asnTx.getColumns();
+            int shipmentIdx = columns.addShipment(asnTx.getShipmentIdentification());
+
+            List<X12Loop> shipmentChildLoops = unparsedLoop.getChildLoops();
+            if (CollectionUtils.isNotEmpty(shipmentChildLoops)) {
+                for (X12Loop childLoop : shipmentChildLoops) {
+                    this.writeOrderLoop(childLoop, shipmentIdx, asnTx);
+                }
+            }
+        } else {
+            asnTx.addX12ErrorDetailForLoop(
+                new X12ErrorDetail("HL", "03", "first HL is not a shipment it was " + unparsedLoop.getCode()));
+        }
+    }
+
+    private void writeOrderLoop(X12Loop unparsedLoop, int shipmentIdx, AsnColumnarTransactionSet asnTx) {
+        if (Order.isOrderLoop(unparsedLoop)) {
+            X12Segment prf = this.findSegment(unparsedLoop, PRFPurchaseOrderReference.IDENTIFIER);
+            String purchaseOrderNumber = prf != null ? prf.getElement(1) : null;
+            int orderIdx = asnTx.getColumns().addOrder(shipmentIdx, purchaseOrderNumber);
+
+            this.writeChildrenLoops(unparsedLoop, orderIdx, AsnItemColumns.NO_PARENT, asnTx);
+        } else {
+            asnTx.addX12ErrorDetailForLoop(
+                new X12ErrorDetail("HL", "03", "Unexpected child loop", "expected Order HL but got " + unparsedLoop.getCode()));
+        }
+    }
+
+    /**
+     * Tare, Batch and any other loops are not written
+     * but their children are, using the closest Order and Pack
+     */
+    private void writeChildrenLoops(X12Loop unparsedLoop, int orderIdx, int packIdx, AsnColumnarTransactionSet asnTx) {
+        List<X12Loop> childLoops = unparsedLoop.getChildLoops();
+        if (CollectionUtils.isNotEmpty(childLoops)) {
+            for (X12Loop childLoop : childLoops) {
+                int childPackIdx = packIdx;
+                if (Pack.isPackLoop(childLoop)) {
+                    X12Segment man = this.findSegment(childLoop, MANMarkNumber.IDENTIFIER);
+                    String markNumber = man != null ? man.getElement(2) : null;
+                    childPackIdx = asnTx.getColumns().addPack(orderIdx, markNumber);
+                } else if (Item.isItemLoop(childLoop)) {
+                    this.writeItemLoop(childLoop, orderIdx, packIdx, asnTx);
+                }
+                this.writeChildrenLoops(childLoop, orderIdx, childPackIdx, asnTx);
+            }
+        }
+    }
+
+    private void writeItemLoop(X12Loop unparsedLoop, int orderIdx, int packIdx, AsnColumnarTransactionSet asnTx) {
+        String productIdQualifier = null;
+        String productId = null;
+        double quantity = Double.NaN;
+        String unitOfMeasure = null;
+
+        List<X12Segment> segments = unparsedLoop.getSegments();
+        if (segments != null) {
+            for (X12Segment segment : segments) {
+                String segmentId = segment.getIdentifier();
+                if (LINItemIdentification.IDENTIFIER.equals(segmentId)) {
+                    int productIdIdx = this.findProductIdIndex(segment);
+                    if (productIdIdx > 0) {
+                        productIdQualifier = segment.getElement(productIdIdx);
+                        productId = segment.getElement(productIdIdx + 1);
+                    }
+                } else if (SN1ItemDetail.IDENTIFIER.equals(segmentId)) {
+                    quantity = this.convertQuantity(segment.getElement(2), asnTx);
+                    unitOfMeasure = segment.getElement(3);
+                }
+            }
+        }
+
+        asnTx.getColumns().addItem(orderIdx, packIdx, productIdQualifier, productId, quantity, unitOfMeasure);
+    }
+
+    /**
+     * find the element index of the product id qualifier to use from the LIN
+     * UPC/GTIN qualifiers are preferred otherwise the first qualifier is used
+     *
+     * @return the index or -1 if the LIN has no product ids
+     */
+    private int findProductIdIndex(X12Segment lin) {
+        int firstIdx = -1;
+        int elements = lin.segmentSize();
+        for (int i = 2; i < elements; i += 2) {
+            String qualifier = lin.getElement(i);
+            if (qualifier != null) {
+                if (UPC_GTIN_QUALIFIERS.contains(qualifier)) {
+                    return i;
+                } else if (firstIdx == -1) {
+                    firstIdx = i;
+                }
+            }
+        }
+        return firstIdx;
+    }
+
+    private double convertQuantity(String quantity, AsnColumnarTransactionSet asnTx) {
+        double value = Double.NaN;
+        if (quantity != null) {
+            try {
+                value = Double.parseDouble(quantity);
+            } catch (NumberFormatException e) {
+                asnTx.addX12ErrorDetailForLoop(new X12ErrorDetail(SN1ItemDetail.IDENTIFIER, "SN102", "Invalid numeric value", quantity));
+            }
+        }
+        return value;
+    }
+
+    private X12Segment findSegment(X12Loop loop, String segmentId) {
+        List<X12Segment> segments = loop.getSegments();
+        if (segments != null) {
+            for (X12Segment segment : segments) {
+                if (segmentId.equals(segment.getIdentifier())) {
+                    return segment;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -70,7 +70,7 @@ public class Order extends X12ParsedLoop {
      */
     public void addTD1CarrierDetail(TD1CarrierDetail td1) {
         if (CollectionUtils.isEmpty(td1List)) {
-            td1List = new ArrayList<>();
+            td1List = new ArrayList<>(INITIAL_LIST_CAPACITY);
         }
         td1List.add(td1);
     }
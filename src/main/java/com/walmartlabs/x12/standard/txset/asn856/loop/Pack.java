@@ -92,7 +92,7 @@ public class Pack extends X12ParsedLoop {
      */
     public void addTD1CarrierDetail(TD1CarrierDetail td1) {
         if (CollectionUtils.isEmpty(td1List)) {
-            td1List = new ArrayList<>();
+            td1List = new ArrayList<>(INITIAL_LIST_CAPACITY);
         }
         td1List.add(td1);
     }
@@ -128,7 +128,7 @@ public class Pack extends X12ParsedLoop {
      */
     public void addMANMarkNumber(MANMarkNumber man) {
         if (CollectionUtils.isEmpty(manList)) {
-            manList = new ArrayList<>();
+            manList = new ArrayList<>(INITIAL_LIST_CAPACITY);
         }
         manList.add(man);
     }
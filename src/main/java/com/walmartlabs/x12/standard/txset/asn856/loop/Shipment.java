@@ -82,7 +82,7 @@ public class Shipment extends X12ParsedLoop {
      */
     public void addTD1CarrierDetail(TD1CarrierDetail td1) {
         if (CollectionUtils.isEmpty(td1List)) {
-            td1List = new ArrayList<>();
+            td1List = new ArrayList<>(INITIAL_LIST_CAPACITY);
         }
         td1List.add(td1);
     }
@@ -94,7 +94,7 @@ public class Shipment extends X12ParsedLoop {
      */
     public void addTD5CarrierDetail(TD5CarrierDetail td5) {
         if (CollectionUtils.isEmpty(td5List)) {
-            td5List = new ArrayList<>();
+            td5List = new ArrayList<>(INITIAL_LIST_CAPACITY);
         }
         td5List.add(td5);
     }
@@ -106,7 +106,7 @@ public class Shipment extends X12ParsedLoop {
      */
     public void addTD3CarrierDetail(TD3CarrierDetail td3) {
         if (CollectionUtils.isEmpty(td3List)) {
-            td3List = new ArrayList<>();
+            td3List = new ArrayList<>(INITIAL_LIST_CAPACITY);
         }
         td3List.add(td3);
     }
@@ -62,7 +62,7 @@ public class Tare extends X12ParsedLoop {
      */
     public void addMANMarkNumber(MANMarkNumber man) {
         if (CollectionUtils.isEmpty(manList)) {
-            manList = new ArrayList<>();
+            manList = new ArrayList<>(INITIAL_LIST_CAPACITY);
         }
         manList.add(man);
     }
@@ -74,7 +74,7 @@ public class Tare extends X12ParsedLoop {
      */
     public void addPKGPackaging(PKGPackaging pkg) {
         if (CollectionUtils.isEmpty(pkgList)) {
-            pkgList = new ArrayList<>();
+            pkgList = new ArrayList<>(INITIAL_LIST_CAPACITY);
         }
         pkgList.add(pkg);
     }
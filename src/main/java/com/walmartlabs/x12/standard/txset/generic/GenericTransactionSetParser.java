@@ -1,5 +1,6 @@
 package com.walmartlabs.x12.standard.txset.generic;
 
+import com.walmartlabs.x12.PeekingSegmentIterator;
 import com.walmartlabs.x12.SegmentIterator;
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.X12TransactionSet;
@@ -66,7 +67,7 @@ public class GenericTransactionSetParser extends AbstractTransactionSetParserCha
      * the last segment in the list of {@link X12Segment} should be an SE
      */
     protected void doParsing(List<X12Segment> transactionSegments, GenericTransactionSet genericTx) {
-        SegmentIterator segments = new SegmentIterator(transactionSegments);
+        PeekingSegmentIterator segments = new PeekingSegmentIterator(transactionSegments);
         X12Segment currentSegment = null;
 
         //
@@ -95,12 +96,14 @@ public class GenericTransactionSetParser extends AbstractTransactionSetParserCha
         //
         // all segments that appear before the first HL loop
         //
-        this.parseSegmentsBeforeHierarchyLoops(segments, genericTx);
+        // called through the SegmentIterator signature
+        // so subclasses that override either signature are used
+        this.parseSegmentsBeforeHierarchyLoops((SegmentIterator) segments, genericTx);
 
         //
         // loops
         //
-        this.handleLooping(segments, genericTx);
+        this.handleLooping((SegmentIterator) segments, genericTx);
 
         //
         // CTT or AMT
@@ -130,90 +133,98 @@ public class GenericTransactionSetParser extends AbstractTransactionSetParserCha
      * @param txSet
      * @throws X12ParserException if no HL loop is found
      */
-    protected void parseSegmentsBeforeHierarchyLoops(SegmentIterator segments, GenericTransactionSet genericTx) {
+    protected void parseSegmentsBeforeHierarchyLoops(PeekingSegmentIterator segments, GenericTransactionSet genericTx) {
 
-        while (segments.hasNext()) {
+        // stop at the segment that starts the
+        // loops, totals or trailer so the
+        // parser starts w/ this segment
+        while (segments.hasNext() && !this.isLoopSegmentOrOptionalSegmentOrEndingSegment(segments.peek())) {
+            // add segment to the transaction set
             X12Segment currentSegment = segments.next();
-            if (this.isLoopSegmentOrOptionalSegmentOrEndingSegment(currentSegment)) {
-                // we should back up so
-                // the parser starts w/ this segment
-                segments.previous();
-                break;
-            } else {
-                // add segment to the transaction set
-                LOGGER.debug(currentSegment.getIdentifier());
-                genericTx.addX12Segment(currentSegment);
-            }
+            LOGGER.debug(currentSegment.getIdentifier());
+            genericTx.addX12Segment(currentSegment);
         }
     }
 
+    /**
+     * @deprecated the template calls this method with a {@link PeekingSegmentIterator}
+     *             and it delegates to {@link #parseSegmentsBeforeHierarchyLoops(PeekingSegmentIterator, GenericTransactionSet)}
+     *             which is the method subclasses should override
+     */
+    @Deprecated
+    protected void parseSegmentsBeforeHierarchyLoops(SegmentIterator segments, GenericTransactionSet genericTx) {
+        PeekingSegmentIterator peekingSegments = PeekingSegmentIterator.from(segments);
+        this.parseSegmentsBeforeHierarchyLoops(peekingSegments, genericTx);
+        segments.reset(peekingSegments.currentIndex());
+    }
+
     /**
      * checks for an HL loop, CTT or AMT or SE
      * @return
      */
     private boolean isLoopSegmentOrOptionalSegmentOrEndingSegment(X12Segment segment) {
         return X12LoopUtil.isHierarchicalLoopStart(segment)
-            || X12TransactionSet.TRANSACTION_ITEM_TOTAL.equals(segment.getIdentifier())
-            || X12TransactionSet.TRANSACTION_AMOUNT_TOTAL.equals(segment.getIdentifier())
-            || X12TransactionSet.TRANSACTION_SET_TRAILER.equals(segment.getIdentifier());
+            || X12ParsingUtil.isTransactionTotalOrTrailer(segment);
     }
 
     /**
      * checks for CTT or AMT
      * @return
      */
-    private void handleOptionalSegments(SegmentIterator segments, GenericTransactionSet genericTx) {
-        while (segments.hasNext()) {
+    private void handleOptionalSegments(PeekingSegmentIterator segments, GenericTransactionSet genericTx) {
+        String segmentId = segments.peekIdentifier();
+        // stop when it is not CTT or AMT
+        // hopefully it is SE
+        while (X12TransactionSet.TRANSACTION_ITEM_TOTAL.equals(segmentId)
+            || X12TransactionSet.TRANSACTION_AMOUNT_TOTAL.equals(segmentId)) {
             X12Segment currentSegment = segments.next();
-            String segmentId = currentSegment.getIdentifier();
             if (X12TransactionSet.TRANSACTION_ITEM_TOTAL.equals(segmentId)) {
                 this.parseTransactionTotals(currentSegment, genericTx);
-            } else if (X12TransactionSet.TRANSACTION_AMOUNT_TOTAL.equals(segmentId)) {
-                // TODO: AMT not supported yet
-            } else {
-                // was not CTT or AMT
-                // hopefully it is SE
-                segments.previous();
-                break;
             }
-
+            // TODO: AMT not supported yet
+            segmentId = segments.peekIdentifier();
         }
     }
 
+    /**
+     * @deprecated the template calls this method with a {@link PeekingSegmentIterator}
+     *             and it delegates to {@link #handleLooping(PeekingSegmentIterator, GenericTransactionSet)}
+     *             which is the method subclasses should override
+     */
+    @Deprecated
     protected void handleLooping(SegmentIterator segments, GenericTransactionSet genericTx) {
+        PeekingSegmentIterator peekingSegments = PeekingSegmentIterator.from(segments);
+        this.handleLooping(peekingSegments, genericTx);
+        segments.reset(peekingSegments.currentIndex());
+    }
 
-        if (segments.hasNext()) {
-            X12Segment currentSegment = segments.next();
-            if (X12LoopUtil.isHierarchicalLoopStart(currentSegment)) {
-                segments.previous();
-                int firstLoopSegmentIndex = segments.currentIndex();
-                int indexToSegmentAfterHierarchicalLoops = this.findIndexForSegmentAfterHierarchicalLoops(segments);
-                List<X12Segment> loopSegments = segments.subList(firstLoopSegmentIndex, indexToSegmentAfterHierarchicalLoops);
-
-                // manage the loops
-                // assigning the parents and children accordingly
-                X12LoopHolder loopHolder = X12LoopUtil.organizeHierarchicalLoops(loopSegments);
-
-                // add loops
-                List<X12Loop> loops = loopHolder.getLoops();
-                genericTx.setLoops(loops);
-
-                // add loop errors to tx (if any)
-                List<X12ErrorDetail> loopErrors = loopHolder.getLoopErrors();
-                genericTx.addX12ErrorDetailForLoop(loopErrors);
-
-                // we processed all of the loops
-                // so now set the iteraror up
-                // so that the next segment after
-                // the last loop is next
-                segments.reset(indexToSegmentAfterHierarchicalLoops);
-            } else {
-                // doesn't start w/ HL
-                // we should back it up
-                // and let the parser deal w/ this
-                // segment
-                segments.previous();
-            }
+    protected void handleLooping(PeekingSegmentIterator segments, GenericTransactionSet genericTx) {
+
+        // when it doesn't start w/ HL
+        // let the parser deal w/ this
+        // segment
+        if (X12LoopUtil.isHierarchicalLoopStart(segments.peek())) {
+            int firstLoopSegmentIndex = segments.currentIndex();
+            int indexToSegmentAfterHierarchicalLoops = this.findIndexForSegmentAfterHierarchicalLoops(segments);
+            List<X12Segment> loopSegments = segments.subList(firstLoopSegmentIndex, indexToSegmentAfterHierarchicalLoops);
+
+            // manage the loops
+            // assigning the parents and children accordingly
+            X12LoopHolder loopHolder = X12LoopUtil.organizeHierarchicalLoops(loopSegments, firstLoopSegmentIndex + 1);
+
+            // add loops
+            List<X12Loop> loops = loopHolder.getLoops();
+            genericTx.setLoops(loops);
+
+            // add loop errors to tx (if any)
+            List<X12ErrorDetail> loopErrors = loopHolder.getLoopErrors();
+            genericTx.addX12ErrorDetailForLoop(loopErrors);
+
+            // we processed all of the loops
+            // so now set the iteraror up
+            // so that the next segment after
+            // the last loop is next
+            segments.reset(indexToSegmentAfterHierarchicalLoops);
         }
     }
 
@@ -221,14 +232,12 @@ public class GenericTransactionSetParser extends AbstractTransactionSetParserCha
      * expects the current segment to be the first HL loop occurring
      * in the transaction set
      */
-    private int findIndexForSegmentAfterHierarchicalLoops(SegmentIterator segments) {
+    private int findIndexForSegmentAfterHierarchicalLoops(PeekingSegmentIterator segments) {
         int firstLoopSegmentIndex = segments.currentIndex();
         int indexToSegmentAfterHierarchicalLoops = -1;
         while (segments.hasNext()) {
             X12Segment segment = segments.next();
-            if (X12TransactionSet.TRANSACTION_ITEM_TOTAL.equals(segment.getIdentifier())
-                || X12TransactionSet.TRANSACTION_AMOUNT_TOTAL.equals(segment.getIdentifier())
-                || X12TransactionSet.TRANSACTION_SET_TRAILER.equals(segment.getIdentifier())) {
+            if (X12ParsingUtil.isTransactionTotalOrTrailer(segment)) {
                 // CTT segment or AMT segment or SE segment
                 indexToSegmentAfterHierarchicalLoops = segments.currentIndex() - 1;
                 break;
@@ -0,0 +1,45 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.txset.generic;
+
+import com.walmartlabs.x12.X12TransactionSet;
+import com.walmartlabs.x12.writer.TransactionSetWriter;
+import com.walmartlabs.x12.writer.X12Writer;
+
+import java.io.IOException;
+
+/**
+ * writes a {@link GenericTransactionSet}
+ * the segments are written as they were parsed
+ */
+public class GenericTransactionSetWriter implements TransactionSetWriter {
+
+    @Override
+    public boolean handlesTransactionSet(X12TransactionSet transactionSet) {
+        return transactionSet instanceof GenericTransactionSet;
+    }
+
+    @Override
+    public void writeTransactionSet(X12TransactionSet transactionSet, X12Writer x12Writer) throws IOException {
+        GenericTransactionSet genericTx = (GenericTransactionSet) transactionSet;
+        if (genericTx.getBeginningSegment() != null) {
+            x12Writer.writeSegment(genericTx.getBeginningSegment());
+        }
+        x12Writer.writeSegments(genericTx.getSegmentsBeforeLoops());
+        x12Writer.writeLoops(genericTx.getLoops());
+    }
+}
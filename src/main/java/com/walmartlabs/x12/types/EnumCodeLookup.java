@@ -0,0 +1,109 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.types;
+
+import java.lang.reflect.Array;
+
+/**
+ * precomputed lookup table for the one and two character
+ * code sets (A-Z, 0-9) that are modeled as enums
+ *
+ * every code maps to a unique slot in a fixed size array
+ * so a lookup is a couple of arithmetic operations and an
+ * array read rather than a call to Enum.valueOf which
+ * throws (and builds a stack trace) on every unknown code
+ */
+final class EnumCodeLookup {
+
+    private static final int RADIX = 36;
+    private static final int TABLE_SIZE = RADIX + (RADIX * RADIX);
+
+    private EnumCodeLookup() {
+        // you can't make me
+    }
+
+    /**
+     * build the lookup table for an enum
+     * the enum constant names are used as the codes
+     * any constant whose name is not a valid code (ie UNKNOWN) is not added
+     *
+     * @param enumClass
+     * @return the lookup table
+     */
+    static <E extends Enum<E>> E[] buildTable(Class<E> enumClass) {
+        @SuppressWarnings("unchecked")
+        E[] table = (E[]) Array.newInstance(enumClass, TABLE_SIZE);
+        for (E constant : enumClass.getEnumConstants()) {
+            int slot = slot(constant.name());
+            if (slot >= 0) {
+                table[slot] = constant;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * find the enum for the code
+     *
+     * @param table built by {@link #buildTable(Class)}
+     * @param code
+     * @param unknown value to return when the code is not in the table
+     * @return the matching enum or the unknown value
+     */
+    static <E extends Enum<E>> E lookup(E[] table, String code, E unknown) {
+        int slot = slot(code);
+        if (slot < 0) {
+            return unknown;
+        }
+        E value = table[slot];
+        return value != null ? value : unknown;
+    }
+
+    /**
+     * calculate the slot for a one or two character code
+     * one character codes use slots 0-35
+     * two character codes use slots 36 and above
+     *
+     * @param code
+     * @return the slot or -1 if the code can not be in the table
+     */
+    static int slot(String code) {
+        int length = code.length();
+        if (length == 1) {
+            return charValue(code.charAt(0));
+        } else if (length == 2) {
+            int first = charValue(code.charAt(0));
+            int second = charValue(code.charAt(1));
+            if (first < 0 || second < 0) {
+                return -1;
+            }
+            return RADIX + (first * RADIX) + second;
+        } else {
+            return -1;
+        }
+    }
+
+    private static int charValue(char ch) {
+        if (ch >= 'A' && ch <= 'Z') {
+            return ch - 'A';
+        } else if (ch >= '0' && ch <= '9') {
+            return 26 + (ch - '0');
+        } else {
+            return -1;
+        }
+    }
+}
@@ -25,6 +25,8 @@ public enum InvoiceType {
     D, // DEBIT
     UNKNOWN;
 
+    private static final InvoiceType[] LOOKUP = EnumCodeLookup.buildTable(InvoiceType.class);
+
     /**
      * Convert the code to an enum
      *
@@ -35,15 +37,7 @@ public enum InvoiceType {
         if (code == null) {
             return null;
         } else {
-            InvoiceType returnEnum = InvoiceType.UNKNOWN;
-
-            try {
-                returnEnum = InvoiceType.valueOf(code);
-            } catch (Exception e) {
-                // illegal value so returning UNKNOWN
-            }
-
-            return returnEnum;
+            return EnumCodeLookup.lookup(LOOKUP, code, InvoiceType.UNKNOWN);
         }
     }
 }
\ No newline at end of file
@@ -29,13 +29,11 @@ public enum ProductQualifier {
     VN("VENDOR ITEM NUMBER"),
     UNKNOWN("UNKNOWN");
 
-    private String description;
+    private static final ProductQualifier[] LOOKUP = EnumCodeLookup.buildTable(ProductQualifier.class);
 
-    private ProductQualifier(String desc) {
-        this.description = desc;
-    }
+    private final String description;
 
-    private void setDescription(String desc) {
+    private ProductQualifier(String desc) {
         this.description = desc;
     }
 
@@ -53,16 +51,7 @@ public enum ProductQualifier {
         if (code == null) {
             return null;
         } else {
-            ProductQualifier returnEnum = ProductQualifier.UNKNOWN;
-            returnEnum.setDescription(code);
-
-            try {
-                returnEnum = ProductQualifier.valueOf(code);
-            } catch (Exception e) {
-                // illegal value so returning UNKNOWN
-            }
-
-            return returnEnum;
+            return EnumCodeLookup.lookup(LOOKUP, code, ProductQualifier.UNKNOWN);
         }
     }
 
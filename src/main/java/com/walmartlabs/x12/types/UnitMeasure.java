@@ -64,13 +64,11 @@ public enum UnitMeasure {
     P1("PERCENT"),
     UNKNOWN("UNKNOWN");
 
-    private String description;
+    private static final UnitMeasure[] LOOKUP = EnumCodeLookup.buildTable(UnitMeasure.class);
 
-    private UnitMeasure(String desc) {
-        this.description = desc;
-    }
+    private final String description;
 
-    private void setDescription(String desc) {
+    private UnitMeasure(String desc) {
         this.description = desc;
     }
 
@@ -88,16 +86,7 @@ public enum UnitMeasure {
         if (code == null) {
             return null;
         } else {
-            UnitMeasure returnEnum = UnitMeasure.UNKNOWN;
-            returnEnum.setDescription(code);
-
-            try {
-                returnEnum = UnitMeasure.valueOf(code);
-            } catch (Exception e) {
-                // illegal value so returning UNKNOWN
-            }
-
-            return returnEnum;
+            return EnumCodeLookup.lookup(LOOKUP, code, UnitMeasure.UNKNOWN);
         }
     }
 
@@ -25,13 +25,11 @@ public enum WeightQualifier {
     N("ACTUAL_NET_WEIGHT"),
     UNKNOWN("");
 
-    private String description;
+    private static final WeightQualifier[] LOOKUP = EnumCodeLookup.buildTable(WeightQualifier.class);
 
-    private WeightQualifier(String desc) {
-        this.description = desc;
-    }
+    private final String description;
 
-    private void setDescription(String desc) {
+    private WeightQualifier(String desc) {
         this.description = desc;
     }
 
@@ -48,16 +46,7 @@ public enum WeightQualifier {
         if (code == null) {
             return null;
         } else {
-            WeightQualifier returnEnum = WeightQualifier.UNKNOWN;
-            returnEnum.setDescription(code);
-
-            try {
-                returnEnum = WeightQualifier.valueOf(code);
-            } catch (Exception e) {
-                // illegal value so returning UNKNOWN
-            }
-
-            return returnEnum;
+            return EnumCodeLookup.lookup(LOOKUP, code, WeightQualifier.UNKNOWN);
         }
     }
 }
\ No newline at end of file
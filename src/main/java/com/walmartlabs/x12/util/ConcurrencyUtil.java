@@ -0,0 +1,44 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+
+package com.walmartlabs.x12.util;
+
+import java.util.concurrent.ExecutionException;
+
+public final class ConcurrencyUtil {
+
+    /**
+     * get the exception thrown by a task
+     *
+     * a ForkJoinPool may wrap an exception thrown on another thread
+     * in a new exception of the same type, so use the original one
+     *
+     * @param e
+     * @return the exception thrown by the task
+     */
+    public static Throwable getTaskException(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause != null && cause.getCause() != null && cause.getClass() == cause.getCause().getClass()) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private ConcurrencyUtil() {
+        // you can't make me
+    }
+}
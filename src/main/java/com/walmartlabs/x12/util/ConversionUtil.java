@@ -19,10 +19,19 @@ package com.walmartlabs.x12.util;
 import com.walmartlabs.x12.exceptions.X12ParserException;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
 
 public final class ConversionUtil {
 
+    /**
+     * returned by the unscaled conversions when there is no value
+     */
+    public static final long NO_VALUE = Long.MIN_VALUE;
+
+    // any number with at most 18 digits fits in a long
+    private static final int MAX_UNSCALED_DIGITS = 18;
+
     /**
      * convert a String to a BigDecimal using the specified decimal places
      * @param theString
@@ -31,14 +40,189 @@ public final class ConversionUtil {
      */
     public static BigDecimal convertStringToBigDecimal(String theString, int decimalPlaces) {
         BigDecimal returnValue = null;
-        try {
-            if (theString != null && theString.trim().length() > 0) {
-                returnValue = new BigDecimal(theString).setScale(decimalPlaces, RoundingMode.HALF_UP);
+        if (!isBlank(theString)) {
+            long unscaledValue = parseUnscaledLong(theString, 0, theString.length(), decimalPlaces);
+            if (unscaledValue != NO_VALUE) {
+                returnValue = BigDecimal.valueOf(unscaledValue, decimalPlaces);
+            } else {
+                returnValue = parseBigDecimal(theString, decimalPlaces);
+            }
+        }
+        return returnValue;
+    }
+
+    /**
+     * convert a String to an unscaled long using the specified decimal places
+     * (ex: "1.5" with 2 decimal places is 150)
+     *
+     * @param theString
+     * @param decimalPlaces
+     * @return the unscaled value or {@link #NO_VALUE} if the String is empty
+     * @throws X12ParserException if the value is not numeric or does not fit in a long
+     */
+    public static long convertStringToUnscaledLong(String theString, int decimalPlaces) {
+        return theString == null ? NO_VALUE : convertToUnscaledLong(theString, 0, theString.length(), decimalPlaces);
+    }
+
+    /**
+     * convert a range of characters to an unscaled long using the specified decimal places
+     * values are rounded using {@link RoundingMode#HALF_UP}
+     *
+     * plain decimal values are parsed directly from the characters
+     * anything else (ex: exponents) is handled by {@link BigDecimal}
+     *
+     * @param value
+     * @param start the index of the first character
+     * @param end the index after the last character
+     * @param decimalPlaces
+     * @return the unscaled value or {@link #NO_VALUE} if the range is empty
+     * @throws X12ParserException if the value is not numeric or does not fit in a long
+     */
+    public static long convertToUnscaledLong(CharSequence value, int start, int end, int decimalPlaces) {
+        long returnValue = NO_VALUE;
+        if (value != null && !isBlank(value, start, end)) {
+            returnValue = parseUnscaledLong(value, start, end, decimalPlaces);
+            if (returnValue == NO_VALUE) {
+                BigInteger unscaledValue = parseBigDecimal(value.subSequence(start, end).toString(), decimalPlaces).unscaledValue();
+                if (!fitsUnscaledLong(unscaledValue)) {
+                    throw new X12ParserException("Invalid numeric value");
+                }
+                returnValue = unscaledValue.longValue();
+            }
+        }
+        return returnValue;
+    }
+
+    /**
+     * create a BigDecimal from an unscaled value
+     * @param unscaledValue
+     * @param decimalPlaces
+     * @return the BigDecimal or null if the value is {@link #NO_VALUE}
+     */
+    public static BigDecimal toBigDecimal(long unscaledValue, int decimalPlaces) {
+        return unscaledValue == NO_VALUE ? null : BigDecimal.valueOf(unscaledValue, decimalPlaces);
+    }
+
+    /**
+     * get the unscaled value of a BigDecimal using the specified decimal places
+     * values that do not fit in a long are clamped
+     *
+     * @param value
+     * @param decimalPlaces
+     * @return the unscaled value or {@link #NO_VALUE} if the value is null
+     */
+    public static long toUnscaledLong(BigDecimal value, int decimalPlaces) {
+        long returnValue = NO_VALUE;
+        if (value != null) {
+            BigInteger unscaledValue = value.setScale(decimalPlaces, RoundingMode.HALF_UP).unscaledValue();
+            if (fitsUnscaledLong(unscaledValue)) {
+                returnValue = unscaledValue.longValue();
+            } else {
+                returnValue = unscaledValue.signum() < 0 ? NO_VALUE + 1 : Long.MAX_VALUE;
+            }
+        }
+        return returnValue;
+    }
+
+    /**
+     * parses [+-]digits[.digits] directly into an unscaled long
+     * @return the unscaled value or {@link #NO_VALUE} if the value must be parsed by {@link BigDecimal}
+     */
+    private static long parseUnscaledLong(CharSequence value, int start, int end, int decimalPlaces) {
+        if (decimalPlaces < 0) {
+            return NO_VALUE;
+        }
+
+        int idx = start;
+        boolean negative = false;
+        char firstChar = value.charAt(idx);
+        if (firstChar == '-' || firstChar == '+') {
+            negative = firstChar == '-';
+            idx++;
+        }
+
+        long unscaledValue = 0;
+        int significantDigits = 0;
+        int fractionDigits = 0;
+        boolean hasDigits = false;
+        boolean hasDecimalPoint = false;
+        boolean roundUp = false;
+
+        for (; idx < end; idx++) {
+            char ch = value.charAt(idx);
+            if (ch >= '0' && ch <= '9') {
+                hasDigits = true;
+                int digit = ch - '0';
+                if (!hasDecimalPoint || fractionDigits < decimalPlaces) {
+                    if (unscaledValue != 0 || digit != 0) {
+                        significantDigits++;
+                    }
+                    unscaledValue = unscaledValue * 10 + digit;
+                    if (hasDecimalPoint) {
+                        fractionDigits++;
+                    }
+                } else if (fractionDigits == decimalPlaces) {
+                    // HALF_UP only depends on the first digit dropped
+                    roundUp = digit >= 5;
+                    fractionDigits++;
+                }
+                if (significantDigits > MAX_UNSCALED_DIGITS) {
+                    return NO_VALUE;
+                }
+            } else if (ch == '.' && !hasDecimalPoint) {
+                hasDecimalPoint = true;
+            } else {
+                return NO_VALUE;
             }
+        }
+
+        if (!hasDigits) {
+            return NO_VALUE;
+        }
+
+        for (; fractionDigits < decimalPlaces; fractionDigits++) {
+            if (unscaledValue != 0 && ++significantDigits > MAX_UNSCALED_DIGITS) {
+                return NO_VALUE;
+            }
+            unscaledValue *= 10;
+        }
+
+        if (roundUp) {
+            unscaledValue++;
+        }
+
+        return negative ? -unscaledValue : unscaledValue;
+    }
+
+    /**
+     * Long.MIN_VALUE is reserved for {@link #NO_VALUE}
+     */
+    private static boolean fitsUnscaledLong(BigInteger unscaledValue) {
+        return unscaledValue.bitLength() < Long.SIZE && unscaledValue.longValue() != NO_VALUE;
+    }
+
+    private static BigDecimal parseBigDecimal(String theString, int decimalPlaces) {
+        try {
+            return new BigDecimal(theString).setScale(decimalPlaces, RoundingMode.HALF_UP);
         } catch (NumberFormatException e) {
             throw new X12ParserException("Invalid numeric value");
         }
-        return returnValue;
+    }
+
+    private static boolean isBlank(CharSequence value) {
+        return value == null || isBlank(value, 0, value.length());
+    }
+
+    /**
+     * same as checking trim().length() == 0 without creating a String
+     */
+    private static boolean isBlank(CharSequence value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -16,8 +16,10 @@ limitations under the License.
 
 package com.walmartlabs.x12.util;
 
+import com.walmartlabs.x12.X12ElementValueCache;
 import com.walmartlabs.x12.X12Parser;
 import com.walmartlabs.x12.X12Segment;
+import com.walmartlabs.x12.metrics.jfr.X12TokenizeEvent;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Arrays;
@@ -55,18 +57,47 @@ public final class SourceToSegmentUtil {
      * @return a {@link List} of {@link X12Segment} or empty if there are issues w/ source data
      */
     public static List<X12Segment> splitSourceDataIntoSegments(String sourceData) {
+        return splitSourceDataIntoSegments(sourceData, null);
+    }
+
+    /**
+     * parses the source data into a list of segments
+     * 1) assume each segment is on separate line
+     * 2) otherwise try 106th character in source data
+     *
+     * the element values are shared through the cache
+     *
+     * @param sourceData
+     * @param valueCache the cache for the element values or null to not cache them
+     * @return a {@link List} of {@link X12Segment} or empty if there are issues w/ source data
+     */
+    public static List<X12Segment> splitSourceDataIntoSegments(String sourceData, X12ElementValueCache valueCache) {
+        X12TokenizeEvent event = new X12TokenizeEvent();
+        event.begin();
+
+        List<X12Segment> segments = splitSourceDataIntoSegmentsByLine(sourceData, valueCache);
+
+        if (event.shouldCommit()) {
+            event.setCharacters(sourceData != null ? sourceData.length() : 0);
+            event.setSegments(segments.size());
+            event.commit();
+        }
+        return segments;
+    }
+
+    private static List<X12Segment> splitSourceDataIntoSegmentsByLine(String sourceData, X12ElementValueCache valueCache) {
         // assume that the source data has
         // each segment on a separate line
         // and that ALL valid EDI / X12 documents
         // are > 1 segment
-        List<X12Segment> segments = splitSourceDataIntoSegments(sourceData, "\\r?\\n");
+        List<X12Segment> segments = splitSourceDataIntoSegments(sourceData, "\\r?\\n", valueCache);
         if (segments != null && segments.size() > 1) {
             return segments;
         } else {
             // if there is only one line in the source data
             // now try to get the specified delimiter
             String segmentDelimiterRegex = "\\" + findSegmentDelimiterCharacter(sourceData);
-            return splitSourceDataIntoSegments(sourceData, segmentDelimiterRegex);
+            return splitSourceDataIntoSegments(sourceData, segmentDelimiterRegex, valueCache);
         }
     }
 
@@ -75,17 +106,19 @@ public final class SourceToSegmentUtil {
      * using the the segment delimiter that was passed in
      * @param sourceData
      * @param segmentSeparatorRegEx a regex to split segments
+     * @param valueCache the cache for the element values or null
      * @return a {@link List} of {@link X12Segment} or empty is either parameter is missing
      * @throws @{link PatternSyntaxException} if the regular expression is invalid
      */
-    private static List<X12Segment> splitSourceDataIntoSegments(String sourceData, String segmentSeparatorRegEx) {
+    private static List<X12Segment> splitSourceDataIntoSegments(String sourceData, String segmentSeparatorRegEx,
+        X12ElementValueCache valueCache) {
         if (StringUtils.isEmpty(sourceData) || StringUtils.isEmpty(segmentSeparatorRegEx)) {
             return Collections.emptyList();
         } else {
             Character segmentDataElementDelimiter = findElementDelimiterCharacter(sourceData);
             String[] segments = sourceData.split(segmentSeparatorRegEx);
             return Arrays.stream(segments)
-                .map(segment -> new X12Segment(segment, segmentDataElementDelimiter))
+                .map(segment -> new X12Segment(segment, segmentDataElementDelimiter, valueCache))
                 .collect(Collectors.toList());
         }
     }
@@ -25,6 +25,12 @@ import java.util.List;
 
 public final class X12ParsingUtil {
 
+    public static final String UNEXPECTED_SEGMENT_ERROR = "expected one segment but found another";
+
+    private static final int TRANSACTION_ITEM_TOTAL_CODE = X12Segment.identifierCode(X12TransactionSet.TRANSACTION_ITEM_TOTAL);
+    private static final int TRANSACTION_AMOUNT_TOTAL_CODE = X12Segment.identifierCode(X12TransactionSet.TRANSACTION_AMOUNT_TOTAL);
+    private static final int TRANSACTION_SET_TRAILER_CODE = X12Segment.identifierCode(X12TransactionSet.TRANSACTION_SET_TRAILER);
+
     /**
      * return the numeric part of a version number
      *
@@ -44,6 +50,23 @@ public final class X12ParsingUtil {
         }
     }
 
+    /**
+     * check the segment for the CTT or AMT or SE
+     * that follows the hierarchical loops in a transaction set
+     *
+     * @param segment
+     * @return true if CTT, AMT or SE otherwise false
+     */
+    public static boolean isTransactionTotalOrTrailer(X12Segment segment) {
+        if (segment == null) {
+            return false;
+        }
+        int code = segment.getIdentifierCode();
+        return code == TRANSACTION_ITEM_TOTAL_CODE
+            || code == TRANSACTION_AMOUNT_TOTAL_CODE
+            || code == TRANSACTION_SET_TRAILER_CODE;
+    }
+
     /**
      * builds an {@link X12ParserException} w/ consistent message when
      * an unexpected segment is encountered
@@ -75,7 +98,7 @@ public final class X12ParsingUtil {
         sb.append(expectedSegmentId);
         sb.append(" segment but found ");
         sb.append(actualSegmentId);
-        return new X12ErrorDetail(actualSegmentId, null, "expected one segment but found another", sb.toString());
+        return new X12ErrorDetail(actualSegmentId, null, UNEXPECTED_SEGMENT_ERROR, sb.toString());
     }
 
     /**
@@ -0,0 +1,80 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.batch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * reads an EDI file into a String
+ */
+final class SourceFileReader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SourceFileReader.class);
+
+    /**
+     * read the file
+     * it is decoded as UTF-8 unless it is not valid UTF-8
+     * in which case it is decoded as Latin-1
+     *
+     * @param sourceFile
+     * @param size the size of the file
+     * @param memoryMapThreshold files at least this size are memory mapped
+     * @return the contents of the file
+     * @throws IOException
+     */
+    static String readFile(Path sourceFile, long size, long memoryMapThreshold) throws IOException {
+        ByteBuffer bytes;
+        if (size >= memoryMapThreshold) {
+            try (FileChannel channel = FileChannel.open(sourceFile, StandardOpenOption.READ)) {
+                long channelSize = channel.size();
+                if (channelSize > Integer.MAX_VALUE) {
+                    throw new IOException("file is too large to parse: " + sourceFile);
+                }
+                bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channelSize);
+            }
+        } else {
+            bytes = ByteBuffer.wrap(Files.readAllBytes(sourceFile));
+        }
+
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(bytes)
+                .toString();
+        } catch (CharacterCodingException e) {
+            LOGGER.debug("switching encoding to Latin-1 for {}", sourceFile);
+            bytes.rewind();
+            return StandardCharsets.ISO_8859_1.decode(bytes).toString();
+        }
+    }
+
+    private SourceFileReader() {
+        // you can't make me
+    }
+}
@@ -0,0 +1,91 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.batch;
+
+import com.walmartlabs.x12.X12Document;
+
+import java.nio.file.Path;
+
+/**
+ * the result of processing one file in a batch
+ *
+ * @param <T> the type of document the parser returns
+ */
+public class X12BatchFileResult<T extends X12Document> {
+
+    private final Path sourceFile;
+    private final Path targetFile;
+    private final long bytes;
+    private final long elapsedNanos;
+    private final T document;
+    private final Exception exception;
+
+    public X12BatchFileResult(Path sourceFile, Path targetFile, long bytes, long elapsedNanos, T document, Exception exception) {
+        this.sourceFile = sourceFile;
+        this.targetFile = targetFile;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+        this.document = document;
+        this.exception = exception;
+    }
+
+    /**
+     * @return true when the file was parsed and checked without an exception
+     */
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * @return the file that was processed (it has been moved)
+     */
+    public Path getSourceFile() {
+        return sourceFile;
+    }
+
+    /**
+     * @return where the file was moved or null if the move failed
+     */
+    public Path getTargetFile() {
+        return targetFile;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the time spent reading, parsing and checking the file
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the parsed document or null if the file could not be parsed
+     */
+    public T getDocument() {
+        return document;
+    }
+
+    /**
+     * @return the reason the file failed or null if it was successful
+     */
+    public Exception getException() {
+        return exception;
+    }
+}
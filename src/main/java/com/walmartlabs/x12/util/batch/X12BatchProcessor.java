@@ -0,0 +1,463 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.batch;
+
+import com.walmartlabs.x12.X12Document;
+import com.walmartlabs.x12.X12Parser;
+import com.walmartlabs.x12.exceptions.X12ParserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * parses each file in a directory
+ * and moves it to a success or failed folder
+ *
+ * the files are parsed in parallel on a worker pool,
+ * the number of files and the number of bytes that are
+ * in flight (submitted but not finished) are limited
+ * so a directory with a very large number of files
+ * does not use an unbounded amount of memory
+ *
+ * for each file that fails a reason file (file name + .reason.txt)
+ * w/ the exception message is written to the failed folder
+ *
+ * the {@link X12Parser} is shared by the worker threads
+ * so it must be thread safe (ex: a {@link com.walmartlabs.x12.standard.StandardX12Parser}
+ * w/ stateless transaction set parsers or a {@link com.walmartlabs.x12.dex.dx894.DefaultDex894Parser})
+ * and it should be fully configured before the batch is started
+ *
+ * @param <T> the type of document the parser returns
+ */
+public class X12BatchProcessor<T extends X12Document> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(X12BatchProcessor.class);
+
+    public static final String SUCCESS_FOLDER = "success";
+    public static final String FAILED_FOLDER = "failed";
+    public static final String REASON_FILE_SUFFIX = ".reason.txt";
+
+    public static final long DEFAULT_MAX_IN_FLIGHT_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_MAX_IN_FLIGHT_FILES = 1024;
+    public static final long DEFAULT_MEMORY_MAP_THRESHOLD = 64L * 1024;
+    public static final int DEFAULT_PROGRESS_INTERVAL = 1000;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final X12Parser<T> parser;
+
+    private ExecutorService executorService;
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+    private long maxInFlightBytes = DEFAULT_MAX_IN_FLIGHT_BYTES;
+    private int maxInFlightFiles = DEFAULT_MAX_IN_FLIGHT_FILES;
+    private long memoryMapThreshold = DEFAULT_MEMORY_MAP_THRESHOLD;
+    private int progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+    private BiConsumer<Path, T> documentChecker;
+    private Consumer<X12BatchFileResult<T>> fileResultListener;
+    private Consumer<X12BatchProgress> progressListener;
+
+    /**
+     * @param parser a thread safe parser
+     * @throws IllegalArgumentException if the parser is null
+     */
+    public X12BatchProcessor(X12Parser<T> parser) {
+        if (parser == null) {
+            throw new IllegalArgumentException("parser must be provided");
+        }
+        this.parser = parser;
+    }
+
+    /**
+     * parse the files in the input folder
+     * and move them to the success and failed folders
+     * under the input folder
+     *
+     * @param inputFolder
+     * @return the final progress of the batch
+     * @throws IOException if the input folder can't be read
+     * @throws InterruptedIOException if the thread is interrupted while waiting for the files to be processed
+     */
+    public X12BatchProgress processDirectory(Path inputFolder) throws IOException {
+        return this.processDirectory(inputFolder, inputFolder.resolve(SUCCESS_FOLDER), inputFolder.resolve(FAILED_FOLDER));
+    }
+
+    /**
+     * parse the files in the input folder
+     * and move them to the success and failed folders
+     *
+     * the folders are created if they don't exist
+     * sub folders of the input folder are ignored
+     *
+     * @param inputFolder
+     * @param successFolder
+     * @param failedFolder
+     * @return the final progress of the batch
+     * @throws IOException if the input folder can't be read
+     * @throws InterruptedIOException if the thread is interrupted while waiting for the files to be processed
+     */
+    public X12BatchProgress processDirectory(Path inputFolder, Path successFolder, Path failedFolder) throws IOException {
+        if (!Files.isDirectory(inputFolder)) {
+            throw new IllegalArgumentException("the input folder does not exist: " + inputFolder);
+        }
+        Files.createDirectories(successFolder);
+        Files.createDirectories(failedFolder);
+
+        ExecutorService executor = executorService != null ? executorService : this.createExecutorService();
+        Batch batch = new Batch(successFolder, failedFolder);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(inputFolder)) {
+            for (Path sourceFile : files) {
+                if (Files.isRegularFile(sourceFile)) {
+                    batch.submit(executor, sourceFile);
+                }
+            }
+            batch.awaitCompletion();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while processing " + inputFolder);
+        } finally {
+            if (executorService == null) {
+                executor.shutdown();
+            }
+        }
+
+        return batch.reportProgress();
+    }
+
+    /**
+     * the worker pool used to process the files
+     * (ex: Executors.newVirtualThreadPerTaskExecutor() on Java 21)
+     *
+     * the executor is not shut down by the batch processor
+     *
+     * @param executorService the executor or null to use a fixed thread pool of {@link #setThreadCount(int)} threads
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * the size of the thread pool that is created
+     * when an {@link ExecutorService} is not provided
+     * the default is the number of available processors
+     *
+     * @param threadCount
+     * @throws IllegalArgumentException if threadCount is less than 1
+     */
+    public void setThreadCount(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("threadCount must be at least 1");
+        }
+        this.threadCount = threadCount;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * the total size of the files that can be in flight at the same time
+     * a file larger than this is processed by itself
+     *
+     * @param maxInFlightBytes
+     * @throws IllegalArgumentException if maxInFlightBytes is less than 1
+     */
+    public void setMaxInFlightBytes(long maxInFlightBytes) {
+        if (maxInFlightBytes < 1) {
+            throw new IllegalArgumentException("maxInFlightBytes must be at least 1");
+        }
+        this.maxInFlightBytes = maxInFlightBytes;
+    }
+
+    public long getMaxInFlightBytes() {
+        return maxInFlightBytes;
+    }
+
+    /**
+     * the number of files that can be in flight at the same time
+     *
+     * @param maxInFlightFiles
+     * @throws IllegalArgumentException if maxInFlightFiles is less than 1
+     */
+    public void setMaxInFlightFiles(int maxInFlightFiles) {
+        if (maxInFlightFiles < 1) {
+            throw new IllegalArgumentException("maxInFlightFiles must be at least 1");
+        }
+        this.maxInFlightFiles = maxInFlightFiles;
+    }
+
+    public int getMaxInFlightFiles() {
+        return maxInFlightFiles;
+    }
+
+    /**
+     * files at least this size are memory mapped
+     * smaller files are read into a byte array
+     *
+     * on Windows a memory mapped file can't be moved
+     * until the mapping is garbage collected
+     * so use Long.MAX_VALUE to turn off the memory mapping
+     *
+     * @param memoryMapThreshold
+     */
+    public void setMemoryMapThreshold(long memoryMapThreshold) {
+        this.memoryMapThreshold = memoryMapThreshold;
+    }
+
+    public long getMemoryMapThreshold() {
+        return memoryMapThreshold;
+    }
+
+    /**
+     * the progress is logged and passed to the progress listener
+     * each time this many files have been processed
+     * and when the batch is finished
+     *
+     * @param progressInterval
+     * @throws IllegalArgumentException if progressInterval is less than 1
+     */
+    public void setProgressInterval(int progressInterval) {
+        if (progressInterval < 1) {
+            throw new IllegalArgumentException("progressInterval must be at least 1");
+        }
+        this.progressInterval = progressInterval;
+    }
+
+    public int getProgressInterval() {
+        return progressInterval;
+    }
+
+    /**
+     * check each document after it is parsed
+     * the file fails if the checker throws an {@link X12ParserException}
+     * (or any other runtime exception)
+     *
+     * the checker is called by the worker threads
+     *
+     * @param documentChecker is passed the source file and the document
+     */
+    public void setDocumentChecker(BiConsumer<Path, T> documentChecker) {
+        this.documentChecker = documentChecker;
+    }
+
+    /**
+     * the listener is called by the worker threads
+     * after each file has been moved
+     *
+     * @param fileResultListener
+     */
+    public void setFileResultListener(Consumer<X12BatchFileResult<T>> fileResultListener) {
+        this.fileResultListener = fileResultListener;
+    }
+
+    /**
+     * the listener is called every {@link #setProgressInterval(int)} files
+     * by the worker threads and when the batch is finished
+     *
+     * @param progressListener
+     */
+    public void setProgressListener(Consumer<X12BatchProgress> progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    private ExecutorService createExecutorService() {
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "x12-batch-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(threadCount, threadFactory);
+    }
+
+    /**
+     * move the file w/ an atomic rename so that anything
+     * watching the folder never sees a partial file
+     *
+     * @return the moved file or null if it could not be moved
+     */
+    private Path moveFile(Path sourceFile, Path folder) {
+        Path targetFile = folder.resolve(sourceFile.getFileName());
+        try {
+            try {
+                return Files.move(sourceFile, targetFile, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                // the folder is on a different file store
+                return Files.move(sourceFile, targetFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.error("unable to move {} to {}", sourceFile, folder, e);
+            return null;
+        }
+    }
+
+    private void writeReasonFile(Path sourceFile, Path failedFolder, Exception exception) {
+        String reason = exception.getMessage() != null ? exception.getMessage() : exception.getClass().getName();
+        try {
+            Path reasonFile = failedFolder.resolve(sourceFile.getFileName() + REASON_FILE_SUFFIX);
+            Files.write(reasonFile, reason.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * the state of one call to processDirectory
+     */
+    private class Batch {
+
+        private final Path successFolder;
+        private final Path failedFolder;
+
+        private final int maxBytePermits = (int) Math.min(maxInFlightBytes, Integer.MAX_VALUE);
+        private final int maxFilePermits = maxInFlightFiles;
+        private final Semaphore bytesInFlight = new Semaphore(maxBytePermits);
+        private final Semaphore filesInFlight = new Semaphore(maxFilePermits);
+
+        private final long startTime = System.nanoTime();
+        private final AtomicLong filesSucceeded = new AtomicLong();
+        private final AtomicLong filesFailed = new AtomicLong();
+        private final AtomicLong filesProcessed = new AtomicLong();
+        private final AtomicLong bytesProcessed = new AtomicLong();
+
+        Batch(Path successFolder, Path failedFolder) {
+            this.successFolder = successFolder;
+            this.failedFolder = failedFolder;
+        }
+
+        /**
+         * wait until there is room for the file
+         * and then hand it to the executor
+         */
+        void submit(ExecutorService executor, Path sourceFile) throws InterruptedException {
+            long size;
+            try {
+                size = Files.size(sourceFile);
+            } catch (IOException e) {
+                // the file was removed after it was listed
+                LOGGER.warn("skipping {}: {}", sourceFile, e.getMessage());
+                return;
+            }
+
+            int bytePermits = (int) Math.max(1L, Math.min(size, maxBytePermits));
+            filesInFlight.acquire();
+            try {
+                bytesInFlight.acquire(bytePermits);
+            } catch (InterruptedException e) {
+                filesInFlight.release();
+                throw e;
+            }
+
+            try {
+                executor.execute(() -> this.process(sourceFile, size, bytePermits));
+            } catch (RejectedExecutionException e) {
+                bytesInFlight.release(bytePermits);
+                filesInFlight.release();
+                throw e;
+            }
+        }
+
+        void awaitCompletion() throws InterruptedException {
+            filesInFlight.acquire(maxFilePermits);
+            filesInFlight.release(maxFilePermits);
+        }
+
+        private void process(Path sourceFile, long size, int bytePermits) {
+            try {
+                X12BatchFileResult<T> result = this.processFile(sourceFile, size);
+                this.recordResult(result);
+                if (fileResultListener != null) {
+                    fileResultListener.accept(result);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.error("unexpected error processing {}", sourceFile, e);
+            } finally {
+                bytesInFlight.release(bytePermits);
+                filesInFlight.release();
+            }
+        }
+
+        private X12BatchFileResult<T> processFile(Path sourceFile, long size) {
+            long fileStartTime = System.nanoTime();
+            T document = null;
+            Exception exception = null;
+            try {
+                String sourceData = SourceFileReader.readFile(sourceFile, size, memoryMapThreshold);
+                document = parser.parse(sourceData);
+                if (documentChecker != null) {
+                    documentChecker.accept(sourceFile, document);
+                }
+            } catch (IOException | RuntimeException e) {
+                exception = e;
+            }
+            long elapsedNanos = System.nanoTime() - fileStartTime;
+
+            Path targetFile;
+            if (exception == null) {
+                targetFile = moveFile(sourceFile, successFolder);
+            } else {
+                LOGGER.debug("failed to process {}: {}", sourceFile, exception.getMessage());
+                writeReasonFile(sourceFile, failedFolder, exception);
+                targetFile = moveFile(sourceFile, failedFolder);
+            }
+
+            return new X12BatchFileResult<>(sourceFile, targetFile, size, elapsedNanos, document, exception);
+        }
+
+        private void recordResult(X12BatchFileResult<T> result) {
+            if (result.isSuccess()) {
+                filesSucceeded.incrementAndGet();
+            } else {
+                filesFailed.incrementAndGet();
+            }
+            bytesProcessed.addAndGet(result.getBytes());
+            if (filesProcessed.incrementAndGet() % progressInterval == 0) {
+                this.reportProgress();
+            }
+        }
+
+        X12BatchProgress reportProgress() {
+            X12BatchProgress progress = new X12BatchProgress(filesSucceeded.get(), filesFailed.get(),
+                bytesProcessed.get(), System.nanoTime() - startTime);
+            LOGGER.info("{}", progress);
+            if (progressListener != null) {
+                progressListener.accept(progress);
+            }
+            return progress;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.batch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * a snapshot of the progress of a batch
+ */
+public class X12BatchProgress {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long filesSucceeded;
+    private final long filesFailed;
+    private final long bytesProcessed;
+    private final long elapsedNanos;
+
+    public X12BatchProgress(long filesSucceeded, long filesFailed, long bytesProcessed, long elapsedNanos) {
+        this.filesSucceeded = filesSucceeded;
+        this.filesFailed = filesFailed;
+        this.bytesProcessed = bytesProcessed;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getFilesProcessed() {
+        return filesSucceeded + filesFailed;
+    }
+
+    public long getFilesSucceeded() {
+        return filesSucceeded;
+    }
+
+    public long getFilesFailed() {
+        return filesFailed;
+    }
+
+    public long getBytesProcessed() {
+        return bytesProcessed;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getFilesPerSecond() {
+        return elapsedNanos > 0 ? this.getFilesProcessed() * NANOS_PER_SECOND / elapsedNanos : 0.0;
+    }
+
+    public double getBytesPerSecond() {
+        return elapsedNanos > 0 ? bytesProcessed * NANOS_PER_SECOND / elapsedNanos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("processed %d files (%d failed, %d bytes) %.1f files/s %.1f KB/s",
+            this.getFilesProcessed(), filesFailed, bytesProcessed,
+            this.getFilesPerSecond(), this.getBytesPerSecond() / 1024);
+    }
+}
@@ -0,0 +1,85 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.batch;
+
+import com.walmartlabs.x12.X12Document;
+
+import java.nio.file.Path;
+
+/**
+ * the result of ingesting one file or message
+ *
+ * @param <T> the type of document the parser returns
+ */
+public class X12IngestResult<T extends X12Document> {
+
+    private final int index;
+    private final Path sourceFile;
+    private final long elapsedNanos;
+    private final T document;
+    private final Exception exception;
+
+    public X12IngestResult(int index, Path sourceFile, long elapsedNanos, T document, Exception exception) {
+        this.index = index;
+        this.sourceFile = sourceFile;
+        this.elapsedNanos = elapsedNanos;
+        this.document = document;
+        this.exception = exception;
+    }
+
+    /**
+     * @return true when the source was read and parsed without an exception
+     */
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * @return the position of the file or message in the input
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the file that was parsed or null for a message
+     */
+    public Path getSourceFile() {
+        return sourceFile;
+    }
+
+    /**
+     * @return the time spent reading and parsing the source
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the parsed document or null if the source could not be parsed
+     */
+    public T getDocument() {
+        return document;
+    }
+
+    /**
+     * @return the reason the source failed or null if it was successful
+     */
+    public Exception getException() {
+        return exception;
+    }
+}
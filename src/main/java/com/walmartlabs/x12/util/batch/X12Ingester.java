@@ -0,0 +1,314 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.batch;
+
+import com.walmartlabs.x12.X12Document;
+import com.walmartlabs.x12.X12Parser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * parses many small EDI files or messages concurrently
+ * w/ one task per file or message
+ *
+ * on Java 21 and later each task runs on its own virtual thread
+ * so a task waiting on the disk does not hold a platform thread,
+ * on older versions of Java a cached pool of platform threads is used
+ *
+ * the number of tasks that are reading or parsing at the same time
+ * is limited by the max concurrency, the limit is shared by
+ * every call to the ingester (and every thread using it)
+ *
+ * the results can be passed to the consumer in the same order
+ * as the input or in the order that they finish, the consumer
+ * is always called by the thread that called the ingester
+ *
+ * the parser can be shared by all of the tasks when it is thread safe
+ * ({@link com.walmartlabs.x12.standard.StandardX12Parser} w/ stateless transaction set parsers
+ * and {@link com.walmartlabs.x12.dex.dx894.DefaultDex894Parser} are once they are configured)
+ * or a new parser can be created for each task
+ *
+ * @param <T> the type of document the parser returns
+ */
+public class X12Ingester<T extends X12Document> implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(X12Ingester.class);
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final Supplier<? extends X12Parser<T>> parserFactory;
+    private final int maxConcurrency;
+    private final Semaphore concurrencyLimit;
+    private final ExecutorService executorService;
+    private final boolean ownsExecutorService;
+    private final boolean usingVirtualThreads;
+
+    /**
+     * all of the tasks use the same parser
+     *
+     * @param parser a thread safe parser
+     * @param maxConcurrency the max number of files or messages that are processed at the same time
+     * @return the ingester
+     */
+    public static <T extends X12Document> X12Ingester<T> withSharedParser(X12Parser<T> parser, int maxConcurrency) {
+        if (parser == null) {
+            throw new IllegalArgumentException("parser must be provided");
+        }
+        return new X12Ingester<>(() -> parser, maxConcurrency, null);
+    }
+
+    /**
+     * each task creates its own parser
+     *
+     * @param parserFactory creates a parser
+     * @param maxConcurrency the max number of files or messages that are processed at the same time
+     * @return the ingester
+     */
+    public static <T extends X12Document> X12Ingester<T> withParserPerTask(Supplier<? extends X12Parser<T>> parserFactory,
+        int maxConcurrency) {
+        return new X12Ingester<>(parserFactory, maxConcurrency, null);
+    }
+
+    /**
+     * @param parserFactory supplies the parser for each task
+     * @param maxConcurrency the max number of files or messages that are processed at the same time
+     * @param executorService runs the tasks or null to use virtual threads when they are available,
+     *        an executor that is provided is not shut down when the ingester is closed
+     * @throws IllegalArgumentException if the parserFactory is null or maxConcurrency is less than 1
+     */
+    public X12Ingester(Supplier<? extends X12Parser<T>> parserFactory, int maxConcurrency, ExecutorService executorService) {
+        if (parserFactory == null) {
+            throw new IllegalArgumentException("parserFactory must be provided");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.parserFactory = parserFactory;
+        this.maxConcurrency = maxConcurrency;
+        this.concurrencyLimit = new Semaphore(maxConcurrency);
+        this.ownsExecutorService = executorService == null;
+        if (executorService != null) {
+            this.executorService = executorService;
+            this.usingVirtualThreads = false;
+        } else {
+            ExecutorService virtualThreadExecutor = newVirtualThreadExecutor();
+            this.usingVirtualThreads = virtualThreadExecutor != null;
+            this.executorService = virtualThreadExecutor != null ? virtualThreadExecutor : newPlatformThreadExecutor();
+        }
+    }
+
+    /**
+     * read and parse each file
+     *
+     * a file that can't be read or parsed is reported in its {@link X12IngestResult}
+     *
+     * @param sourceFiles
+     * @param ordered true to get the results in the same order as the files
+     * @param resultConsumer is passed each result on the calling thread
+     * @throws InterruptedException
+     */
+    public void ingestFiles(Iterable<Path> sourceFiles, boolean ordered, Consumer<X12IngestResult<T>> resultConsumer)
+        throws InterruptedException {
+
+        this.ingest(sourceFiles, ordered, resultConsumer, (index, sourceFile) -> {
+            long startTime = System.nanoTime();
+            T document = null;
+            Exception exception = null;
+            try {
+                // small files are not worth memory mapping
+                String sourceData = SourceFileReader.readFile(sourceFile, Files.size(sourceFile), Long.MAX_VALUE);
+                document = parserFactory.get().parse(sourceData);
+            } catch (IOException | RuntimeException e) {
+                exception = e;
+            }
+            return new X12IngestResult<>(index, sourceFile, System.nanoTime() - startTime, document, exception);
+        });
+    }
+
+    /**
+     * parse each message
+     *
+     * a message that can't be parsed is reported in its {@link X12IngestResult}
+     *
+     * @param messages
+     * @param ordered true to get the results in the same order as the messages
+     * @param resultConsumer is passed each result on the calling thread
+     * @throws InterruptedException
+     */
+    public void ingestMessages(Iterable<String> messages, boolean ordered, Consumer<X12IngestResult<T>> resultConsumer)
+        throws InterruptedException {
+
+        this.ingest(messages, ordered, resultConsumer, (index, sourceData) -> {
+            long startTime = System.nanoTime();
+            T document = null;
+            Exception exception = null;
+            try {
+                document = parserFactory.get().parse(sourceData);
+            } catch (RuntimeException e) {
+                exception = e;
+            }
+            return new X12IngestResult<>(index, null, System.nanoTime() - startTime, document, exception);
+        });
+    }
+
+    /**
+     * @return true when the tasks run on virtual threads created by the ingester
+     */
+    public boolean isUsingVirtualThreads() {
+        return usingVirtualThreads;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * shut down the executor if it was created by the ingester
+     */
+    @Override
+    public void close() {
+        if (ownsExecutorService) {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * each call keeps at most maxConcurrency tasks outstanding
+     * which also limits the number of results waiting to be consumed
+     */
+    private <S> void ingest(Iterable<S> sources, boolean ordered, Consumer<X12IngestResult<T>> resultConsumer,
+        IngestTask<S, T> ingestTask) throws InterruptedException {
+
+        if (sources == null) {
+            return;
+        }
+
+        CompletionService<X12IngestResult<T>> completionService = new ExecutorCompletionService<>(executorService);
+        Deque<Future<X12IngestResult<T>>> outstanding = new ArrayDeque<>();
+        try {
+            int index = 0;
+            for (S source : sources) {
+                if (outstanding.size() >= maxConcurrency) {
+                    this.consumeNext(completionService, outstanding, ordered, resultConsumer);
+                }
+                int taskIndex = index++;
+                Callable<X12IngestResult<T>> task = () -> this.runTask(ingestTask, taskIndex, source);
+                // ordered results are not taken from the completion service
+                // so they are submitted directly to the executor
+                outstanding.add(ordered ? executorService.submit(task) : completionService.submit(task));
+            }
+            while (!outstanding.isEmpty()) {
+                this.consumeNext(completionService, outstanding, ordered, resultConsumer);
+            }
+        } finally {
+            // only left when the consumer failed or the thread was interrupted
+            outstanding.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <S> X12IngestResult<T> runTask(IngestTask<S, T> ingestTask, int index, S source) throws InterruptedException {
+        concurrencyLimit.acquire();
+        try {
+            return ingestTask.ingest(index, source);
+        } finally {
+            concurrencyLimit.release();
+        }
+    }
+
+    private void consumeNext(CompletionService<X12IngestResult<T>> completionService, Deque<Future<X12IngestResult<T>>> outstanding,
+        boolean ordered, Consumer<X12IngestResult<T>> resultConsumer) throws InterruptedException {
+
+        Future<X12IngestResult<T>> future;
+        if (ordered) {
+            future = outstanding.removeFirst();
+        } else {
+            future = completionService.take();
+            this.removeFuture(outstanding, future);
+        }
+
+        X12IngestResult<T> result;
+        try {
+            result = future.get();
+        } catch (ExecutionException e) {
+            // the tasks catch their own exceptions
+            throw new IllegalStateException("unexpected error while ingesting", e.getCause());
+        }
+        resultConsumer.accept(result);
+    }
+
+    private void removeFuture(Deque<Future<X12IngestResult<T>>> outstanding, Future<X12IngestResult<T>> future) {
+        Iterator<Future<X12IngestResult<T>>> iterator = outstanding.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() == future) {
+                iterator.remove();
+                break;
+            }
+        }
+    }
+
+    /**
+     * use a virtual thread per task when running on Java 21 or later
+     * the factory is looked up by reflection so the library
+     * can still be used on older versions of Java
+     *
+     * @return the executor or null if virtual threads are not available
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method virtualThreadFactory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtualThreadFactory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("virtual threads are not available, using platform threads");
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformThreadExecutor() {
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "x12-ingest-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * parse one file or message
+     */
+    @FunctionalInterface
+    private interface IngestTask<S, T extends X12Document> {
+        X12IngestResult<T> ingest(int index, S source);
+    }
+}
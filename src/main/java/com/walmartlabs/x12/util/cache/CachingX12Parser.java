@@ -0,0 +1,270 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.cache;
+
+import com.walmartlabs.x12.X12Document;
+import com.walmartlabs.x12.X12Parser;
+import com.walmartlabs.x12.exceptions.X12ParserException;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * an {@link X12Parser} that remembers the result of parsing
+ * so that a resubmitted (byte for byte identical) document
+ * is not parsed again
+ *
+ * the results are keyed by a 64 bit hash of the source data
+ * and a hit is only used when the source data is equal to the
+ * source data that was parsed, so a hash collision is a miss
+ *
+ * the wrapped parser must not be reconfigured after it is wrapped
+ * (ex: registering another transaction set parser) since the results
+ * parsed w/ the old configuration would still be returned,
+ * call {@link #clear()} if the parser has to be changed
+ *
+ * on a hit the same document instance that was returned before is returned
+ * or a new {@link X12ParserException} w/ the same message and error detail
+ * is thrown (the exception that was thrown before is its cause)
+ * the documents are shared by every caller that parses the same source data
+ * so they must be treated as read only
+ *
+ * the least recently used results are evicted when there are more than the max entries
+ * or when the total length of the cached source data is more than the max cached characters
+ *
+ * this class is thread safe when the wrapped parser is thread safe
+ */
+public class CachingX12Parser<T extends X12Document> implements X12Parser<T> {
+
+    private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_3 = 0x165667B19E3779F9L;
+    private static final long PRIME_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME_5 = 0x27D4EB2F165667C5L;
+
+    private final X12Parser<T> parser;
+    private final int maxEntries;
+    private final long maxCachedCharacters;
+
+    // access ordered so the first entry is the least recently used
+    private final LinkedHashMap<Long, CachedResult<T>> results = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedCharacters;
+    private long hits;
+    private long misses;
+
+    /**
+     * cache the results of the parser
+     *
+     * @param parser
+     * @param maxEntries the maximum number of results to keep
+     */
+    public CachingX12Parser(X12Parser<T> parser, int maxEntries) {
+        this(parser, maxEntries, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param parser
+     * @param maxEntries the maximum number of results to keep
+     * @param maxCachedCharacters the maximum total length of the source data for the results that are kept
+     */
+    public CachingX12Parser(X12Parser<T> parser, int maxEntries, long maxCachedCharacters) {
+        if (parser == null) {
+            throw new IllegalArgumentException("parser must not be null");
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("max entries must be positive");
+        }
+        if (maxCachedCharacters < 1) {
+            throw new IllegalArgumentException("max cached characters must be positive");
+        }
+        this.parser = parser;
+        this.maxEntries = maxEntries;
+        this.maxCachedCharacters = maxCachedCharacters;
+    }
+
+    /**
+     * parse the X12 transmission or
+     * return the result of a previous parse of the same transmission
+     *
+     * @return the representative Java object
+     * @throws X12ParserException
+     */
+    @Override
+    public T parse(String sourceData) {
+        if (sourceData == null || sourceData.isEmpty()) {
+            return parser.parse(sourceData);
+        }
+
+        Long key = this.hashSourceData(sourceData);
+        CachedResult<T> cached = this.lookup(key, sourceData);
+        if (cached != null) {
+            return cached.replay();
+        }
+
+        try {
+            T document = parser.parse(sourceData);
+            this.store(key, new CachedResult<>(sourceData, document, null));
+            return document;
+        } catch (X12ParserException e) {
+            this.store(key, new CachedResult<>(sourceData, null, e));
+            throw e;
+        }
+    }
+
+    public X12Parser<T> getParser() {
+        return parser;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getMaxCachedCharacters() {
+        return maxCachedCharacters;
+    }
+
+    /**
+     * @return the number of results in the cache
+     */
+    public synchronized int size() {
+        return results.size();
+    }
+
+    /**
+     * @return the total length of the source data for the results in the cache
+     */
+    public synchronized long getCachedCharacters() {
+        return cachedCharacters;
+    }
+
+    /**
+     * @return the number of parses answered from the cache
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of parses delegated to the wrapped parser
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * remove all of the results from the cache
+     */
+    public synchronized void clear() {
+        results.clear();
+        cachedCharacters = 0L;
+    }
+
+    private synchronized CachedResult<T> lookup(Long key, String sourceData) {
+        CachedResult<T> cached = results.get(key);
+        // confirm the hit so a hash collision
+        // never returns another document
+        if (cached != null && cached.sourceData.equals(sourceData)) {
+            hits++;
+            return cached;
+        }
+        misses++;
+        return null;
+    }
+
+    private synchronized void store(Long key, CachedResult<T> result) {
+        if (result.sourceData.length() > maxCachedCharacters) {
+            // too big to cache
+            return;
+        }
+
+        CachedResult<T> previous = results.put(key, result);
+        if (previous != null) {
+            cachedCharacters -= previous.sourceData.length();
+        }
+        cachedCharacters += result.sourceData.length();
+
+        Iterator<Map.Entry<Long, CachedResult<T>>> leastRecentlyUsed = results.entrySet().iterator();
+        while (results.size() > maxEntries || cachedCharacters > maxCachedCharacters) {
+            CachedResult<T> evicted = leastRecentlyUsed.next().getValue();
+            leastRecentlyUsed.remove();
+            cachedCharacters -= evicted.sourceData.length();
+        }
+    }
+
+    /**
+     * the key for the source data
+     */
+    long hashSourceData(String sourceData) {
+        return hash(0L, sourceData);
+    }
+
+    /**
+     * 64 bit hash of the characters (based on xxHash64)
+     * that consumes 4 characters at a time
+     */
+    static long hash(long seed, String value) {
+        int length = value.length();
+        long hash = seed + PRIME_5 + length;
+
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long block = value.charAt(i)
+                | ((long) value.charAt(i + 1) << 16)
+                | ((long) value.charAt(i + 2) << 32)
+                | ((long) value.charAt(i + 3) << 48);
+            hash ^= round(block);
+            hash = Long.rotateLeft(hash, 27) * PRIME_1 + PRIME_4;
+        }
+        for (; i < length; i++) {
+            hash ^= value.charAt(i) * PRIME_5;
+            hash = Long.rotateLeft(hash, 11) * PRIME_1;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= PRIME_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME_3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    private static long round(long block) {
+        return Long.rotateLeft(block * PRIME_2, 31) * PRIME_1;
+    }
+
+    private static final class CachedResult<T> {
+        private final String sourceData;
+        private final T document;
+        private final X12ParserException exception;
+
+        CachedResult(String sourceData, T document, X12ParserException exception) {
+            this.sourceData = sourceData;
+            this.document = document;
+            this.exception = exception;
+        }
+
+        T replay() {
+            if (exception != null) {
+                X12ParserException replayed = new X12ParserException(exception.getMessage(), exception.getErrorDetail());
+                replayed.initCause(exception);
+                throw replayed;
+            }
+            return document;
+        }
+    }
+}
@@ -16,6 +16,9 @@ limitations under the License.
 
 package com.walmartlabs.x12.util.crc;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 public interface CyclicRedundancyCheck {
     /**
      * generates a CRC value
@@ -37,12 +40,59 @@ public interface CyclicRedundancyCheck {
     default String generateCyclicRedundancyCheck(String blockOfText, int minSize) {
         String crcValue = this.generateCyclicRedundancyCheck(blockOfText);
         if (crcValue != null && crcValue.length() > 0 && crcValue.length() < minSize) {
-            StringBuilder formatter = new StringBuilder().append("%0").append(minSize - crcValue.length()).append("d%s");
-            crcValue = String.format(formatter.toString(), 0, crcValue);
+            StringBuilder padded = new StringBuilder(minSize);
+            for (int i = crcValue.length(); i < minSize; i++) {
+                padded.append('0');
+            }
+            crcValue = padded.append(crcValue).toString();
         }
         return crcValue;
     }
 
+    /**
+     * generates a CRC value for a range of bytes
+     *
+     * the default implementation maps each byte to one char (ISO-8859-1)
+     * and delegates to {@link #generateCyclicRedundancyCheck(String)}
+     * so no byte is lost in a charset round trip, implementations
+     * whose String method encodes chars above 0x7F as more than one byte
+     * must override this to work on the bytes directly
+     *
+     * @param bytes
+     * @param offset
+     * @param length
+     * @return the CRC value
+     * @throws NumberFormatException
+     */
+    default int generateCyclicRedundancyCheck(byte[] bytes, int offset, int length) {
+        int crc = 0;
+        if (length > 0) {
+            String crcValue = this.generateCyclicRedundancyCheck(new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+            crc = Integer.parseInt(crcValue, 16);
+        }
+        return crc;
+    }
+
+    /**
+     * generates a CRC value for the remaining bytes in the buffer
+     * the position of the buffer is not changed
+     *
+     * @param buffer
+     * @return the CRC value
+     * @throws NumberFormatException
+     */
+    default int generateCyclicRedundancyCheck(ByteBuffer buffer) {
+        int crc = 0;
+        if (buffer.hasArray()) {
+            crc = this.generateCyclicRedundancyCheck(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        } else {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            crc = this.generateCyclicRedundancyCheck(bytes, 0, bytes.length);
+        }
+        return crc;
+    }
+
     /**
      * compare a block of text with a CRC value
      *
@@ -73,4 +123,52 @@ public interface CyclicRedundancyCheck {
         }
         return crcMatches;
     }
+
+    /**
+     * compare a range of bytes with a CRC value
+     * without creating or formatting any hex strings
+     *
+     * @param crcValue
+     * @param bytes
+     * @param offset
+     * @param length
+     * @return true if the bytes have a CRC value that matches the one passed in
+     */
+    default boolean verify(int crcValue, byte[] bytes, int offset, int length) {
+        return bytes != null && length > 0 && crcValue == this.generateCyclicRedundancyCheck(bytes, offset, length);
+    }
+
+    /**
+     * compare the remaining bytes in the buffer with a CRC value
+     * without creating or formatting any hex strings
+     *
+     * @param crcValue
+     * @param buffer
+     * @return true if the bytes have a CRC value that matches the one passed in
+     */
+    default boolean verify(int crcValue, ByteBuffer buffer) {
+        return buffer != null && buffer.hasRemaining() && crcValue == this.generateCyclicRedundancyCheck(buffer);
+    }
+
+    /**
+     * converts a hex CRC value (ex: G8501) to an int
+     *
+     * @param crcValue
+     * @return the CRC value or -1 if it is not a valid hex value of at most 7 digits
+     */
+    static int parseCrcValue(String crcValue) {
+        int crc = -1;
+        if (crcValue != null && crcValue.length() > 0 && crcValue.length() < 8) {
+            int value = 0;
+            for (int i = 0; i < crcValue.length(); i++) {
+                int digit = Character.digit(crcValue.charAt(i), 16);
+                if (digit < 0) {
+                    return -1;
+                }
+                value = (value << 4) | digit;
+            }
+            crc = value;
+        }
+        return crc;
+    }
 }
@@ -16,6 +16,8 @@ limitations under the License.
 
 package com.walmartlabs.x12.util.crc;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * CRC-16 Uses irreducible polynomial: 1 + x^2 + x^15 + x^16
  *
@@ -49,22 +51,84 @@ public class DefaultCrc16 implements CyclicRedundancyCheck {
         0x8F81, 0x4F40, 0x8D01, 0x4DC0, 0x4C80, 0x8C41, 0x4400, 0x84C1, 0x8581, 0x4540, 0x8701, 0x47C0, 0x4680, 0x8641, 0x8201, 0x42C0, 0x4380,
         0x8341, 0x4100, 0x81C1, 0x8081, 0x4040, };
 
+    /**
+     * the starting value when computing a CRC incrementally
+     */
+    public static final int INITIAL_VALUE = 0x0000;
+
     @Override
     public String generateCyclicRedundancyCheck(String blockOfText) {
         String hexString = null;
 
         if (blockOfText != null && blockOfText.length() > 0) {
             byte[] bytes = blockOfText.getBytes();
-            int crc = 0x0000;
+            int crc = this.update(INITIAL_VALUE, bytes, 0, bytes.length);
+            hexString = toHexString(crc);
+        }
 
-            for (byte b : bytes) {
-                crc = (crc >>> 8) ^ table[(crc ^ b) & 0xff];
-            }
+        return hexString;
+    }
 
-            hexString = Integer.toHexString(crc).toUpperCase();
+    @Override
+    public int generateCyclicRedundancyCheck(byte[] bytes, int offset, int length) {
+        return this.update(INITIAL_VALUE, bytes, offset, length);
+    }
+
+    /**
+     * update a running CRC value with a range of bytes
+     *
+     * @param crc the CRC value computed so far
+     * @param bytes
+     * @param offset
+     * @param length
+     * @return the updated CRC value
+     */
+    public int update(int crc, byte[] bytes, int offset, int length) {
+        int value = crc;
+        for (int i = offset; i < offset + length; i++) {
+            value = (value >>> 8) ^ table[(value ^ bytes[i]) & 0xff];
         }
+        return value;
+    }
 
-        return hexString;
+    /**
+     * update a running CRC value with the bytes of the text
+     * without creating an intermediate byte array for ASCII text
+     *
+     * characters outside of ASCII are encoded as UTF-8,
+     * which is the default charset used by {@link #generateCyclicRedundancyCheck(String)} on Java 18+
+     *
+     * @param crc the CRC value computed so far
+     * @param text
+     * @return the updated CRC value
+     */
+    public int update(int crc, CharSequence text) {
+        int value = crc;
+        if (text != null) {
+            int length = text.length();
+            for (int i = 0; i < length; i++) {
+                char ch = text.charAt(i);
+                if (ch < 0x80) {
+                    value = (value >>> 8) ^ table[(value ^ ch) & 0xff];
+                } else {
+                    // rare case: encode the remainder of the text
+                    byte[] bytes = text.subSequence(i, length).toString().getBytes(StandardCharsets.UTF_8);
+                    return this.update(value, bytes, 0, bytes.length);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * converts a CRC value to the upper case hex representation
+     * used by {@link #generateCyclicRedundancyCheck(String)}
+     *
+     * @param crc
+     * @return the hex value
+     */
+    public static String toHexString(int crc) {
+        return Integer.toHexString(crc).toUpperCase();
     }
 
     @Override
@@ -0,0 +1,88 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.crc;
+
+/**
+ * CRC-16/IBM (same result as {@link DefaultCrc16})
+ * that processes 8 bytes per iteration using the slicing-by-8 technique
+ *
+ * table[k][n] holds the CRC of byte n followed by k zero bytes
+ * so 8 independent table lookups replace 8 dependent ones
+ *
+ * Source: "A Systematic Approach to Building High Performance, Software-based, CRC Generators" (Kounavis, Berry)
+ */
+public class SlicingBy8Crc16 extends DefaultCrc16 {
+
+    private static final int SLICES = 8;
+    private static final int[][] SLICE_TABLES = buildSliceTables();
+
+    @Override
+    public int update(int crc, byte[] bytes, int offset, int length) {
+        final int[] t0 = SLICE_TABLES[0];
+        final int[] t1 = SLICE_TABLES[1];
+        final int[] t2 = SLICE_TABLES[2];
+        final int[] t3 = SLICE_TABLES[3];
+        final int[] t4 = SLICE_TABLES[4];
+        final int[] t5 = SLICE_TABLES[5];
+        final int[] t6 = SLICE_TABLES[6];
+        final int[] t7 = SLICE_TABLES[7];
+
+        int value = crc;
+        int idx = offset;
+        final int end = offset + length;
+
+        // the 16 bit CRC only overlaps the first 2 bytes of each block
+        while (end - idx >= SLICES) {
+            value = t7[(value ^ bytes[idx]) & 0xff]
+                ^ t6[((value >>> 8) ^ bytes[idx + 1]) & 0xff]
+                ^ t5[bytes[idx + 2] & 0xff]
+                ^ t4[bytes[idx + 3] & 0xff]
+                ^ t3[bytes[idx + 4] & 0xff]
+                ^ t2[bytes[idx + 5] & 0xff]
+                ^ t1[bytes[idx + 6] & 0xff]
+                ^ t0[bytes[idx + 7] & 0xff];
+            idx += SLICES;
+        }
+
+        // remaining bytes
+        while (idx < end) {
+            value = (value >>> 8) ^ t0[(value ^ bytes[idx]) & 0xff];
+            idx++;
+        }
+
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "CRC-16/IBM (slicing-by-8)";
+    }
+
+    private static int[][] buildSliceTables() {
+        int[][] tables = new int[SLICES][];
+        tables[0] = table.clone();
+        for (int k = 1; k < SLICES; k++) {
+            int[] previous = tables[k - 1];
+            int[] current = new int[256];
+            for (int n = 0; n < 256; n++) {
+                current[n] = (previous[n] >>> 8) ^ tables[0][previous[n] & 0xff];
+            }
+            tables[k] = current;
+        }
+        return tables;
+    }
+}
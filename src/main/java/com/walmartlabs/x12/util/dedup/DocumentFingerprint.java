@@ -0,0 +1,89 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.dedup;
+
+/**
+ * reduces the document key (sender, document number, document date)
+ * to a 64 bit fingerprint
+ *
+ * the key parts are hashed with FNV-1a and the result is
+ * run through a 64 bit finalizer so the bits are well mixed
+ * for the hash tables and bloom filter that use the fingerprint
+ */
+public final class DocumentFingerprint {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // separates the parts so ("AB", "C") and ("A", "BC") differ
+    private static final char PART_SEPARATOR = '\u001F';
+
+    // the stores use zero to mark an empty slot
+    private static final long ZERO_REPLACEMENT = 0x9E3779B97F4A7C15L;
+
+    private DocumentFingerprint() {
+        // you can't make me
+    }
+
+    /**
+     * create the fingerprint for a document
+     * a null part is treated the same as an empty part
+     *
+     * @param sender
+     * @param documentNumber
+     * @param documentDate
+     * @return the fingerprint, never zero
+     */
+    public static long fingerprint(String sender, String documentNumber, String documentDate) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = hash(hash, sender);
+        hash = hash(hash, documentNumber);
+        hash = hash(hash, documentDate);
+        return nonZero(mix(hash));
+    }
+
+    /**
+     * the stores reserve zero for an empty slot
+     * so a zero fingerprint is replaced with a fixed value
+     */
+    static long nonZero(long fingerprint) {
+        return fingerprint != 0 ? fingerprint : ZERO_REPLACEMENT;
+    }
+
+    private static long hash(long hash, String part) {
+        long result = hash;
+        if (part != null) {
+            for (int i = 0; i < part.length(); i++) {
+                result ^= part.charAt(i);
+                result *= FNV_PRIME;
+            }
+        }
+        result ^= PART_SEPARATOR;
+        result *= FNV_PRIME;
+        return result;
+    }
+
+    private static long mix(long hash) {
+        long result = hash;
+        result ^= result >>> 33;
+        result *= 0xff51afd7ed558ccdL;
+        result ^= result >>> 33;
+        result *= 0xc4ceb9fe1a85ec53L;
+        result ^= result >>> 33;
+        return result;
+    }
+}
@@ -0,0 +1,83 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.dedup;
+
+/**
+ * keeps track of documents that have already been received
+ * so duplicates can be found across files
+ *
+ * a document is identified by the sender, the document number
+ * and the document date which are reduced to a 64 bit fingerprint
+ * using {@link DocumentFingerprint}
+ */
+public interface DocumentFingerprintStore {
+
+    /**
+     * record the fingerprint
+     *
+     * @param fingerprint
+     * @return true if the fingerprint was added, false if it was already in the store
+     */
+    boolean add(long fingerprint);
+
+    /**
+     * record the document
+     *
+     * @param sender
+     * @param documentNumber
+     * @param documentDate
+     * @return true if the document was added, false if it was already in the store
+     */
+    default boolean add(String sender, String documentNumber, String documentDate) {
+        return this.add(DocumentFingerprint.fingerprint(sender, documentNumber, documentDate));
+    }
+
+    /**
+     * record all of the fingerprints in one atomic operation
+     * nothing is added if any of them is already in the store
+     *
+     * @param fingerprints
+     * @return true if the fingerprints were added, false if any of them was already in the store
+     */
+    boolean addAllIfAbsent(long[] fingerprints);
+
+    /**
+     * @param fingerprint
+     * @return true if the fingerprint is in the store
+     */
+    boolean contains(long fingerprint);
+
+    /**
+     * @param sender
+     * @param documentNumber
+     * @param documentDate
+     * @return true if the document is in the store
+     */
+    default boolean contains(String sender, String documentNumber, String documentDate) {
+        return this.contains(DocumentFingerprint.fingerprint(sender, documentNumber, documentDate));
+    }
+
+    /**
+     * @return the number of fingerprints in the store
+     */
+    int size();
+
+    /**
+     * remove all of the fingerprints
+     */
+    void clear();
+}
@@ -0,0 +1,328 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.dedup;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * a {@link DocumentFingerprintStore} backed by a local file
+ * so the fingerprints survive a restart
+ *
+ * the file is an open addressing (linear probing) hash table
+ * of 64 bit fingerprints that is memory mapped, so a lookup
+ * is O(1) and only touches the pages it needs
+ *
+ * the table doubles when it is more than 70% full,
+ * the file is not crash safe while it is being resized
+ *
+ * an optional {@link FingerprintBloomFilter} can be kept in memory
+ * in front of the table to avoid reading the table for documents
+ * that have never been seen
+ *
+ * this class is thread safe
+ */
+public class FileDocumentFingerprintStore implements DocumentFingerprintStore, Closeable {
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 1 << 16;
+
+    // "X12FPS01"
+    private static final long MAGIC = 0x5831324650533031L;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SIZE_OFFSET = 16;
+    private static final int HEADER_SIZE = 32;
+
+    private static final int SLOT_SIZE = 8;
+    private static final int MAX_CAPACITY = 1 << 27;
+    private static final double MAX_LOAD_FACTOR = 0.7;
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+    private static final long EMPTY = 0L;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final boolean useBloomFilter;
+
+    private MappedByteBuffer buffer;
+    private FingerprintBloomFilter bloomFilter;
+    private int capacity;
+    private int mask;
+    private int size;
+    private boolean closed;
+
+    /**
+     * open (or create) the store
+     * @param file
+     * @throws IOException
+     */
+    public FileDocumentFingerprintStore(Path file) throws IOException {
+        this(file, DEFAULT_INITIAL_CAPACITY, false);
+    }
+
+    /**
+     * open (or create) the store
+     * @param file
+     * @param initialCapacity the number of slots to create a new file with
+     * @param useBloomFilter true to keep a bloom filter in memory in front of the file
+     * @throws IOException if the file can not be opened or is not a fingerprint store
+     */
+    public FileDocumentFingerprintStore(Path file, int initialCapacity, boolean useBloomFilter) throws IOException {
+        if (initialCapacity < 1 || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("initial capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        this.file = file;
+        this.useBloomFilter = useBloomFilter;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            if (channel.size() == 0) {
+                this.createTable(tableSizeFor(initialCapacity));
+            } else {
+                this.openTable();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized boolean add(long fingerprint) {
+        this.checkOpen();
+        long key = DocumentFingerprint.nonZero(fingerprint);
+
+        boolean mightContain = (bloomFilter == null || bloomFilter.mightContain(key));
+        int slot = this.homeSlot(key);
+        long current;
+        while ((current = this.readSlot(slot)) != EMPTY) {
+            if (mightContain && current == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size + 1 > capacity * MAX_LOAD_FACTOR) {
+            this.resize();
+            this.insert(key);
+        } else {
+            this.writeSlot(slot, key);
+            if (bloomFilter != null) {
+                bloomFilter.put(key);
+            }
+        }
+
+        size++;
+        buffer.putLong(SIZE_OFFSET, size);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean addAllIfAbsent(long[] fingerprints) {
+        for (long fingerprint : fingerprints) {
+            if (this.contains(fingerprint)) {
+                return false;
+            }
+        }
+        for (long fingerprint : fingerprints) {
+            this.add(fingerprint);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean contains(long fingerprint) {
+        this.checkOpen();
+        long key = DocumentFingerprint.nonZero(fingerprint);
+        if (bloomFilter != null && !bloomFilter.mightContain(key)) {
+            return false;
+        }
+
+        int slot = this.homeSlot(key);
+        long current;
+        while ((current = this.readSlot(slot)) != EMPTY) {
+            if (current == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.checkOpen();
+        for (int i = 0; i < capacity; i++) {
+            this.writeSlot(i, EMPTY);
+        }
+        size = 0;
+        buffer.putLong(SIZE_OFFSET, size);
+        bloomFilter = this.newBloomFilter();
+    }
+
+    /**
+     * write any changes to the file
+     */
+    public synchronized void flush() {
+        this.checkOpen();
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            buffer.force();
+            channel.close();
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    private void createTable(int tableCapacity) throws IOException {
+        this.mapTable(tableCapacity);
+        buffer.putLong(MAGIC_OFFSET, MAGIC);
+        buffer.putLong(CAPACITY_OFFSET, capacity);
+        buffer.putLong(SIZE_OFFSET, 0);
+        size = 0;
+        bloomFilter = this.newBloomFilter();
+    }
+
+    private void openTable() throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("not a document fingerprint store: " + file);
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        long tableCapacity = header.getLong(CAPACITY_OFFSET);
+        long tableSize = header.getLong(SIZE_OFFSET);
+        if (header.getLong(MAGIC_OFFSET) != MAGIC
+            || tableCapacity < 1 || tableCapacity > MAX_CAPACITY || Long.bitCount(tableCapacity) != 1
+            || tableSize < 0 || tableSize >= tableCapacity
+            || channel.size() < HEADER_SIZE + tableCapacity * SLOT_SIZE) {
+            throw new IOException("not a document fingerprint store: " + file);
+        }
+
+        this.mapTable((int) tableCapacity);
+        size = (int) tableSize;
+        bloomFilter = this.newBloomFilter();
+        if (bloomFilter != null) {
+            for (int i = 0; i < capacity; i++) {
+                long key = this.readSlot(i);
+                if (key != EMPTY) {
+                    bloomFilter.put(key);
+                }
+            }
+        }
+    }
+
+    private void mapTable(int tableCapacity) throws IOException {
+        capacity = tableCapacity;
+        mask = tableCapacity - 1;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) tableCapacity * SLOT_SIZE);
+    }
+
+    /**
+     * double the size of the table and re-insert the existing fingerprints
+     */
+    private void resize() {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("document fingerprint store is full: " + file);
+        }
+
+        long[] keys = new long[size];
+        int count = 0;
+        for (int i = 0; i < capacity; i++) {
+            long key = this.readSlot(i);
+            if (key != EMPTY) {
+                keys[count++] = key;
+            }
+        }
+
+        try {
+            buffer.force();
+            this.mapTable(capacity << 1);
+        } catch (IOException e) {
+            throw new IllegalStateException("unable to resize document fingerprint store: " + file, e);
+        }
+
+        for (int i = 0; i < capacity; i++) {
+            this.writeSlot(i, EMPTY);
+        }
+        buffer.putLong(CAPACITY_OFFSET, capacity);
+        bloomFilter = this.newBloomFilter();
+        for (int i = 0; i < count; i++) {
+            this.insert(keys[i]);
+        }
+    }
+
+    private void insert(long key) {
+        int slot = this.homeSlot(key);
+        while (this.readSlot(slot) != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        this.writeSlot(slot, key);
+        if (bloomFilter != null) {
+            bloomFilter.put(key);
+        }
+    }
+
+    private FingerprintBloomFilter newBloomFilter() {
+        if (useBloomFilter) {
+            long expectedEntries = Math.max(1L, (long) (capacity * MAX_LOAD_FACTOR));
+            return new FingerprintBloomFilter(expectedEntries, BLOOM_FALSE_POSITIVE_RATE);
+        } else {
+            return null;
+        }
+    }
+
+    private long readSlot(int slot) {
+        return buffer.getLong(HEADER_SIZE + slot * SLOT_SIZE);
+    }
+
+    private void writeSlot(int slot, long key) {
+        buffer.putLong(HEADER_SIZE + slot * SLOT_SIZE, key);
+    }
+
+    private int homeSlot(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("document fingerprint store is closed");
+        }
+    }
+
+    private static int tableSizeFor(int initialCapacity) {
+        int tableCapacity = Integer.highestOneBit(initialCapacity);
+        return tableCapacity < initialCapacity ? tableCapacity << 1 : tableCapacity;
+    }
+}
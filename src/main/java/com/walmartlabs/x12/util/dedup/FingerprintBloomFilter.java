@@ -0,0 +1,91 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.dedup;
+
+/**
+ * a bloom filter for 64 bit fingerprints
+ *
+ * the fingerprints are already well mixed so the bit positions
+ * are derived from the two 32 bit halves of the fingerprint
+ * (Kirsch-Mitzenmacher double hashing)
+ *
+ * the filter can answer "definitely not present" without
+ * going to the backing store, it can not remove entries
+ */
+public class FingerprintBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long[] bits;
+    private final long numberOfBits;
+    private final int numberOfHashes;
+
+    /**
+     * @param expectedEntries the number of fingerprints the filter is sized for
+     * @param falsePositiveRate the false positive rate at the expected entries (ex: 0.01)
+     */
+    public FingerprintBloomFilter(long expectedEntries, double falsePositiveRate) {
+        if (expectedEntries < 1) {
+            throw new IllegalArgumentException("expected entries must be at least 1");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("false positive rate must be between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) >>> 6);
+        this.bits = new long[Math.max(1, words)];
+        this.numberOfBits = (long) bits.length << 6;
+        this.numberOfHashes = Math.max(1, (int) Math.round((double) numberOfBits / expectedEntries * LN2));
+    }
+
+    /**
+     * add the fingerprint to the filter
+     * @param fingerprint
+     */
+    public void put(long fingerprint) {
+        long hash1 = (int) fingerprint;
+        long hash2 = (int) (fingerprint >>> 32);
+        for (int i = 1; i <= numberOfHashes; i++) {
+            long bitIndex = ((hash1 + i * hash2) & Long.MAX_VALUE) % numberOfBits;
+            bits[(int) (bitIndex >>> 6)] |= 1L << bitIndex;
+        }
+    }
+
+    /**
+     * @param fingerprint
+     * @return false if the fingerprint was never added, true if it might have been
+     */
+    public boolean mightContain(long fingerprint) {
+        long hash1 = (int) fingerprint;
+        long hash2 = (int) (fingerprint >>> 32);
+        for (int i = 1; i <= numberOfHashes; i++) {
+            long bitIndex = ((hash1 + i * hash2) & Long.MAX_VALUE) % numberOfBits;
+            if ((bits[(int) (bitIndex >>> 6)] & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getNumberOfHashes() {
+        return numberOfHashes;
+    }
+
+    public long getNumberOfBits() {
+        return numberOfBits;
+    }
+}
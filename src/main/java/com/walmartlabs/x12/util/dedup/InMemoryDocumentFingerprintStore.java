@@ -0,0 +1,204 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.dedup;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * an in memory {@link DocumentFingerprintStore}
+ * that holds a bounded number of fingerprints
+ *
+ * the fingerprints are kept in an open addressing hash table
+ * of primitive longs and a ring buffer that tracks the order
+ * they were added, so no objects are created per document
+ *
+ * when the store is full the oldest fingerprint is evicted
+ * and if a time to live is set fingerprints older than
+ * the time to live are evicted as the store is used
+ *
+ * this class is thread safe
+ */
+public class InMemoryDocumentFingerprintStore implements DocumentFingerprintStore {
+
+    private static final long EMPTY = 0L;
+
+    private final int maxEntries;
+    private final long timeToLiveMillis;
+    private final LongSupplier clock;
+
+    // open addressing (linear probing) hash table
+    private final long[] table;
+    private final int mask;
+
+    // fingerprints in the order they were added
+    private final long[] addedFingerprints;
+    private final long[] addedTimes;
+    private int oldest;
+    private int size;
+
+    /**
+     * create a store that only evicts when it is full
+     * @param maxEntries the maximum number of fingerprints to keep
+     */
+    public InMemoryDocumentFingerprintStore(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    /**
+     * @param maxEntries the maximum number of fingerprints to keep
+     * @param timeToLive how long to keep a fingerprint or null to keep it until the store is full
+     */
+    public InMemoryDocumentFingerprintStore(int maxEntries, Duration timeToLive) {
+        this(maxEntries, timeToLive, System::currentTimeMillis);
+    }
+
+    InMemoryDocumentFingerprintStore(int maxEntries, Duration timeToLive, LongSupplier clock) {
+        if (maxEntries < 1 || maxEntries > (1 << 28)) {
+            throw new IllegalArgumentException("max entries must be between 1 and " + (1 << 28));
+        }
+        if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+            throw new IllegalArgumentException("time to live must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.timeToLiveMillis = (timeToLive != null ? timeToLive.toMillis() : 0L);
+        this.clock = clock;
+
+        // keep the load factor at or below 50%
+        int capacity = Integer.highestOneBit(maxEntries) << 2;
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+
+        this.addedFingerprints = new long[maxEntries];
+        this.addedTimes = new long[maxEntries];
+    }
+
+    @Override
+    public synchronized boolean add(long fingerprint) {
+        long key = DocumentFingerprint.nonZero(fingerprint);
+        long now = clock.getAsLong();
+        this.evictExpired(now);
+
+        if (this.findSlot(key) >= 0) {
+            return false;
+        }
+
+        if (size == maxEntries) {
+            this.evictOldest();
+        }
+
+        int slot = this.homeSlot(key);
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = key;
+
+        int newest = (oldest + size) % maxEntries;
+        addedFingerprints[newest] = key;
+        addedTimes[newest] = now;
+        size++;
+
+        return true;
+    }
+
+    @Override
+    public synchronized boolean addAllIfAbsent(long[] fingerprints) {
+        for (long fingerprint : fingerprints) {
+            if (this.contains(fingerprint)) {
+                return false;
+            }
+        }
+        for (long fingerprint : fingerprints) {
+            this.add(fingerprint);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean contains(long fingerprint) {
+        this.evictExpired(clock.getAsLong());
+        return this.findSlot(DocumentFingerprint.nonZero(fingerprint)) >= 0;
+    }
+
+    @Override
+    public synchronized int size() {
+        this.evictExpired(clock.getAsLong());
+        return size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        Arrays.fill(table, EMPTY);
+        oldest = 0;
+        size = 0;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    private void evictExpired(long now) {
+        if (timeToLiveMillis > 0) {
+            while (size > 0 && now - addedTimes[oldest] >= timeToLiveMillis) {
+                this.evictOldest();
+            }
+        }
+    }
+
+    private void evictOldest() {
+        this.remove(addedFingerprints[oldest]);
+        oldest = (oldest + 1) % maxEntries;
+        size--;
+    }
+
+    private int findSlot(long key) {
+        int slot = this.homeSlot(key);
+        long current;
+        while ((current = table[slot]) != EMPTY) {
+            if (current == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * remove the key and shift any following keys in the
+     * probe sequence back so that lookups never stop early
+     */
+    private void remove(long key) {
+        int hole = this.findSlot(key);
+        if (hole >= 0) {
+            int next = (hole + 1) & mask;
+            while (table[next] != EMPTY) {
+                int home = this.homeSlot(table[next]);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    table[hole] = table[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            table[hole] = EMPTY;
+        }
+    }
+
+    private int homeSlot(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+}
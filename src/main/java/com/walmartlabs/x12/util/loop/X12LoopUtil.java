@@ -19,6 +19,7 @@ package com.walmartlabs.x12.util.loop;
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.exceptions.X12ErrorDetail;
 import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.metrics.jfr.X12LoopOrganizeEvent;
 import com.walmartlabs.x12.standard.X12Loop;
 import com.walmartlabs.x12.util.X12ParsingUtil;
 
@@ -31,6 +32,8 @@ public final class X12LoopUtil {
     
     private static final String MISSING_PARENT_ERROR = "HL segment is missing parent";
     private static final String ALREADY_EXISTS_ERROR = "HL segment already exists";
+
+    private static final int HIERARCHY_LOOP_CODE = X12Segment.identifierCode(X12Loop.HIERARCHY_LOOP_ID);
     
     /**
      * check the segment for the start of HL
@@ -38,7 +41,7 @@ public final class X12LoopUtil {
      * @return true if HL otherwise false
      */
     public static boolean isHierarchicalLoopStart(X12Segment segment) {
-        return segment != null && X12Loop.HIERARCHY_LOOP_ID.equals(segment.getIdentifier());
+        return segment != null && segment.getIdentifierCode() == HIERARCHY_LOOP_CODE;
     }
 
     /**
@@ -57,6 +60,21 @@ public final class X12LoopUtil {
      * while trying to create the loop hierarchy
      */
     public static X12LoopHolder organizeHierarchicalLoops(List<X12Segment> segmentList) {
+        return X12LoopUtil.organizeHierarchicalLoops(segmentList, 0);
+    }
+
+    /**
+     * same as {@link #organizeHierarchicalLoops(List)} but the loop errors
+     * will have the position of the HL segment in the transaction set
+     *
+     * @param segmentList
+     * @param firstSegmentPosition the position of the first HL in the transaction set (ST is 1) or 0 if it is not known
+     * @return {@link X12LoopHolder}
+     */
+    public static X12LoopHolder organizeHierarchicalLoops(List<X12Segment> segmentList, int firstSegmentPosition) {
+        X12LoopOrganizeEvent event = new X12LoopOrganizeEvent();
+        event.begin();
+
         X12LoopHolder loopHolder = new X12LoopHolder();
 
         if (segmentList != null && !segmentList.isEmpty()) {
@@ -64,15 +82,24 @@ public final class X12LoopUtil {
             // the segment list starts with HL so we can
             // attempt to handle the looping that was provided
             if (X12LoopUtil.isHierarchicalLoopStart(firstSegment)) {
-                loopHolder = X12LoopUtil.processLoops(segmentList);
+                loopHolder = X12LoopUtil.processLoops(segmentList, firstSegmentPosition);
             } else {
                 // unexpected segment
                 // should have been the first HL loop
                 String actualSegment = (firstSegment != null ? firstSegment.getIdentifier() : "");
-                loopHolder.addX12ErrorDetail(X12ParsingUtil.generateUnexpectedSegmentDetail("HL", actualSegment));
+                X12ErrorDetail unexpectedSegment = X12ParsingUtil.generateUnexpectedSegmentDetail("HL", actualSegment);
+                loopHolder.addX12ErrorDetail(new X12ErrorDetail(unexpectedSegment.getSegmentId(), unexpectedSegment.getElementId(),
+                    unexpectedSegment.getIssueText(), unexpectedSegment.getInvalidValue(), segmentPosition(firstSegmentPosition, 0)));
             }
         }
 
+        if (event.shouldCommit()) {
+            event.setSegmentCount(segmentList != null ? segmentList.size() : 0);
+            event.setTopLevelLoopCount(loopHolder.getLoops() != null ? loopHolder.getLoops().size() : 0);
+            event.setErrorCount(loopHolder.getLoopErrors() != null ? loopHolder.getLoopErrors().size() : 0);
+            event.commit();
+        }
+
         return loopHolder;
     }
 
@@ -80,58 +107,98 @@ public final class X12LoopUtil {
      * handle the loops and build nested structure as defined by the segment lines
      *
      * @param segmentList
+     * @param firstSegmentPosition
      * @return list of loops
      *
      * @throws an {@link X12ParserException} if id is reused an HL segment
      */
-    private static X12LoopHolder processLoops(List<X12Segment> segmentList) {
+    private static X12LoopHolder processLoops(List<X12Segment> segmentList, int firstSegmentPosition) {
         X12LoopHolder loopHolder = new X12LoopHolder();
 
         List<X12Loop> loops = new ArrayList<>();
         loopHolder.setLoops(loops);
 
-        String currLoopId = null;
         Map<String, X12Loop> loopMap = new HashMap<>();
+        Map<String, Integer> childLoopCounts = X12LoopUtil.countChildLoops(segmentList);
 
-        for (X12Segment x12Segment : segmentList) {
-            if (X12LoopUtil.isHierarchicalLoopStart(x12Segment)) {
-                X12Loop loop = X12LoopUtil.buildHierarchicalLoop(x12Segment);
+        int segmentCount = segmentList.size();
+        int segmentIdx = 0;
+        while (segmentIdx < segmentCount) {
+            X12Segment x12Segment = segmentList.get(segmentIdx);
+            X12Loop loop = X12LoopUtil.buildHierarchicalLoop(x12Segment);
 
-                // when the HL has no parent
-                // we will add it to the top level
-                if (loop.getParentHierarchicalId() == null
-                    || loop.getParentHierarchicalId().trim().isEmpty()) {
+            // when the HL has no parent
+            // we will add it to the top level
+            if (loop.getParentHierarchicalId() == null
+                || loop.getParentHierarchicalId().trim().isEmpty()) {
 
-                    loops.add(loop);
-                }
+                loops.add(loop);
+            }
 
-                // add the loop to the map
-                // to allow parent/child associations
-                // to be found quickly
-                String loopId = loop.getHierarchicalId();
-                if (loopMap.containsKey(loopId)) {
-                    X12ErrorDetail loopError = loopAlreadyExistsErrorDetail(loop);
-                    loopHolder.addX12ErrorDetail(loopError);
-                } else {
-                    loopMap.put(loop.getHierarchicalId(), loop);
-                }
+            // add the loop to the map
+            // to allow parent/child associations
+            // to be found quickly
+            String loopId = loop.getHierarchicalId();
+            if (loopMap.containsKey(loopId)) {
+                X12ErrorDetail loopError = loopAlreadyExistsErrorDetail(loop, segmentPosition(firstSegmentPosition, segmentIdx));
+                loopHolder.addX12ErrorDetail(loopError);
+            } else {
+                loopMap.put(loop.getHierarchicalId(), loop);
+            }
 
-                // update the current loop
-                currLoopId = loopId;
+            X12LoopUtil.handleParentLoop(loop, loopMap, childLoopCounts, loopHolder, segmentPosition(firstSegmentPosition, segmentIdx));
 
-                X12LoopUtil.handleParentLoop(loop, loopMap, loopHolder);
-            } else {
-                // still in existing loop
-                // so this segment belongs to
-                // the current loop
-                X12Loop currentLoop = loopMap.get(currLoopId);
-                currentLoop.addSegment(x12Segment);
+            // the segments up to the next HL belong
+            // to the current loop, the boundary is
+            // found first so the list is sized exactly
+            int nextLoopIdx = X12LoopUtil.findNextHierarchicalLoopStart(segmentList, segmentIdx + 1);
+            if (nextLoopIdx > segmentIdx + 1) {
+                X12Loop currentLoop = loopMap.get(loopId);
+                X12LoopUtil.addLoopSegments(currentLoop, segmentList.subList(segmentIdx + 1, nextLoopIdx));
             }
+            segmentIdx = nextLoopIdx;
         }
 
         return loopHolder;
     }
 
+    /**
+     * count the child loops for each parent loop id
+     * so the child loop lists can be created w/ the right size
+     */
+    private static Map<String, Integer> countChildLoops(List<X12Segment> segmentList) {
+        Map<String, Integer> childLoopCounts = new HashMap<>();
+        for (X12Segment segment : segmentList) {
+            if (X12LoopUtil.isHierarchicalLoopStart(segment)) {
+                String parentLoopId = segment.getElement(2);
+                if (parentLoopId != null) {
+                    childLoopCounts.merge(parentLoopId, 1, Integer::sum);
+                }
+            }
+        }
+        return childLoopCounts;
+    }
+
+    private static int findNextHierarchicalLoopStart(List<X12Segment> segmentList, int fromIdx) {
+        int segmentCount = segmentList.size();
+        int segmentIdx = fromIdx;
+        while (segmentIdx < segmentCount && !X12LoopUtil.isHierarchicalLoopStart(segmentList.get(segmentIdx))) {
+            segmentIdx++;
+        }
+        return segmentIdx;
+    }
+
+    private static void addLoopSegments(X12Loop loop, List<X12Segment> loopSegments) {
+        List<X12Segment> segments = loop.getSegments();
+        if (segments == null) {
+            loop.setSegments(new ArrayList<>(loopSegments));
+        } else {
+            // a repeated HL id continues to
+            // add to the loop that was found first
+            segments.addAll(loopSegments);
+        }
+    }
+
     private static X12Loop buildHierarchicalLoop(X12Segment x12Segment) {
         // starting new loop
         String loopId = x12Segment.getElement(1);
@@ -149,35 +216,47 @@ public final class X12LoopUtil {
      * given a loop, look for the parent loop
      * @param loop
      * @param loopMap
+     * @param childLoopCounts the number of child loops for each parent loop id
+     * @param segmentPosition the position of the HL segment or null if it is not known
      *
      * @throws X12ParserException if the parent loop is missing
      */
-    private static void handleParentLoop(X12Loop loop, Map<String, X12Loop> loopMap, X12LoopHolder loopHolder) {
+    private static void handleParentLoop(X12Loop loop, Map<String, X12Loop> loopMap, Map<String, Integer> childLoopCounts,
+        X12LoopHolder loopHolder, Integer segmentPosition) {
         String parentLoopId = loop.getParentHierarchicalId();
         if (parentLoopId != null && !parentLoopId.isEmpty()) {
             X12Loop parentLoop = loopMap.get(parentLoopId);
             if (parentLoop != null) {
+                if (parentLoop.getChildLoops() == null) {
+                    // size the child loop list from the number
+                    // of HL segments that name this loop as the parent
+                    parentLoop.setChildLoops(new ArrayList<>(childLoopCounts.getOrDefault(parentLoopId, 1)));
+                }
                 parentLoop.addLoop(loop);
             } else {
-                X12ErrorDetail loopError = loopMissingParentErrorDetail(loop);
+                X12ErrorDetail loopError = loopMissingParentErrorDetail(loop, segmentPosition);
                 loopHolder.addX12ErrorDetail(loopError);
             }
         }
     }
     
-    private static X12ErrorDetail loopAlreadyExistsErrorDetail(X12Loop loop) {
+    private static X12ErrorDetail loopAlreadyExistsErrorDetail(X12Loop loop, Integer segmentPosition) {
         StringBuilder sb = new StringBuilder();
         sb.append("HL segment with id (")
             .append(loop.getHierarchicalId())
             .append(") already exists");
-        return new X12ErrorDetail(X12Loop.HIERARCHY_LOOP_ID, null, ALREADY_EXISTS_ERROR, sb.toString());
+        return new X12ErrorDetail(X12Loop.HIERARCHY_LOOP_ID, null, ALREADY_EXISTS_ERROR, sb.toString(), segmentPosition);
     }
     
-    private static X12ErrorDetail loopMissingParentErrorDetail(X12Loop loop) {
+    private static X12ErrorDetail loopMissingParentErrorDetail(X12Loop loop, Integer segmentPosition) {
         StringBuilder sb = new StringBuilder();
         sb.append("HL segment with id (").append(loop.getHierarchicalId()).append(")");
         sb.append(" is missing parent (").append(loop.getParentHierarchicalId()).append(")");
-        return new X12ErrorDetail(X12Loop.HIERARCHY_LOOP_ID, null, MISSING_PARENT_ERROR, sb.toString());
+        return new X12ErrorDetail(X12Loop.HIERARCHY_LOOP_ID, null, MISSING_PARENT_ERROR, sb.toString(), segmentPosition);
+    }
+
+    private static Integer segmentPosition(int firstSegmentPosition, int segmentIdx) {
+        return firstSegmentPosition > 0 ? firstSegmentPosition + segmentIdx : null;
     }
 
     private X12LoopUtil() {
@@ -16,12 +16,16 @@ limitations under the License.
 
 package com.walmartlabs.x12.util.split;
 
-import com.walmartlabs.x12.SegmentIterator;
+import com.walmartlabs.x12.PeekingSegmentIterator;
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.X12TransactionSet;
 import com.walmartlabs.x12.exceptions.X12ErrorDetail;
 import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.metrics.X12Metrics;
+import com.walmartlabs.x12.metrics.X12Phase;
+import com.walmartlabs.x12.metrics.jfr.X12SplitEvent;
 import com.walmartlabs.x12.rule.X12Rule;
+import com.walmartlabs.x12.rule.X12RulePass;
 import com.walmartlabs.x12.standard.StandardX12Parser;
 import com.walmartlabs.x12.util.SourceToSegmentUtil;
 import org.apache.commons.collections4.CollectionUtils;
@@ -50,6 +54,9 @@ import java.util.List;
  *
  * Anything that needs to be verified on the entire EDI
  * message should be registered as an {@link X12Rule} in the splitter.
+ * The rules are run in the same pass over the segments that is
+ * used to split the message, an {@link com.walmartlabs.x12.rule.X12StreamingRule}
+ * sees each segment as it is read.
  *
  */
 public class X12TransactionSplitter {
@@ -57,6 +64,7 @@ public class X12TransactionSplitter {
     private static final String EOL = "\r\n";
 
     private List<X12Rule> rules;
+    private X12Metrics metrics = X12Metrics.NO_OP;
 
     /**
      * split the EDI message (raw file)
@@ -72,7 +80,13 @@ public class X12TransactionSplitter {
         if (StringUtils.isEmpty(sourceData)) {
             return Collections.emptyList();
         } else {
+            boolean timed = metrics.isEnabled();
+            long startTime = timed ? System.nanoTime() : 0L;
             List<X12Segment> segmentList = SourceToSegmentUtil.splitSourceDataIntoSegments(sourceData.trim());
+            if (timed) {
+                metrics.recordPhase(X12Phase.TOKENIZE, System.nanoTime() - startTime);
+                metrics.recordTokenized(sourceData.length(), segmentList.size());
+            }
             return this.split(segmentList);
         }
     }
@@ -91,15 +105,23 @@ public class X12TransactionSplitter {
         if (CollectionUtils.isEmpty(segmentList)) {
             return Collections.emptyList();
         } else {
-            // do some basic validation
+            // parse and split
+            // the EDI message
+            // while doing some basic validation
             // on the entire EDI message
             // using X12Rule set provided
-            this.runRules(segmentList);
+            X12SplitEvent event = new X12SplitEvent();
+            event.begin();
 
-            // parse and split
-            // the EDI message
-            List<TransactionHolder> transactionHolders = this.doParse(segmentList);
-            return this.doSplit(transactionHolders);
+            List<TransactionHolder> transactionHolders = this.doParseAndVerify(segmentList);
+            List<String> transactions = this.doSplit(transactionHolders);
+
+            if (event.shouldCommit()) {
+                event.setSegmentCount(segmentList.size());
+                event.setTransactionCount(transactions.size());
+                event.commit();
+            }
+            return transactions;
         }
     }
 
@@ -122,14 +144,66 @@ public class X12TransactionSplitter {
         rules = null;
     }
 
-    private List<TransactionHolder> doParse(List<X12Segment> segmentList) {
+    /**
+     * the metrics recorded while splitting
+     * the default is {@link X12Metrics#NO_OP}
+     *
+     * @param metrics
+     */
+    public void setMetrics(X12Metrics metrics) {
+        this.metrics = metrics != null ? metrics : X12Metrics.NO_OP;
+    }
+
+    public X12Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * the rules see each segment as the parser reads it
+     * so the segments are only read once
+     *
+     * a problem found by a rule is reported before
+     * any problem found while parsing the EDI message
+     */
+    private List<TransactionHolder> doParseAndVerify(List<X12Segment> segmentList) {
+        boolean timed = metrics.isEnabled();
+        long startTime = timed ? System.nanoTime() : 0L;
+
+        X12RulePass rulePass = new X12RulePass(rules, segmentList);
+        RuleSegmentIterator segments = new RuleSegmentIterator(segmentList, rulePass);
+
+        List<TransactionHolder> transactionHolders;
+        try {
+            try {
+                transactionHolders = this.doParse(segmentList, segments);
+            } catch (RuntimeException e) {
+                segments.finishRules();
+                throw e;
+            }
+            segments.finishRules();
+        } catch (X12ParserException e) {
+            if (timed) {
+                metrics.recordError(e.getErrorDetail() != null ? e.getErrorDetail().getSegmentId() : null);
+            }
+            throw e;
+        }
+
+        if (timed) {
+            metrics.recordPhase(X12Phase.ENVELOPE, System.nanoTime() - startTime);
+            transactionHolders.forEach(txHolder -> {
+                metrics.recordTransactionSet(txHolder.getTransaction().get(0).getElement(1));
+            });
+        }
+
+        return transactionHolders;
+    }
+
+    private List<TransactionHolder> doParse(List<X12Segment> segmentList, PeekingSegmentIterator segments) {
         List<TransactionHolder> transactionHolders = new ArrayList<>();
 
         X12Segment isaHeader = null;
         X12Segment iseTrailer = null;
 
-        SegmentIterator segments = new SegmentIterator(segmentList);
-
         X12Segment currentSegment = segments.next();
         String currentSegmentId = currentSegment.getIdentifier();
 
@@ -162,17 +236,15 @@ public class X12TransactionSplitter {
             // what's next
             // could be a GS or IEA
             if (segments.hasNext()) {
-                currentSegment = segments.next();
-                currentSegmentId = currentSegment.getIdentifier();
+                currentSegmentId = segments.peekIdentifier();
                 if (StandardX12Parser.ENVELOPE_TRAILER_ID.equals(currentSegmentId)) {
                     // end of the envelope
+                    segments.next();
                     break;
-                } else {
-                    // not the end of envelope
-                    // assume it starts another group
-                    // so move back and process
-                    segments.previous();
                 }
+                // not the end of envelope
+                // assume it starts another group
+                // and leave it for the next pass
             } else {
                 this.throwParserExceptionUnexpectedEnd(currentSegmentId);
             }
@@ -194,7 +266,7 @@ public class X12TransactionSplitter {
         });
     }
 
-    private List<TransactionHolder> doGroup(SegmentIterator segments) {
+    private List<TransactionHolder> doGroup(PeekingSegmentIterator segments) {
         List<TransactionHolder> transactionsInGroup = new ArrayList<>();
 
         X12Segment groupHeader = null;
@@ -219,12 +291,11 @@ public class X12TransactionSplitter {
                 // after a transaction it
                 // could be an ST or GE
                 if (segments.hasNext()) {
-                    currentSegment = segments.next();
-                    currentSegmentId = currentSegment.getIdentifier();
+                    currentSegmentId = segments.peekIdentifier();
                     if (StandardX12Parser.GROUP_TRAILER_ID.equals(currentSegmentId)) {
                         // end of the group
 
-                        X12Segment groupTrailer = currentSegment;
+                        X12Segment groupTrailer = segments.next();
 
                         // extension point
                         this.alterGroupTrailerBasedOnSplit(groupTrailer);
@@ -235,12 +306,10 @@ public class X12TransactionSplitter {
                         });
 
                         break;
-                    } else {
-                        // not the end of group
-                        // assume it starts another transaction
-                        // so move back and process
-                        segments.previous();
                     }
+                    // not the end of group
+                    // assume it starts another transaction
+                    // and leave it for the next pass
                 } else {
                     // if we didn't get an ST or GE
                     // we have a bad EDI file
@@ -283,7 +352,7 @@ public class X12TransactionSplitter {
         // since the splitting will be done on the ST/SE boundary
     }
 
-    private TransactionHolder doTransaction(SegmentIterator segments) {
+    private TransactionHolder doTransaction(PeekingSegmentIterator segments) {
 
         TransactionHolder transactionHolder = new TransactionHolder();
 
@@ -349,16 +418,6 @@ public class X12TransactionSplitter {
         return transactions;
     }
 
-    private void runRules(List<X12Segment> segmentList) {
-        if (rules != null) {
-            rules.forEach(rule -> {
-                if (rule != null) {
-                    rule.verify(segmentList);
-                }
-            });
-        }
-    }
-
     private void throwParserException(String expectedSegmentId, String actualSegmentId) {
         StringBuilder sb = new StringBuilder();
         sb.append("expected ").append(expectedSegmentId);
@@ -386,6 +445,47 @@ public class X12TransactionSplitter {
     }
 
 
+    /**
+     * passes each segment to the rules
+     * the first time the parser reads it
+     */
+    private static class RuleSegmentIterator extends PeekingSegmentIterator {
+
+        private final List<X12Segment> segmentList;
+        private final X12RulePass rulePass;
+        private int verifiedCount = 0;
+
+        RuleSegmentIterator(List<X12Segment> segmentList, X12RulePass rulePass) {
+            super(segmentList);
+            this.segmentList = segmentList;
+            this.rulePass = rulePass;
+        }
+
+        @Override
+        public X12Segment next() {
+            int index = this.currentIndex();
+            X12Segment segment = super.next();
+            if (index == verifiedCount) {
+                rulePass.onSegment(segment);
+                verifiedCount++;
+            }
+            return segment;
+        }
+
+        /**
+         * pass any segments the parser did not read
+         * to the rules and finish the rules
+         */
+        void finishRules() {
+            if (!rulePass.isEmpty()) {
+                while (verifiedCount < segmentList.size()) {
+                    rulePass.onSegment(segmentList.get(verifiedCount++));
+                }
+                rulePass.onEnd();
+            }
+        }
+    }
+
     public class TransactionHolder {
 
         private X12Segment isaHeader;
@@ -0,0 +1,49 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.writer;
+
+import com.walmartlabs.x12.X12TransactionSet;
+
+import java.io.IOException;
+
+/**
+ * writes the body of a transaction set
+ *
+ * the {@link X12Writer} writes the ST, the optional CTT
+ * and the SE (with the segment count), an implementation
+ * writes every segment in between
+ */
+public interface TransactionSetWriter {
+
+    /**
+     * @param transactionSet
+     * @return true if this writer can write the transaction set
+     */
+    boolean handlesTransactionSet(X12TransactionSet transactionSet);
+
+    /**
+     * write the segments between the ST and the CTT (or SE)
+     *
+     * it is assumed that this method is only called after getting true as a
+     * response from {@link #handlesTransactionSet(X12TransactionSet)}
+     *
+     * @param transactionSet
+     * @param x12Writer
+     * @throws IOException
+     */
+    void writeTransactionSet(X12TransactionSet transactionSet, X12Writer x12Writer) throws IOException;
+}
@@ -0,0 +1,71 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.writer;
+
+import com.walmartlabs.x12.util.SourceToSegmentUtil;
+
+/**
+ * the delimiters used when writing an EDI message
+ */
+public final class X12Delimiters {
+
+    /**
+     * data elements separated by an asterisk (*)
+     * composite elements separated by a colon (:)
+     * segments terminated by a tilde (~)
+     */
+    public static final X12Delimiters DEFAULT = new X12Delimiters(
+        SourceToSegmentUtil.DEFAULT_DATA_ELEMENT_SEPARATOR,
+        SourceToSegmentUtil.DEFAULT_COMPOSITE_ELEMENT_SEPARATOR,
+        SourceToSegmentUtil.DEFAULT_SEGMENT_SEPARATOR.toString());
+
+    private final char elementSeparator;
+    private final char compositeElementSeparator;
+    private final String segmentTerminator;
+
+    /**
+     * @param elementSeparator the data element separator
+     * @param compositeElementSeparator the composite (sub) element separator (ISA16)
+     * @param segmentTerminator written after each segment, ex: "~" or "~\r\n" or "\r\n"
+     * @throws IllegalArgumentException if the delimiters are missing or overlap
+     */
+    public X12Delimiters(char elementSeparator, char compositeElementSeparator, String segmentTerminator) {
+        if (segmentTerminator == null || segmentTerminator.isEmpty()) {
+            throw new IllegalArgumentException("segment terminator must be provided");
+        }
+        if (elementSeparator == compositeElementSeparator
+            || segmentTerminator.indexOf(elementSeparator) >= 0
+            || segmentTerminator.indexOf(compositeElementSeparator) >= 0) {
+            throw new IllegalArgumentException("delimiters must be different from each other");
+        }
+        this.elementSeparator = elementSeparator;
+        this.compositeElementSeparator = compositeElementSeparator;
+        this.segmentTerminator = segmentTerminator;
+    }
+
+    public char getElementSeparator() {
+        return elementSeparator;
+    }
+
+    public char getCompositeElementSeparator() {
+        return compositeElementSeparator;
+    }
+
+    public String getSegmentTerminator() {
+        return segmentTerminator;
+    }
+}
@@ -0,0 +1,35 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.writer;
+
+/**
+ * receives the characters written by an {@link X12Writer}
+ * before they are passed to the underlying sink
+ *
+ * used to compute values over the output as it is written
+ * (ex: the DEX G85 integrity check)
+ */
+@FunctionalInterface
+public interface X12OutputListener {
+
+    /**
+     * @param chars the characters written (only valid during the call)
+     * @param offset
+     * @param length
+     */
+    void onOutput(char[] chars, int offset, int length);
+}
@@ -0,0 +1,903 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.writer;
+
+import com.walmartlabs.x12.X12Segment;
+import com.walmartlabs.x12.X12TransactionSet;
+import com.walmartlabs.x12.standard.InterchangeControlEnvelope;
+import com.walmartlabs.x12.standard.StandardX12Document;
+import com.walmartlabs.x12.standard.StandardX12Parser;
+import com.walmartlabs.x12.standard.X12Group;
+import com.walmartlabs.x12.standard.X12Loop;
+import com.walmartlabs.x12.standard.X12ParsedLoop;
+import com.walmartlabs.x12.util.ConversionUtil;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * streams an EDI message to a {@link Writer}, {@link OutputStream} or {@link ByteBuffer}
+ *
+ * the segments are written element by element into an internal buffer
+ * so no String is built for a segment, the SE01, GE01 and IEA01 counts
+ * are calculated as the segments are written
+ *
+ * <pre>
+ * x12Writer.startInterchange(isa);
+ * x12Writer.startGroup(group);
+ * x12Writer.startTransaction("856", "0001");
+ * x12Writer.startSegment("BSN").element("00").element("804190").element("20201022").endSegment();
+ * ...
+ * x12Writer.endTransaction();
+ * x12Writer.endGroup();
+ * x12Writer.endInterchange();
+ * x12Writer.flush();
+ * </pre>
+ *
+ * empty elements at the end of a segment are not written
+ *
+ * an existing {@link StandardX12Document} can be written using {@link #write(StandardX12Document)}
+ * after registering a {@link TransactionSetWriter} for each type of transaction set
+ *
+ * this class is not thread safe
+ */
+public class X12Writer implements Closeable, Flushable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final String[] ISA_ELEMENT_NAMES = {
+        "ISA01", "ISA02", "ISA03", "ISA04", "ISA05", "ISA06", "ISA07", "ISA08",
+        "ISA09", "ISA10", "ISA11", "ISA12", "ISA13", "ISA14", "ISA15"
+    };
+    private static final int[] ISA_ELEMENT_WIDTHS = {2, 10, 2, 10, 2, 15, 2, 15, 6, 4, 1, 5, 9, 1, 1};
+    private static final int ISA_CONTROL_NUMBER_INDEX = 12;
+
+    private final Sink sink;
+    private final X12Delimiters delimiters;
+    private final char elementSeparator;
+    private final char compositeElementSeparator;
+    private final String segmentTerminator;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final char[] digits = new char[20];
+    private int position;
+
+    private List<TransactionSetWriter> transactionSetWriters;
+
+    // notified of the characters in the buffer from listenerStart
+    private X12OutputListener outputListener;
+    private int listenerStart;
+
+    // the segment being written
+    private boolean segmentOpen;
+    private int pendingEmptyElements;
+
+    // the envelopes being written
+    private boolean interchangeOpen;
+    private String interchangeControlNumber;
+    private int groupCount;
+
+    private boolean groupOpen;
+    private String groupControlNumber;
+    private int transactionCount;
+
+    private boolean transactionOpen;
+    private String transactionControlNumber;
+    private int segmentCount;
+
+    public X12Writer(Writer writer) {
+        this(writer, X12Delimiters.DEFAULT);
+    }
+
+    public X12Writer(Writer writer, X12Delimiters delimiters) {
+        this(new WriterSink(writer), delimiters);
+    }
+
+    /**
+     * write the EDI message as UTF-8
+     */
+    public X12Writer(OutputStream outputStream) {
+        this(outputStream, X12Delimiters.DEFAULT);
+    }
+
+    /**
+     * write the EDI message as UTF-8
+     */
+    public X12Writer(OutputStream outputStream, X12Delimiters delimiters) {
+        this(outputStream, delimiters, StandardCharsets.UTF_8);
+    }
+
+    public X12Writer(OutputStream outputStream, X12Delimiters delimiters, Charset charset) {
+        this(new EncodingSink(charset, outputStream, null), delimiters);
+    }
+
+    /**
+     * write the EDI message as UTF-8 into the buffer
+     * the buffer position is moved as the bytes are written
+     * call {@link #flush()} before using the buffer
+     *
+     * @throws BufferOverflowException from any method when the buffer is full
+     */
+    public X12Writer(ByteBuffer byteBuffer) {
+        this(byteBuffer, X12Delimiters.DEFAULT);
+    }
+
+    /**
+     * write the EDI message as UTF-8 into the buffer
+     * the buffer position is moved as the bytes are written
+     * call {@link #flush()} before using the buffer
+     *
+     * @throws BufferOverflowException from any method when the buffer is full
+     */
+    public X12Writer(ByteBuffer byteBuffer, X12Delimiters delimiters) {
+        this(new EncodingSink(StandardCharsets.UTF_8, null, byteBuffer), delimiters);
+    }
+
+    private X12Writer(Sink sink, X12Delimiters delimiters) {
+        if (delimiters == null) {
+            throw new IllegalArgumentException("delimiters must be provided");
+        }
+        this.sink = sink;
+        this.delimiters = delimiters;
+        this.elementSeparator = delimiters.getElementSeparator();
+        this.compositeElementSeparator = delimiters.getCompositeElementSeparator();
+        this.segmentTerminator = delimiters.getSegmentTerminator();
+    }
+
+    /**
+     * register a {@link TransactionSetWriter}
+     * used by {@link #writeTransactionSet(X12TransactionSet)}
+     *
+     * the writers are checked in the order they were registered
+     *
+     * @param txWriter
+     * @return true if the writer was registered
+     */
+    public boolean registerTransactionSetWriter(TransactionSetWriter txWriter) {
+        if (txWriter == null) {
+            return false;
+        }
+        if (transactionSetWriters == null) {
+            transactionSetWriters = new ArrayList<>();
+        }
+        return transactionSetWriters.add(txWriter);
+    }
+
+    public X12Delimiters getDelimiters() {
+        return delimiters;
+    }
+
+    /**
+     * the listener is passed every character written after this call
+     * until it is replaced or removed
+     *
+     * @param outputListener the listener or null to stop notifying the current listener
+     */
+    public void setOutputListener(X12OutputListener outputListener) {
+        this.notifyOutputListener(position);
+        this.outputListener = outputListener;
+        this.listenerStart = position;
+    }
+
+    /*
+     * segments
+     */
+
+    /**
+     * start a new segment
+     * @param segmentId
+     * @throws IllegalStateException if the previous segment was not ended
+     */
+    public X12Writer startSegment(String segmentId) throws IOException {
+        if (segmentOpen) {
+            throw new IllegalStateException("the previous segment was not ended");
+        }
+        segmentOpen = true;
+        pendingEmptyElements = 0;
+        this.append(segmentId);
+        return this;
+    }
+
+    /**
+     * write the next element on the segment
+     * @param value the value or null for an empty element
+     */
+    public X12Writer element(CharSequence value) throws IOException {
+        this.checkSegmentOpen();
+        if (value == null || value.length() == 0) {
+            pendingEmptyElements++;
+        } else {
+            this.appendElementSeparators();
+            this.append(value);
+        }
+        return this;
+    }
+
+    /**
+     * write the next element on the segment
+     * @param value
+     */
+    public X12Writer element(long value) throws IOException {
+        this.checkSegmentOpen();
+        this.appendElementSeparators();
+        this.append(value);
+        return this;
+    }
+
+    /**
+     * write the next element on the segment as a decimal number
+     * trailing zeros after the decimal point are not written
+     * (ex: 18300 with 4 decimal places is written as 1.83)
+     *
+     * @param unscaledValue the value or {@link ConversionUtil#NO_VALUE} for an empty element
+     * @param decimalPlaces
+     */
+    public X12Writer decimalElement(long unscaledValue, int decimalPlaces) throws IOException {
+        if (unscaledValue == ConversionUtil.NO_VALUE) {
+            return this.element((CharSequence) null);
+        }
+        this.checkSegmentOpen();
+        this.appendElementSeparators();
+
+        // remove the trailing zeros from the fraction
+        long value = unscaledValue;
+        int scale = decimalPlaces;
+        while (scale > 0 && value % 10 == 0) {
+            value /= 10;
+            scale--;
+        }
+        if (scale == 0) {
+            this.append(value);
+            return this;
+        }
+
+        if (value < 0) {
+            this.append('-');
+        }
+        int digitIdx = this.formatDigits(value);
+        int digitCount = digits.length - digitIdx;
+        if (digitCount <= scale) {
+            this.append('0');
+            this.append('.');
+            for (int i = digitCount; i < scale; i++) {
+                this.append('0');
+            }
+            this.appendDigits(digitIdx, digits.length);
+        } else {
+            int pointIdx = digits.length - scale;
+            this.appendDigits(digitIdx, pointIdx);
+            this.append('.');
+            this.appendDigits(pointIdx, digits.length);
+        }
+        return this;
+    }
+
+    /**
+     * write the next element on the segment
+     * @param value the value or null for an empty element
+     */
+    public X12Writer element(Integer value) throws IOException {
+        if (value == null) {
+            return this.element((CharSequence) null);
+        } else {
+            return this.element(value.longValue());
+        }
+    }
+
+    /**
+     * write the next element on the segment as a composite element
+     * empty components at the end are not written
+     *
+     * @param components
+     */
+    public X12Writer compositeElement(CharSequence... components) throws IOException {
+        this.checkSegmentOpen();
+        int last = components.length - 1;
+        while (last >= 0 && (components[last] == null || components[last].length() == 0)) {
+            last--;
+        }
+        if (last < 0) {
+            pendingEmptyElements++;
+        } else {
+            this.appendElementSeparators();
+            for (int i = 0; i <= last; i++) {
+                if (i > 0) {
+                    this.append(compositeElementSeparator);
+                }
+                if (components[i] != null) {
+                    this.append(components[i]);
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * end the current segment
+     */
+    public X12Writer endSegment() throws IOException {
+        this.checkSegmentOpen();
+        this.append(segmentTerminator);
+        segmentOpen = false;
+        pendingEmptyElements = 0;
+        if (transactionOpen) {
+            segmentCount++;
+        }
+        return this;
+    }
+
+    /**
+     * write a segment using the delimiters of this writer
+     * @param segment
+     */
+    public X12Writer writeSegment(X12Segment segment) throws IOException {
+        this.startSegment(segment.getIdentifier());
+        int elementCount = segment.segmentSize();
+        for (int i = 1; i < elementCount; i++) {
+            this.element(segment.getElement(i));
+        }
+        return this.endSegment();
+    }
+
+    /**
+     * write a segment
+     * @param segmentId
+     * @param elements the elements (null for an empty element)
+     */
+    public X12Writer writeSegment(String segmentId, CharSequence... elements) throws IOException {
+        this.startSegment(segmentId);
+        for (CharSequence element : elements) {
+            this.element(element);
+        }
+        return this.endSegment();
+    }
+
+    /**
+     * write each of the segments
+     * @param segments the segments (can be null)
+     */
+    public X12Writer writeSegments(List<X12Segment> segments) throws IOException {
+        if (segments != null) {
+            for (X12Segment segment : segments) {
+                this.writeSegment(segment);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * write the HL segment, the segments in the loop
+     * and then each of the child loops
+     *
+     * for an {@link X12ParsedLoop} the parsed child loops are written
+     * followed by any child loops that were not parsed
+     *
+     * @param loop
+     */
+    public X12Writer writeLoop(X12Loop loop) throws IOException {
+        this.startSegment(X12Loop.HIERARCHY_LOOP_ID)
+            .element(loop.getHierarchicalId())
+            .element(loop.getParentHierarchicalId())
+            .element(loop.getCode())
+            .endSegment();
+
+        this.writeSegments(loop.getSegments());
+        if (loop instanceof X12ParsedLoop) {
+            this.writeLoops(((X12ParsedLoop) loop).getParsedChildrenLoops());
+        }
+        return this.writeLoops(loop.getChildLoops());
+    }
+
+    /**
+     * write each of the loops
+     * @param loops the loops (can be null)
+     */
+    public X12Writer writeLoops(List<X12Loop> loops) throws IOException {
+        if (loops != null) {
+            for (X12Loop loop : loops) {
+                this.writeLoop(loop);
+            }
+        }
+        return this;
+    }
+
+    /*
+     * envelopes
+     */
+
+    /**
+     * write the ISA segment
+     * each element is padded to its fixed width
+     * and the composite element separator is written in ISA16
+     *
+     * @param isa
+     * @throws IllegalArgumentException if an element is too long
+     */
+    public X12Writer startInterchange(InterchangeControlEnvelope isa) throws IOException {
+        if (interchangeOpen) {
+            throw new IllegalStateException("the interchange was already started");
+        }
+        String[] values = {
+            isa.getAuthorizationInformationQualifier(),
+            isa.getAuthorizationInformation(),
+            isa.getSecurityInformationQualifier(),
+            isa.getSecurityInformation(),
+            isa.getInterchangeIdQualifier(),
+            isa.getInterchangeSenderId(),
+            isa.getInterchangeIdQualifierTwo(),
+            isa.getInterchangeReceiverId(),
+            isa.getInterchangeDate(),
+            isa.getInterchangeTime(),
+            isa.getInterchangeControlStandardId(),
+            isa.getInterchangeControlVersion(),
+            isa.getInterchangeControlNumber(),
+            isa.getAcknowledgementRequested(),
+            isa.getUsageIndicator()
+        };
+
+        String isaControlNumber = this.padIsaElement(values, ISA_CONTROL_NUMBER_INDEX, '0', true);
+
+        this.startSegment(StandardX12Parser.ENVELOPE_HEADER_ID);
+        for (int i = 0; i < values.length; i++) {
+            this.append(elementSeparator);
+            if (i == ISA_CONTROL_NUMBER_INDEX) {
+                this.append(isaControlNumber);
+            } else {
+                this.append(this.padIsaElement(values, i, ' ', false));
+            }
+        }
+        this.append(elementSeparator);
+        this.append(compositeElementSeparator);
+        this.endSegment();
+
+        interchangeOpen = true;
+        interchangeControlNumber = isaControlNumber;
+        groupCount = 0;
+        return this;
+    }
+
+    /**
+     * write the IEA segment
+     * IEA01 is the number of groups written
+     * IEA02 is the ISA13 control number
+     */
+    public X12Writer endInterchange() throws IOException {
+        if (!interchangeOpen || groupOpen) {
+            throw new IllegalStateException("there is no interchange to end or a group was not ended");
+        }
+        this.startSegment(StandardX12Parser.ENVELOPE_TRAILER_ID)
+            .element(groupCount)
+            .element(interchangeControlNumber)
+            .endSegment();
+        interchangeOpen = false;
+        return this;
+    }
+
+    /**
+     * write the GS segment
+     * @param group
+     */
+    public X12Writer startGroup(X12Group group) throws IOException {
+        if (!interchangeOpen || groupOpen) {
+            throw new IllegalStateException("a group must be started inside an interchange");
+        }
+        this.startSegment(StandardX12Parser.GROUP_HEADER_ID)
+            .element(group.getFunctionalCodeId())
+            .element(group.getApplicationSenderCode())
+            .element(group.getApplicationReceiverCode())
+            .element(group.getDate())
+            .element(group.getTime())
+            .element(group.getHeaderGroupControlNumber())
+            .element(group.getResponsibleAgencyCode())
+            .element(group.getVersion())
+            .endSegment();
+
+        groupOpen = true;
+        groupControlNumber = group.getHeaderGroupControlNumber();
+        transactionCount = 0;
+        groupCount++;
+        return this;
+    }
+
+    /**
+     * write the GE segment
+     * GE01 is the number of transactions written
+     * GE02 is the GS06 control number
+     */
+    public X12Writer endGroup() throws IOException {
+        if (!groupOpen || transactionOpen) {
+            throw new IllegalStateException("there is no group to end or a transaction was not ended");
+        }
+        this.startSegment(StandardX12Parser.GROUP_TRAILER_ID)
+            .element(transactionCount)
+            .element(groupControlNumber)
+            .endSegment();
+        groupOpen = false;
+        return this;
+    }
+
+    /**
+     * write the ST segment
+     * @param transactionSetIdentifierCode ST01
+     * @param controlNumber ST02
+     */
+    public X12Writer startTransaction(String transactionSetIdentifierCode, String controlNumber) throws IOException {
+        if (transactionOpen) {
+            throw new IllegalStateException("the previous transaction was not ended");
+        }
+        transactionOpen = true;
+        transactionControlNumber = controlNumber;
+        segmentCount = 0;
+        if (groupOpen) {
+            transactionCount++;
+        }
+        return this.startSegment(X12TransactionSet.TRANSACTION_SET_HEADER)
+            .element(transactionSetIdentifierCode)
+            .element(controlNumber)
+            .endSegment();
+    }
+
+    /**
+     * write the SE segment
+     * SE01 is the number of segments in the transaction including the ST and SE
+     * SE02 is the ST02 control number
+     */
+    public X12Writer endTransaction() throws IOException {
+        if (!transactionOpen) {
+            throw new IllegalStateException("there is no transaction to end");
+        }
+        this.startSegment(X12TransactionSet.TRANSACTION_SET_TRAILER)
+            .element(segmentCount + 1)
+            .element(transactionControlNumber)
+            .endSegment();
+        transactionOpen = false;
+        return this;
+    }
+
+    /**
+     * the number of segments written in the current transaction
+     * including the ST segment
+     */
+    public int getTransactionSegmentCount() {
+        return segmentCount;
+    }
+
+    /*
+     * documents
+     */
+
+    /**
+     * write the interchange, each group and each transaction set
+     * the trailer counts are calculated from what was written
+     *
+     * @param x12Document
+     * @throws IllegalArgumentException if a transaction set does not have a registered {@link TransactionSetWriter}
+     */
+    public X12Writer write(StandardX12Document x12Document) throws IOException {
+        this.startInterchange(x12Document.getInterchangeControlEnvelope());
+        List<X12Group> groups = x12Document.getGroups();
+        if (groups != null) {
+            for (X12Group group : groups) {
+                this.writeGroup(group);
+            }
+        }
+        return this.endInterchange();
+    }
+
+    /**
+     * write the group and each transaction set
+     * @param group
+     * @throws IllegalArgumentException if a transaction set does not have a registered {@link TransactionSetWriter}
+     */
+    public X12Writer writeGroup(X12Group group) throws IOException {
+        this.startGroup(group);
+        List<X12TransactionSet> transactions = group.getTransactions();
+        if (transactions != null) {
+            for (X12TransactionSet transaction : transactions) {
+                this.writeTransactionSet(transaction);
+            }
+        }
+        return this.endGroup();
+    }
+
+    /**
+     * write the ST, the transaction set using the registered
+     * {@link TransactionSetWriter}, the CTT (when there are line items)
+     * w/ the optional hash total and the SE
+     *
+     * @param transactionSet
+     * @throws IllegalArgumentException if the transaction set does not have a registered {@link TransactionSetWriter}
+     */
+    public X12Writer writeTransactionSet(X12TransactionSet transactionSet) throws IOException {
+        TransactionSetWriter txWriter = this.findTransactionSetWriter(transactionSet);
+        this.startTransaction(transactionSet.getTransactionSetIdentifierCode(), transactionSet.getHeaderControlNumber());
+        txWriter.writeTransactionSet(transactionSet, this);
+        Integer lineItems = transactionSet.getTransactionLineItems();
+        if (lineItems != null) {
+            this.startSegment(X12TransactionSet.TRANSACTION_ITEM_TOTAL)
+                .element(lineItems.longValue())
+                .element(transactionSet.getTransactionHashTotal())
+                .endSegment();
+        }
+        return this.endTransaction();
+    }
+
+    /**
+     * write anything that is buffered to the underlying sink
+     */
+    @Override
+    public void flush() throws IOException {
+        this.notifyOutputListener(position);
+        listenerStart = 0;
+        if (position > 0) {
+            sink.write(buffer, 0, position);
+            position = 0;
+        }
+        sink.flush();
+    }
+
+    /**
+     * flush and close the underlying {@link Writer} or {@link OutputStream}
+     */
+    @Override
+    public void close() throws IOException {
+        this.flush();
+        sink.close();
+    }
+
+    private TransactionSetWriter findTransactionSetWriter(X12TransactionSet transactionSet) {
+        if (transactionSetWriters != null) {
+            for (TransactionSetWriter txWriter : transactionSetWriters) {
+                if (txWriter.handlesTransactionSet(transactionSet)) {
+                    return txWriter;
+                }
+            }
+        }
+        throw new IllegalArgumentException("no TransactionSetWriter registered for transaction set "
+            + transactionSet.getTransactionSetIdentifierCode());
+    }
+
+    private String padIsaElement(String[] values, int index, char pad, boolean padLeft) {
+        String value = values[index] != null ? values[index] : "";
+        int width = ISA_ELEMENT_WIDTHS[index];
+        if (value.length() > width) {
+            throw new IllegalArgumentException(ISA_ELEMENT_NAMES[index] + " must be at most " + width + " characters");
+        }
+        if (value.length() == width) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(width);
+        if (!padLeft) {
+            sb.append(value);
+        }
+        for (int i = value.length(); i < width; i++) {
+            sb.append(pad);
+        }
+        if (padLeft) {
+            sb.append(value);
+        }
+        return sb.toString();
+    }
+
+    private void notifyOutputListener(int end) {
+        if (outputListener != null && end > listenerStart) {
+            outputListener.onOutput(buffer, listenerStart, end - listenerStart);
+        }
+        listenerStart = end;
+    }
+
+    private void checkSegmentOpen() {
+        if (!segmentOpen) {
+            throw new IllegalStateException("a segment must be started before writing an element");
+        }
+    }
+
+    private void appendElementSeparators() throws IOException {
+        for (int i = 0; i <= pendingEmptyElements; i++) {
+            this.append(elementSeparator);
+        }
+        pendingEmptyElements = 0;
+    }
+
+    private void append(char ch) throws IOException {
+        if (position == buffer.length) {
+            this.drainBuffer();
+        }
+        buffer[position++] = ch;
+    }
+
+    private void append(CharSequence value) throws IOException {
+        int length = value.length();
+        if (value instanceof String) {
+            String stringValue = (String) value;
+            int start = 0;
+            while (start < length) {
+                if (position == buffer.length) {
+                    this.drainBuffer();
+                }
+                int count = Math.min(length - start, buffer.length - position);
+                stringValue.getChars(start, start + count, buffer, position);
+                position += count;
+                start += count;
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                this.append(value.charAt(i));
+            }
+        }
+    }
+
+    private void append(long value) throws IOException {
+        if (value < 0) {
+            this.append('-');
+        }
+        this.appendDigits(this.formatDigits(value), digits.length);
+    }
+
+    /**
+     * format the absolute value of the number into the end of the digits array
+     * @return the index of the first digit
+     */
+    private int formatDigits(long value) {
+        int digitIdx = digits.length;
+        long remaining = value;
+        do {
+            // negate the remainder to also handle Long.MIN_VALUE
+            int digit = (int) (remaining % 10);
+            digits[--digitIdx] = (char) ('0' + (digit < 0 ? -digit : digit));
+            remaining /= 10;
+        } while (remaining != 0);
+        return digitIdx;
+    }
+
+    private void appendDigits(int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            this.append(digits[i]);
+        }
+    }
+
+    /**
+     * write the full buffer to the sink
+     * a high surrogate at the end of the buffer is kept
+     * so a surrogate pair is never split between two writes
+     */
+    private void drainBuffer() throws IOException {
+        int length = position;
+        if (Character.isHighSurrogate(buffer[length - 1])) {
+            length--;
+        }
+        this.notifyOutputListener(length);
+        listenerStart = 0;
+        sink.write(buffer, 0, length);
+        int remaining = position - length;
+        if (remaining > 0) {
+            buffer[0] = buffer[length];
+        }
+        position = remaining;
+    }
+
+    /**
+     * where the characters are written
+     */
+    private interface Sink {
+
+        void write(char[] chars, int offset, int length) throws IOException;
+
+        void flush() throws IOException;
+
+        void close() throws IOException;
+    }
+
+    private static final class WriterSink implements Sink {
+
+        private final Writer writer;
+
+        WriterSink(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            writer.write(chars, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * encodes the characters into a {@link ByteBuffer}
+     * that is either written to an {@link OutputStream}
+     * or is the buffer provided by the caller
+     */
+    private static final class EncodingSink implements Sink {
+
+        private final CharsetEncoder encoder;
+        private final OutputStream outputStream;
+        private final ByteBuffer bytes;
+
+        EncodingSink(Charset charset, OutputStream outputStream, ByteBuffer byteBuffer) {
+            this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.outputStream = outputStream;
+            this.bytes = (byteBuffer != null ? byteBuffer : ByteBuffer.allocate(BUFFER_SIZE));
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            CharBuffer charBuffer = CharBuffer.wrap(chars, offset, length);
+            while (true) {
+                CoderResult result = encoder.encode(charBuffer, bytes, true);
+                if (result.isOverflow()) {
+                    this.writeBytes();
+                } else if (result.isUnderflow()) {
+                    break;
+                } else {
+                    result.throwException();
+                }
+            }
+            encoder.flush(bytes);
+            encoder.reset();
+            if (outputStream != null) {
+                this.writeBytes();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (outputStream != null) {
+                outputStream.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (outputStream != null) {
+                outputStream.close();
+            }
+        }
+
+        private void writeBytes() throws IOException {
+            if (outputStream == null) {
+                throw new BufferOverflowException();
+            }
+            outputStream.write(bytes.array(), bytes.arrayOffset(), bytes.position());
+            bytes.clear();
+        }
+    }
+}
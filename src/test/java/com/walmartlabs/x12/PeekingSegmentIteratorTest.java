@@ -0,0 +1,96 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PeekingSegmentIteratorTest {
+
+    @Test
+    public void test_with_null_list() {
+        List<X12Segment> segmentLines = null;
+        assertThrows(IllegalArgumentException.class, () -> new PeekingSegmentIterator(segmentLines));
+    }
+
+    @Test
+    public void test_with_empty_list() {
+        PeekingSegmentIterator iter = new PeekingSegmentIterator(Collections.emptyList());
+        assertNull(iter.peek());
+        assertNull(iter.peekIdentifier());
+    }
+
+    @Test
+    public void test_peek_does_not_advance() {
+        List<X12Segment> segmentLines = new ArrayList<>();
+        segmentLines.add(new X12Segment("ST*856*0001"));
+        segmentLines.add(new X12Segment("BSN*00*1234"));
+
+        PeekingSegmentIterator iter = new PeekingSegmentIterator(segmentLines);
+        assertEquals("ST", iter.peekIdentifier());
+        assertEquals("ST", iter.peekIdentifier());
+        assertSame(segmentLines.get(0), iter.peek());
+        assertEquals(0, iter.currentIndex());
+
+        assertSame(segmentLines.get(0), iter.next());
+        assertEquals("BSN", iter.peekIdentifier());
+        assertSame(segmentLines.get(1), iter.peek());
+        assertEquals(1, iter.currentIndex());
+
+        assertSame(segmentLines.get(1), iter.next());
+        assertNull(iter.peek());
+        assertNull(iter.peekIdentifier());
+
+        iter.reset(1);
+        assertEquals("BSN", iter.peekIdentifier());
+    }
+
+    @Test
+    public void test_from_peeking_iterator() {
+        PeekingSegmentIterator iter = new PeekingSegmentIterator(Collections.emptyList());
+        assertSame(iter, PeekingSegmentIterator.from(iter));
+    }
+
+    @Test
+    public void test_from_segment_iterator() {
+        List<X12Segment> segmentLines = new ArrayList<>();
+        segmentLines.add(new X12Segment("ST*856*0001"));
+        segmentLines.add(new X12Segment("BSN*00*1234"));
+        segmentLines.add(new X12Segment("SE*3*0001"));
+
+        SegmentIterator iter = new SegmentIterator(segmentLines);
+        iter.next();
+
+        PeekingSegmentIterator peekingIter = PeekingSegmentIterator.from(iter);
+        assertEquals(1, peekingIter.currentIndex());
+        assertEquals(2, peekingIter.lastIndex());
+        assertEquals("BSN", peekingIter.peekIdentifier());
+
+        peekingIter.next();
+        assertEquals("SE", peekingIter.peekIdentifier());
+        // the original iterator does not move
+        assertEquals(1, iter.currentIndex());
+    }
+}
@@ -0,0 +1,115 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class X12ElementValueCacheTest {
+
+    @Test
+    public void test_defaults() {
+        X12ElementValueCache cache = new X12ElementValueCache();
+        assertEquals(X12ElementValueCache.DEFAULT_MAX_VALUE_LENGTH, cache.getMaxValueLength());
+        assertEquals(X12ElementValueCache.DEFAULT_CAPACITY, cache.getCapacity());
+    }
+
+    @Test
+    public void test_capacity_power_of_two() {
+        assertEquals(2, new X12ElementValueCache(5, 1).getCapacity());
+        assertEquals(64, new X12ElementValueCache(5, 64).getCapacity());
+        assertEquals(128, new X12ElementValueCache(5, 65).getCapacity());
+    }
+
+    @Test
+    public void test_capacity_clamped() {
+        assertEquals(1 << 20, new X12ElementValueCache(5, 1 << 20).getCapacity());
+        assertEquals(1 << 20, new X12ElementValueCache(5, (1 << 30) + 1).getCapacity());
+        assertEquals(1 << 20, new X12ElementValueCache(5, Integer.MAX_VALUE).getCapacity());
+    }
+
+    @Test
+    public void test_invalid_arguments() {
+        assertThrows(IllegalArgumentException.class, () -> new X12ElementValueCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new X12ElementValueCache(5, 0));
+    }
+
+    @Test
+    public void test_value_shared() {
+        X12ElementValueCache cache = new X12ElementValueCache();
+        String first = cache.value("SN1*1*24*EA", 9, 11);
+        String second = cache.value("PO4*1*24*EA", 9, 11);
+        assertEquals("EA", first);
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void test_value_too_long() {
+        X12ElementValueCache cache = new X12ElementValueCache(3);
+        String first = cache.value("PID*F****BLUE WIDGET", 9, 20);
+        String second = cache.value("PID*F****BLUE WIDGET", 9, 20);
+        assertEquals("BLUE WIDGET", first);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void test_value_empty() {
+        X12ElementValueCache cache = new X12ElementValueCache();
+        assertEquals("", cache.value("ST**856", 3, 3));
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void test_value_replaced_in_slot() {
+        // a single slot so each new value replaces the last one
+        X12ElementValueCache cache = new X12ElementValueCache(5, 1);
+        for (int i = 0; i < 100; i++) {
+            String value = String.valueOf(i);
+            assertEquals(value, cache.value(value, 0, value.length()));
+        }
+        assertEquals(2, cache.getCapacity());
+    }
+
+    @Test
+    public void test_segment_elements_shared() {
+        X12ElementValueCache cache = new X12ElementValueCache();
+        X12Segment sn1 = new X12Segment("SN1*1*24*EA", '*', cache);
+        X12Segment po4 = new X12Segment("PO4*1*24*EA", '*', cache);
+        assertEquals(4, sn1.segmentSize());
+        assertEquals("24", sn1.getElement(2));
+        assertSame(sn1.getElement(1), po4.getElement(1));
+        assertSame(sn1.getElement(2), po4.getElement(2));
+        assertSame(sn1.getElement(3), po4.getElement(3));
+    }
+
+    @Test
+    public void test_segment_elements_not_shared_without_cache() {
+        X12Segment sn1 = new X12Segment("SN1*1*24*EA", '*', null);
+        X12Segment po4 = new X12Segment("PO4*1*24*EA", '*', null);
+        assertEquals(sn1.getElement(3), po4.getElement(3));
+        assertNotSame(sn1.getElement(3), po4.getElement(3));
+    }
+}
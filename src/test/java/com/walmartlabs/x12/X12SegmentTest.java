@@ -19,7 +19,9 @@ package com.walmartlabs.x12;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class X12SegmentTest {
 
@@ -153,4 +155,80 @@ public class X12SegmentTest {
         assertEquals("", segment.getIdentifier());
     }
 
+    @Test
+    public void test_Split_SameAsStringSplit() {
+        String[] segments = {
+            "ST*856*0001",
+            "ST*856*0001*",
+            "ST*856*0001***",
+            "ST**856",
+            "*ST*856",
+            "**ST",
+            "*",
+            "***",
+            "ST",
+            "N1*ST*Walmart*UL*0078742035477",
+        };
+        for (String value : segments) {
+            X12Segment segment = new X12Segment(value);
+            String[] expected = value.split("\\*");
+            if (expected.length == 1 && expected[0].isEmpty()) {
+                expected = new String[0];
+            }
+            assertEquals(expected.length, segment.segmentSize(), value);
+            for (int i = 0; i < expected.length; i++) {
+                // empty elements are returned as null
+                assertEquals(expected[i].isEmpty() ? null : expected[i], segment.getElement(i), value);
+            }
+        }
+    }
+
+    @Test
+    public void test_Split_NullDelimiter() {
+        X12Segment segment = new X12Segment("ST*856*0001", null);
+        assertEquals(1, segment.segmentSize());
+        assertEquals("ST*856*0001", segment.getIdentifier());
+        assertEquals(X12Segment.NO_IDENTIFIER_CODE, segment.getIdentifierCode());
+    }
+
+    @Test
+    public void test_Split_RegExDelimiter() {
+        X12Segment segment = new X12Segment("ST|856|0001", '|');
+        assertEquals(3, segment.segmentSize());
+        assertEquals("ST", segment.getIdentifier());
+        assertEquals("856", segment.getElement(1));
+        assertEquals("0001", segment.getElement(2));
+    }
+
+    @Test
+    public void test_Identifier_Canonical() {
+        X12Segment first = new X12Segment("HL*1**S");
+        X12Segment second = new X12Segment(new String("HL*2*1*O"));
+        assertSame("HL", first.getIdentifier());
+        assertSame(first.getIdentifier(), second.getIdentifier());
+    }
+
+    @Test
+    public void test_IdentifierCode() {
+        X12Segment segment = new X12Segment("G83*1*5*EA");
+        assertEquals(('G' << 16) | ('8' << 8) | '3', segment.getIdentifierCode());
+        assertEquals(X12Segment.identifierCode("G83"), segment.getIdentifierCode());
+        assertNotEquals(X12Segment.identifierCode("G82"), segment.getIdentifierCode());
+        assertEquals(X12Segment.identifierCode("ST"), new X12Segment("ST*856*0001").getIdentifierCode());
+        assertNotEquals(X12Segment.identifierCode("ST"), X12Segment.identifierCode("SE"));
+    }
+
+    @Test
+    public void test_IdentifierCode_NoCode() {
+        assertEquals(X12Segment.NO_IDENTIFIER_CODE, new X12Segment("").getIdentifierCode());
+        assertEquals(X12Segment.NO_IDENTIFIER_CODE, new X12Segment(null).getIdentifierCode());
+        assertEquals(X12Segment.NO_IDENTIFIER_CODE, new X12Segment("*856").getIdentifierCode());
+        assertEquals(X12Segment.NO_IDENTIFIER_CODE, new X12Segment("TESTING 123").getIdentifierCode());
+        assertEquals(X12Segment.NO_IDENTIFIER_CODE, new X12Segment("ABCD*1").getIdentifierCode());
+        assertEquals(X12Segment.NO_IDENTIFIER_CODE, new X12Segment("A B*1").getIdentifierCode());
+        assertEquals(X12Segment.NO_IDENTIFIER_CODE, X12Segment.identifierCode(null));
+        assertEquals(X12Segment.NO_IDENTIFIER_CODE, X12Segment.identifierCode(""));
+        assertEquals("ABCD", new X12Segment("ABCD*1").getIdentifier());
+    }
+
 }
@@ -16,6 +16,7 @@ limitations under the License.
 
 package com.walmartlabs.x12.common.segment.parser;
 
+import com.walmartlabs.x12.PeekingSegmentIterator;
 import com.walmartlabs.x12.SegmentIterator;
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.common.segment.N1PartyIdentification;
@@ -225,6 +226,52 @@ public class N1PartyIdentificationParserTest {
         assertEquals("N1*ST*REGIONAL DISTRIBUTION CENTER 6285*UL*0078742090955", nextOne.toString());
     }
 
+    @Test
+    public void test_parse_handleN1Loop_peeking_more() {
+        List<X12Segment> segments = this.getN1LoopOne();
+        segments.add(new X12Segment("REF*DP*123"));
+        segments.add(new X12Segment("N1*SF*RESER'S FINE FOODS, INC.*UL*0090266420000"));
+        PeekingSegmentIterator iterator = new PeekingSegmentIterator(segments);
+        X12Segment n1Segment = iterator.next();
+
+        N1PartyIdentification n1 = N1PartyIdentificationParser.handleN1Loop(n1Segment, iterator);
+        assertNotNull(n1);
+        assertEquals("ST", n1.getEntityIdentifierCode());
+        assertEquals(1, n1.getN3List().size());
+        assertEquals("CASA GRANDE", n1.getN4().getCityName());
+        assertEquals(1, n1.getRefList().size());
+
+        // the next N1 was not consumed
+        assertEquals(4, iterator.currentIndex());
+        assertEquals("N1", iterator.peekIdentifier());
+    }
+
+    @Test
+    public void test_parse_handleN1Loop_peeking_ends() {
+        List<X12Segment> segments = this.getN1LoopOne();
+        PeekingSegmentIterator iterator = new PeekingSegmentIterator(segments);
+        X12Segment n1Segment = iterator.next();
+
+        N1PartyIdentification n1 = N1PartyIdentificationParser.handleN1Loop(n1Segment, iterator);
+        assertNotNull(n1);
+        assertEquals(1, n1.getN3List().size());
+        assertNotNull(n1.getN4());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void test_parse_handleN1Loop_peeking_not_N1() {
+        List<X12Segment> segments = new ArrayList<>();
+        segments.add(new X12Segment("TD1*PLT94*1****G*31302*LB"));
+        segments.addAll(this.getN1LoopOne());
+        PeekingSegmentIterator iterator = new PeekingSegmentIterator(segments);
+        X12Segment topSegment = iterator.next();
+
+        N1PartyIdentification n1 = N1PartyIdentificationParser.handleN1Loop(topSegment, iterator);
+        assertNull(n1);
+        assertEquals(1, iterator.currentIndex());
+    }
+
     private List<X12Segment> getN1LoopOne() {
         List<X12Segment> segments = new ArrayList<>();
         X12Segment segment = new X12Segment("N1*ST*REGIONAL DISTRIBUTION CENTER 6285*UL*0078742090955");
@@ -0,0 +1,126 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.dex.dx894;
+
+import com.walmartlabs.x12.exceptions.X12ErrorCollector;
+import com.walmartlabs.x12.exceptions.X12ErrorDetail;
+import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.metrics.RecordingX12Metrics;
+import com.walmartlabs.x12.metrics.X12Metrics;
+import com.walmartlabs.x12.metrics.X12Phase;
+import com.walmartlabs.x12.testing.util.X12DocumentTestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultDex894MetricsTest {
+
+    private DefaultDex894Parser dexParser;
+    private DefaultDex894Validator dexValidator;
+    private RecordingX12Metrics metrics;
+
+    @BeforeEach
+    public void init() {
+        dexParser = new DefaultDex894Parser();
+        dexValidator = new DefaultDex894Validator();
+        metrics = new RecordingX12Metrics();
+    }
+
+    @Test
+    public void test_default_metrics() {
+        assertSame(X12Metrics.NO_OP, dexParser.getMetrics());
+        assertSame(X12Metrics.NO_OP, dexValidator.getMetrics());
+    }
+
+    @Test
+    public void test_parse() {
+        dexParser.setMetrics(metrics);
+        String sourceData = new String(X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.1.txt"));
+        dexParser.parse(sourceData);
+
+        assertEquals(sourceData.length(), metrics.getTokenizedBytes());
+        assertEquals(22, metrics.getTokenizedSegments());
+        assertEquals(Collections.singletonMap("894", 2), metrics.getTransactionSets());
+        assertEquals(1, metrics.getPhaseCount(X12Phase.TOKENIZE));
+        assertEquals(1, metrics.getPhaseCount(X12Phase.ENVELOPE));
+        assertEquals(2, metrics.getPhaseCount(X12Phase.TRANSACTION_SET_PARSE));
+        assertEquals(0, metrics.getPhaseCount(X12Phase.VALIDATE));
+        assertTrue(metrics.getErrors().isEmpty());
+    }
+
+    @Test
+    public void test_parse_invalid() {
+        dexParser.setMetrics(metrics);
+        String sourceData = new String(X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.invalid.segments.txt"));
+        assertThrows(X12ParserException.class, () -> dexParser.parse(sourceData));
+
+        assertEquals(1, metrics.getErrors().size());
+        assertEquals(0, metrics.getPhaseCount(X12Phase.ENVELOPE));
+    }
+
+    @Test
+    public void test_parseAndValidate() {
+        dexParser.setMetrics(metrics);
+        String sourceData = new String(X12DocumentTestData.readFileAsBytes(
+            "src/test/resources/dex/894/dex.sample.wrong.transaction.count.txt"));
+        Dex894ParseResult result = dexParser.parseAndValidate(sourceData);
+
+        assertEquals(2, metrics.getPhaseCount(X12Phase.TRANSACTION_SET_PARSE));
+        assertEquals(2, metrics.getPhaseCount(X12Phase.VALIDATE));
+        assertEquals(result.getErrors().size(), metrics.getErrors().size());
+        assertTrue(metrics.getErrors().contains(DefaultDex894Parser.DEX_TRAILER_ID));
+    }
+
+    @Test
+    public void test_validate_only_new_errors() {
+        dexValidator.setMetrics(metrics);
+        String sourceData = new String(X12DocumentTestData.readFileAsBytes(
+            "src/test/resources/dex/894/dex.sample.wrong.transaction.count.txt"));
+        Dex894 dex = dexParser.parse(sourceData);
+
+        X12ErrorCollector errorCollector = new X12ErrorCollector();
+        errorCollector.add(new X12ErrorDetail("XX", "", "found earlier"));
+        dexValidator.validate(dex, true, errorCollector);
+
+        assertEquals(1, metrics.getPhaseCount(X12Phase.VALIDATE));
+        assertEquals(errorCollector.size() - 1, metrics.getErrors().size());
+        assertTrue(metrics.getErrors().contains(DefaultDex894Parser.DEX_TRAILER_ID));
+        assertFalse(metrics.getErrors().contains("XX"));
+    }
+
+    @Test
+    public void test_parseAndValidate_only_new_errors() {
+        dexParser.setMetrics(metrics);
+        String sourceData = new String(X12DocumentTestData.readFileAsBytes(
+            "src/test/resources/dex/894/dex.sample.wrong.transaction.count.txt"));
+
+        X12ErrorCollector errorCollector = new X12ErrorCollector();
+        errorCollector.add(new X12ErrorDetail("XX", "", "found earlier"));
+        dexParser.parseAndValidate(sourceData, dexValidator, true, errorCollector);
+
+        assertEquals(errorCollector.size() - 1, metrics.getErrors().size());
+        assertTrue(metrics.getErrors().contains(DefaultDex894Parser.DEX_TRAILER_ID));
+        assertFalse(metrics.getErrors().contains("XX"));
+    }
+}
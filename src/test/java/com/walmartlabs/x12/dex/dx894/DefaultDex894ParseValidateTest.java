@@ -16,21 +16,29 @@ limitations under the License.
 
 package com.walmartlabs.x12.dex.dx894;
 
+import com.walmartlabs.x12.exceptions.X12ErrorCollector;
 import com.walmartlabs.x12.exceptions.X12ErrorDetail;
+import com.walmartlabs.x12.exceptions.X12ParserException;
 import com.walmartlabs.x12.testing.util.X12DocumentTestData;
 import com.walmartlabs.x12.types.InvoiceType;
 import com.walmartlabs.x12.types.ProductQualifier;
 import com.walmartlabs.x12.types.UnitMeasure;
+import com.walmartlabs.x12.util.ConversionUtil;
+import com.walmartlabs.x12.util.crc.CyclicRedundancyCheck;
+import com.walmartlabs.x12.util.crc.DefaultCrc16;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DefaultDex894ParseValidateTest {
@@ -91,6 +99,9 @@ public class DefaultDex894ParseValidateTest {
         assertEquals("143.000", dexTx.getTransactionTotalQuantity().toString());
         assertEquals("41040.00", dexTx.getTransactionTotalAmount().toString());
         assertEquals(null, dexTx.getTransactionTotalDepositAmount());
+        assertEquals(143000L, dexTx.getTransactionTotalQuantityUnscaled());
+        assertEquals(4104000L, dexTx.getTransactionTotalAmountInCents());
+        assertEquals(ConversionUtil.NO_VALUE, dexTx.getTransactionTotalDepositAmountInCents());
         // G85 segment
         assertEquals("45CD", dexTx.getIntegrityCheckValue());
         // G86 segment
@@ -273,6 +284,58 @@ public class DefaultDex894ParseValidateTest {
         assertEquals(0, errors.size());
     }
 
+    @Test
+    public void testParsingValidShipmentWithGeneratedCrc() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.2.txt");
+        dexParser.setGenerateIntegrityCheck(true);
+        dexParser.setRetainTransactionData(false);
+        Dex894 dex = dexParser.parse(new String(dexBytes));
+        assertNotNull(dex);
+
+        Dex894TransactionSet dexTx = dex.getTransactions().get(0);
+        assertNull(dexTx.getTransactionData());
+        assertEquals(Integer.valueOf(0x45CD), dexTx.getComputedIntegrityCheck());
+
+        Set<X12ErrorDetail> errors = dexValidator.validate(dex);
+        assertNotNull(errors);
+        assertEquals(0, errors.size());
+    }
+
+    @Test
+    public void testParsingValidShipmentWithGeneratedCrcMatchesTransactionData() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.4010.case.txt");
+        dexParser.setGenerateIntegrityCheck(true);
+        Dex894 dex = dexParser.parse(new String(dexBytes));
+        assertNotNull(dex);
+
+        DefaultCrc16 crc16 = new DefaultCrc16();
+        for (Dex894TransactionSet dexTx : dex.getTransactions()) {
+            assertNotNull(dexTx.getTransactionData());
+            assertEquals(crc16.generateCyclicRedundancyCheck(dexTx.getTransactionData()),
+                DefaultCrc16.toHexString(dexTx.getComputedIntegrityCheck()));
+        }
+    }
+
+    @Test
+    public void testParsingValidShipmentWithInvalidGeneratedCrc() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.1.txt");
+        dexParser.setGenerateIntegrityCheck(true);
+        dexParser.setRetainTransactionData(false);
+        Dex894 dex = dexParser.parse(new String(dexBytes));
+        assertNotNull(dex);
+
+        // change the G85 value
+        dex.getTransactions().get(0).setIntegrityCheckValue("BOGUS");
+
+        Set<X12ErrorDetail> errors = dexValidator.validate(dex);
+        assertNotNull(errors);
+        assertEquals(1, errors.size());
+        X12ErrorDetail xed = errors.stream().findFirst().get();
+        assertEquals("G85", xed.getSegmentId());
+        assertEquals("G8501", xed.getElementId());
+        assertEquals("CRC Integrity Check does not match", xed.getIssueText());
+    }
+
     @Test
     public void testParsingValidShipment() throws IOException {
         byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.1.txt");
@@ -876,4 +939,77 @@ public class DefaultDex894ParseValidateTest {
         assertEquals(null, dexAllowance.getDollarBasis());
         assertEquals(null, dexAllowance.getOptionNumber());
     }
+
+    @Test
+    public void testParseAndValidateValidShipment() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.2.txt");
+        Dex894ParseResult result = dexParser.parseAndValidate(new String(dexBytes));
+        assertNotNull(result);
+        assertFalse(result.hasErrors());
+        assertEquals(0, result.getErrors().size());
+
+        Dex894 dex = result.getDex();
+        assertNotNull(dex);
+        assertEquals(1, dex.getTransactions().size());
+        Dex894TransactionSet dexTx = dex.getTransactions().get(0);
+        assertEquals(19, dexTx.getItems().size());
+        assertNull(dexTx.getTransactionData());
+        assertEquals(Integer.valueOf(0x45CD), dexTx.getComputedIntegrityCheck());
+    }
+
+    @Test
+    public void testParseAndValidateWrongTransactionCount() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.wrong.transaction.count.txt");
+        String sourceData = new String(dexBytes);
+
+        Dex894ParseResult result = dexParser.parseAndValidate(sourceData);
+        assertTrue(result.hasErrors());
+
+        // same errors as parsing and then validating
+        Set<X12ErrorDetail> twoPassErrors = dexValidator.validate(dexParser.parse(sourceData));
+        assertEquals(twoPassErrors.size(), result.getErrors().size());
+        assertEquals(this.toIssueTexts(twoPassErrors), this.toIssueTexts(result.getErrors()));
+    }
+
+    @Test
+    public void testParseAndValidateInvalidCrc() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.1.txt");
+        String sourceData = new String(dexBytes).replace("G85*733F", "G85*733E");
+
+        Dex894ParseResult result = dexParser.parseAndValidate(sourceData);
+        assertEquals(1, result.getErrors().size());
+        X12ErrorDetail xed = result.getErrors().iterator().next();
+        assertEquals("G85", xed.getSegmentId());
+        assertEquals("G8501", xed.getElementId());
+        assertEquals("CRC Integrity Check does not match", xed.getIssueText());
+
+        // CRC check turned off
+        result = dexParser.parseAndValidate(sourceData, dexValidator, false, new X12ErrorCollector());
+        assertEquals(0, result.getErrors().size());
+    }
+
+    @Test
+    public void testParseAndValidateCustomCrcRetainsTransactionData() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.1.txt");
+        CyclicRedundancyCheck customCrc = blockOfText -> new DefaultCrc16().generateCyclicRedundancyCheck(blockOfText);
+        DefaultDex894Validator customValidator = new DefaultDex894Validator(customCrc);
+
+        Dex894ParseResult result = dexParser.parseAndValidate(new String(dexBytes), customValidator, true, new X12ErrorCollector());
+        assertEquals(0, result.getErrors().size());
+        assertNotNull(result.getDex().getTransactions().get(0).getTransactionData());
+    }
+
+    @Test
+    public void testParseAndValidateInvalidEnvelope() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.missing.dxe.txt");
+        assertThrows(X12ParserException.class, () -> dexParser.parseAndValidate(new String(dexBytes)));
+    }
+
+    private List<String> toIssueTexts(Set<X12ErrorDetail> errors) {
+        List<String> issueTexts = new ArrayList<>();
+        for (X12ErrorDetail error : errors) {
+            issueTexts.add(error.getSegmentId() + ":" + error.getIssueText());
+        }
+        return issueTexts;
+    }
 }
@@ -0,0 +1,90 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.dex.dx894;
+
+import com.walmartlabs.x12.X12Segment;
+import com.walmartlabs.x12.types.InvoiceType;
+import com.walmartlabs.x12.types.ProductQualifier;
+import com.walmartlabs.x12.types.UnitMeasure;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DefaultDex894ParserCodeSegmentTest {
+
+    DefaultDex894Parser dexParser;
+
+    @BeforeEach
+    public void init() {
+        dexParser = new DefaultDex894Parser();
+    }
+
+    @Test
+    public void testParseG82() {
+        Dex894TransactionSet dexTx = new Dex894TransactionSet();
+        dexParser.parseG82(new X12Segment("G82*D*4227*0069271833*0001*051957769*6999*20170627"), dexTx);
+        assertEquals(InvoiceType.D, dexTx.getDebitCreditFlag());
+        assertEquals("D", dexTx.getDebitCreditCode());
+    }
+
+    @Test
+    public void testParseG82UnknownCode() {
+        Dex894TransactionSet dexTx = new Dex894TransactionSet();
+        dexParser.parseG82(new X12Segment("G82*X*4227*0069271833*0001*051957769*6999*20170627"), dexTx);
+        assertEquals(InvoiceType.UNKNOWN, dexTx.getDebitCreditFlag());
+        assertEquals("X", dexTx.getDebitCreditCode());
+    }
+
+    @Test
+    public void testParseG83() {
+        Dex894Item dexItem = new Dex894Item();
+        dexParser.parseG83(new X12Segment("G83*1*12*EA*001410008547*UP******EN"), dexItem);
+        assertEquals(UnitMeasure.EA, dexItem.getUom());
+        assertEquals("EA", dexItem.getUomCode());
+        assertEquals(ProductQualifier.UP, dexItem.getConsumerProductQualifier());
+        assertEquals("UP", dexItem.getConsumerProductQualifierCode());
+        assertEquals(ProductQualifier.EN, dexItem.getCaseProductQualifier());
+        assertEquals("EN", dexItem.getCaseProductQualifierCode());
+    }
+
+    @Test
+    public void testParseG83UnknownCodes() {
+        Dex894Item dexItem = new Dex894Item();
+        dexParser.parseG83(new X12Segment("G83*1*12*BG*001410008547*ZZ******XX"), dexItem);
+        assertEquals(UnitMeasure.UNKNOWN, dexItem.getUom());
+        assertEquals("BG", dexItem.getUomCode());
+        assertEquals(ProductQualifier.UNKNOWN, dexItem.getConsumerProductQualifier());
+        assertEquals("ZZ", dexItem.getConsumerProductQualifierCode());
+        assertEquals(ProductQualifier.UNKNOWN, dexItem.getCaseProductQualifier());
+        assertEquals("XX", dexItem.getCaseProductQualifierCode());
+
+        // the shared constant is never modified
+        assertEquals("UNKNOWN", UnitMeasure.UNKNOWN.getDescription());
+        assertEquals("UNKNOWN", ProductQualifier.UNKNOWN.getDescription());
+    }
+
+    @Test
+    public void testParseG72UnknownUom() {
+        Dex894Item dexItem = new Dex894Item();
+        dexParser.parseG72(new X12Segment("G72*97*02***.15*1*CASE"), dexItem);
+        Dex894Allowance dexAllowance = dexItem.getAllowances().get(0);
+        assertEquals(UnitMeasure.UNKNOWN, dexAllowance.getAllowanceUom());
+        assertEquals("CASE", dexAllowance.getAllowanceUomCode());
+    }
+
+}
@@ -23,7 +23,10 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class DefaultDex894ParserTest {
@@ -71,4 +74,35 @@ public class DefaultDex894ParserTest {
         assertThrows(X12ParserException.class, () -> dexParser.parse(new String(dexBytes)));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testParsingShipment_elementValueCache() throws IOException {
+        assertEquals(0, dexParser.getElementValueCacheMaxLength());
+        dexParser.setElementValueCacheMaxLength(16);
+        assertEquals(16, dexParser.getElementValueCacheMaxLength());
+
+        String sourceData = new String(X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.1.txt"));
+        Dex894 dex = dexParser.parse(sourceData);
+        assertEquals(2, dex.getTransactions().size());
+
+        Dex894TransactionSet firstTx = dex.getTransactions().get(0);
+        Dex894TransactionSet secondTx = dex.getTransactions().get(1);
+        assertEquals("051957769", firstTx.getReceiverDuns());
+        assertSame(firstTx.getReceiverDuns(), secondTx.getReceiverDuns());
+        assertSame(firstTx.getTransactionDate(), secondTx.getTransactionDate());
+        assertSame(firstTx.getItems().get(0).getUomCode(), secondTx.getItems().get(0).getUomCode());
+    }
+
+    @Test
+    public void testParsingShipment_noElementValueCache() throws IOException {
+        dexParser.setElementValueCacheMaxLength(-1);
+        assertEquals(0, dexParser.getElementValueCacheMaxLength());
+
+        String sourceData = new String(X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.1.txt"));
+        Dex894 dex = dexParser.parse(sourceData);
+
+        Dex894TransactionSet firstTx = dex.getTransactions().get(0);
+        Dex894TransactionSet secondTx = dex.getTransactions().get(1);
+        assertEquals(firstTx.getReceiverDuns(), secondTx.getReceiverDuns());
+        assertNotSame(firstTx.getReceiverDuns(), secondTx.getReceiverDuns());
+    }
+}
@@ -0,0 +1,129 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.dex.dx894;
+
+import com.walmartlabs.x12.exceptions.X12ErrorDetail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DefaultDex894ValidatorParallelTest {
+
+    private final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+    private DefaultDex894Validator sequentialValidator;
+    private DefaultDex894Validator parallelValidator;
+
+    @BeforeEach
+    public void init() {
+        sequentialValidator = new DefaultDex894Validator();
+        parallelValidator = new DefaultDex894Validator(forkJoinPool);
+        parallelValidator.setMinParallelTransactions(2);
+    }
+
+    @Test
+    public void test_minParallelTransactions() {
+        DefaultDex894Validator validator = new DefaultDex894Validator(forkJoinPool);
+        assertEquals(DefaultDex894Validator.DEFAULT_MIN_PARALLEL_TRANSACTIONS, validator.getMinParallelTransactions());
+        validator.setMinParallelTransactions(0);
+        assertEquals(1, validator.getMinParallelTransactions());
+    }
+
+    @Test
+    public void test_validate_parallel_matches_sequential() {
+        Dex894 dex = this.generateDex(200);
+
+        Set<X12ErrorDetail> sequentialErrors = sequentialValidator.validate(dex);
+        Set<X12ErrorDetail> parallelErrors = parallelValidator.validate(dex);
+
+        // every 10th transaction has a segment count error
+        // and every 25th one has a CRC error
+        assertEquals(20 + 8, parallelErrors.size());
+        assertEquals(this.toIssueList(sequentialErrors), this.toIssueList(parallelErrors));
+
+        List<String> issues = this.toIssueList(parallelErrors);
+        assertEquals("G85:CRC Integrity Check does not match", issues.get(0));
+        assertEquals("SE:Expected 10 segments in a transaction but got 100 segments in a transaction", issues.get(1));
+        assertEquals("SE:Expected 10 segments in a transaction but got 110 segments in a transaction", issues.get(2));
+    }
+
+    @Test
+    public void test_validate_parallel_whole_document_checks() {
+        Dex894 dex = this.generateDex(5);
+        dex.setNumberOfTransactions(6);
+        dex.getTransactions().get(0).setActualNumberOfSegments(10);
+        dex.getTransactions().get(0).setIntegrityCheckValue("FC4F");
+        dex.getTransactions().get(4).setSupplierNumber("invoice-0");
+
+        Set<X12ErrorDetail> errors = parallelValidator.validate(dex);
+        List<X12ErrorDetail> errorList = new ArrayList<>(errors);
+        assertEquals(2, errorList.size());
+        assertEquals("Expected 6 transactions but got 5 transactions", errorList.get(0).getIssueText());
+        assertEquals("Duplicate invoice numbers on DEX", errorList.get(1).getIssueText());
+    }
+
+    @Test
+    public void test_validate_parallel_rethrows_task_exception() {
+        DefaultDex894Validator failingValidator = new DefaultDex894Validator(forkJoinPool) {
+            @Override
+            protected X12ErrorDetail checkSupplierNumber(Integer dexVersion, Dex894TransactionSet dexTx) {
+                throw new IllegalArgumentException("bad supplier");
+            }
+        };
+        failingValidator.setMinParallelTransactions(2);
+
+        Dex894 dex = this.generateDex(3);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> failingValidator.validate(dex));
+        assertEquals("bad supplier", e.getMessage());
+    }
+
+    private List<String> toIssueList(Set<X12ErrorDetail> errors) {
+        List<String> issues = new ArrayList<>();
+        for (X12ErrorDetail error : errors) {
+            issues.add(error.getSegmentId() + ":" + error.getIssueText());
+        }
+        return issues;
+    }
+
+    private Dex894 generateDex(int numTx) {
+        Dex894 dex = new Dex894();
+        dex.setVersionNumber(4010);
+        dex.setNumberOfTransactions(numTx);
+
+        for (int i = 0; i < numTx; i++) {
+            Dex894TransactionSet dexTx = new Dex894TransactionSet();
+            dexTx.setHeaderControlNumber("569145631");
+            dexTx.setTrailerControlNumber("569145631");
+            dexTx.setReceiverLocation("00100");
+            dexTx.setSupplierNumber("invoice-" + i);
+            dexTx.setTransactionDate("19770525");
+            dexTx.setExpectedNumberOfSegments(10);
+            dexTx.setActualNumberOfSegments(i % 10 == 0 ? 100 + i : 10);
+            dexTx.setTransactionData("hello\r\nworld");
+            dexTx.setIntegrityCheckValue(i % 25 == 0 ? "BOGUS" : "FC4F");
+            dex.addTransaction(dexTx);
+        }
+
+        return dex;
+    }
+}
@@ -16,9 +16,11 @@ limitations under the License.
 
 package com.walmartlabs.x12.dex.dx894;
 
+import com.walmartlabs.x12.exceptions.X12ErrorCollector;
 import com.walmartlabs.x12.exceptions.X12ErrorDetail;
 import com.walmartlabs.x12.types.ProductQualifier;
 import com.walmartlabs.x12.types.UnitMeasure;
+import com.walmartlabs.x12.util.dedup.InMemoryDocumentFingerprintStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -29,8 +31,10 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DefaultDex894ValidatorTest {
 
@@ -52,6 +56,25 @@ public class DefaultDex894ValidatorTest {
         assertEquals(0, errorSet.size());
     }
 
+    @Test
+    public void test_validate_errorCollector_failFast() {
+        Dex894 dex = new Dex894();
+        dex.setNumberOfTransactions(5);
+        List<Dex894TransactionSet> dexTxList = this.generateTransactions(5);
+        dexTxList.get(1).setReceiverLocation(null);
+        dexTxList.get(3).setTransactionDate(null);
+        dex.setTransactions(dexTxList);
+
+        X12ErrorCollector errorCollector = X12ErrorCollector.failFast();
+        dexValidator.validate(dex, true, errorCollector);
+        assertEquals(1, errorCollector.size());
+        assertEquals("G8204", errorCollector.getErrors().iterator().next().getElementId());
+
+        errorCollector = new X12ErrorCollector();
+        dexValidator.validate(dex, true, errorCollector);
+        assertEquals(2, errorCollector.size());
+    }
+
     @Test
     public void test_validate_transactionCountWrong() {
         Dex894 dex = new Dex894();
@@ -77,6 +100,18 @@ public class DefaultDex894ValidatorTest {
         assertEquals("DXE02", errorSet.stream().findFirst().get().getElementId());
     }
 
+    @Test
+    public void test_verifyComputedIntegrityCheck() {
+        assertTrue(dexValidator.verifyComputedIntegrityCheck("45CD", 0x45CD));
+        assertTrue(dexValidator.verifyComputedIntegrityCheck("45cd", 0x45CD));
+        assertTrue(dexValidator.verifyComputedIntegrityCheck("05FA", 0x5FA));
+        assertFalse(dexValidator.verifyComputedIntegrityCheck("5FA", 0x5FA));
+        assertFalse(dexValidator.verifyComputedIntegrityCheck("45CE", 0x45CD));
+        assertFalse(dexValidator.verifyComputedIntegrityCheck("BOGUS", 0x45CD));
+        assertFalse(dexValidator.verifyComputedIntegrityCheck("", 0x45CD));
+        assertFalse(dexValidator.verifyComputedIntegrityCheck(null, 0x45CD));
+    }
+
     @Test
     public void test_validate_segmentCountWrong() {
         Dex894 dex = new Dex894();
@@ -119,6 +154,64 @@ public class DefaultDex894ValidatorTest {
         assertEquals("Missing supplier number", xed.getIssueText());
     }
 
+    @Test
+    public void test_validate_previouslyReceivedInvoices() {
+        dexValidator.setDocumentFingerprintStore(new InMemoryDocumentFingerprintStore(100));
+
+        Dex894 dex = new Dex894();
+        dex.setSenderCommId("9251230013");
+        dex.setNumberOfTransactions(3);
+        dex.setTransactions(this.generateTransactions(3));
+
+        Set<X12ErrorDetail> errorSet = dexValidator.validate(dex);
+        assertEquals(0, errorSet.size());
+        // validating does not change the store
+        assertEquals(0, dexValidator.getDocumentFingerprintStore().size());
+        assertEquals(0, dexValidator.validate(dex).size());
+
+        assertTrue(dexValidator.recordAccepted(dex));
+        assertEquals(3, dexValidator.getDocumentFingerprintStore().size());
+
+        // same invoices sent again
+        errorSet = dexValidator.validate(dex);
+        assertEquals(1, errorSet.size());
+        X12ErrorDetail xed = errorSet.iterator().next();
+        assertEquals("G82", xed.getSegmentId());
+        assertEquals("G8202", xed.getElementId());
+        assertEquals("Invoice number previously received", xed.getIssueText());
+        assertFalse(dexValidator.recordAccepted(dex));
+        assertEquals(3, dexValidator.getDocumentFingerprintStore().size());
+
+        // same invoice numbers from a different sender
+        dex.setSenderCommId("1111111111");
+        errorSet = dexValidator.validate(dex);
+        assertEquals(0, errorSet.size());
+        assertTrue(dexValidator.recordAccepted(dex));
+        assertEquals(6, dexValidator.getDocumentFingerprintStore().size());
+    }
+
+    @Test
+    public void test_recordAccepted_without_store() {
+        Dex894 dex = new Dex894();
+        dex.setTransactions(this.generateTransactions(3));
+        assertTrue(dexValidator.recordAccepted(dex));
+    }
+
+    @Test
+    public void test_validate_duplicatesNotAddedToStore() {
+        dexValidator.setDocumentFingerprintStore(new InMemoryDocumentFingerprintStore(100));
+
+        Dex894 dex = new Dex894();
+        dex.setNumberOfTransactions(3);
+        dex.setTransactions(this.generateTransactions(3));
+        dex.getTransactions().get(2).setSupplierNumber(dex.getTransactions().get(0).getSupplierNumber());
+
+        Set<X12ErrorDetail> errorSet = dexValidator.validate(dex);
+        assertEquals(1, errorSet.size());
+        assertEquals("Duplicate invoice numbers on DEX", errorSet.iterator().next().getIssueText());
+        assertEquals(0, dexValidator.getDocumentFingerprintStore().size());
+    }
+
     @Test
     public void test_validate_transactionControlNumbersMismatched() {
         Dex894 dex = new Dex894();
@@ -185,6 +278,34 @@ public class DefaultDex894ValidatorTest {
         assertNull(ed);
     }
 
+    @Test
+    public void test_compareTransactionSegmentCounts_collector() {
+        Dex894TransactionSet dexTx = this.generateTransactions(1).get(0);
+        dexTx.setExpectedNumberOfSegments(5);
+        dexTx.setActualNumberOfSegments(10);
+        X12ErrorCollector errorCollector = new X12ErrorCollector();
+        dexValidator.compareTransactionSegmentCounts(4010, dexTx, errorCollector);
+
+        assertEquals(1, errorCollector.size());
+        X12ErrorDetail ed = errorCollector.getErrors().iterator().next();
+        assertEquals("SE", ed.getSegmentId());
+        assertEquals("Expected 5 segments in a transaction but got 10 segments in a transaction", ed.getIssueText());
+    }
+
+    @Test
+    public void test_compareTransactionControlNumbers_collector_full() {
+        Dex894TransactionSet dexTx = this.generateTransactions(1).get(0);
+        dexTx.setHeaderControlNumber("0001");
+        dexTx.setTrailerControlNumber("0002");
+        X12ErrorCollector errorCollector = X12ErrorCollector.failFast();
+        errorCollector.add(new X12ErrorDetail("ST", "ST01", "first"));
+        dexValidator.compareTransactionControlNumbers(4010, dexTx, errorCollector);
+
+        assertEquals(1, errorCollector.size());
+        assertEquals("first", errorCollector.getErrors().iterator().next().getIssueText());
+        assertNotNull(dexValidator.compareTransactionControlNumbers(4010, dexTx));
+    }
+
     @Test
     public void test_compareTransactionCounts() {
         Dex894 dex = new Dex894();
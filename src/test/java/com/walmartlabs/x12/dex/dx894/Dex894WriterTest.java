@@ -0,0 +1,179 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.dex.dx894;
+
+import com.walmartlabs.x12.exceptions.X12ErrorDetail;
+import com.walmartlabs.x12.testing.util.X12DocumentTestData;
+import com.walmartlabs.x12.types.InvoiceType;
+import com.walmartlabs.x12.types.ProductQualifier;
+import com.walmartlabs.x12.types.UnitMeasure;
+import com.walmartlabs.x12.util.crc.DefaultCrc16;
+import com.walmartlabs.x12.writer.X12Writer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class Dex894WriterTest {
+
+    private DefaultDex894Parser dexParser;
+    private DefaultDex894Validator dexValidator;
+    private Dex894Writer dexWriter;
+
+    @BeforeEach
+    public void init() {
+        dexParser = new DefaultDex894Parser();
+        dexValidator = new DefaultDex894Validator();
+        dexWriter = new Dex894Writer();
+    }
+
+    @Test
+    public void test_round_trip_sample_1() throws IOException {
+        String sourceData = new String(X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.1.txt"));
+        Dex894 dex = dexParser.parse(sourceData);
+
+        String written = new String(dexWriter.write(dex), StandardCharsets.UTF_8);
+
+        // the sample uses LF but DEX is written with CR LF
+        String expected = sourceData.replace("\n", "\r\n");
+        if (!expected.endsWith("\r\n")) {
+            expected += "\r\n";
+        }
+        assertEquals(expected, written);
+    }
+
+    @Test
+    public void test_round_trip_sample_2() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.2.txt");
+        Dex894 dex = dexParser.parse(new String(dexBytes));
+
+        String written = new String(dexWriter.write(dex), StandardCharsets.UTF_8);
+        Dex894 rewritten = dexParser.parse(written);
+        assertNotNull(rewritten);
+
+        // values like 4.80 are written as 4.8 so the CRC will be different
+        // but the CRC and segment counts are valid
+        Set<X12ErrorDetail> errors = dexValidator.validate(rewritten);
+        assertEquals(0, errors.size());
+
+        assertEquals(dex.getTransactions().size(), rewritten.getTransactions().size());
+        for (int i = 0; i < dex.getTransactions().size(); i++) {
+            Dex894TransactionSet dexTx = dex.getTransactions().get(i);
+            Dex894TransactionSet rewrittenTx = rewritten.getTransactions().get(i);
+            assertEquals(dexTx.getExpectedNumberOfSegments(), rewrittenTx.getExpectedNumberOfSegments());
+            assertEquals(dexTx.getItems().size(), rewrittenTx.getItems().size());
+            assertEquals(dexTx.getTransactionTotalAmountInCents(), rewrittenTx.getTransactionTotalAmountInCents());
+        }
+    }
+
+    @Test
+    public void test_write_transaction_crc() throws IOException {
+        Dex894TransactionSet dexTx = this.dexTransaction();
+
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out, Dex894Writer.DEX_DELIMITERS);
+        int crc = dexWriter.writeTransaction(dexTx, x12Writer);
+        x12Writer.flush();
+
+        String expectedData = new StringBuilder()
+            .append("ST*894*0001\r\n")
+            .append("G82*D*0001*051957769*002703*001184472*0000*20170822\r\n")
+            .append("LS*0100\r\n")
+            .append("G83*1*48*EA*001410008547****1.83\r\n")
+            .append("G72*090*02***-0.27*48*EA\r\n")
+            .append("LE*0100\r\n")
+            .append("G84*48*74.88\r\n")
+            .toString();
+        assertEquals(new DefaultCrc16().update(DefaultCrc16.INITIAL_VALUE, expectedData), crc);
+
+        String crcValue = new DefaultCrc16().generateCyclicRedundancyCheck(expectedData, DefaultDex894Validator.DEX_CRC_VALUE_MIN_SIZE);
+        String expected = expectedData + "G85*" + crcValue + "\r\nSE*9*0001\r\n";
+        assertEquals(expected, out.toString());
+    }
+
+    @Test
+    public void test_write_uses_enum_codes() throws IOException {
+        Dex894 dex = new Dex894();
+        dex.setSenderCommId("9251230013");
+        dex.setFunctionalId("DX");
+        dex.setVersion("004010UCS");
+        dex.setHeaderTransmissionControlNumber("7");
+        dex.setReceiverCommId("9254850000");
+
+        Dex894TransactionSet dexTx = this.dexTransaction();
+        dexTx.setDebitCreditCode(null);
+        dexTx.setDebitCreditFlag(InvoiceType.C);
+        Dex894Item dexItem = dexTx.getItems().get(0);
+        dexItem.setUomCode(null);
+        dexItem.setUom(UnitMeasure.EA);
+        dexItem.setConsumerProductQualifier(ProductQualifier.UP);
+        dexItem.setConsumerProductId("001410008547");
+        dex.addTransaction(dexTx);
+
+        String written = new String(dexWriter.write(dex), StandardCharsets.UTF_8);
+        assertTrue(written.startsWith("DXS*9251230013*DX*004010UCS*7*9254850000\r\nST*894*0001\r\nG82*C*0001*"));
+        assertTrue(written.contains("G83*1*48*EA*001410008547*UP*001410008547**1.83\r\n"));
+        assertTrue(written.endsWith("SE*9*0001\r\nDXE*7*1\r\n"));
+
+        // the written integrity check is valid
+        Dex894 rewritten = dexParser.parse(written);
+        assertTrue(dexValidator.validate(rewritten).isEmpty());
+    }
+
+    private Dex894TransactionSet dexTransaction() {
+        Dex894TransactionSet dexTx = new Dex894TransactionSet();
+        dexTx.setTransactionSetIdentifierCode("894");
+        dexTx.setHeaderControlNumber("0001");
+        dexTx.setDebitCreditCode("D");
+        dexTx.setDebitCreditFlag(InvoiceType.D);
+        dexTx.setSupplierNumber("0001");
+        dexTx.setReceiverDuns("051957769");
+        dexTx.setReceiverLocation("002703");
+        dexTx.setSupplierDuns("001184472");
+        dexTx.setSupplierLocation("0000");
+        dexTx.setTransactionDate("20170822");
+        dexTx.setTransactionTotalQuantity(new BigDecimal("48"));
+        dexTx.setTransactionTotalAmount(new BigDecimal("74.88"));
+
+        Dex894Item dexItem = new Dex894Item();
+        dexItem.setItemSequenceNumber("1");
+        dexItem.setQuantity(new BigDecimal("48"));
+        dexItem.setUomCode("EA");
+        dexItem.setUom(UnitMeasure.EA);
+        dexItem.setUpc("001410008547");
+        dexItem.setItemListCost(new BigDecimal("1.83"));
+
+        Dex894Allowance dexAllowance = new Dex894Allowance();
+        dexAllowance.setAllowanceCode("090");
+        dexAllowance.setMethodOfHandlingCode("02");
+        dexAllowance.setAllowanceRate(new BigDecimal("-0.27"));
+        dexAllowance.setAllowanceQuantity(new BigDecimal("48"));
+        dexAllowance.setAllowanceUomCode("EA");
+        dexItem.addAllowance(dexAllowance);
+
+        dexTx.addItem(dexItem);
+        return dexTx;
+    }
+}
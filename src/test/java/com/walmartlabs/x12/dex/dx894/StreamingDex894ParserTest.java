@@ -0,0 +1,173 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.dex.dx894;
+
+import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.testing.util.X12DocumentTestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamingDex894ParserTest {
+
+    private StreamingDex894Parser streamingParser;
+    private List<Dex894TransactionSet> dexTxList;
+
+    @BeforeEach
+    public void init() {
+        streamingParser = new StreamingDex894Parser();
+        dexTxList = new ArrayList<>();
+    }
+
+    @Test
+    public void test_parse_empty() throws IOException {
+        Dex894 dex = streamingParser.parse(new StringReader(""), dexTxList::add);
+        assertNull(dex);
+        assertEquals(0, dexTxList.size());
+    }
+
+    @Test
+    public void test_parse_matches_default_parser() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.1.txt");
+        Dex894 expectedDex = new DefaultDex894Parser().parse(new String(dexBytes));
+
+        Dex894 dex = streamingParser.parse(new ByteArrayInputStream(dexBytes), dexTxList::add);
+        assertNotNull(dex);
+        assertNull(dex.getTransactions());
+
+        // DXS & DXE
+        assertEquals("9251230013", dex.getSenderCommId());
+        assertEquals("004010UCS", dex.getVersion());
+        assertEquals(Integer.valueOf(4010), dex.getVersionNumber());
+        assertEquals("1", dex.getTrailerTransmissionControlNumber());
+        assertEquals(Integer.valueOf(2), dex.getNumberOfTransactions());
+
+        // transactions
+        assertEquals(2, dexTxList.size());
+        for (int i = 0; i < dexTxList.size(); i++) {
+            Dex894TransactionSet expectedTx = expectedDex.getTransactions().get(i);
+            Dex894TransactionSet dexTx = dexTxList.get(i);
+            assertEquals(expectedTx.getHeaderControlNumber(), dexTx.getHeaderControlNumber());
+            assertEquals(expectedTx.getSupplierNumber(), dexTx.getSupplierNumber());
+            assertEquals(expectedTx.getActualNumberOfSegments(), dexTx.getActualNumberOfSegments());
+            assertEquals(expectedTx.getExpectedNumberOfSegments(), dexTx.getExpectedNumberOfSegments());
+            assertEquals(expectedTx.getIntegrityCheckValue(), dexTx.getIntegrityCheckValue());
+            assertEquals(expectedTx.getTransactionData(), dexTx.getTransactionData());
+            assertEquals(expectedTx.getItems().size(), dexTx.getItems().size());
+        }
+    }
+
+    @Test
+    public void test_parse_input_stream_utf8() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.1.txt");
+        String sourceData = new String(dexBytes, StandardCharsets.UTF_8).replace("9251230013", "925123001\u00e9");
+
+        Dex894 dex = streamingParser.parse(new ByteArrayInputStream(sourceData.getBytes(StandardCharsets.UTF_8)), dexTxList::add);
+        assertNotNull(dex);
+        assertEquals("925123001\u00e9", dex.getSenderCommId());
+    }
+
+    @Test
+    public void test_parse_header_before_transactions() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.2.txt");
+        List<String> events = new ArrayList<>();
+
+        Dex894 dex = streamingParser.parse(new StringReader(new String(dexBytes)),
+            header -> events.add("header:" + header.getHeaderTransmissionControlNumber()),
+            dexTx -> events.add("tx:" + dexTx.getHeaderControlNumber() + ":" + dexTx.getItems().size()));
+
+        assertNotNull(dex);
+        assertEquals(2, events.size());
+        assertEquals("header:1", events.get(0));
+        assertEquals("tx:148303793:19", events.get(1));
+    }
+
+    @Test
+    public void test_parse_generated_crc_without_transaction_data() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.2.txt");
+        DefaultDex894Parser segmentParser = new DefaultDex894Parser();
+        segmentParser.setGenerateIntegrityCheck(true);
+        segmentParser.setRetainTransactionData(false);
+        streamingParser = new StreamingDex894Parser(segmentParser);
+
+        streamingParser.parse(new ByteArrayInputStream(dexBytes), dexTxList::add);
+        assertEquals(1, dexTxList.size());
+        assertNull(dexTxList.get(0).getTransactionData());
+        assertEquals(Integer.valueOf(0x45CD), dexTxList.get(0).getComputedIntegrityCheck());
+    }
+
+    @Test
+    public void test_parse_crlf_and_blank_lines() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.1.txt");
+        String sourceData = new String(dexBytes).replace("\n", "\r\n") + "\r\n\r\n";
+
+        Dex894 dex = streamingParser.parse(new StringReader(sourceData), dexTxList::add);
+        assertNotNull(dex);
+        assertEquals(2, dexTxList.size());
+        assertTrue(dexTxList.get(1).getTransactionData().endsWith("G86*C91456300976\r\n"));
+    }
+
+    @Test
+    public void test_parse_missing_dxe() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.missing.dxe.txt");
+        X12ParserException e = assertThrows(X12ParserException.class,
+            () -> streamingParser.parse(new ByteArrayInputStream(dexBytes), dexTxList::add));
+        assertEquals("invalid envelope", e.getMessage());
+        // the complete transactions were still processed
+        assertEquals(2, dexTxList.size());
+    }
+
+    @Test
+    public void test_parse_missing_dxs() {
+        String sourceData = "ST*894*0001\nSE*2*0001\nDXE*1*1\n";
+        X12ParserException e = assertThrows(X12ParserException.class,
+            () -> streamingParser.parse(new StringReader(sourceData), dexTxList::add));
+        assertEquals("invalid envelope", e.getMessage());
+    }
+
+    @Test
+    public void test_parse_mismatched_st() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.mismatched.st.txt");
+        assertThrows(X12ParserException.class, () -> streamingParser.parse(new ByteArrayInputStream(dexBytes), dexTxList::add));
+    }
+
+    @Test
+    public void test_parse_invalid_segments() throws IOException {
+        byte[] dexBytes = X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/dex.sample.invalid.segments.txt");
+        assertThrows(X12ParserException.class, () -> streamingParser.parse(new ByteArrayInputStream(dexBytes), dexTxList::add));
+    }
+
+    @Test
+    public void test_parse_truncated_transaction() {
+        String sourceData = "DXS*9251230013*DX*004010UCS*1*9254850000\nST*894*0001\nG82*D*0001\nSE*2*0001\nDXE*1*1\n";
+        X12ParserException e = assertThrows(X12ParserException.class,
+            () -> streamingParser.parse(new StringReader(sourceData), dexTxList::add));
+        assertEquals("Expected start of DEX transaction loop", e.getMessage());
+    }
+}
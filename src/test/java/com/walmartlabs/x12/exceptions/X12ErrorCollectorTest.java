@@ -0,0 +1,94 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.exceptions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class X12ErrorCollectorTest {
+
+    @Test
+    public void test_empty() {
+        X12ErrorCollector errorCollector = new X12ErrorCollector();
+        assertFalse(errorCollector.hasErrors());
+        assertFalse(errorCollector.isFull());
+        assertEquals(0, errorCollector.size());
+        assertNotNull(errorCollector.getErrors());
+        assertEquals(0, errorCollector.getErrors().size());
+    }
+
+    @Test
+    public void test_add_null_ignored() {
+        X12ErrorCollector errorCollector = new X12ErrorCollector();
+        assertFalse(errorCollector.add(null));
+        assertFalse(errorCollector.hasErrors());
+    }
+
+    @Test
+    public void test_add_keeps_order() {
+        X12ErrorCollector errorCollector = new X12ErrorCollector();
+        assertTrue(errorCollector.add(new X12ErrorDetail("ST", "ST01", "one")));
+        assertTrue(errorCollector.add("SE", "SE01", () -> "two"));
+        errorCollector.addAll(Arrays.asList(new X12ErrorDetail("G82", "G8202", "three"), null));
+
+        List<X12ErrorDetail> errors = new ArrayList<>(errorCollector.getErrors());
+        assertEquals(3, errors.size());
+        assertEquals("one", errors.get(0).getIssueText());
+        assertEquals("two", errors.get(1).getIssueText());
+        assertEquals("SE01", errors.get(1).getElementId());
+        assertEquals("three", errors.get(2).getIssueText());
+    }
+
+    @Test
+    public void test_max_errors() {
+        X12ErrorCollector errorCollector = new X12ErrorCollector(2);
+        errorCollector.add(new X12ErrorDetail("ST", "ST01", "one"));
+        assertFalse(errorCollector.isFull());
+        errorCollector.add(new X12ErrorDetail("ST", "ST02", "two"));
+        assertTrue(errorCollector.isFull());
+
+        assertFalse(errorCollector.add(new X12ErrorDetail("ST", "ST03", "three")));
+        assertEquals(2, errorCollector.size());
+    }
+
+    @Test
+    public void test_fail_fast_does_not_format_message() {
+        X12ErrorCollector errorCollector = X12ErrorCollector.failFast();
+        errorCollector.add(new X12ErrorDetail("ST", "ST01", "one"));
+
+        boolean added = errorCollector.add("ST", "ST02", () -> {
+            throw new IllegalStateException("should not be formatted");
+        });
+        assertFalse(added);
+        assertEquals(1, errorCollector.size());
+        assertEquals("one", errorCollector.getErrors().iterator().next().getIssueText());
+    }
+
+    @Test
+    public void test_invalid_max_errors() {
+        assertThrows(IllegalArgumentException.class, () -> new X12ErrorCollector(0));
+    }
+}
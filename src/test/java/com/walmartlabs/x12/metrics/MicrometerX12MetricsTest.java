@@ -0,0 +1,149 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MicrometerX12MetricsTest {
+
+    private MeterRegistry registry;
+    private MicrometerX12Metrics metrics;
+
+    @BeforeEach
+    public void init() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MicrometerX12Metrics(registry);
+    }
+
+    @Test
+    public void test_null_registry() {
+        assertThrows(IllegalArgumentException.class, () -> new MicrometerX12Metrics(null));
+    }
+
+    @Test
+    public void test_isEnabled() {
+        assertTrue(metrics.isEnabled());
+    }
+
+    @Test
+    public void test_recordTokenized() {
+        metrics.recordTokenized(100, 3);
+        metrics.recordTokenized(50, 2);
+        assertEquals(150.0, registry.get(MicrometerX12Metrics.TOKENIZED_BYTES).counter().count());
+        assertEquals(5.0, registry.get(MicrometerX12Metrics.TOKENIZED_SEGMENTS).counter().count());
+    }
+
+    @Test
+    public void test_recordTransactionSet() {
+        metrics.recordTransactionSet("856");
+        metrics.recordTransactionSet("856");
+        metrics.recordTransactionSet("850");
+        metrics.recordTransactionSet(null);
+
+        assertEquals(2.0, registry.get(MicrometerX12Metrics.TRANSACTIONS)
+            .tag(MicrometerX12Metrics.TAG_TYPE, "856").counter().count());
+        assertEquals(1.0, registry.get(MicrometerX12Metrics.TRANSACTIONS)
+            .tag(MicrometerX12Metrics.TAG_TYPE, "850").counter().count());
+        assertEquals(1.0, registry.get(MicrometerX12Metrics.TRANSACTIONS)
+            .tag(MicrometerX12Metrics.TAG_TYPE, "UNKNOWN").counter().count());
+    }
+
+    @Test
+    public void test_recordPhase() {
+        metrics.recordPhase(X12Phase.TOKENIZE, 1_000_000L);
+        metrics.recordPhase(X12Phase.TOKENIZE, 2_000_000L);
+        metrics.recordPhase(X12Phase.VALIDATE, 5_000_000L);
+
+        assertEquals(2, registry.get(MicrometerX12Metrics.PHASE)
+            .tag(MicrometerX12Metrics.TAG_PHASE, "TOKENIZE").timer().count());
+        assertEquals(3.0, registry.get(MicrometerX12Metrics.PHASE)
+            .tag(MicrometerX12Metrics.TAG_PHASE, "TOKENIZE").timer().totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1, registry.get(MicrometerX12Metrics.PHASE)
+            .tag(MicrometerX12Metrics.TAG_PHASE, "VALIDATE").timer().count());
+        assertEquals(0, registry.get(MicrometerX12Metrics.PHASE)
+            .tag(MicrometerX12Metrics.TAG_PHASE, "ENVELOPE").timer().count());
+    }
+
+    @Test
+    public void test_recordLoops() {
+        metrics.recordLoops("856", 4);
+        metrics.recordLoops("856", 6);
+
+        assertEquals(2, registry.get(MicrometerX12Metrics.LOOPS)
+            .tag(MicrometerX12Metrics.TAG_TYPE, "856").summary().count());
+        assertEquals(10.0, registry.get(MicrometerX12Metrics.LOOPS)
+            .tag(MicrometerX12Metrics.TAG_TYPE, "856").summary().totalAmount());
+    }
+
+    @Test
+    public void test_recordError() {
+        metrics.recordError("SE");
+        metrics.recordError("SE");
+        metrics.recordError("");
+
+        assertEquals(2.0, registry.get(MicrometerX12Metrics.ERRORS)
+            .tag(MicrometerX12Metrics.TAG_SEGMENT, "SE").counter().count());
+        assertEquals(1.0, registry.get(MicrometerX12Metrics.ERRORS)
+            .tag(MicrometerX12Metrics.TAG_SEGMENT, "UNKNOWN").counter().count());
+    }
+
+    @Test
+    public void test_garbage_tag_values() {
+        metrics.recordTransactionSet("856x");
+        metrics.recordTransactionSet("ab");
+        metrics.recordTransactionSet("<script>");
+        metrics.recordLoops("8 5", 2);
+        metrics.recordError("S");
+        metrics.recordError("SE\u0000");
+
+        assertEquals(3.0, registry.get(MicrometerX12Metrics.TRANSACTIONS)
+            .tag(MicrometerX12Metrics.TAG_TYPE, "OTHER").counter().count());
+        assertEquals(1, registry.get(MicrometerX12Metrics.LOOPS)
+            .tag(MicrometerX12Metrics.TAG_TYPE, "OTHER").summary().count());
+        assertEquals(2.0, registry.get(MicrometerX12Metrics.ERRORS)
+            .tag(MicrometerX12Metrics.TAG_SEGMENT, "OTHER").counter().count());
+        assertEquals(1, registry.get(MicrometerX12Metrics.TRANSACTIONS).meters().size());
+        assertEquals(1, registry.get(MicrometerX12Metrics.LOOPS).meters().size());
+        assertEquals(1, registry.get(MicrometerX12Metrics.ERRORS).meters().size());
+    }
+
+    @Test
+    public void test_too_many_tag_values() {
+        int total = MicrometerX12Metrics.MAX_TAG_VALUES * 2;
+        for (int i = 0; i < total; i++) {
+            metrics.recordError(String.format("%03d", i));
+        }
+
+        assertEquals(MicrometerX12Metrics.MAX_TAG_VALUES + 1, registry.get(MicrometerX12Metrics.ERRORS).meters().size());
+        assertEquals(MicrometerX12Metrics.MAX_TAG_VALUES, registry.get(MicrometerX12Metrics.ERRORS)
+            .tag(MicrometerX12Metrics.TAG_SEGMENT, "OTHER").counter().count(), 0.0);
+
+        // a tag value already in use is still counted
+        metrics.recordError("000");
+        assertEquals(2.0, registry.get(MicrometerX12Metrics.ERRORS)
+            .tag(MicrometerX12Metrics.TAG_SEGMENT, "000").counter().count());
+    }
+}
@@ -0,0 +1,97 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.metrics;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * keeps the measurements so a test can check them
+ */
+public class RecordingX12Metrics implements X12Metrics {
+
+    private long tokenizedBytes;
+    private int tokenizedSegments;
+    private final Map<String, Integer> transactionSets = new LinkedHashMap<>();
+    private final Map<X12Phase, Integer> phases = new EnumMap<>(X12Phase.class);
+    private final Map<String, List<Integer>> loops = new LinkedHashMap<>();
+    private final List<String> errors = new ArrayList<>();
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public synchronized void recordTokenized(long bytes, int segments) {
+        tokenizedBytes += bytes;
+        tokenizedSegments += segments;
+    }
+
+    @Override
+    public synchronized void recordTransactionSet(String transactionSetCode) {
+        transactionSets.merge(transactionSetCode, 1, Integer::sum);
+    }
+
+    @Override
+    public synchronized void recordPhase(X12Phase phase, long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("negative time for " + phase);
+        }
+        phases.merge(phase, 1, Integer::sum);
+    }
+
+    @Override
+    public synchronized void recordLoops(String transactionSetCode, int loopCount) {
+        loops.computeIfAbsent(transactionSetCode, code -> new ArrayList<>()).add(loopCount);
+    }
+
+    @Override
+    public synchronized void recordError(String segmentId) {
+        errors.add(segmentId);
+    }
+
+    public synchronized long getTokenizedBytes() {
+        return tokenizedBytes;
+    }
+
+    public synchronized int getTokenizedSegments() {
+        return tokenizedSegments;
+    }
+
+    public synchronized Map<String, Integer> getTransactionSets() {
+        return transactionSets;
+    }
+
+    /**
+     * @return the number of times the phase was recorded
+     */
+    public synchronized int getPhaseCount(X12Phase phase) {
+        return phases.getOrDefault(phase, 0);
+    }
+
+    public synchronized Map<String, List<Integer>> getLoops() {
+        return loops;
+    }
+
+    public synchronized List<String> getErrors() {
+        return errors;
+    }
+}
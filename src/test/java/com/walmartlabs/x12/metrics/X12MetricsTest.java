@@ -0,0 +1,61 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.metrics;
+
+import com.walmartlabs.x12.exceptions.X12ErrorDetail;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class X12MetricsTest {
+
+    @Test
+    public void test_noOp() {
+        assertFalse(X12Metrics.NO_OP.isEnabled());
+        assertSame(NoOpX12Metrics.INSTANCE, X12Metrics.NO_OP);
+
+        // nothing happens
+        X12Metrics.NO_OP.recordTokenized(100, 2);
+        X12Metrics.NO_OP.recordTransactionSet(null);
+        X12Metrics.NO_OP.recordPhase(X12Phase.TOKENIZE, 10);
+        X12Metrics.NO_OP.recordLoops("856", 4);
+        X12Metrics.NO_OP.recordError(null);
+        X12Metrics.NO_OP.recordErrors(null);
+    }
+
+    @Test
+    public void test_recordErrors_null() {
+        RecordingX12Metrics metrics = new RecordingX12Metrics();
+        metrics.recordErrors(null);
+        assertTrue(metrics.getErrors().isEmpty());
+    }
+
+    @Test
+    public void test_recordErrors() {
+        RecordingX12Metrics metrics = new RecordingX12Metrics();
+        metrics.recordErrors(Arrays.asList(
+            new X12ErrorDetail("G82", "G8202", "bad supplier"),
+            null,
+            new X12ErrorDetail("SE", "SE01", "bad count")));
+        assertEquals(Arrays.asList("G82", null, "SE"), metrics.getErrors());
+    }
+}
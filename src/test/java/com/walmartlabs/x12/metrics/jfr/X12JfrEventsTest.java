@@ -0,0 +1,144 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.metrics.jfr;
+
+import com.walmartlabs.x12.dex.dx894.DefaultDex894Parser;
+import com.walmartlabs.x12.dex.dx894.DefaultDex894Validator;
+import com.walmartlabs.x12.dex.dx894.Dex894;
+import com.walmartlabs.x12.standard.StandardX12Parser;
+import com.walmartlabs.x12.standard.txset.asn856.DefaultAsn856TransactionSetParser;
+import com.walmartlabs.x12.testing.util.X12DocumentTestData;
+import com.walmartlabs.x12.util.split.X12TransactionSplitter;
+import jdk.jfr.Enabled;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class X12JfrEventsTest {
+
+    private static final List<String> EVENT_NAMES = Arrays.asList(
+        X12TokenizeEvent.NAME,
+        X12TransactionParseEvent.NAME,
+        X12LoopOrganizeEvent.NAME,
+        X12ValidateEvent.NAME,
+        X12SplitEvent.NAME);
+
+    @Test
+    public void test_disabled_by_default() throws IOException {
+        for (Class<?> eventClass : Arrays.asList(X12TokenizeEvent.class, X12TransactionParseEvent.class,
+            X12LoopOrganizeEvent.class, X12ValidateEvent.class, X12SplitEvent.class)) {
+            assertFalse(eventClass.getAnnotation(Enabled.class).value(), eventClass.getName());
+        }
+
+        List<RecordedEvent> events = this.record(false, this::parseAsn);
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void test_standard_parser_events() throws IOException {
+        List<RecordedEvent> events = this.record(true, this::parseAsn);
+
+        List<RecordedEvent> tokenizeEvents = this.eventsNamed(events, X12TokenizeEvent.NAME);
+        assertEquals(1, tokenizeEvents.size());
+        assertEquals(35, tokenizeEvents.get(0).getInt("segments"));
+
+        List<RecordedEvent> transactionEvents = this.eventsNamed(events, X12TransactionParseEvent.NAME);
+        assertEquals(1, transactionEvents.size());
+        assertEquals("856", transactionEvents.get(0).getString("transactionSetCode"));
+        assertEquals("0008", transactionEvents.get(0).getString("controlNumber"));
+        assertEquals(31, transactionEvents.get(0).getInt("segmentCount"));
+
+        List<RecordedEvent> loopEvents = this.eventsNamed(events, X12LoopOrganizeEvent.NAME);
+        assertEquals(1, loopEvents.size());
+        assertEquals(1, loopEvents.get(0).getInt("topLevelLoopCount"));
+        assertEquals(0, loopEvents.get(0).getInt("errorCount"));
+    }
+
+    @Test
+    public void test_split_event() throws IOException {
+        List<RecordedEvent> events = this.record(true, () -> {
+            String sourceData = X12DocumentTestData.readFile("src/test/resources/x12.base.txt");
+            new X12TransactionSplitter().split(sourceData);
+        });
+
+        List<RecordedEvent> splitEvents = this.eventsNamed(events, X12SplitEvent.NAME);
+        assertEquals(1, splitEvents.size());
+        assertEquals(18, splitEvents.get(0).getInt("segmentCount"));
+        assertEquals(4, splitEvents.get(0).getInt("transactionCount"));
+    }
+
+    @Test
+    public void test_validate_event() throws IOException {
+        String sourceData = new String(X12DocumentTestData.readFileAsBytes(
+            "src/test/resources/dex/894/dex.sample.wrong.transaction.count.txt"));
+        Dex894 dex = new DefaultDex894Parser().parse(sourceData);
+
+        List<RecordedEvent> events = this.record(true, () -> new DefaultDex894Validator().validate(dex, true));
+
+        List<RecordedEvent> validateEvents = this.eventsNamed(events, X12ValidateEvent.NAME);
+        assertEquals(1, validateEvents.size());
+        assertEquals(DefaultDex894Validator.class.getName(), validateEvents.get(0).getString("validator"));
+        assertEquals(2, validateEvents.get(0).getInt("transactionCount"));
+        assertTrue(validateEvents.get(0).getInt("errorCount") > 0);
+    }
+
+    private void parseAsn() {
+        StandardX12Parser parser = new StandardX12Parser();
+        parser.registerTransactionSetParser(new DefaultAsn856TransactionSetParser());
+        parser.parse(X12DocumentTestData.readFile("src/test/resources/asn856/asn856.txt"));
+    }
+
+    private List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+        return events.stream()
+            .filter(event -> name.equals(event.getEventType().getName()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * record the X12 events written while the work is done
+     */
+    private List<RecordedEvent> record(boolean enableEvents, Runnable work) throws IOException {
+        Path recordingFile = Files.createTempFile("x12-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            if (enableEvents) {
+                EVENT_NAMES.forEach(name -> recording.enable(name).withoutThreshold());
+            }
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(recordingFile);
+
+            return RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(event -> EVENT_NAMES.contains(event.getEventType().getName()))
+                .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+}
@@ -19,11 +19,14 @@ package com.walmartlabs.x12.rule;
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.exceptions.X12ParserException;
 import com.walmartlabs.x12.util.SourceToSegmentUtil;
+import com.walmartlabs.x12.util.dedup.DocumentFingerprintStore;
+import com.walmartlabs.x12.util.dedup.InMemoryDocumentFingerprintStore;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class UniqueDocumentX12RuleTest {
@@ -309,4 +312,79 @@ public class UniqueDocumentX12RuleTest {
         });
     }
 
+    @Test
+    public void test_previously_received_documents() {
+        DocumentFingerprintStore store = new InMemoryDocumentFingerprintStore(100);
+        rule = new UniqueDocumentX12Rule("BSN", 2, 3, store);
+
+        List<X12Segment> segmentList = this.asnFile("ABCDEFGHIJKLMNO", "804190", "804191");
+        rule.verify(segmentList);
+        // verifying does not change the store
+        assertEquals(0, store.size());
+        rule.verify(segmentList);
+
+        assertEquals(true, rule.recordAccepted(segmentList));
+        assertEquals(2, store.size());
+        assertEquals(true, store.contains("ABCDEFGHIJKLMNO", "804190", "20201022"));
+
+        // the same ASN in a later file
+        List<X12Segment> resentList = this.asnFile("ABCDEFGHIJKLMNO", "804192", "804191");
+        X12ParserException e = assertThrows(X12ParserException.class, () -> rule.verify(resentList));
+        assertEquals("document number previously received", e.getErrorDetail().getIssueText());
+
+        // nothing from a file w/ a previously received document is kept
+        assertEquals(false, rule.recordAccepted(resentList));
+        assertEquals(2, store.size());
+        assertEquals(false, store.contains("ABCDEFGHIJKLMNO", "804192", "20201022"));
+
+        // the same document numbers from another sender
+        List<X12Segment> otherSenderList = this.asnFile("OTHERSENDER", "804190", "804191");
+        rule.verify(otherSenderList);
+        assertEquals(true, rule.recordAccepted(otherSenderList));
+        assertEquals(4, store.size());
+    }
+
+    @Test
+    public void test_recordAccepted_without_store() {
+        rule = new UniqueDocumentX12Rule("BSN", 2, 3);
+        assertEquals(true, rule.recordAccepted(this.asnFile("ABCDEFGHIJKLMNO", "804190", "804191")));
+    }
+
+    @Test
+    public void test_duplicates_in_file_with_store() {
+        DocumentFingerprintStore store = new InMemoryDocumentFingerprintStore(100);
+        rule = new UniqueDocumentX12Rule("BSN", 2, 3, store);
+
+        List<X12Segment> segmentList = this.asnFile("ABCDEFGHIJKLMNO", "804190", "804190");
+        X12ParserException e = assertThrows(X12ParserException.class, () -> rule.verify(segmentList));
+        assertEquals("duplicate document numbers", e.getErrorDetail().getIssueText());
+        assertEquals(0, store.size());
+    }
+
+    private List<X12Segment> asnFile(String sender, String docNumber1, String docNumber2) {
+        String sourceData = new StringBuilder()
+            .append("ISA*01*0000000000*01*0000000000*ZZ*").append(String.format("%-15s", sender))
+            .append("*ZZ*123456789012345*101127*1719*U*00400*000000049*0*P*>")
+            .append("\r\n")
+            .append("GS*SH*4405197800*999999999*20111206*1045*99*X*004060")
+            .append("\r\n")
+            .append("ST*856*0001")
+            .append("\r\n")
+            .append("BSN*00*").append(docNumber1).append("*20201022")
+            .append("\r\n")
+            .append("SE*1*0001")
+            .append("\r\n")
+            .append("ST*856*0002")
+            .append("\r\n")
+            .append("BSN*00*").append(docNumber2).append("*20201022")
+            .append("\r\n")
+            .append("SE*1*0002")
+            .append("\r\n")
+            .append("GE*2*99")
+            .append("\r\n")
+            .append("IEA*1*000000049")
+            .toString();
+        return SourceToSegmentUtil.splitSourceDataIntoSegments(sourceData);
+    }
+
 }
@@ -0,0 +1,140 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.rule;
+
+import com.walmartlabs.x12.X12Segment;
+import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.util.SourceToSegmentUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class X12RulePassTest {
+
+    private List<X12Segment> segmentList;
+    private List<String> events;
+
+    @BeforeEach
+    public void init() {
+        String sourceData = new StringBuilder()
+            .append("ISA*01*0000000000*01*0000000000*ZZ*ABCDEFGHIJKLMNO*ZZ*123456789012345*101127*1719*U*00400*000000049*0*P*>")
+            .append("\r\n")
+            .append("GS*SH*4405197800*999999999*20111206*1045*99*X*004060")
+            .append("\r\n")
+            .append("ST*856*0001")
+            .append("\r\n")
+            .append("BSN*00*804190*20201022")
+            .append("\r\n")
+            .append("SE*1*0001")
+            .append("\r\n")
+            .append("GE*1*99")
+            .append("\r\n")
+            .append("IEA*1*000000049")
+            .toString();
+        segmentList = SourceToSegmentUtil.splitSourceDataIntoSegments(sourceData);
+        events = new ArrayList<>();
+    }
+
+    @Test
+    public void test_no_rules() {
+        X12RulePass rulePass = new X12RulePass(null, segmentList);
+        assertTrue(rulePass.isEmpty());
+        segmentList.forEach(rulePass::onSegment);
+        rulePass.onEnd();
+    }
+
+    @Test
+    public void test_streaming_and_list_rules() {
+        X12Rule listRule = segments -> events.add("list:" + segments.size());
+        X12RulePass rulePass = new X12RulePass(Arrays.asList(this.recordingRule("one", null), null, listRule), segmentList);
+        segmentList.forEach(rulePass::onSegment);
+        assertEquals(8, events.size());
+        assertEquals("one:GE", events.get(5));
+        assertEquals("one:groupEnd", events.get(6));
+
+        rulePass.onEnd();
+        assertEquals("one:end", events.get(8));
+        assertEquals("list:7", events.get(9));
+    }
+
+    @Test
+    public void test_first_failing_rule_is_reported() {
+        X12ParserException endFailure = new X12ParserException("end");
+        X12ParserException bsnFailure = new X12ParserException("BSN");
+
+        X12Rule failAtEnd = segments -> {
+            events.add("failAtEnd");
+            throw endFailure;
+        };
+        X12Rule lastRule = segments -> events.add("lastRule");
+
+        X12RulePass rulePass = new X12RulePass(
+            Arrays.asList(this.recordingRule("one", null), failAtEnd, this.recordingRule("bsn", bsnFailure), lastRule), segmentList);
+        segmentList.forEach(rulePass::onSegment);
+
+        // the failing rule does not see any more segments
+        assertEquals(8 + 4, events.size());
+
+        X12ParserException thrown = assertThrows(X12ParserException.class, () -> rulePass.onEnd());
+        assertSame(endFailure, thrown);
+        assertTrue(events.contains("one:end"));
+        assertTrue(!events.contains("bsn:end"));
+        assertTrue(!events.contains("lastRule"));
+    }
+
+    @Test
+    public void test_streaming_rule_verify() {
+        X12StreamingRule rule = this.recordingRule("one", null);
+        rule.verify(segmentList);
+        assertEquals(9, events.size());
+        assertThrows(IllegalArgumentException.class, () -> rule.verify(null));
+    }
+
+    /**
+     * records each call and optionally
+     * fails when it sees the BSN segment
+     */
+    private X12StreamingRule recordingRule(String name, RuntimeException bsnFailure) {
+        return () -> new X12RuleVerifier() {
+            @Override
+            public void onSegment(X12Segment segment) {
+                events.add(name + ":" + segment.getIdentifier());
+                if (bsnFailure != null && "BSN".equals(segment.getIdentifier())) {
+                    throw bsnFailure;
+                }
+            }
+
+            @Override
+            public void onGroupEnd(X12Segment groupTrailer) {
+                events.add(name + ":groupEnd");
+            }
+
+            @Override
+            public void onEnd() {
+                events.add(name + ":end");
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard;
+
+import com.walmartlabs.x12.X12Segment;
+import com.walmartlabs.x12.testing.util.X12DocumentTestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class StandardX12ParserElementValueCacheTest {
+
+    private StandardX12Parser standardParser;
+    private List<X12Segment> transactionSetSegments;
+
+    @BeforeEach
+    public void init() {
+        standardParser = new StandardX12Parser();
+        transactionSetSegments = new ArrayList<>();
+        standardParser.registerTransactionSetParser((transactionSegments, x12Group) -> {
+            transactionSetSegments.addAll(transactionSegments);
+            return null;
+        });
+    }
+
+    @Test
+    public void test_default() {
+        assertEquals(0, standardParser.getElementValueCacheMaxLength());
+        standardParser.setElementValueCacheMaxLength(-5);
+        assertEquals(0, standardParser.getElementValueCacheMaxLength());
+    }
+
+    @Test
+    public void test_parse_values_shared() {
+        standardParser.setElementValueCacheMaxLength(16);
+        standardParser.parse(X12DocumentTestData.readFile("src/test/resources/asn856/asn856.txt"));
+        assertEquals(31, transactionSetSegments.size());
+
+        // LIN*1*VP*87787D*UP*999999310145 and LIN*2*VP*99887D*UP*999999311746
+        X12Segment firstLin = transactionSetSegments.get(20);
+        X12Segment secondLin = transactionSetSegments.get(25);
+        assertEquals("LIN", firstLin.getIdentifier());
+        assertEquals("LIN", secondLin.getIdentifier());
+        assertSame(firstLin.getElement(2), secondLin.getElement(2));
+        assertSame(firstLin.getElement(4), secondLin.getElement(4));
+
+        // SN1*1*24*EA and PO4*1*24*EA
+        X12Segment sn1 = transactionSetSegments.get(21);
+        X12Segment po4 = transactionSetSegments.get(22);
+        assertEquals("24", sn1.getElement(2));
+        assertSame(sn1.getElement(2), po4.getElement(2));
+        assertSame(sn1.getElement(3), po4.getElement(3));
+    }
+
+    @Test
+    public void test_parse_values_not_shared() {
+        standardParser.parse(X12DocumentTestData.readFile("src/test/resources/asn856/asn856.txt"));
+        assertEquals(31, transactionSetSegments.size());
+
+        X12Segment sn1 = transactionSetSegments.get(21);
+        X12Segment po4 = transactionSetSegments.get(22);
+        assertEquals(sn1.getElement(3), po4.getElement(3));
+        assertNotSame(sn1.getElement(3), po4.getElement(3));
+    }
+}
@@ -0,0 +1,112 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard;
+
+import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.metrics.RecordingX12Metrics;
+import com.walmartlabs.x12.metrics.X12Metrics;
+import com.walmartlabs.x12.metrics.X12Phase;
+import com.walmartlabs.x12.standard.txset.asn856.DefaultAsn856TransactionSetParser;
+import com.walmartlabs.x12.standard.txset.generic.GenericTransactionSetParser;
+import com.walmartlabs.x12.testing.util.AssertBaseDocumentUtil;
+import com.walmartlabs.x12.testing.util.X12DocumentTestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StandardX12ParserMetricsTest {
+
+    private StandardX12Parser standardParser;
+    private RecordingX12Metrics metrics;
+
+    @BeforeEach
+    public void init() {
+        standardParser = new StandardX12Parser();
+        metrics = new RecordingX12Metrics();
+    }
+
+    @Test
+    public void test_default_metrics() {
+        assertSame(X12Metrics.NO_OP, standardParser.getMetrics());
+        standardParser.setMetrics(null);
+        assertSame(X12Metrics.NO_OP, standardParser.getMetrics());
+    }
+
+    @Test
+    public void test_parse_no_transaction_set_parser() {
+        standardParser.setMetrics(metrics);
+        String sourceData = X12DocumentTestData.readFile(AssertBaseDocumentUtil.X12_BASE_DOCUMENT_FILE);
+        standardParser.parse(sourceData);
+
+        assertEquals(sourceData.length(), metrics.getTokenizedBytes());
+        assertEquals(18, metrics.getTokenizedSegments());
+        assertEquals(Integer.valueOf(2), metrics.getTransactionSets().get("AAA"));
+        assertEquals(Integer.valueOf(1), metrics.getTransactionSets().get("BBB"));
+        assertEquals(Integer.valueOf(1), metrics.getTransactionSets().get("YYZ"));
+        assertEquals(1, metrics.getPhaseCount(X12Phase.TOKENIZE));
+        assertEquals(1, metrics.getPhaseCount(X12Phase.ENVELOPE));
+        assertEquals(0, metrics.getPhaseCount(X12Phase.TRANSACTION_SET_PARSE));
+        assertTrue(metrics.getLoops().isEmpty());
+        assertTrue(metrics.getErrors().isEmpty());
+    }
+
+    @Test
+    public void test_parse_metrics_set_after_register() {
+        standardParser.registerTransactionSetParser(new DefaultAsn856TransactionSetParser());
+        standardParser.setMetrics(metrics);
+        this.assertAsnMetrics();
+    }
+
+    @Test
+    public void test_parse_metrics_set_before_register() {
+        standardParser.setMetrics(metrics);
+        standardParser.registerTransactionSetParser(new GenericTransactionSetParser());
+        standardParser.registerTransactionSetParser(new DefaultAsn856TransactionSetParser());
+        this.assertAsnMetrics();
+    }
+
+    @Test
+    public void test_parse_invalid_envelope() {
+        standardParser.setMetrics(metrics);
+        String sourceData = X12DocumentTestData.readFile("src/test/resources/x12.missing.ISA.txt");
+        assertThrows(X12ParserException.class, () -> standardParser.parse(sourceData));
+
+        assertEquals(1, metrics.getErrors().size());
+        assertEquals(1, metrics.getPhaseCount(X12Phase.TOKENIZE));
+        assertEquals(0, metrics.getPhaseCount(X12Phase.ENVELOPE));
+    }
+
+    private void assertAsnMetrics() {
+        String sourceData = X12DocumentTestData.readFile("src/test/resources/asn856/asn856.txt");
+        standardParser.parse(sourceData);
+
+        assertEquals(Collections.singletonMap("856", 1), metrics.getTransactionSets());
+        assertEquals(1, metrics.getPhaseCount(X12Phase.TRANSACTION_SET_PARSE));
+        assertEquals(1, metrics.getPhaseCount(X12Phase.ENVELOPE));
+
+        List<Integer> loops = metrics.getLoops().get("856");
+        assertEquals(Collections.singletonList(4), loops);
+        assertTrue(metrics.getErrors().isEmpty());
+    }
+}
@@ -0,0 +1,296 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.ack;
+
+import com.walmartlabs.x12.exceptions.X12ErrorDetail;
+import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.standard.InterchangeControlEnvelope;
+import com.walmartlabs.x12.standard.StandardX12Document;
+import com.walmartlabs.x12.standard.StandardX12Parser;
+import com.walmartlabs.x12.standard.X12Group;
+import com.walmartlabs.x12.standard.txset.generic.GenericTransactionSet;
+import com.walmartlabs.x12.standard.txset.generic.GenericTransactionSetParser;
+import com.walmartlabs.x12.util.X12ParsingUtil;
+import com.walmartlabs.x12.writer.X12Delimiters;
+import com.walmartlabs.x12.writer.X12Writer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FunctionalAcknowledgmentGeneratorTest {
+
+    private static final String ACK_ISA =
+        "ISA*00*          *00*          *ZZ*RECEIVER       *ZZ*SENDER         *210408*1200*U*00401*000000001*0*P*>\n";
+
+    private StandardX12Parser standardParser;
+
+    @BeforeEach
+    public void init() {
+        standardParser = new StandardX12Parser();
+        standardParser.registerTransactionSetParser(new GenericTransactionSetParser());
+    }
+
+    @Test
+    public void test_acknowledge_documents() throws IOException {
+        StandardX12Document firstDoc = standardParser.parse(this.inboundDocument("1001", "0001", "0002"));
+        StandardX12Document secondDoc = standardParser.parse(this.inboundDocument("2002", "0003"));
+
+        StringWriter out = new StringWriter();
+        FunctionalAcknowledgmentGenerator generator = this.generator(out, AcknowledgmentType.FA_997);
+        generator.startBatch(this.ackInterchange(), this.ackGroup());
+        generator.acknowledge(firstDoc);
+        generator.acknowledge(secondDoc, tx -> "0003".equals(tx.getHeaderControlNumber())
+            ? Arrays.asList(new X12ErrorDetail("BSN", "BSN02", "missing shipment id", null, 2), new X12ErrorDetail("XYZ", null, "unknown segment"))
+            : null);
+        generator.endBatch();
+
+        String expected = new StringBuilder(ACK_ISA)
+            .append("GS*FA*RECEIVER*SENDER*20210408*1200*1*X*004010\n")
+            .append("ST*997*0001\n")
+            .append("AK1*SH*1001\n")
+            .append("AK2*856*0001\n")
+            .append("AK5*A\n")
+            .append("AK2*856*0002\n")
+            .append("AK5*A\n")
+            .append("AK9*A*2*2*2\n")
+            .append("SE*8*0001\n")
+            .append("ST*997*0002\n")
+            .append("AK1*SH*2002\n")
+            .append("AK2*856*0003\n")
+            .append("AK3*BSN*2**8\n")
+            .append("AK4*2**7\n")
+            .append("AK5*R*5\n")
+            .append("AK9*R*1*1*0\n")
+            .append("SE*8*0002\n")
+            .append("GE*2*1\n")
+            .append("IEA*1*000000001\n")
+            .toString();
+        assertEquals(expected, out.toString());
+        assertEquals(3, generator.getNextControlNumber());
+    }
+
+    @Test
+    public void test_acknowledge_events_999() throws IOException {
+        StringWriter out = new StringWriter();
+        FunctionalAcknowledgmentGenerator generator = this.generator(out, AcknowledgmentType.FA_999);
+        generator.setNextControlNumber(42);
+        generator.startBatch(this.ackInterchange(), this.ackGroup());
+
+        generator.startGroupAcknowledgment("HC", "17", "005010X222A1");
+        generator.acknowledgeTransactionSet("837", "0001", "005010X222A1", Collections.emptyList());
+        generator.acknowledgeTransactionSet("837", "0002", "005010X222A1",
+            Collections.singletonList(new X12ErrorDetail("CLM", "CLM05", "invalid facility code", "99", 12)));
+        generator.acknowledgeTransactionSet("837", "0003", "005010X222A1", new X12ParserException("Invalid EDI X12 message"));
+        generator.endGroupAcknowledgment(4);
+
+        generator.endBatch();
+
+        String expected = new StringBuilder(ACK_ISA)
+            .append("GS*FA*RECEIVER*SENDER*20210408*1200*1*X*004010\n")
+            .append("ST*999*0042\n")
+            .append("AK1*HC*17*005010X222A1\n")
+            .append("AK2*837*0001*005010X222A1\n")
+            .append("IK5*A\n")
+            .append("AK2*837*0002*005010X222A1\n")
+            .append("IK3*CLM*12**8\n")
+            .append("IK4*5**7*99\n")
+            .append("IK5*R*5\n")
+            .append("AK2*837*0003*005010X222A1\n")
+            .append("IK5*R*5\n")
+            .append("AK9*P*4*3*1\n")
+            .append("SE*12*0042\n")
+            .append("GE*1*1\n")
+            .append("IEA*1*000000001\n")
+            .toString();
+        assertEquals(expected, out.toString());
+    }
+
+    @Test
+    public void test_acknowledge_segment_positions() throws IOException {
+        String sourceData = new StringBuilder()
+            .append("ISA*01*0000000000*01*0000000000*ZZ*ABC*ZZ*123456789012345*101127*1719*U*00400*000003438*0*P*>\n")
+            .append("GS*SH*0000000000*999999999*20210408*1045*3003*X*005010\n")
+            .append("ST*856*0001\n")
+            .append("BSN*00*0001\n")
+            .append("HL*1**S\n")
+            .append("HL*2*9*O\n")
+            .append("SE*5*0001\n")
+            .append("GE*1*3003\n")
+            .append("IEA*1*000003438")
+            .toString();
+        StandardX12Document x12Doc = standardParser.parse(sourceData);
+
+        StringWriter out = new StringWriter();
+        FunctionalAcknowledgmentGenerator generator = this.generator(out, AcknowledgmentType.FA_997);
+        generator.startBatch(this.ackInterchange(), this.ackGroup());
+        generator.acknowledge(x12Doc, tx -> {
+            List<X12ErrorDetail> errors = new ArrayList<>(((GenericTransactionSet) tx).getLoopingErrors());
+            errors.add(new X12ErrorDetail("SE", "SE01", "wrong segment count", "6"));
+            errors.add(new X12ErrorDetail("ST", null, "not supported"));
+            return errors;
+        });
+        generator.endBatch();
+
+        String expected = new StringBuilder(ACK_ISA)
+            .append("GS*FA*RECEIVER*SENDER*20210408*1200*1*X*004010\n")
+            .append("ST*997*0001\n")
+            .append("AK1*SH*3003\n")
+            .append("AK2*856*0001\n")
+            // the HL w/ the missing parent
+            .append("AK3*HL*4**7\n")
+            .append("AK3*SE*5**8\n")
+            .append("AK4*1**7*6\n")
+            .append("AK5*R*5\n")
+            .append("AK9*R*1*1*0\n")
+            .append("SE*9*0001\n")
+            .append("GE*1*1\n")
+            .append("IEA*1*000000001\n")
+            .toString();
+        assertEquals(expected, out.toString());
+    }
+
+    @Test
+    public void test_segmentSyntaxErrorCode() {
+        FunctionalAcknowledgmentGenerator generator = this.generator(new StringWriter(), AcknowledgmentType.FA_997);
+        assertEquals("8", generator.segmentSyntaxErrorCode(new X12ErrorDetail("BSN", "BSN02", "bad"), 2));
+        assertEquals("2", generator.segmentSyntaxErrorCode(X12ParsingUtil.generateUnexpectedSegmentDetail("HL", "XYZ"), -1));
+        assertEquals("7", generator.segmentSyntaxErrorCode(new X12ErrorDetail("HL", null, "HL segment is missing parent"), -1));
+        assertNull(generator.segmentSyntaxErrorCode(new X12ErrorDetail("G85", null, "CRC Integrity Check does not match"), -1));
+    }
+
+    @Test
+    public void test_segmentPosition() {
+        assertEquals(7, FunctionalAcknowledgmentGenerator.segmentPosition(new X12ErrorDetail("BSN", null, "bad", null, 7), 10));
+        assertEquals(1, FunctionalAcknowledgmentGenerator.segmentPosition(new X12ErrorDetail("ST", null, "bad"), 10));
+        assertEquals(10, FunctionalAcknowledgmentGenerator.segmentPosition(new X12ErrorDetail("SE", "SE01", "bad"), 10));
+        assertEquals(-1, FunctionalAcknowledgmentGenerator.segmentPosition(new X12ErrorDetail("SE", "SE01", "bad"), null));
+        assertEquals(-1, FunctionalAcknowledgmentGenerator.segmentPosition(new X12ErrorDetail("BSN", null, "bad"), 10));
+    }
+
+    @Test
+    public void test_reject_group() throws IOException {
+        X12Group inbound = new X12Group();
+        inbound.setFunctionalCodeId("SH");
+        inbound.setHeaderGroupControlNumber("55");
+        inbound.setNumberOfTransactions(3);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        X12Writer x12Writer = new X12Writer(out);
+        FunctionalAcknowledgmentGenerator generator = new FunctionalAcknowledgmentGenerator(x12Writer, AcknowledgmentType.FA_997);
+        generator.startGroupAcknowledgment("PO", "1", null);
+        generator.endGroupAcknowledgment(null);
+        generator.rejectGroup(inbound);
+        x12Writer.flush();
+
+        assertEquals("ST*997*0001~AK1*PO*1~AK9*R*0*0*0~SE*4*0001~ST*997*0002~AK1*SH*55~AK9*R*3*0*0~SE*4*0002~",
+            new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_misuse() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new FunctionalAcknowledgmentGenerator(null, AcknowledgmentType.FA_997));
+        assertThrows(IllegalArgumentException.class, () -> new FunctionalAcknowledgmentGenerator(new X12Writer(new StringWriter()), null));
+
+        FunctionalAcknowledgmentGenerator generator = this.generator(new StringWriter(), AcknowledgmentType.FA_997);
+        assertThrows(IllegalStateException.class, () -> generator.acknowledgeTransactionSet("856", "1", null, (List<X12ErrorDetail>) null));
+        assertThrows(IllegalStateException.class, () -> generator.endGroupAcknowledgment(0));
+        generator.startGroupAcknowledgment("SH", "1", null);
+        assertThrows(IllegalStateException.class, () -> generator.startGroupAcknowledgment("SH", "2", null));
+    }
+
+    @Test
+    public void test_elementPosition() {
+        assertEquals(1, FunctionalAcknowledgmentGenerator.elementPosition("SE", "SE01"));
+        assertEquals(12, FunctionalAcknowledgmentGenerator.elementPosition("G83", "G8312"));
+        assertEquals(-1, FunctionalAcknowledgmentGenerator.elementPosition("SE", "SE"));
+        assertEquals(-1, FunctionalAcknowledgmentGenerator.elementPosition("SE", "GE01"));
+        assertEquals(-1, FunctionalAcknowledgmentGenerator.elementPosition("SE", "SE0A"));
+        assertEquals(-1, FunctionalAcknowledgmentGenerator.elementPosition("SE", "SE00"));
+        assertEquals(-1, FunctionalAcknowledgmentGenerator.elementPosition(null, "SE01"));
+        assertEquals(-1, FunctionalAcknowledgmentGenerator.elementPosition("SE", null));
+        assertEquals(3, FunctionalAcknowledgmentGenerator.elementPosition("HL", "03"));
+        assertEquals(-1, FunctionalAcknowledgmentGenerator.elementPosition("HL", ""));
+    }
+
+    private FunctionalAcknowledgmentGenerator generator(StringWriter out, AcknowledgmentType ackType) {
+        X12Writer x12Writer = new X12Writer(out, new X12Delimiters('*', '>', "\n"));
+        return new FunctionalAcknowledgmentGenerator(x12Writer, ackType) {
+            @Override
+            public void endBatch() throws IOException {
+                super.endBatch();
+                x12Writer.flush();
+            }
+        };
+    }
+
+    private InterchangeControlEnvelope ackInterchange() {
+        InterchangeControlEnvelope isa = new InterchangeControlEnvelope();
+        isa.setAuthorizationInformationQualifier("00");
+        isa.setSecurityInformationQualifier("00");
+        isa.setInterchangeIdQualifier("ZZ");
+        isa.setInterchangeSenderId("RECEIVER");
+        isa.setInterchangeIdQualifierTwo("ZZ");
+        isa.setInterchangeReceiverId("SENDER");
+        isa.setInterchangeDate("210408");
+        isa.setInterchangeTime("1200");
+        isa.setInterchangeControlStandardId("U");
+        isa.setInterchangeControlVersion("00401");
+        isa.setInterchangeControlNumber("1");
+        isa.setAcknowledgementRequested("0");
+        isa.setUsageIndicator("P");
+        return isa;
+    }
+
+    private X12Group ackGroup() {
+        X12Group group = new X12Group();
+        group.setFunctionalCodeId("FA");
+        group.setApplicationSenderCode("RECEIVER");
+        group.setApplicationReceiverCode("SENDER");
+        group.setDate("20210408");
+        group.setTime("1200");
+        group.setHeaderGroupControlNumber("1");
+        group.setResponsibleAgencyCode("X");
+        group.setVersion("004010");
+        return group;
+    }
+
+    private String inboundDocument(String groupControlNumber, String... transactionControlNumbers) {
+        StringBuilder sb = new StringBuilder()
+            .append("ISA*01*0000000000*01*0000000000*ZZ*ABC*ZZ*123456789012345*101127*1719*U*00400*000003438*0*P*>\n")
+            .append("GS*SH*0000000000*999999999*20210408*1045*").append(groupControlNumber).append("*X*005010\n");
+        for (String controlNumber : transactionControlNumbers) {
+            sb.append("ST*856*").append(controlNumber).append("\n")
+                .append("BSN*00*").append(controlNumber).append("\n")
+                .append("SE*3*").append(controlNumber).append("\n");
+        }
+        return sb.append("GE*").append(transactionControlNumbers.length).append("*").append(groupControlNumber).append("\n")
+            .append("IEA*1*000003438")
+            .toString();
+    }
+}
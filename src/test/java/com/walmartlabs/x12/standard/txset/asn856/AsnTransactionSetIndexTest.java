@@ -0,0 +1,142 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.txset.asn856;
+
+import com.walmartlabs.x12.X12Segment;
+import com.walmartlabs.x12.standard.X12Group;
+import com.walmartlabs.x12.standard.X12ParsedLoop;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Item;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Order;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Pack;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Shipment;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Tare;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsnTransactionSetIndexTest {
+
+    private AsnTransactionSet asnTx;
+
+    @BeforeEach
+    public void init() {
+        DefaultAsn856TransactionSetParser txParser = new DefaultAsn856TransactionSetParser();
+        asnTx = (AsnTransactionSet) txParser.doParse(this.getTransactionSetSegments(), new X12Group());
+    }
+
+    @Test
+    public void test_findLoopsByMarkNumber() {
+        List<X12ParsedLoop> loops = asnTx.findLoopsByMarkNumber("00100700302232310393");
+        assertEquals(1, loops.size());
+        assertTrue(loops.get(0) instanceof Tare);
+
+        loops = asnTx.findLoopsByMarkNumber("10081131916933");
+        assertEquals(1, loops.size());
+        assertTrue(loops.get(0) instanceof Pack);
+        assertEquals("3", loops.get(0).getHierarchicalId());
+
+        assertTrue(asnTx.findLoopsByMarkNumber("NOPE").isEmpty());
+        assertTrue(asnTx.findLoopsByMarkNumber(null).isEmpty());
+    }
+
+    @Test
+    public void test_findItemsByProductId() {
+        List<Item> items = asnTx.findItemsByProductId("039364170623");
+        assertEquals(2, items.size());
+        assertEquals("4", items.get(0).getHierarchicalId());
+        assertEquals("9", items.get(1).getHierarchicalId());
+
+        // second product id on the LIN
+        items = asnTx.findItemsByProductId("VN-1");
+        assertEquals(1, items.size());
+        assertEquals("4", items.get(0).getHierarchicalId());
+
+        assertTrue(asnTx.findItemsByProductId("000000000000").isEmpty());
+    }
+
+    @Test
+    public void test_findByPurchaseOrderNumber() {
+        List<Order> orders = asnTx.findOrdersByPurchaseOrderNumber("471");
+        assertEquals(1, orders.size());
+        assertEquals("2", orders.get(0).getHierarchicalId());
+
+        List<Item> items = asnTx.findItemsByPurchaseOrderNumber("471");
+        assertEquals(2, items.size());
+        assertEquals("4", items.get(0).getHierarchicalId());
+        assertEquals("5", items.get(1).getHierarchicalId());
+
+        items = asnTx.findItemsByPurchaseOrderNumber("472");
+        assertEquals(1, items.size());
+        assertEquals("9", items.get(0).getHierarchicalId());
+    }
+
+    @Test
+    public void test_index_built_once_and_reset() {
+        AsnTransactionSetIndex index = asnTx.getIndex();
+        assertSame(index, asnTx.getIndex());
+
+        asnTx.setShipment(new Shipment());
+        assertNotSame(index, asnTx.getIndex());
+        assertTrue(asnTx.findOrdersByPurchaseOrderNumber("471").isEmpty());
+    }
+
+    @Test
+    public void test_index_no_shipment() {
+        AsnTransactionSet emptyTx = new AsnTransactionSet();
+        assertTrue(emptyTx.findItemsByProductId("039364170623").isEmpty());
+    }
+
+    private List<X12Segment> getTransactionSetSegments() {
+        List<X12Segment> txSegments = new ArrayList<>();
+        txSegments.add(new X12Segment("ST*856*368090001"));
+        txSegments.add(new X12Segment("BSN*00*05755986*20190523*171543*0002"));
+        txSegments.add(new X12Segment("HL*1**S"));
+
+        // order 471
+        txSegments.add(new X12Segment("HL*2*1*O"));
+        txSegments.add(new X12Segment("PRF*471***20220130"));
+        txSegments.add(new X12Segment("HL*3*2*P"));
+        txSegments.add(new X12Segment("MAN*UC*10081131916933"));
+        txSegments.add(new X12Segment("HL*4*3*I"));
+        txSegments.add(new X12Segment("LIN**UP*039364170623*VN*VN-1"));
+        txSegments.add(new X12Segment("SN1**18*EA"));
+        txSegments.add(new X12Segment("HL*5*3*I"));
+        txSegments.add(new X12Segment("LIN**UP*039364170999"));
+        txSegments.add(new X12Segment("SN1**6*EA"));
+
+        // order 472
+        txSegments.add(new X12Segment("HL*6*1*O"));
+        txSegments.add(new X12Segment("PRF*472***20220130"));
+        txSegments.add(new X12Segment("HL*7*6*T"));
+        txSegments.add(new X12Segment("MAN*GM*00100700302232310393"));
+        txSegments.add(new X12Segment("HL*8*7*P"));
+        txSegments.add(new X12Segment("MAN*UC*20081131916933"));
+        txSegments.add(new X12Segment("HL*9*8*I"));
+        txSegments.add(new X12Segment("LIN**UP*039364170623"));
+        txSegments.add(new X12Segment("SN1**1*EA"));
+
+        txSegments.add(new X12Segment("SE*23*368090001"));
+        return txSegments;
+    }
+}
@@ -0,0 +1,101 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.txset.asn856;
+
+import com.walmartlabs.x12.X12TransactionSet;
+import com.walmartlabs.x12.standard.StandardX12Document;
+import com.walmartlabs.x12.standard.StandardX12Parser;
+import com.walmartlabs.x12.standard.txset.generic.GenericTransactionSet;
+import com.walmartlabs.x12.testing.util.X12DocumentTestData;
+import com.walmartlabs.x12.writer.X12Delimiters;
+import com.walmartlabs.x12.writer.X12Writer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsnTransactionSetWriterTest {
+
+    private StandardX12Parser asnParser;
+
+    private AsnTransactionSetWriter txWriter;
+
+    @BeforeEach
+    public void init() {
+        asnParser = new StandardX12Parser();
+        asnParser.registerTransactionSetParser(new DefaultAsn856TransactionSetParser());
+        txWriter = new AsnTransactionSetWriter();
+    }
+
+    @Test
+    public void test_handlesTransactionSet() {
+        assertTrue(txWriter.handlesTransactionSet(new AsnTransactionSet()));
+        assertFalse(txWriter.handlesTransactionSet(new GenericTransactionSet()));
+    }
+
+    @Test
+    public void test_round_trip() throws IOException {
+        String sourceData = X12DocumentTestData.readFile("src/test/resources/asn856/asn856.txt");
+        StandardX12Document x12Doc = asnParser.parse(sourceData);
+
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out, new X12Delimiters('*', '>', "\n"));
+        x12Writer.registerTransactionSetWriter(txWriter);
+        x12Writer.write(x12Doc);
+        x12Writer.flush();
+
+        // the IEA control number is taken from the ISA
+        String expected = sourceData
+            .replace("IEA*1*000000049", "IEA*1*000003438")
+            + "\n";
+        assertEquals(expected, out.toString());
+
+        // and it can be parsed again
+        StandardX12Document reparsed = asnParser.parse(out.toString());
+        assertNotNull(reparsed);
+        AsnTransactionSet asnTx = (AsnTransactionSet) reparsed.getGroups().get(0).getTransactions().get(0);
+        assertEquals("829716", asnTx.getShipmentIdentification());
+        assertEquals(Integer.valueOf(4), asnTx.getTransactionLineItems());
+        assertEquals("30", asnTx.getTransactionHashTotal());
+        assertEquals(Integer.valueOf(31), asnTx.getExpectedNumberOfSegments());
+    }
+
+    @Test
+    public void test_write_transaction_set() throws IOException {
+        AsnTransactionSet asnTx = new AsnTransactionSet();
+        asnTx.setTransactionSetIdentifierCode(DefaultAsn856TransactionSetParser.ASN_TRANSACTION_TYPE);
+        asnTx.setHeaderControlNumber("0001");
+        asnTx.setPurposeCode("00");
+        asnTx.setShipmentIdentification("SHIP-1");
+        asnTx.setShipmentDate("20201022");
+
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out);
+        x12Writer.registerTransactionSetWriter(txWriter);
+        X12TransactionSet tx = asnTx;
+        x12Writer.writeTransactionSet(tx);
+        x12Writer.flush();
+
+        assertEquals("ST*856*0001~BSN*00*SHIP-1*20201022~SE*3*0001~", out.toString());
+    }
+}
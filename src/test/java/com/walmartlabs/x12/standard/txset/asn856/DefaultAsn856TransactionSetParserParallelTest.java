@@ -0,0 +1,136 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.txset.asn856;
+
+import com.walmartlabs.x12.X12Segment;
+import com.walmartlabs.x12.exceptions.X12ErrorDetail;
+import com.walmartlabs.x12.standard.X12Group;
+import com.walmartlabs.x12.standard.X12Loop;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Item;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Order;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Pack;
+import com.walmartlabs.x12.standard.txset.asn856.loop.Shipment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DefaultAsn856TransactionSetParserParallelTest {
+
+    private DefaultAsn856TransactionSetParser sequentialParser;
+    private DefaultAsn856TransactionSetParser parallelParser;
+
+    @BeforeEach
+    public void init() {
+        sequentialParser = new DefaultAsn856TransactionSetParser();
+        parallelParser = new DefaultAsn856TransactionSetParser(new ForkJoinPool(4));
+        parallelParser.setMinParallelOrderLoops(2);
+    }
+
+    @Test
+    public void test_minParallelOrderLoops() {
+        DefaultAsn856TransactionSetParser parser = new DefaultAsn856TransactionSetParser(new ForkJoinPool(1));
+        assertEquals(DefaultAsn856TransactionSetParser.DEFAULT_MIN_PARALLEL_ORDER_LOOPS, parser.getMinParallelOrderLoops());
+        parser.setMinParallelOrderLoops(0);
+        assertEquals(1, parser.getMinParallelOrderLoops());
+    }
+
+    @Test
+    public void test_doParse_parallel_matches_sequential() {
+        List<X12Segment> segments = this.getTransactionSetSegments(50);
+
+        AsnTransactionSet sequentialTx = (AsnTransactionSet) sequentialParser.doParse(segments, new X12Group());
+        AsnTransactionSet parallelTx = (AsnTransactionSet) parallelParser.doParse(segments, new X12Group());
+
+        Shipment sequentialShipment = sequentialTx.getShipment();
+        Shipment parallelShipment = parallelTx.getShipment();
+        assertNotNull(parallelShipment);
+
+        List<X12Loop> sequentialOrders = sequentialShipment.getParsedChildrenLoops();
+        List<X12Loop> parallelOrders = parallelShipment.getParsedChildrenLoops();
+        assertEquals(50, parallelOrders.size());
+        assertEquals(sequentialOrders.size(), parallelOrders.size());
+
+        for (int i = 0; i < parallelOrders.size(); i++) {
+            Order sequentialOrder = (Order) sequentialOrders.get(i);
+            Order parallelOrder = (Order) parallelOrders.get(i);
+            assertEquals(sequentialOrder.getHierarchicalId(), parallelOrder.getHierarchicalId());
+            assertEquals(sequentialOrder.getPrf().getPurchaseOrderNumber(), parallelOrder.getPrf().getPurchaseOrderNumber());
+
+            Pack parallelPack = (Pack) parallelOrder.getParsedChildrenLoops().get(0);
+            Item parallelItem = (Item) parallelPack.getParsedChildrenLoops().get(0);
+            assertEquals("PO" + i, parallelOrder.getPrf().getPurchaseOrderNumber());
+            assertEquals(Integer.toString(i + 1), parallelItem.getSn1().getNumberOfUnits());
+        }
+
+        // the errors are in the same order
+        List<X12ErrorDetail> sequentialErrors = sequentialTx.getLoopingErrors();
+        List<X12ErrorDetail> parallelErrors = parallelTx.getLoopingErrors();
+        assertEquals(5, parallelErrors.size());
+        for (int i = 0; i < parallelErrors.size(); i++) {
+            assertEquals(sequentialErrors.get(i).getInvalidValue(), parallelErrors.get(i).getInvalidValue());
+        }
+        assertEquals("expected Order HL but got X0", parallelErrors.get(0).getInvalidValue());
+        assertEquals("expected Order HL but got X4", parallelErrors.get(4).getInvalidValue());
+    }
+
+    @Test
+    public void test_doParse_parallel_one_order() {
+        List<X12Segment> segments = this.getTransactionSetSegments(1);
+
+        AsnTransactionSet parallelTx = (AsnTransactionSet) parallelParser.doParse(segments, new X12Group());
+        List<X12Loop> parallelOrders = parallelTx.getShipment().getParsedChildrenLoops();
+        assertEquals(1, parallelOrders.size());
+        assertNull(parallelTx.getLoopingErrors());
+    }
+
+    private List<X12Segment> getTransactionSetSegments(int numberOfOrders) {
+        List<X12Segment> txSegments = new ArrayList<>();
+        txSegments.add(new X12Segment("ST*856*368090001"));
+        txSegments.add(new X12Segment("BSN*00*05755986*20190523*171543*0002"));
+        txSegments.add(new X12Segment("HL*1**S"));
+
+        int hlId = 2;
+        for (int i = 0; i < numberOfOrders; i++) {
+            txSegments.add(new X12Segment("HL*" + hlId++ + "*1*O"));
+            txSegments.add(new X12Segment("PRF*PO" + i + "***20220130"));
+            txSegments.add(new X12Segment("N1*BY*STORE " + i + "*UL*99"));
+            txSegments.add(new X12Segment("N3*123 MAIN ST"));
+            int orderId = hlId - 1;
+            txSegments.add(new X12Segment("HL*" + hlId++ + "*" + orderId + "*P"));
+            txSegments.add(new X12Segment("MAN*UC*" + i));
+            int packId = hlId - 1;
+            txSegments.add(new X12Segment("HL*" + hlId++ + "*" + packId + "*I"));
+            txSegments.add(new X12Segment("LIN**UP*03936417062" + i));
+            txSegments.add(new X12Segment("SN1**" + (i + 1) + "*EA"));
+
+            if (i % 10 == 0 && numberOfOrders > 1) {
+                // not an Order
+                txSegments.add(new X12Segment("HL*" + hlId++ + "*1*X" + (i / 10)));
+            }
+        }
+
+        txSegments.add(new X12Segment("SE*296*368090001"));
+        return txSegments;
+    }
+}
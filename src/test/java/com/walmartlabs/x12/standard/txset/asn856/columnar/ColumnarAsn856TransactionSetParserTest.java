@@ -0,0 +1,200 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.txset.asn856.columnar;
+
+import com.walmartlabs.x12.X12Segment;
+import com.walmartlabs.x12.X12TransactionSet;
+import com.walmartlabs.x12.exceptions.X12ErrorDetail;
+import com.walmartlabs.x12.standard.StandardX12Document;
+import com.walmartlabs.x12.standard.StandardX12Parser;
+import com.walmartlabs.x12.testing.util.X12DocumentTestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColumnarAsn856TransactionSetParserTest {
+
+    private ColumnarAsn856TransactionSetParser txParser;
+
+    @BeforeEach
+    public void init() {
+        txParser = new ColumnarAsn856TransactionSetParser();
+    }
+
+    @Test
+    public void test_Parsing_Asn856() throws IOException {
+        StandardX12Parser asnParser = new StandardX12Parser();
+        asnParser.registerTransactionSetParser(txParser);
+
+        String sourceData = X12DocumentTestData.readFile("src/test/resources/asn856/asn856.txt");
+        StandardX12Document x12 = asnParser.parse(sourceData);
+        assertNotNull(x12);
+
+        List<X12TransactionSet> txList = x12.getGroups().get(0).getTransactions();
+        assertEquals(1, txList.size());
+        AsnColumnarTransactionSet asnTx = (AsnColumnarTransactionSet) txList.get(0);
+        assertEquals("829716", asnTx.getShipmentIdentification());
+        assertNull(asnTx.getShipment());
+        assertEquals(0, asnTx.getFirstItemIndex());
+        assertEquals(2, asnTx.getItemCount());
+
+        AsnItemColumns columns = asnTx.getColumns();
+        assertEquals(1, columns.getShipmentCount());
+        assertEquals("829716", columns.getShipmentIds()[0]);
+
+        assertEquals(1, columns.getOrderCount());
+        assertEquals(0, columns.getOrderShipmentIndexes()[0]);
+        assertEquals("99999817", columns.getOrderPurchaseOrderNumbers()[0]);
+        assertEquals(0, columns.getPackCount());
+
+        assertEquals(2, columns.getItemCount());
+        assertEquals(0, columns.getItemOrderIndexes()[0]);
+        assertEquals(AsnItemColumns.NO_PARENT, columns.getItemPackIndexes()[0]);
+        assertEquals("999999310145", columns.getItemProductIds()[0]);
+        assertEquals("999999311746", columns.getItemProductIds()[1]);
+        assertEquals(24.0, columns.getItemQuantities()[0]);
+        assertEquals(6.0, columns.getItemQuantities()[1]);
+
+        // dictionary encoded
+        AsnColumnDictionary uomDictionary = columns.getUnitsOfMeasure();
+        assertEquals(1, uomDictionary.size());
+        assertEquals(columns.getItemUnitOfMeasureCodes()[0], columns.getItemUnitOfMeasureCodes()[1]);
+        assertEquals("EA", uomDictionary.decode(columns.getItemUnitOfMeasureCodes()[0]));
+        assertEquals("UP", columns.getProductIdQualifiers().decode(columns.getItemProductIdQualifierCodes()[0]));
+
+        StringBuilder csv = new StringBuilder();
+        columns.writeItemsAsCsv(csv);
+        String[] lines = csv.toString().split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("shipment_id,purchase_order_number,pack_mark_number,product_id_qualifier,product_id,quantity,unit_of_measure",
+            lines[0]);
+        assertEquals("829716,99999817,,UP,999999310145,24,EA", lines[1]);
+        assertEquals("829716,99999817,,UP,999999311746,6,EA", lines[2]);
+    }
+
+    @Test
+    public void test_Parsing_packs_and_shared_columns() {
+        AsnItemColumns sharedColumns = new AsnItemColumns();
+        txParser = new ColumnarAsn856TransactionSetParser(sharedColumns);
+
+        AsnColumnarTransactionSet firstTx = (AsnColumnarTransactionSet) txParser.doParse(this.getPackedAsn("SHIP1"), null);
+        AsnColumnarTransactionSet secondTx = (AsnColumnarTransactionSet) txParser.doParse(this.getPackedAsn("SHIP2"), null);
+
+        assertSame(sharedColumns, firstTx.getColumns());
+        assertSame(sharedColumns, secondTx.getColumns());
+        assertEquals(0, firstTx.getFirstItemIndex());
+        assertEquals(3, firstTx.getItemCount());
+        assertEquals(3, secondTx.getFirstItemIndex());
+        assertEquals(3, secondTx.getItemCount());
+
+        assertEquals(2, sharedColumns.getShipmentCount());
+        assertEquals(2, sharedColumns.getOrderCount());
+        assertEquals(4, sharedColumns.getPackCount());
+        assertEquals(6, sharedColumns.getItemCount());
+
+        // second transaction rows point at the second shipment
+        assertEquals(1, sharedColumns.getOrderShipmentIndexes()[1]);
+        assertEquals(1, sharedColumns.getItemOrderIndexes()[3]);
+
+        // packs under the tare point at the order
+        assertEquals("00000000000000000001", sharedColumns.getPackMarkNumbers()[0]);
+        assertEquals(0, sharedColumns.getPackOrderIndexes()[0]);
+        assertEquals(0, sharedColumns.getItemPackIndexes()[0]);
+        assertEquals(0, sharedColumns.getItemPackIndexes()[1]);
+        assertEquals(1, sharedColumns.getItemPackIndexes()[2]);
+        assertEquals(3, sharedColumns.getItemPackIndexes()[5]);
+
+        // first product id is used when no UPC/GTIN
+        assertEquals("VN", sharedColumns.getProductIdQualifiers().decode(sharedColumns.getItemProductIdQualifierCodes()[2]));
+        assertEquals("ABC-1", sharedColumns.getItemProductIds()[2]);
+        assertEquals(1.5, sharedColumns.getItemQuantities()[2]);
+        assertEquals(2, sharedColumns.getUnitsOfMeasure().size());
+    }
+
+    @Test
+    public void test_Parsing_invalid_quantity() {
+        List<X12Segment> segments = new ArrayList<>();
+        segments.add(new X12Segment("ST*856*0001"));
+        segments.add(new X12Segment("BSN*00*SHIP1*20210101*1200"));
+        segments.add(new X12Segment("HL*1**S"));
+        segments.add(new X12Segment("HL*2*1*O"));
+        segments.add(new X12Segment("HL*3*2*I"));
+        segments.add(new X12Segment("SN1**ABC*EA"));
+        segments.add(new X12Segment("SE*6*0001"));
+
+        AsnColumnarTransactionSet asnTx = (AsnColumnarTransactionSet) txParser.doParse(segments, null);
+        assertEquals(1, asnTx.getItemCount());
+        assertTrue(Double.isNaN(asnTx.getColumns().getItemQuantities()[0]));
+
+        List<X12ErrorDetail> errors = asnTx.getLoopingErrors();
+        assertEquals(1, errors.size());
+        assertEquals("SN1", errors.get(0).getSegmentId());
+        assertEquals("SN102", errors.get(0).getElementId());
+        assertEquals("ABC", errors.get(0).getInvalidValue());
+    }
+
+    @Test
+    public void test_Parsing_first_loop_not_shipment() {
+        List<X12Segment> segments = new ArrayList<>();
+        segments.add(new X12Segment("ST*856*0001"));
+        segments.add(new X12Segment("BSN*00*SHIP1*20210101*1200"));
+        segments.add(new X12Segment("HL*1**O"));
+        segments.add(new X12Segment("SE*4*0001"));
+
+        AsnColumnarTransactionSet asnTx = (AsnColumnarTransactionSet) txParser.doParse(segments, null);
+        assertEquals(0, asnTx.getItemCount());
+        assertEquals(0, asnTx.getColumns().getShipmentCount());
+        assertEquals(1, asnTx.getLoopingErrors().size());
+        assertEquals("first HL is not a shipment it was O", asnTx.getLoopingErrors().get(0).getIssueText());
+    }
+
+    private List<X12Segment> getPackedAsn(String shipmentId) {
+        List<X12Segment> segments = new ArrayList<>();
+        segments.add(new X12Segment("ST*856*0001"));
+        segments.add(new X12Segment("BSN*00*" + shipmentId + "*20210101*1200"));
+        segments.add(new X12Segment("HL*1**S"));
+        segments.add(new X12Segment("HL*2*1*O"));
+        segments.add(new X12Segment("PRF*PO-" + shipmentId));
+        segments.add(new X12Segment("HL*3*2*T"));
+        segments.add(new X12Segment("MAN*GM*TARE1"));
+        segments.add(new X12Segment("HL*4*3*P"));
+        segments.add(new X12Segment("MAN*GM*00000000000000000001"));
+        segments.add(new X12Segment("HL*5*4*I"));
+        segments.add(new X12Segment("LIN**UP*111111111111"));
+        segments.add(new X12Segment("SN1**12*EA"));
+        segments.add(new X12Segment("HL*6*4*I"));
+        segments.add(new X12Segment("LIN**VN*X1*UK*00111111111111"));
+        segments.add(new X12Segment("SN1**6*EA"));
+        segments.add(new X12Segment("HL*7*2*P"));
+        segments.add(new X12Segment("MAN*GM*00000000000000000002"));
+        segments.add(new X12Segment("HL*8*7*I"));
+        segments.add(new X12Segment("LIN**VN*ABC-1"));
+        segments.add(new X12Segment("SN1**1.5*LB"));
+        segments.add(new X12Segment("CTT*8"));
+        segments.add(new X12Segment("SE*22*0001"));
+        return segments;
+    }
+}
@@ -1,5 +1,6 @@
 package com.walmartlabs.x12.standard.txset.generic;
 
+import com.walmartlabs.x12.SegmentIterator;
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.X12TransactionSet;
 import com.walmartlabs.x12.exceptions.X12ErrorDetail;
@@ -165,6 +166,31 @@ public class GenericTransactionSetParserTest {
         assertNull(loopErrors);
     }
 
+    @Test
+    public void test_doParse_subclass_overrides_SegmentIterator_methods() {
+        List<String> calls = new ArrayList<>();
+        GenericTransactionSetParser subclassParser = new GenericTransactionSetParser() {
+            @Override
+            protected void parseSegmentsBeforeHierarchyLoops(SegmentIterator segments, GenericTransactionSet genericTx) {
+                calls.add("before");
+                super.parseSegmentsBeforeHierarchyLoops(segments, genericTx);
+            }
+
+            @Override
+            protected void handleLooping(SegmentIterator segments, GenericTransactionSet genericTx) {
+                calls.add("looping");
+                super.handleLooping(segments, genericTx);
+            }
+        };
+
+        GenericTransactionSet genericTx = (GenericTransactionSet) subclassParser.doParse(this.getTwoShipmentLoops(), new X12Group());
+        assertEquals(2, calls.size());
+        assertEquals("before", calls.get(0));
+        assertEquals("looping", calls.get(1));
+        assertEquals(2, genericTx.getLoops().size());
+        assertEquals("368090001", genericTx.getTrailerControlNumber());
+    }
+
     private List<X12Segment> getSegmentsOnlyTransactionEnvelope() {
         List<X12Segment> txSegments = new ArrayList<>();
 
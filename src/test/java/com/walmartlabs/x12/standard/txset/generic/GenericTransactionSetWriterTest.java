@@ -0,0 +1,121 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.standard.txset.generic;
+
+import com.walmartlabs.x12.standard.StandardX12Document;
+import com.walmartlabs.x12.standard.StandardX12Parser;
+import com.walmartlabs.x12.standard.txset.asn856.AsnTransactionSet;
+import com.walmartlabs.x12.writer.X12Delimiters;
+import com.walmartlabs.x12.writer.X12Writer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GenericTransactionSetWriterTest {
+
+    private StandardX12Parser standardParser;
+
+    private GenericTransactionSetWriter txWriter;
+
+    @BeforeEach
+    public void init() {
+        standardParser = new StandardX12Parser();
+        standardParser.registerTransactionSetParser(new GenericTransactionSetParser());
+        txWriter = new GenericTransactionSetWriter();
+    }
+
+    @Test
+    public void test_handlesTransactionSet() {
+        assertTrue(txWriter.handlesTransactionSet(new GenericTransactionSet()));
+        assertFalse(txWriter.handlesTransactionSet(new AsnTransactionSet()));
+    }
+
+    @Test
+    public void test_round_trip() throws IOException {
+        String sourceData = this.genericX12Document();
+        StandardX12Document x12Doc = standardParser.parse(sourceData);
+
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out, new X12Delimiters('*', '>', "\n"));
+        x12Writer.registerTransactionSetWriter(txWriter);
+        x12Writer.write(x12Doc);
+        x12Writer.flush();
+
+        assertEquals(sourceData, out.toString());
+    }
+
+    @Test
+    public void test_round_trip_other_delimiters() throws IOException {
+        String sourceData = this.genericX12Document();
+        StandardX12Document x12Doc = standardParser.parse(sourceData);
+
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out, new X12Delimiters('|', '^', "~\r\n"));
+        x12Writer.registerTransactionSetWriter(txWriter);
+        x12Writer.write(x12Doc);
+        x12Writer.flush();
+
+        String expected = sourceData
+            .replace('*', '|')
+            .replace("P|>", "P|^")
+            .replace("\n", "~\r\n");
+        assertEquals(expected, out.toString());
+    }
+
+    private String genericX12Document() {
+        return new StringBuilder()
+            .append("ISA*01*0000000000*01*0000000000*ZZ*ABC            *ZZ*123456789012345*101127*1719*U*00400*000003438*0*P*>")
+            .append("\n")
+            .append("GS*SH*0000000000*999999999*20210408*1045*00*X*005010")
+            .append("\n")
+            .append("ST*YYZ*0001")
+            .append("\n")
+            .append("TOM*00**2112")
+            .append("\n")
+            .append("DTM*00*19740301")
+            .append("\n")
+            .append("HL*1**A")
+            .append("\n")
+            .append("REF*XX*RED*SECTOR*A")
+            .append("\n")
+            .append("HL*2*1*B")
+            .append("\n")
+            .append("REF*XX*CYGNUS*X*1")
+            .append("\n")
+            .append("HL*3**C")
+            .append("\n")
+            .append("HL*4*3*D")
+            .append("\n")
+            .append("REF*XX*SYRINX")
+            .append("\n")
+            .append("CTT*3")
+            .append("\n")
+            .append("SE*12*0001")
+            .append("\n")
+            .append("GE*1*00")
+            .append("\n")
+            .append("IEA*1*000003438")
+            .append("\n")
+            .toString();
+    }
+}
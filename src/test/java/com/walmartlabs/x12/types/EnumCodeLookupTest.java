@@ -0,0 +1,60 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EnumCodeLookupTest {
+
+    @Test
+    public void test_slot_unique_for_all_codes() {
+        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+        Set<Integer> slots = new HashSet<>();
+        for (int i = 0; i < chars.length(); i++) {
+            String oneChar = String.valueOf(chars.charAt(i));
+            assertTrue(slots.add(EnumCodeLookup.slot(oneChar)));
+            for (int j = 0; j < chars.length(); j++) {
+                assertTrue(slots.add(EnumCodeLookup.slot(oneChar + chars.charAt(j))));
+            }
+        }
+        assertEquals(36 + (36 * 36), slots.size());
+    }
+
+    @Test
+    public void test_slot_invalid_codes() {
+        assertEquals(-1, EnumCodeLookup.slot(""));
+        assertEquals(-1, EnumCodeLookup.slot("ABC"));
+        assertEquals(-1, EnumCodeLookup.slot("a"));
+        assertEquals(-1, EnumCodeLookup.slot("B-"));
+        assertEquals(-1, EnumCodeLookup.slot(" X"));
+    }
+
+    @Test
+    public void test_lookup() {
+        UnitMeasure[] table = EnumCodeLookup.buildTable(UnitMeasure.class);
+        assertEquals(UnitMeasure.Y2, EnumCodeLookup.lookup(table, "Y2", UnitMeasure.UNKNOWN));
+        assertEquals(UnitMeasure.UNKNOWN, EnumCodeLookup.lookup(table, "Y9", UnitMeasure.UNKNOWN));
+        assertEquals(UnitMeasure.UNKNOWN, EnumCodeLookup.lookup(table, "UNKNOWN", UnitMeasure.UNKNOWN));
+    }
+
+}
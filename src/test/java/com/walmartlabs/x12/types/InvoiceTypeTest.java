@@ -0,0 +1,48 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.types;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class InvoiceTypeTest {
+
+    @Test
+    public void test_valid_value() {
+        assertEquals(InvoiceType.C, InvoiceType.convert("C"));
+        assertEquals(InvoiceType.D, InvoiceType.convert("D"));
+    }
+
+    @Test
+    public void test_invalid_value() {
+        assertEquals(InvoiceType.UNKNOWN, InvoiceType.convert("X"));
+        assertEquals(InvoiceType.UNKNOWN, InvoiceType.convert("CD"));
+        assertEquals(InvoiceType.UNKNOWN, InvoiceType.convert("UNKNOWN"));
+    }
+
+    @Test
+    public void test_invalid_empty() {
+        assertEquals(InvoiceType.UNKNOWN, InvoiceType.convert(""));
+    }
+
+    @Test
+    public void test_invalid_null() {
+        assertEquals(null, InvoiceType.convert(null));
+    }
+
+}
@@ -33,14 +33,14 @@ public class ProductQualifierTest {
     public void test_invalid_value() {
         ProductQualifier pq = ProductQualifier.convert("BOGUS");
         assertEquals(ProductQualifier.UNKNOWN, pq);
-        assertEquals("BOGUS", pq.getDescription());
+        assertEquals("UNKNOWN", pq.getDescription());
     }
 
     @Test
     public void test_invalid_empty() {
         ProductQualifier pq = ProductQualifier.convert("");
         assertEquals(ProductQualifier.UNKNOWN, pq);
-        assertEquals("", pq.getDescription());
+        assertEquals("UNKNOWN", pq.getDescription());
     }
 
     @Test
@@ -48,4 +48,23 @@ public class ProductQualifierTest {
         assertEquals(null, ProductQualifier.convert(null));
     }
 
+    @Test
+    public void test_all_values() {
+        for (ProductQualifier value : ProductQualifier.values()) {
+            assertEquals(value, ProductQualifier.convert(value.name()));
+        }
+    }
+
+    @Test
+    public void test_invalid_lower_case() {
+        ProductQualifier pq = ProductQualifier.convert("en");
+        assertEquals(ProductQualifier.UNKNOWN, pq);
+    }
+
+    @Test
+    public void test_invalid_does_not_change_unknown() {
+        ProductQualifier.convert("ZZ");
+        assertEquals("UNKNOWN", ProductQualifier.UNKNOWN.getDescription());
+    }
+
 }
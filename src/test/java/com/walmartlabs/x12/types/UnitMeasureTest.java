@@ -33,14 +33,14 @@ public class UnitMeasureTest {
     public void test_invalid_value() {
         UnitMeasure um = UnitMeasure.convert("BOGUS");
         assertEquals(UnitMeasure.UNKNOWN, um);
-        assertEquals("BOGUS", um.getDescription());
+        assertEquals("UNKNOWN", um.getDescription());
     }
 
     @Test
     public void test_invalid_empty() {
         UnitMeasure um = UnitMeasure.convert("");
         assertEquals(UnitMeasure.UNKNOWN, um);
-        assertEquals("", um.getDescription());
+        assertEquals("UNKNOWN", um.getDescription());
     }
 
     @Test
@@ -48,4 +48,23 @@ public class UnitMeasureTest {
         assertEquals(null, UnitMeasure.convert(null));
     }
 
+    @Test
+    public void test_all_values() {
+        for (UnitMeasure value : UnitMeasure.values()) {
+            assertEquals(value, UnitMeasure.convert(value.name()));
+        }
+    }
+
+    @Test
+    public void test_invalid_lower_case() {
+        UnitMeasure um = UnitMeasure.convert("bx");
+        assertEquals(UnitMeasure.UNKNOWN, um);
+    }
+
+    @Test
+    public void test_invalid_does_not_change_unknown() {
+        UnitMeasure.convert("ZZ");
+        assertEquals("UNKNOWN", UnitMeasure.UNKNOWN.getDescription());
+    }
+
 }
@@ -33,7 +33,7 @@ public class WeightQualifierTest {
     public void test_invalid_value() {
         WeightQualifier wq = WeightQualifier.convert("BOGUS");
         assertEquals(WeightQualifier.UNKNOWN, wq);
-        assertEquals("BOGUS", wq.getDescription());
+        assertEquals("", wq.getDescription());
     }
 
     @Test
@@ -48,4 +48,23 @@ public class WeightQualifierTest {
         assertEquals(null, UnitMeasure.convert(null));
     }
 
+    @Test
+    public void test_all_values() {
+        for (WeightQualifier value : WeightQualifier.values()) {
+            assertEquals(value, WeightQualifier.convert(value.name()));
+        }
+    }
+
+    @Test
+    public void test_invalid_lower_case() {
+        WeightQualifier wq = WeightQualifier.convert("n");
+        assertEquals(WeightQualifier.UNKNOWN, wq);
+    }
+
+    @Test
+    public void test_invalid_does_not_change_unknown() {
+        WeightQualifier.convert("ZZ");
+        assertEquals("", WeightQualifier.UNKNOWN.getDescription());
+    }
+
 }
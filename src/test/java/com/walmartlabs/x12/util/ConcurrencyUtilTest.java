@@ -0,0 +1,54 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+
+package com.walmartlabs.x12.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ConcurrencyUtilTest {
+
+    @Test
+    public void test_getTaskException() {
+        IllegalArgumentException original = new IllegalArgumentException("boom");
+        assertSame(original, ConcurrencyUtil.getTaskException(new ExecutionException(original)));
+    }
+
+    @Test
+    public void test_getTaskException_wrapped_same_type() {
+        // how a ForkJoinPool rethrows an exception from another thread
+        IllegalArgumentException original = new IllegalArgumentException("boom");
+        IllegalArgumentException wrapped = new IllegalArgumentException(original);
+        assertSame(original, ConcurrencyUtil.getTaskException(new ExecutionException(wrapped)));
+    }
+
+    @Test
+    public void test_getTaskException_wrapped_other_type() {
+        IllegalArgumentException original = new IllegalArgumentException("boom");
+        IllegalStateException wrapped = new IllegalStateException(original);
+        assertSame(wrapped, ConcurrencyUtil.getTaskException(new ExecutionException(wrapped)));
+    }
+
+    @Test
+    public void test_getTaskException_no_cause() {
+        assertNull(ConcurrencyUtil.getTaskException(new ExecutionException("boom", null)));
+    }
+}
@@ -19,7 +19,12 @@ package com.walmartlabs.x12.util;
 import com.walmartlabs.x12.exceptions.X12ParserException;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class ConversionUtilTest {
@@ -68,4 +73,88 @@ public class ConversionUtilTest {
     public void test_convertStringToBigDecimal_Alpha() {
         assertThrows(X12ParserException.class, () -> ConversionUtil.convertStringToBigDecimal("X", 2));
     }
+
+    @Test
+    public void test_convertStringToBigDecimal_Rounding() {
+        assertEquals("1.24", ConversionUtil.convertStringToBigDecimal("1.235", 2).toString());
+        assertEquals("1.23", ConversionUtil.convertStringToBigDecimal("1.2349", 2).toString());
+        assertEquals("-1.24", ConversionUtil.convertStringToBigDecimal("-1.235", 2).toString());
+        assertEquals("0.50", ConversionUtil.convertStringToBigDecimal(".5", 2).toString());
+        assertEquals("5.00", ConversionUtil.convertStringToBigDecimal("+5.", 2).toString());
+    }
+
+    @Test
+    public void test_convertStringToBigDecimal_Exponent() {
+        assertEquals("1500.00", ConversionUtil.convertStringToBigDecimal("1.5E3", 2).toString());
+    }
+
+    @Test
+    public void test_convertStringToBigDecimal_Large_Number() {
+        assertEquals("12345678901234567890.12", ConversionUtil.convertStringToBigDecimal("12345678901234567890.123", 2).toString());
+    }
+
+    @Test
+    public void test_convertStringToBigDecimal_Invalid() {
+        assertThrows(X12ParserException.class, () -> ConversionUtil.convertStringToBigDecimal(" 1", 2));
+        assertThrows(X12ParserException.class, () -> ConversionUtil.convertStringToBigDecimal("1.2.3", 2));
+        assertThrows(X12ParserException.class, () -> ConversionUtil.convertStringToBigDecimal("-", 2));
+        assertThrows(X12ParserException.class, () -> ConversionUtil.convertStringToBigDecimal(".", 2));
+    }
+
+    @Test
+    public void test_convertStringToBigDecimal_Matches_BigDecimal() {
+        Random random = new Random(894L);
+        for (int i = 0; i < 10000; i++) {
+            int decimalPlaces = random.nextInt(5);
+            StringBuilder sb = new StringBuilder();
+            if (random.nextBoolean()) {
+                sb.append('-');
+            }
+            sb.append(random.nextInt(1000000));
+            if (random.nextBoolean()) {
+                sb.append('.').append(random.nextInt(100000));
+            }
+            String value = sb.toString();
+            BigDecimal expected = new BigDecimal(value).setScale(decimalPlaces, RoundingMode.HALF_UP);
+            assertEquals(expected, ConversionUtil.convertStringToBigDecimal(value, decimalPlaces));
+            assertEquals(expected.unscaledValue().longValue(), ConversionUtil.convertStringToUnscaledLong(value, decimalPlaces));
+        }
+    }
+
+    @Test
+    public void test_convertStringToUnscaledLong() {
+        assertEquals(ConversionUtil.NO_VALUE, ConversionUtil.convertStringToUnscaledLong(null, 2));
+        assertEquals(ConversionUtil.NO_VALUE, ConversionUtil.convertStringToUnscaledLong("", 2));
+        assertEquals(ConversionUtil.NO_VALUE, ConversionUtil.convertStringToUnscaledLong("  ", 2));
+        assertEquals(150L, ConversionUtil.convertStringToUnscaledLong("1.5", 2));
+        assertEquals(-7488L, ConversionUtil.convertStringToUnscaledLong("-74.875", 2));
+        assertEquals(183L, ConversionUtil.convertStringToUnscaledLong("1.83", 2));
+        assertEquals(150000L, ConversionUtil.convertStringToUnscaledLong("1.5E3", 2));
+        assertEquals(999999999999999999L, ConversionUtil.convertStringToUnscaledLong("999999999999999999", 0));
+        assertEquals(Long.MAX_VALUE, ConversionUtil.convertStringToUnscaledLong("9223372036854775807", 0));
+    }
+
+    @Test
+    public void test_convertStringToUnscaledLong_Overflow() {
+        assertThrows(X12ParserException.class, () -> ConversionUtil.convertStringToUnscaledLong("9223372036854775808", 0));
+        assertThrows(X12ParserException.class, () -> ConversionUtil.convertStringToUnscaledLong("-9223372036854775808", 0));
+        assertThrows(X12ParserException.class, () -> ConversionUtil.convertStringToUnscaledLong("X", 2));
+    }
+
+    @Test
+    public void test_convertToUnscaledLong_Range() {
+        String segment = "G83*1*48*EA";
+        assertEquals(48000L, ConversionUtil.convertToUnscaledLong(segment, 6, 8, 3));
+        assertEquals(ConversionUtil.NO_VALUE, ConversionUtil.convertToUnscaledLong(segment, 6, 6, 3));
+    }
+
+    @Test
+    public void test_toBigDecimal_and_toUnscaledLong() {
+        assertNull(ConversionUtil.toBigDecimal(ConversionUtil.NO_VALUE, 2));
+        assertEquals("1.50", ConversionUtil.toBigDecimal(150L, 2).toString());
+        assertEquals(ConversionUtil.NO_VALUE, ConversionUtil.toUnscaledLong(null, 2));
+        assertEquals(124L, ConversionUtil.toUnscaledLong(new BigDecimal("1.235"), 2));
+        assertEquals(Long.MAX_VALUE, ConversionUtil.toUnscaledLong(new BigDecimal("1E30"), 2));
+        assertEquals(Long.MIN_VALUE + 1, ConversionUtil.toUnscaledLong(new BigDecimal("-1E30"), 2));
+    }
 }
@@ -16,6 +16,7 @@ limitations under the License.
 
 package com.walmartlabs.x12.util;
 
+import com.walmartlabs.x12.X12ElementValueCache;
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.testing.util.X12DocumentTestData;
 import org.junit.jupiter.api.BeforeEach;
@@ -166,9 +167,9 @@ public class SourceToSegmentUtilTest {
         List<X12Segment> segments = null;
         try {
             Method method = SourceToSegmentUtil.class.getDeclaredMethod("splitSourceDataIntoSegments", String.class,
-                String.class);
+                String.class, X12ElementValueCache.class);
             method.setAccessible(true);
-            segments = (List<X12Segment>) method.invoke(null, sourceData, regEx);
+            segments = (List<X12Segment>) method.invoke(null, sourceData, regEx, null);
         } catch (IllegalAccessException | NoSuchMethodException e) {
             fail("method could not be found or invoked");
         } catch (InvocationTargetException e) {
@@ -30,6 +30,17 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class X12ParsingUtilTest {
 
+    @Test
+    public void test_isTransactionTotalOrTrailer() {
+        assertTrue(X12ParsingUtil.isTransactionTotalOrTrailer(new X12Segment("CTT*4")));
+        assertTrue(X12ParsingUtil.isTransactionTotalOrTrailer(new X12Segment("AMT*TT*10.50")));
+        assertTrue(X12ParsingUtil.isTransactionTotalOrTrailer(new X12Segment("SE*31*0008")));
+        assertFalse(X12ParsingUtil.isTransactionTotalOrTrailer(new X12Segment("HL*1**S")));
+        assertFalse(X12ParsingUtil.isTransactionTotalOrTrailer(new X12Segment("CTTX*4")));
+        assertFalse(X12ParsingUtil.isTransactionTotalOrTrailer(new X12Segment("")));
+        assertFalse(X12ParsingUtil.isTransactionTotalOrTrailer(null));
+    }
+
     @Test
     public void test_isValidEnvelope() {
         List<X12Segment> segmentList = new ArrayList<>();
@@ -0,0 +1,236 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.batch;
+
+import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.standard.StandardX12Document;
+import com.walmartlabs.x12.standard.StandardX12Parser;
+import com.walmartlabs.x12.testing.util.X12DocumentTestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class X12BatchProcessorTest {
+
+    private Path inputFolder;
+    private X12BatchProcessor<StandardX12Document> processor;
+
+    @BeforeEach
+    public void init() throws IOException {
+        inputFolder = Files.createTempDirectory("x12-batch");
+        processor = new X12BatchProcessor<>(new StandardX12Parser());
+        processor.setThreadCount(2);
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        try (Stream<Path> paths = Files.walk(inputFolder)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void test_null_parser() {
+        assertThrows(IllegalArgumentException.class, () -> new X12BatchProcessor<StandardX12Document>(null));
+    }
+
+    @Test
+    public void test_invalid_settings() {
+        assertThrows(IllegalArgumentException.class, () -> processor.setThreadCount(0));
+        assertThrows(IllegalArgumentException.class, () -> processor.setMaxInFlightBytes(0));
+        assertThrows(IllegalArgumentException.class, () -> processor.setMaxInFlightFiles(0));
+        assertThrows(IllegalArgumentException.class, () -> processor.setProgressInterval(0));
+    }
+
+    @Test
+    public void test_missing_input_folder() {
+        Path missingFolder = inputFolder.resolve("missing");
+        assertThrows(IllegalArgumentException.class, () -> processor.processDirectory(missingFolder));
+    }
+
+    @Test
+    public void test_processDirectory_empty() throws IOException {
+        X12BatchProgress progress = processor.processDirectory(inputFolder);
+        assertEquals(0, progress.getFilesProcessed());
+        assertTrue(Files.isDirectory(inputFolder.resolve(X12BatchProcessor.SUCCESS_FOLDER)));
+        assertTrue(Files.isDirectory(inputFolder.resolve(X12BatchProcessor.FAILED_FOLDER)));
+    }
+
+    @Test
+    public void test_processDirectory() throws IOException {
+        this.assertProcessDirectory();
+    }
+
+    @Test
+    public void test_processDirectory_memory_mapped() throws IOException {
+        processor.setMemoryMapThreshold(0);
+        this.assertProcessDirectory();
+    }
+
+    @Test
+    public void test_processDirectory_small_in_flight_limits() throws IOException {
+        // every file is larger than the byte limit
+        processor.setMaxInFlightBytes(16);
+        processor.setMaxInFlightFiles(1);
+        this.assertProcessDirectory();
+    }
+
+    @Test
+    public void test_processDirectory_latin1() throws IOException {
+        String sourceData = X12DocumentTestData.readFile("src/test/resources/x12.base.txt")
+            .replace("TEST*1", "TEST*café");
+        Files.write(inputFolder.resolve("latin1.txt"), sourceData.getBytes(StandardCharsets.ISO_8859_1));
+
+        List<X12BatchFileResult<StandardX12Document>> results = Collections.synchronizedList(new ArrayList<>());
+        processor.setFileResultListener(results::add);
+        processor.processDirectory(inputFolder);
+
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertNotNull(results.get(0).getDocument());
+    }
+
+    @Test
+    public void test_processDirectory_document_checker() throws IOException {
+        this.writeTestFile("x12.base.txt", "good.txt");
+        processor.setDocumentChecker((sourceFile, x12Doc) -> {
+            throw new X12ParserException("rejected " + sourceFile.getFileName());
+        });
+
+        List<X12BatchFileResult<StandardX12Document>> results = Collections.synchronizedList(new ArrayList<>());
+        processor.setFileResultListener(results::add);
+        X12BatchProgress progress = processor.processDirectory(inputFolder);
+
+        assertEquals(1, progress.getFilesFailed());
+        assertEquals(1, results.size());
+        assertFalse(results.get(0).isSuccess());
+        // the document is still available
+        assertNotNull(results.get(0).getDocument());
+
+        Path failedFolder = inputFolder.resolve(X12BatchProcessor.FAILED_FOLDER);
+        assertTrue(Files.exists(failedFolder.resolve("good.txt")));
+        String reason = new String(Files.readAllBytes(failedFolder.resolve("good.txt" + X12BatchProcessor.REASON_FILE_SUFFIX)),
+            StandardCharsets.UTF_8);
+        assertEquals("rejected good.txt", reason);
+    }
+
+    @Test
+    public void test_processDirectory_provided_executor() throws IOException {
+        this.writeTestFile("x12.base.txt", "good.txt");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            processor.setExecutorService(executor);
+            X12BatchProgress progress = processor.processDirectory(inputFolder);
+            assertEquals(1, progress.getFilesSucceeded());
+            // the executor belongs to the caller
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_processDirectory_custom_folders() throws IOException {
+        this.writeTestFile("x12.base.txt", "good.txt");
+        Path successFolder = inputFolder.resolve("out/ok");
+        Path failedFolder = inputFolder.resolve("out/rejected");
+
+        processor.processDirectory(inputFolder, successFolder, failedFolder);
+
+        assertTrue(Files.exists(successFolder.resolve("good.txt")));
+        assertFalse(Files.exists(inputFolder.resolve("good.txt")));
+    }
+
+    private void assertProcessDirectory() throws IOException {
+        this.writeTestFile("x12.base.txt", "good1.txt");
+        this.writeTestFile("x12.base.one.txt", "good2.txt");
+        this.writeTestFile("asn856/asn856.txt", "good3.txt");
+        this.writeTestFile("x12.missing.ISA.txt", "bad.txt");
+        // sub folders are ignored
+        Files.createDirectories(inputFolder.resolve("archive"));
+
+        List<X12BatchFileResult<StandardX12Document>> results = Collections.synchronizedList(new ArrayList<>());
+        List<X12BatchProgress> progressReports = Collections.synchronizedList(new ArrayList<>());
+        processor.setFileResultListener(results::add);
+        processor.setProgressListener(progressReports::add);
+        processor.setProgressInterval(2);
+
+        long totalBytes = 0;
+        try (Stream<Path> files = Files.list(inputFolder)) {
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                totalBytes += Files.size(file);
+            }
+        }
+
+        X12BatchProgress progress = processor.processDirectory(inputFolder);
+        assertEquals(4, progress.getFilesProcessed());
+        assertEquals(3, progress.getFilesSucceeded());
+        assertEquals(1, progress.getFilesFailed());
+        assertEquals(totalBytes, progress.getBytesProcessed());
+
+        // 2 during the batch and the final one
+        assertEquals(3, progressReports.size());
+
+        assertEquals(4, results.size());
+        for (X12BatchFileResult<StandardX12Document> result : results) {
+            String fileName = result.getSourceFile().getFileName().toString();
+            if (fileName.startsWith("good")) {
+                assertTrue(result.isSuccess());
+                assertNotNull(result.getDocument());
+                assertNull(result.getException());
+                assertEquals(inputFolder.resolve(X12BatchProcessor.SUCCESS_FOLDER).resolve(fileName), result.getTargetFile());
+            } else {
+                assertFalse(result.isSuccess());
+                assertTrue(result.getException() instanceof X12ParserException);
+                assertEquals(inputFolder.resolve(X12BatchProcessor.FAILED_FOLDER).resolve(fileName), result.getTargetFile());
+            }
+            assertTrue(Files.exists(result.getTargetFile()));
+            assertFalse(Files.exists(result.getSourceFile()));
+        }
+
+        Path reasonFile = inputFolder.resolve(X12BatchProcessor.FAILED_FOLDER).resolve("bad.txt" + X12BatchProcessor.REASON_FILE_SUFFIX);
+        assertTrue(Files.exists(reasonFile));
+        assertTrue(Files.isDirectory(inputFolder.resolve("archive")));
+    }
+
+    private void writeTestFile(String resource, String fileName) throws IOException {
+        byte[] bytes = X12DocumentTestData.readFileAsBytes("src/test/resources/" + resource);
+        Files.write(inputFolder.resolve(fileName), bytes);
+    }
+}
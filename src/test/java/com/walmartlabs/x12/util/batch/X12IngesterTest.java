@@ -0,0 +1,232 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.batch;
+
+import com.walmartlabs.x12.X12Parser;
+import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.standard.StandardX12Document;
+import com.walmartlabs.x12.standard.StandardX12Parser;
+import com.walmartlabs.x12.testing.util.X12DocumentTestData;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class X12IngesterTest {
+
+    private static final String VALID_MESSAGE = X12DocumentTestData.readFile("src/test/resources/x12.base.txt");
+    private static final String INVALID_MESSAGE = X12DocumentTestData.readFile("src/test/resources/x12.missing.ISA.txt");
+
+    @Test
+    public void test_invalid_arguments() {
+        assertThrows(IllegalArgumentException.class, () -> X12Ingester.withSharedParser(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> X12Ingester.withParserPerTask(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> X12Ingester.withSharedParser(new StandardX12Parser(), 0));
+    }
+
+    @Test
+    public void test_virtual_threads() {
+        try (X12Ingester<StandardX12Document> ingester = X12Ingester.withSharedParser(new StandardX12Parser(), 4)) {
+            // virtual threads are only used on Java 21 and later
+            assertEquals(Runtime.version().feature() >= 21, ingester.isUsingVirtualThreads());
+            assertEquals(4, ingester.getMaxConcurrency());
+        }
+    }
+
+    @Test
+    public void test_ingestMessages_null() throws InterruptedException {
+        try (X12Ingester<StandardX12Document> ingester = X12Ingester.withSharedParser(new StandardX12Parser(), 4)) {
+            List<X12IngestResult<StandardX12Document>> results = new ArrayList<>();
+            ingester.ingestMessages(null, true, results::add);
+            assertTrue(results.isEmpty());
+        }
+    }
+
+    @Test
+    public void test_ingestMessages_ordered() throws InterruptedException {
+        List<String> messages = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            messages.add(i % 5 == 0 ? INVALID_MESSAGE : VALID_MESSAGE);
+        }
+
+        Thread caller = Thread.currentThread();
+        List<X12IngestResult<StandardX12Document>> results = new ArrayList<>();
+        try (X12Ingester<StandardX12Document> ingester = X12Ingester.withSharedParser(new StandardX12Parser(), 3)) {
+            ingester.ingestMessages(messages, true, result -> {
+                assertSame(caller, Thread.currentThread());
+                results.add(result);
+            });
+        }
+
+        assertEquals(20, results.size());
+        for (int i = 0; i < 20; i++) {
+            X12IngestResult<StandardX12Document> result = results.get(i);
+            assertEquals(i, result.getIndex());
+            assertNull(result.getSourceFile());
+            if (i % 5 == 0) {
+                assertFalse(result.isSuccess());
+                assertTrue(result.getException() instanceof X12ParserException);
+                assertNull(result.getDocument());
+            } else {
+                assertTrue(result.isSuccess());
+                assertNotNull(result.getDocument());
+            }
+        }
+    }
+
+    @Test
+    public void test_ingestMessages_ordered_when_finished_out_of_order() throws InterruptedException {
+        // the first messages take the longest
+        X12Parser<StandardX12Document> parser = sourceData -> {
+            sleep(Long.parseLong(sourceData));
+            return new StandardX12Document();
+        };
+
+        List<Integer> indexes = new ArrayList<>();
+        try (X12Ingester<StandardX12Document> ingester = X12Ingester.withSharedParser(parser, 4)) {
+            ingester.ingestMessages(Arrays.asList("40", "30", "20", "10", "0"), true, result -> indexes.add(result.getIndex()));
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), indexes);
+    }
+
+    @Test
+    public void test_ingestMessages_unordered() throws InterruptedException {
+        X12Parser<StandardX12Document> parser = sourceData -> {
+            sleep(Long.parseLong(sourceData));
+            return new StandardX12Document();
+        };
+
+        List<Integer> indexes = new ArrayList<>();
+        try (X12Ingester<StandardX12Document> ingester = X12Ingester.withSharedParser(parser, 4)) {
+            ingester.ingestMessages(Arrays.asList("200", "0", "0", "0"), false, result -> indexes.add(result.getIndex()));
+        }
+        assertEquals(4, indexes.size());
+        // the slow message is not holding up the others
+        assertEquals(Integer.valueOf(0), indexes.get(3));
+
+        Collections.sort(indexes);
+        assertEquals(Arrays.asList(0, 1, 2, 3), indexes);
+    }
+
+    @Test
+    public void test_parser_per_task() throws InterruptedException {
+        AtomicInteger parsersCreated = new AtomicInteger();
+        List<X12IngestResult<StandardX12Document>> results = new ArrayList<>();
+        try (X12Ingester<StandardX12Document> ingester = X12Ingester.withParserPerTask(() -> {
+            parsersCreated.incrementAndGet();
+            return new StandardX12Parser();
+        }, 2)) {
+            ingester.ingestMessages(Arrays.asList(VALID_MESSAGE, VALID_MESSAGE, VALID_MESSAGE), false, results::add);
+        }
+        assertEquals(3, results.size());
+        assertEquals(3, parsersCreated.get());
+    }
+
+    @Test
+    public void test_concurrency_limit_shared_by_callers() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        X12Parser<StandardX12Document> parser = sourceData -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(5);
+            running.decrementAndGet();
+            return new StandardX12Document();
+        };
+
+        List<String> messages = Collections.nCopies(20, "message");
+        try (X12Ingester<StandardX12Document> ingester = X12Ingester.withSharedParser(parser, 2)) {
+            Thread otherCaller = new Thread(() -> {
+                try {
+                    ingester.ingestMessages(messages, false, result -> { });
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            otherCaller.start();
+            ingester.ingestMessages(messages, true, result -> { });
+            otherCaller.join();
+        }
+        assertTrue(maxRunning.get() <= 2, "max running " + maxRunning.get());
+    }
+
+    @Test
+    public void test_ingestFiles() throws IOException, InterruptedException {
+        Path folder = Files.createTempDirectory("x12-ingest");
+        try {
+            Path validFile = Files.write(folder.resolve("valid.txt"), VALID_MESSAGE.getBytes());
+            Path invalidFile = Files.write(folder.resolve("invalid.txt"), INVALID_MESSAGE.getBytes());
+            Path missingFile = folder.resolve("missing.txt");
+
+            List<X12IngestResult<StandardX12Document>> results = new ArrayList<>();
+            try (X12Ingester<StandardX12Document> ingester = X12Ingester.withSharedParser(new StandardX12Parser(), 2)) {
+                ingester.ingestFiles(Arrays.asList(validFile, invalidFile, missingFile), false, results::add);
+            }
+            results.sort(Comparator.comparingInt(X12IngestResult::getIndex));
+
+            assertEquals(3, results.size());
+            assertTrue(results.get(0).isSuccess());
+            assertEquals(validFile, results.get(0).getSourceFile());
+            assertTrue(results.get(1).getException() instanceof X12ParserException);
+            assertTrue(results.get(2).getException() instanceof IOException);
+        } finally {
+            Files.deleteIfExists(folder.resolve("valid.txt"));
+            Files.deleteIfExists(folder.resolve("invalid.txt"));
+            Files.deleteIfExists(folder);
+        }
+    }
+
+    @Test
+    public void test_provided_executor_not_shutdown() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<X12IngestResult<StandardX12Document>> results = new ArrayList<>();
+            try (X12Ingester<StandardX12Document> ingester = new X12Ingester<>(StandardX12Parser::new, 2, executor)) {
+                assertFalse(ingester.isUsingVirtualThreads());
+                ingester.ingestMessages(Arrays.asList(VALID_MESSAGE, VALID_MESSAGE), true, results::add);
+            }
+            assertEquals(2, results.size());
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.cache;
+
+import com.walmartlabs.x12.X12Parser;
+import com.walmartlabs.x12.dex.dx894.DefaultDex894Parser;
+import com.walmartlabs.x12.dex.dx894.Dex894;
+import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.testing.util.X12DocumentTestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CachingX12ParserTest {
+
+    private CountingParser countingParser;
+
+    @BeforeEach
+    public void init() {
+        countingParser = new CountingParser();
+    }
+
+    @Test
+    public void test_invalid_arguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingX12Parser<Dex894>(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new CachingX12Parser<>(countingParser, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CachingX12Parser<>(countingParser, 10, 0L));
+    }
+
+    @Test
+    public void test_parse_null_and_empty_not_cached() {
+        CachingX12Parser<Dex894> cachingParser = new CachingX12Parser<>(countingParser, 10);
+        assertNull(cachingParser.parse(null));
+        assertNull(cachingParser.parse(""));
+        assertNull(cachingParser.parse(""));
+        assertEquals(3, countingParser.parseCount);
+        assertEquals(0, cachingParser.size());
+    }
+
+    @Test
+    public void test_parse_resubmitted_document() {
+        CachingX12Parser<Dex894> cachingParser = new CachingX12Parser<>(countingParser, 10);
+        String sourceData = this.readDex("dex.sample.1.txt");
+
+        Dex894 dex = cachingParser.parse(sourceData);
+        assertNotNull(dex);
+        assertEquals(2, dex.getTransactions().size());
+
+        // a new String w/ the same content
+        Dex894 resubmittedDex = cachingParser.parse(new String(sourceData));
+        assertSame(dex, resubmittedDex);
+
+        assertEquals(1, countingParser.parseCount);
+        assertEquals(1, cachingParser.getHits());
+        assertEquals(1, cachingParser.getMisses());
+        assertEquals(1, cachingParser.size());
+        assertEquals(sourceData.length(), cachingParser.getCachedCharacters());
+    }
+
+    @Test
+    public void test_parse_different_documents() {
+        CachingX12Parser<Dex894> cachingParser = new CachingX12Parser<>(countingParser, 10);
+        Dex894 firstDex = cachingParser.parse(this.readDex("dex.sample.1.txt"));
+        Dex894 secondDex = cachingParser.parse(this.readDex("dex.sample.2.txt"));
+        assertNotSame(firstDex, secondDex);
+        assertEquals(2, countingParser.parseCount);
+        assertEquals(2, cachingParser.size());
+    }
+
+    @Test
+    public void test_parse_exception_replayed() {
+        CachingX12Parser<Dex894> cachingParser = new CachingX12Parser<>(countingParser, 10);
+        String sourceData = this.readDex("dex.sample.missing.dxe.txt");
+
+        X12ParserException first = assertThrows(X12ParserException.class, () -> cachingParser.parse(sourceData));
+        X12ParserException second = assertThrows(X12ParserException.class, () -> cachingParser.parse(sourceData));
+        assertNotSame(first, second);
+        assertSame(first, second.getCause());
+        assertSame(first.getErrorDetail(), second.getErrorDetail());
+        assertEquals(first.getMessage(), second.getMessage());
+
+        X12ParserException third = assertThrows(X12ParserException.class, () -> cachingParser.parse(sourceData));
+        assertNotSame(second, third);
+        assertSame(first, third.getCause());
+        assertEquals(1, countingParser.parseCount);
+        assertEquals(2, cachingParser.getHits());
+    }
+
+    @Test
+    public void test_evict_least_recently_used() {
+        CachingX12Parser<Dex894> cachingParser = new CachingX12Parser<>(countingParser, 2);
+        String sample1 = this.readDex("dex.sample.1.txt");
+        String sample2 = this.readDex("dex.sample.2.txt");
+        String sampleG22 = this.readDex("dex.sample.g22.txt");
+
+        cachingParser.parse(sample1);
+        cachingParser.parse(sample2);
+        // use sample 1 so sample 2 is the least recently used
+        cachingParser.parse(sample1);
+        cachingParser.parse(sampleG22);
+        assertEquals(2, cachingParser.size());
+        assertEquals(3, countingParser.parseCount);
+
+        cachingParser.parse(sample1);
+        assertEquals(3, countingParser.parseCount);
+        cachingParser.parse(sample2);
+        assertEquals(4, countingParser.parseCount);
+    }
+
+    @Test
+    public void test_evict_by_cached_characters() {
+        String sample1 = this.readDex("dex.sample.1.txt");
+        String sample2 = this.readDex("dex.sample.2.txt");
+        long maxCharacters = Math.max(sample1.length(), sample2.length());
+        CachingX12Parser<Dex894> cachingParser = new CachingX12Parser<>(countingParser, 10, maxCharacters);
+
+        cachingParser.parse(sample1);
+        cachingParser.parse(sample2);
+        assertEquals(1, cachingParser.size());
+        assertEquals(sample2.length(), cachingParser.getCachedCharacters());
+
+        cachingParser.parse(sample2);
+        assertEquals(2, countingParser.parseCount);
+    }
+
+    @Test
+    public void test_too_big_to_cache() {
+        String sourceData = this.readDex("dex.sample.1.txt");
+        CachingX12Parser<Dex894> cachingParser = new CachingX12Parser<>(countingParser, 10, sourceData.length() - 1);
+        cachingParser.parse(sourceData);
+        cachingParser.parse(sourceData);
+        assertEquals(2, countingParser.parseCount);
+        assertEquals(0, cachingParser.size());
+    }
+
+    @Test
+    public void test_hash_collision() {
+        // every source data has the same key
+        CachingX12Parser<Dex894> cachingParser = new CachingX12Parser<Dex894>(countingParser, 10) {
+            @Override
+            long hashSourceData(String sourceData) {
+                return 42L;
+            }
+        };
+        String sample1 = this.readDex("dex.sample.1.txt");
+        String sample2 = this.readDex("dex.sample.2.txt");
+
+        Dex894 first = cachingParser.parse(sample1);
+        Dex894 second = cachingParser.parse(sample2);
+        assertNotSame(first, second);
+        assertEquals(2, countingParser.parseCount);
+        assertEquals(0, cachingParser.getHits());
+
+        // the second one replaced the first
+        assertSame(second, cachingParser.parse(new String(sample2)));
+        assertEquals(1, cachingParser.size());
+        assertEquals(sample2.length(), cachingParser.getCachedCharacters());
+    }
+
+    @Test
+    public void test_clear() {
+        CachingX12Parser<Dex894> cachingParser = new CachingX12Parser<>(countingParser, 10);
+        String sourceData = this.readDex("dex.sample.1.txt");
+        cachingParser.parse(sourceData);
+        cachingParser.clear();
+        assertEquals(0, cachingParser.size());
+        assertEquals(0L, cachingParser.getCachedCharacters());
+        cachingParser.parse(sourceData);
+        assertEquals(2, countingParser.parseCount);
+    }
+
+    @Test
+    public void test_hash() {
+        assertEquals(CachingX12Parser.hash(0L, "ST*856*0001"), CachingX12Parser.hash(0L, new String("ST*856*0001")));
+        assertNotEquals(CachingX12Parser.hash(0L, "ST*856*0001"), CachingX12Parser.hash(0L, "ST*856*0002"));
+        assertNotEquals(CachingX12Parser.hash(0L, "ST*856*0001"), CachingX12Parser.hash(1L, "ST*856*0001"));
+        assertNotEquals(CachingX12Parser.hash(0L, "AB"), CachingX12Parser.hash(0L, "BA"));
+        assertNotEquals(CachingX12Parser.hash(0L, ""), CachingX12Parser.hash(0L, "\u0000"));
+    }
+
+    private String readDex(String fileName) {
+        return new String(X12DocumentTestData.readFileAsBytes("src/test/resources/dex/894/" + fileName));
+    }
+
+    private static class CountingParser implements X12Parser<Dex894> {
+        private final DefaultDex894Parser dexParser = new DefaultDex894Parser();
+        private int parseCount;
+
+        @Override
+        public Dex894 parse(String sourceData) {
+            parseCount++;
+            return dexParser.parse(sourceData);
+        }
+    }
+}
@@ -20,6 +20,9 @@ import com.walmartlabs.x12.dex.dx894.DefaultDex894Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -219,4 +222,64 @@ public class DefaultCrc16Test {
         System.out.println(value);
         assertTrue(crcUtil.verifyBlockOfText("27B8", sb.toString()));
     }
+
+    @Test
+    public void test_update_matches_generate() {
+        DefaultCrc16 crc16 = new DefaultCrc16();
+        int crc = crc16.update(DefaultCrc16.INITIAL_VALUE, "12345");
+        crc = crc16.update(crc, "6789");
+        assertEquals(0xBB3D, crc);
+        assertEquals("BB3D", DefaultCrc16.toHexString(crc));
+    }
+
+    @Test
+    public void test_update_non_ascii() {
+        DefaultCrc16 crc16 = new DefaultCrc16();
+        String blockText = "G83*1*1*EA*caf\u00e9 cr\u00e8me\r\n";
+        byte[] bytes = blockText.getBytes(StandardCharsets.UTF_8);
+        int expected = crc16.update(DefaultCrc16.INITIAL_VALUE, bytes, 0, bytes.length);
+        assertEquals(expected, crc16.update(DefaultCrc16.INITIAL_VALUE, blockText));
+    }
+
+    @Test
+    public void test_update_null() {
+        DefaultCrc16 crc16 = new DefaultCrc16();
+        assertEquals(DefaultCrc16.INITIAL_VALUE, crc16.update(DefaultCrc16.INITIAL_VALUE, null));
+    }
+
+    @Test
+    public void test_generateCyclicRedundancyCheck_bytes() {
+        byte[] bytes = "--123456789--".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(0xBB3D, crcUtil.generateCyclicRedundancyCheck(bytes, 2, 9));
+        assertEquals(0, crcUtil.generateCyclicRedundancyCheck(bytes, 2, 0));
+        assertEquals(0xBB3D, crcUtil.generateCyclicRedundancyCheck(ByteBuffer.wrap(bytes, 2, 9)));
+    }
+
+    @Test
+    public void test_generateCyclicRedundancyCheck_bytes_default_method() {
+        // only implements the String method
+        CyclicRedundancyCheck stringOnlyCrc = blockOfText -> crcUtil.generateCyclicRedundancyCheck(blockOfText);
+        byte[] bytes = "123456789".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(0xBB3D, stringOnlyCrc.generateCyclicRedundancyCheck(bytes, 0, bytes.length));
+        assertTrue(stringOnlyCrc.verify(0xBB3D, bytes, 0, bytes.length));
+    }
+
+    @Test
+    public void test_generateCyclicRedundancyCheck_bytes_default_method_non_ascii() {
+        // each byte should reach the String method as one char
+        CyclicRedundancyCheck firstCharCrc = blockOfText -> Integer.toHexString(blockOfText.charAt(0));
+        byte[] bytes = new byte[] {(byte) 0xFF, (byte) 0x80};
+        assertEquals(0xFF, firstCharCrc.generateCyclicRedundancyCheck(bytes, 0, 2));
+        assertEquals(0x80, firstCharCrc.generateCyclicRedundancyCheck(bytes, 1, 1));
+    }
+
+    @Test
+    public void test_parseCrcValue() {
+        assertEquals(0xBB3D, CyclicRedundancyCheck.parseCrcValue("BB3D"));
+        assertEquals(0x5FA, CyclicRedundancyCheck.parseCrcValue("05fa"));
+        assertEquals(-1, CyclicRedundancyCheck.parseCrcValue("BOGUS"));
+        assertEquals(-1, CyclicRedundancyCheck.parseCrcValue(""));
+        assertEquals(-1, CyclicRedundancyCheck.parseCrcValue(null));
+        assertEquals(-1, CyclicRedundancyCheck.parseCrcValue("FFFFFFFF"));
+    }
 }
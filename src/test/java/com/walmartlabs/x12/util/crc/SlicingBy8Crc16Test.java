@@ -0,0 +1,83 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.crc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SlicingBy8Crc16Test {
+
+    private DefaultCrc16 byteWiseCrc;
+    private SlicingBy8Crc16 slicingCrc;
+
+    @BeforeEach
+    public void init() {
+        byteWiseCrc = new DefaultCrc16();
+        slicingCrc = new SlicingBy8Crc16();
+    }
+
+    @Test
+    public void test_generateCyclicRedundancyCheck_123456789() {
+        assertEquals("BB3D", slicingCrc.generateCyclicRedundancyCheck("123456789"));
+        byte[] bytes = "123456789".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(0xBB3D, slicingCrc.generateCyclicRedundancyCheck(bytes, 0, bytes.length));
+    }
+
+    @Test
+    public void test_matches_byte_wise_for_all_lengths_and_offsets() {
+        Random random = new Random(894L);
+        byte[] bytes = new byte[300];
+        random.nextBytes(bytes);
+
+        for (int offset = 0; offset < 9; offset++) {
+            for (int length = 0; length <= bytes.length - offset; length++) {
+                assertEquals(byteWiseCrc.update(0x1234, bytes, offset, length), slicingCrc.update(0x1234, bytes, offset, length));
+            }
+        }
+    }
+
+    @Test
+    public void test_generateCyclicRedundancyCheck_byte_buffer() {
+        byte[] bytes = "xxhello\r\nworldxx".getBytes(StandardCharsets.US_ASCII);
+
+        ByteBuffer heapBuffer = ByteBuffer.wrap(bytes, 2, 12).slice();
+        assertEquals(0xFC4F, slicingCrc.generateCyclicRedundancyCheck(heapBuffer));
+        assertEquals(0, heapBuffer.position());
+
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(12);
+        directBuffer.put(bytes, 2, 12).flip();
+        assertEquals(0xFC4F, slicingCrc.generateCyclicRedundancyCheck(directBuffer));
+        assertEquals(0, directBuffer.position());
+    }
+
+    @Test
+    public void test_verify() {
+        byte[] bytes = "123456789".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(slicingCrc.verify(0xBB3D, bytes, 0, bytes.length));
+        assertTrue(slicingCrc.verify(CyclicRedundancyCheck.parseCrcValue("bb3d"), ByteBuffer.wrap(bytes)));
+        assertFalse(slicingCrc.verify(0xBB3E, bytes, 0, bytes.length));
+        assertFalse(slicingCrc.verify(0, bytes, 0, 0));
+    }
+}
@@ -0,0 +1,61 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class DocumentFingerprintTest {
+
+    @Test
+    public void test_fingerprint_same_document() {
+        assertEquals(
+            DocumentFingerprint.fingerprint("SENDER", "804190", "20201022"),
+            DocumentFingerprint.fingerprint("SENDER", "804190", "20201022"));
+    }
+
+    @Test
+    public void test_fingerprint_different_documents() {
+        long fingerprint = DocumentFingerprint.fingerprint("SENDER", "804190", "20201022");
+        assertNotEquals(fingerprint, DocumentFingerprint.fingerprint("SENDER", "804191", "20201022"));
+        assertNotEquals(fingerprint, DocumentFingerprint.fingerprint("SENDER", "804190", "20201023"));
+        assertNotEquals(fingerprint, DocumentFingerprint.fingerprint("OTHER", "804190", "20201022"));
+    }
+
+    @Test
+    public void test_fingerprint_parts_are_separated() {
+        assertNotEquals(
+            DocumentFingerprint.fingerprint("AB", "C", "D"),
+            DocumentFingerprint.fingerprint("A", "BC", "D"));
+    }
+
+    @Test
+    public void test_fingerprint_null_same_as_empty() {
+        assertEquals(
+            DocumentFingerprint.fingerprint(null, "804190", null),
+            DocumentFingerprint.fingerprint("", "804190", ""));
+    }
+
+    @Test
+    public void test_nonZero() {
+        assertNotEquals(0L, DocumentFingerprint.nonZero(0L));
+        assertEquals(42L, DocumentFingerprint.nonZero(42L));
+    }
+
+}
@@ -0,0 +1,123 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.dedup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FileDocumentFingerprintStoreTest {
+
+    private Path file;
+
+    @BeforeEach
+    public void init() throws IOException {
+        file = Files.createTempFile("x12-fingerprints", ".dat");
+        Files.delete(file);
+        file.toFile().deleteOnExit();
+    }
+
+    @Test
+    public void test_add_and_contains() throws IOException {
+        try (FileDocumentFingerprintStore store = new FileDocumentFingerprintStore(file)) {
+            assertFalse(store.contains("SENDER", "804190", "20201022"));
+            assertTrue(store.add("SENDER", "804190", "20201022"));
+            assertTrue(store.contains("SENDER", "804190", "20201022"));
+            assertFalse(store.add("SENDER", "804190", "20201022"));
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    public void test_addAllIfAbsent() throws IOException {
+        try (FileDocumentFingerprintStore store = new FileDocumentFingerprintStore(file, 16, true)) {
+            assertTrue(store.addAllIfAbsent(new long[] {1L, 2L}));
+            assertEquals(2, store.size());
+
+            // nothing is added when one of them is already in the store
+            assertFalse(store.addAllIfAbsent(new long[] {3L, 2L}));
+            assertEquals(2, store.size());
+            assertFalse(store.contains(3L));
+        }
+    }
+
+    @Test
+    public void test_reopen() throws IOException {
+        try (FileDocumentFingerprintStore store = new FileDocumentFingerprintStore(file)) {
+            store.add("SENDER", "804190", "20201022");
+            store.add("SENDER", "804191", "20201022");
+        }
+        try (FileDocumentFingerprintStore store = new FileDocumentFingerprintStore(file, 16, true)) {
+            assertEquals(2, store.size());
+            assertTrue(store.contains("SENDER", "804190", "20201022"));
+            assertTrue(store.contains("SENDER", "804191", "20201022"));
+            assertFalse(store.contains("SENDER", "804192", "20201022"));
+        }
+    }
+
+    @Test
+    public void test_resize() throws IOException {
+        try (FileDocumentFingerprintStore store = new FileDocumentFingerprintStore(file, 4, true)) {
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(store.add("SENDER", "DOC" + i, "20201022"));
+            }
+            assertEquals(1000, store.size());
+            assertEquals(2048, store.getCapacity());
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(store.contains("SENDER", "DOC" + i, "20201022"));
+                assertFalse(store.add("SENDER", "DOC" + i, "20201022"));
+            }
+        }
+        try (FileDocumentFingerprintStore store = new FileDocumentFingerprintStore(file)) {
+            assertEquals(1000, store.size());
+            assertTrue(store.contains("SENDER", "DOC999", "20201022"));
+        }
+    }
+
+    @Test
+    public void test_clear() throws IOException {
+        try (FileDocumentFingerprintStore store = new FileDocumentFingerprintStore(file, 16, true)) {
+            store.add(1L);
+            store.clear();
+            assertEquals(0, store.size());
+            assertFalse(store.contains(1L));
+        }
+    }
+
+    @Test
+    public void test_closed() throws IOException {
+        FileDocumentFingerprintStore store = new FileDocumentFingerprintStore(file);
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.add(1L));
+    }
+
+    @Test
+    public void test_not_a_store() throws IOException {
+        Files.write(file, "ISA*00*".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(IOException.class, () -> new FileDocumentFingerprintStore(file));
+    }
+
+}
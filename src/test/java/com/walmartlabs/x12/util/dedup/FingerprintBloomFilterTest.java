@@ -0,0 +1,66 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FingerprintBloomFilterTest {
+
+    @Test
+    public void test_no_false_negatives() {
+        FingerprintBloomFilter bloomFilter = new FingerprintBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put(DocumentFingerprint.fingerprint("SENDER", "DOC" + i, "20201022"));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(bloomFilter.mightContain(DocumentFingerprint.fingerprint("SENDER", "DOC" + i, "20201022")));
+        }
+    }
+
+    @Test
+    public void test_false_positive_rate() {
+        FingerprintBloomFilter bloomFilter = new FingerprintBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put(DocumentFingerprint.fingerprint("SENDER", "DOC" + i, "20201022"));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bloomFilter.mightContain(DocumentFingerprint.fingerprint("SENDER", "OTHER" + i, "20201022"))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void test_empty() {
+        FingerprintBloomFilter bloomFilter = new FingerprintBloomFilter(100, 0.01);
+        assertFalse(bloomFilter.mightContain(DocumentFingerprint.fingerprint("SENDER", "DOC", "20201022")));
+    }
+
+    @Test
+    public void test_invalid_arguments() {
+        assertThrows(IllegalArgumentException.class, () -> new FingerprintBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FingerprintBloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FingerprintBloomFilter(100, 1));
+    }
+
+}
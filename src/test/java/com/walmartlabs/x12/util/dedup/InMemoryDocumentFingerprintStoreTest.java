@@ -0,0 +1,132 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.util.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InMemoryDocumentFingerprintStoreTest {
+
+    @Test
+    public void test_add_and_contains() {
+        DocumentFingerprintStore store = new InMemoryDocumentFingerprintStore(10);
+        assertFalse(store.contains("SENDER", "804190", "20201022"));
+        assertTrue(store.add("SENDER", "804190", "20201022"));
+        assertTrue(store.contains("SENDER", "804190", "20201022"));
+        assertFalse(store.add("SENDER", "804190", "20201022"));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void test_addAllIfAbsent() {
+        DocumentFingerprintStore store = new InMemoryDocumentFingerprintStore(10);
+        assertTrue(store.addAllIfAbsent(new long[] {1L, 2L}));
+        assertEquals(2, store.size());
+
+        // nothing is added when one of them is already in the store
+        assertFalse(store.addAllIfAbsent(new long[] {3L, 2L}));
+        assertEquals(2, store.size());
+        assertFalse(store.contains(3L));
+
+        assertTrue(store.addAllIfAbsent(new long[0]));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void test_zero_fingerprint() {
+        DocumentFingerprintStore store = new InMemoryDocumentFingerprintStore(10);
+        assertFalse(store.contains(0L));
+        assertTrue(store.add(0L));
+        assertTrue(store.contains(0L));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void test_evicts_oldest_when_full() {
+        DocumentFingerprintStore store = new InMemoryDocumentFingerprintStore(3);
+        store.add(1L);
+        store.add(2L);
+        store.add(3L);
+        store.add(4L);
+
+        assertEquals(3, store.size());
+        assertFalse(store.contains(1L));
+        assertTrue(store.contains(2L));
+        assertTrue(store.contains(3L));
+        assertTrue(store.contains(4L));
+    }
+
+    @Test
+    public void test_evicts_many_colliding_fingerprints() {
+        // keys that land in the same slot exercise the
+        // shifting that is done when a key is removed
+        InMemoryDocumentFingerprintStore store = new InMemoryDocumentFingerprintStore(50);
+        for (long i = 1; i <= 1000; i++) {
+            store.add(i << 32 | i);
+            store.add(i << 40);
+        }
+        assertEquals(50, store.size());
+        for (long i = 976; i <= 1000; i++) {
+            assertTrue(store.contains(i << 32 | i));
+            assertTrue(store.contains(i << 40));
+        }
+        assertFalse(store.contains(975L << 32 | 975L));
+    }
+
+    @Test
+    public void test_evicts_expired() {
+        AtomicLong now = new AtomicLong(1000L);
+        DocumentFingerprintStore store = new InMemoryDocumentFingerprintStore(10, Duration.ofSeconds(5), now::get);
+        store.add(1L);
+        now.addAndGet(3000L);
+        store.add(2L);
+        assertEquals(2, store.size());
+
+        now.addAndGet(2000L);
+        assertFalse(store.contains(1L));
+        assertTrue(store.contains(2L));
+        assertEquals(1, store.size());
+
+        // expired documents can be added again
+        assertTrue(store.add(1L));
+    }
+
+    @Test
+    public void test_clear() {
+        DocumentFingerprintStore store = new InMemoryDocumentFingerprintStore(10);
+        store.add(1L);
+        store.add(2L);
+        store.clear();
+        assertEquals(0, store.size());
+        assertFalse(store.contains(1L));
+        assertTrue(store.add(1L));
+    }
+
+    @Test
+    public void test_invalid_arguments() {
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryDocumentFingerprintStore(0));
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryDocumentFingerprintStore(10, Duration.ZERO));
+    }
+
+}
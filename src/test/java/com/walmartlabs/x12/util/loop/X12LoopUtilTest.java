@@ -351,6 +351,24 @@ public class X12LoopUtilTest {
         assertEquals("HL segment with id (2) already exists", loopError.getInvalidValue());
     }
 
+    @Test
+    public void test_findHierarchicalLoops_error_segment_position() {
+        List<X12Segment> segmentList = new ArrayList<>();
+        segmentList.add(new X12Segment("HL*1**S"));
+        segmentList.add(new X12Segment("TD1*PLT94*1"));
+        segmentList.add(new X12Segment("HL*2*9*O"));
+
+        // the HL loops start after the ST and BSN
+        X12LoopHolder loopHolder = X12LoopUtil.organizeHierarchicalLoops(segmentList, 3);
+        assertEquals(1, loopHolder.getLoopErrors().size());
+        assertEquals("HL segment is missing parent", loopHolder.getLoopErrors().get(0).getIssueText());
+        assertEquals(Integer.valueOf(5), loopHolder.getLoopErrors().get(0).getSegmentPosition());
+
+        // the position is not known
+        loopHolder = X12LoopUtil.organizeHierarchicalLoops(segmentList);
+        assertNull(loopHolder.getLoopErrors().get(0).getSegmentPosition());
+    }
+
     @Test
     public void test_findHierarchicalLoops_multiple_loops() {
         List<X12Segment> segmentList = new ArrayList<>();
@@ -441,4 +459,61 @@ public class X12LoopUtilTest {
         assertEquals("expected HL segment but found TOP", loopError.getInvalidValue());
     }
 
+    @Test
+    public void test_findHierarchicalLoops_segments_copied_from_source() {
+        List<X12Segment> segmentList = new ArrayList<>();
+        segmentList.add(new X12Segment("HL*1**S"));
+        segmentList.add(new X12Segment("DTM*011*20190524"));
+        segmentList.add(new X12Segment("TD3*TL"));
+        segmentList.add(new X12Segment("HL*2*1*O"));
+        segmentList.add(new X12Segment("PRF*222"));
+        segmentList.add(new X12Segment("HL*3*2*P"));
+
+        X12LoopHolder loopHolder = X12LoopUtil.organizeHierarchicalLoops(segmentList);
+        assertNotNull(loopHolder);
+        assertEquals(1, loopHolder.getLoops().size());
+
+        X12Loop shipmentLoop = loopHolder.getLoops().get(0);
+        List<X12Segment> shipmentSegments = shipmentLoop.getSegments();
+        assertEquals(2, shipmentSegments.size());
+        assertEquals("DTM", shipmentSegments.get(0).getIdentifier());
+        assertEquals("TD3", shipmentSegments.get(1).getIdentifier());
+
+        X12Loop orderLoop = shipmentLoop.getChildLoops().get(0);
+        assertEquals(1, orderLoop.getSegments().size());
+        assertEquals("PRF", orderLoop.getSegments().get(0).getIdentifier());
+
+        // the last loop has no segments
+        X12Loop packLoop = orderLoop.getChildLoops().get(0);
+        assertNull(packLoop.getSegments());
+
+        // the loop segments are not a view on the source list
+        segmentList.clear();
+        assertEquals(2, shipmentSegments.size());
+    }
+
+    @Test
+    public void test_findHierarchicalLoops_repeated_id_segments() {
+        List<X12Segment> segmentList = new ArrayList<>();
+        segmentList.add(new X12Segment("HL*1**S"));
+        segmentList.add(new X12Segment("HL*2*1*O"));
+        segmentList.add(new X12Segment("PRF*222"));
+        segmentList.add(new X12Segment("HL*2*2*P"));
+        segmentList.add(new X12Segment("MAN*GM*56"));
+
+        X12LoopHolder loopHolder = X12LoopUtil.organizeHierarchicalLoops(segmentList);
+        assertNotNull(loopHolder);
+        assertEquals(1, loopHolder.getLoopErrors().size());
+
+        // segments after a repeated HL id
+        // are added to the first loop with that id
+        X12Loop orderLoop = loopHolder.getLoops().get(0).getChildLoops().get(0);
+        List<X12Segment> orderSegments = orderLoop.getSegments();
+        assertEquals(2, orderSegments.size());
+        assertEquals("PRF", orderSegments.get(0).getIdentifier());
+        assertEquals("MAN", orderSegments.get(1).getIdentifier());
+
+        X12Loop packLoop = orderLoop.getChildLoops().get(0);
+        assertNull(packLoop.getSegments());
+    }
 }
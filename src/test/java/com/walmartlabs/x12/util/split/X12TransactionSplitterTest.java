@@ -18,7 +18,12 @@ package com.walmartlabs.x12.util.split;
 
 import com.walmartlabs.x12.X12Segment;
 import com.walmartlabs.x12.exceptions.X12ParserException;
+import com.walmartlabs.x12.metrics.RecordingX12Metrics;
+import com.walmartlabs.x12.metrics.X12Phase;
+import com.walmartlabs.x12.rule.TrailerSegmentCountX12Rule;
 import com.walmartlabs.x12.rule.X12Rule;
+import com.walmartlabs.x12.rule.X12RuleVerifier;
+import com.walmartlabs.x12.rule.X12StreamingRule;
 import com.walmartlabs.x12.testing.util.X12DocumentTestData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -476,4 +481,112 @@ public class X12TransactionSplitterTest {
         Mockito.verify(mockRuleBoom, Mockito.times(1)).verify(ArgumentMatchers.anyList());
         Mockito.verify(mockRuleThree, Mockito.times(0)).verify(ArgumentMatchers.anyList());
     }
+
+    @Test
+    public void test_split_sourceData_streaming_rule_sees_each_segment_once() throws IOException {
+        String sourceData = X12DocumentTestData.readFile("src/test/resources/x12.base.one.txt");
+
+        List<String> seen = new ArrayList<>();
+        List<String> groupEnds = new ArrayList<>();
+        X12StreamingRule rule = () -> new X12RuleVerifier() {
+            @Override
+            public void onSegment(X12Segment segment) {
+                seen.add(segment.getIdentifier());
+            }
+
+            @Override
+            public void onGroupEnd(X12Segment groupTrailer) {
+                groupEnds.add(groupTrailer.getIdentifier());
+            }
+
+            @Override
+            public void onEnd() {
+                seen.add("END");
+            }
+        };
+        splitter.registerX12Rule(rule);
+
+        List<String> transactions = splitter.split(sourceData);
+        assertEquals(1, transactions.size());
+
+        assertEquals("ISA", seen.get(0));
+        assertEquals("GS", seen.get(1));
+        assertEquals("ST", seen.get(2));
+        assertEquals("IEA", seen.get(seen.size() - 2));
+        assertEquals("END", seen.get(seen.size() - 1));
+        assertEquals(sourceData.trim().split("\\r?\\n").length + 1, seen.size());
+        assertEquals(1, groupEnds.size());
+    }
+
+    @Test
+    public void test_split_sourceData_rule_reported_before_split_problem() throws IOException {
+        String sourceData = new StringBuilder()
+            .append("ISA*01*0000000000*01*0000000000*ZZ*ABCDEFGHIJKLMNO*ZZ*123456789012345*101127*1719*U*00400*000000049*0*P*>")
+            .append("\r\n")
+            .append("GS*SH*4405197800*999999999*20111206*1045*00*X*004060")
+            .append("\r\n")
+            .append("ST*AAA*0001")
+            .append("\r\n")
+            .append("TEST*1")
+            .append("\r\n")
+            // missing SE
+            .append("GE*1*00")
+            .append("\r\n")
+            .append("IEA*2*000000049")
+            .toString();
+
+        // without the rule the missing SE is reported
+        X12ParserException thrown = assertThrows(X12ParserException.class, () -> splitter.split(sourceData));
+        assertTrue(thrown.getMessage().contains("expected SE segment but got IEA"));
+
+        // the rule still sees the segments after the problem
+        splitter.registerX12Rule(new TrailerSegmentCountX12Rule());
+        thrown = assertThrows(X12ParserException.class, () -> splitter.split(sourceData));
+        assertTrue(thrown.getMessage().contains("incorrect number of groups on IEA trailer"));
+    }
+
+    @Test
+    public void test_split_metrics() {
+        RecordingX12Metrics metrics = new RecordingX12Metrics();
+        splitter.setMetrics(metrics);
+        String sourceData = X12DocumentTestData.readFile("src/test/resources/x12.base.txt");
+        List<String> transactions = splitter.split(sourceData);
+        assertEquals(4, transactions.size());
+
+        assertEquals(sourceData.length(), metrics.getTokenizedBytes());
+        assertEquals(18, metrics.getTokenizedSegments());
+        assertEquals(Integer.valueOf(2), metrics.getTransactionSets().get("AAA"));
+        assertEquals(Integer.valueOf(1), metrics.getTransactionSets().get("BBB"));
+        assertEquals(Integer.valueOf(1), metrics.getTransactionSets().get("YYZ"));
+        assertEquals(1, metrics.getPhaseCount(X12Phase.TOKENIZE));
+        assertEquals(1, metrics.getPhaseCount(X12Phase.ENVELOPE));
+        assertTrue(metrics.getErrors().isEmpty());
+    }
+
+    @Test
+    public void test_split_metrics_error() {
+        RecordingX12Metrics metrics = new RecordingX12Metrics();
+        splitter.setMetrics(metrics);
+        String sourceData = new StringBuilder()
+            .append("ISA*01*0000000000*01*0000000000*ZZ*ABCDEFGHIJKLMNO*ZZ*123456789012345*101127*1719*U*00400*000000049*0*P*>")
+            .append("\r\n")
+            .append("GS*SH*4405197800*999999999*20111206*1045*00*X*004060")
+            .append("\r\n")
+            .append("ST*AAA*0001")
+            .append("\r\n")
+            .append("TEST*1")
+            .append("\r\n")
+            // missing SE
+            .append("GE*1*00")
+            .append("\r\n")
+            .append("IEA*2*000000049")
+            .toString();
+        assertThrows(X12ParserException.class, () -> splitter.split(sourceData));
+
+        assertEquals(1, metrics.getErrors().size());
+        assertEquals("SE", metrics.getErrors().get(0));
+        assertEquals(0, metrics.getPhaseCount(X12Phase.ENVELOPE));
+        assertTrue(metrics.getTransactionSets().isEmpty());
+    }
+
 }
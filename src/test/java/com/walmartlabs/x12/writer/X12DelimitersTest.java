@@ -0,0 +1,53 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.writer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class X12DelimitersTest {
+
+    @Test
+    public void test_default() {
+        assertEquals('*', X12Delimiters.DEFAULT.getElementSeparator());
+        assertEquals(':', X12Delimiters.DEFAULT.getCompositeElementSeparator());
+        assertEquals("~", X12Delimiters.DEFAULT.getSegmentTerminator());
+    }
+
+    @Test
+    public void test_custom() {
+        X12Delimiters delimiters = new X12Delimiters('|', '>', "~\r\n");
+        assertEquals('|', delimiters.getElementSeparator());
+        assertEquals('>', delimiters.getCompositeElementSeparator());
+        assertEquals("~\r\n", delimiters.getSegmentTerminator());
+    }
+
+    @Test
+    public void test_segment_terminator_missing() {
+        assertThrows(IllegalArgumentException.class, () -> new X12Delimiters('*', ':', null));
+        assertThrows(IllegalArgumentException.class, () -> new X12Delimiters('*', ':', ""));
+    }
+
+    @Test
+    public void test_delimiters_overlap() {
+        assertThrows(IllegalArgumentException.class, () -> new X12Delimiters('*', '*', "~"));
+        assertThrows(IllegalArgumentException.class, () -> new X12Delimiters('*', ':', "*\n"));
+        assertThrows(IllegalArgumentException.class, () -> new X12Delimiters('*', ':', ":"));
+    }
+}
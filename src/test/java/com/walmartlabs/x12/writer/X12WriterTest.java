@@ -0,0 +1,371 @@
+/**
+Copyright (c) 2018-present, Walmart, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.walmartlabs.x12.writer;
+
+import com.walmartlabs.x12.X12Segment;
+import com.walmartlabs.x12.X12TransactionSet;
+import com.walmartlabs.x12.standard.InterchangeControlEnvelope;
+import com.walmartlabs.x12.standard.X12Group;
+import com.walmartlabs.x12.standard.X12Loop;
+import com.walmartlabs.x12.standard.txset.generic.GenericTransactionSet;
+import com.walmartlabs.x12.util.ConversionUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class X12WriterTest {
+
+    @Test
+    public void test_segment_elements() throws IOException {
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out);
+        x12Writer.startSegment("REF").element("BM").element(42).element("TEXT").endSegment();
+        x12Writer.flush();
+        assertEquals("REF*BM*42*TEXT~", out.toString());
+    }
+
+    @Test
+    public void test_segment_empty_elements() throws IOException {
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out);
+        x12Writer.startSegment("HL").element("1").element((CharSequence) null).element("S").endSegment();
+        x12Writer.startSegment("N4").element("SOLON").element("").element((Integer) null).endSegment();
+        x12Writer.startSegment("PID").element("F").element("").element("").element("").element("").element("RED WIDGET").endSegment();
+        x12Writer.flush();
+        assertEquals("HL*1**S~N4*SOLON~PID*F*****RED WIDGET~", out.toString());
+    }
+
+    @Test
+    public void test_segment_numbers() throws IOException {
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out);
+        x12Writer.startSegment("XX").element(0).element(-17).element(Long.MAX_VALUE).element(Long.MIN_VALUE).endSegment();
+        x12Writer.flush();
+        assertEquals("XX*0*-17*9223372036854775807*-9223372036854775808~", out.toString());
+    }
+
+    @Test
+    public void test_decimal_element() throws IOException {
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out);
+        x12Writer.startSegment("XX")
+            .decimalElement(18300, 4)
+            .decimalElement(-2700, 4)
+            .decimalElement(48000, 3)
+            .decimalElement(5, 3)
+            .decimalElement(-5, 2)
+            .decimalElement(0, 2)
+            .decimalElement(12345, 0)
+            .decimalElement(ConversionUtil.NO_VALUE, 2)
+            .decimalElement(480, 2)
+            .decimalElement(ConversionUtil.NO_VALUE, 2)
+            .endSegment();
+        x12Writer.flush();
+        assertEquals("XX*1.83*-0.27*48*0.005*-0.05*0*12345**4.8~", out.toString());
+    }
+
+    @Test
+    public void test_output_listener() throws IOException {
+        StringBuilder seen = new StringBuilder();
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out);
+        x12Writer.writeSegment("AA", "1");
+        x12Writer.setOutputListener((chars, offset, length) -> seen.append(chars, offset, length));
+        x12Writer.writeSegment("BB", "2");
+        for (int i = 0; i < 2000; i++) {
+            x12Writer.writeSegment("CC", "VALUE-" + i);
+        }
+        x12Writer.setOutputListener(null);
+        x12Writer.writeSegment("DD", "4");
+        x12Writer.flush();
+
+        String written = out.toString();
+        String expected = written.substring("AA*1~".length(), written.length() - "DD*4~".length());
+        assertEquals(expected, seen.toString());
+        assertTrue(expected.startsWith("BB*2~CC*VALUE-0~"));
+    }
+
+    @Test
+    public void test_composite_element() throws IOException {
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out, new X12Delimiters('|', '>', "\n"));
+        x12Writer.startSegment("SV1")
+            .compositeElement("HC", "99213", null, "")
+            .element("125")
+            .compositeElement(null, "")
+            .element("UN")
+            .endSegment();
+        x12Writer.flush();
+        assertEquals("SV1|HC>99213|125||UN\n", out.toString());
+    }
+
+    @Test
+    public void test_write_segment_uses_writer_delimiters() throws IOException {
+        X12Segment segment = new X12Segment("N4*ATLANTA*GA*31139-0020**SN*9999");
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out, new X12Delimiters('^', ':', "\r\n"));
+        x12Writer.writeSegment(segment);
+        x12Writer.writeSegment("DTM", "011", "20111206", null);
+        x12Writer.flush();
+        assertEquals("N4^ATLANTA^GA^31139-0020^^SN^9999\r\nDTM^011^20111206\r\n", out.toString());
+    }
+
+    @Test
+    public void test_write_loop() throws IOException {
+        X12Loop childLoop = new X12Loop();
+        childLoop.setHierarchicalId("2");
+        childLoop.setParentHierarchicalId("1");
+        childLoop.setCode("O");
+        childLoop.setSegments(Arrays.asList(new X12Segment("PRF*99999817")));
+
+        X12Loop loop = new X12Loop();
+        loop.setHierarchicalId("1");
+        loop.setCode("S");
+        loop.setSegments(Arrays.asList(new X12Segment("TD1*PCS*2"), new X12Segment("REF*BM*999999-001")));
+        loop.setChildLoops(Arrays.asList(childLoop));
+
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out);
+        x12Writer.writeLoop(loop);
+        x12Writer.flush();
+        assertEquals("HL*1**S~TD1*PCS*2~REF*BM*999999-001~HL*2*1*O~PRF*99999817~", out.toString());
+    }
+
+    @Test
+    public void test_segment_misuse() throws IOException {
+        X12Writer x12Writer = new X12Writer(new StringWriter());
+        assertThrows(IllegalStateException.class, () -> x12Writer.element("X"));
+        assertThrows(IllegalStateException.class, () -> x12Writer.endSegment());
+        x12Writer.startSegment("REF");
+        assertThrows(IllegalStateException.class, () -> x12Writer.startSegment("DTM"));
+    }
+
+    @Test
+    public void test_envelope_counts() throws IOException {
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out, new X12Delimiters('*', '>', "\n"));
+
+        x12Writer.startInterchange(this.interchange());
+        x12Writer.startGroup(this.group("49"));
+
+        x12Writer.startTransaction("856", "0001");
+        x12Writer.writeSegment("BSN", "00", "1");
+        x12Writer.writeSegment("HL", "1", null, "S");
+        assertEquals(3, x12Writer.getTransactionSegmentCount());
+        x12Writer.endTransaction();
+
+        x12Writer.startTransaction("856", "0002");
+        x12Writer.endTransaction();
+
+        x12Writer.endGroup();
+
+        x12Writer.startGroup(this.group("50"));
+        x12Writer.endGroup();
+
+        x12Writer.endInterchange();
+        x12Writer.flush();
+
+        String expected = new StringBuilder()
+            .append("ISA*01*0000000000*01*0000000000*ZZ*ABC            *ZZ*123456789012345*101127*1719*U*00400*000003438*0*P*>\n")
+            .append("GS*SH*4405197800*999999999*20111206*1045*49*X*004060\n")
+            .append("ST*856*0001\n")
+            .append("BSN*00*1\n")
+            .append("HL*1**S\n")
+            .append("SE*4*0001\n")
+            .append("ST*856*0002\n")
+            .append("SE*2*0002\n")
+            .append("GE*2*49\n")
+            .append("GS*SH*4405197800*999999999*20111206*1045*50*X*004060\n")
+            .append("GE*0*50\n")
+            .append("IEA*2*000003438\n")
+            .toString();
+        assertEquals(expected, out.toString());
+    }
+
+    @Test
+    public void test_interchange_control_number_padded() throws IOException {
+        InterchangeControlEnvelope isa = this.interchange();
+        isa.setInterchangeControlNumber("3438");
+
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out);
+        x12Writer.startInterchange(isa);
+        x12Writer.endInterchange();
+        x12Writer.flush();
+
+        String written = out.toString();
+        assertTrue(written.contains("*000003438*0*P*:~"));
+        assertTrue(written.endsWith("IEA*0*000003438~"));
+        // the ISA segment is always 106 characters
+        assertEquals(106, written.indexOf('~') + 1);
+    }
+
+    @Test
+    public void test_interchange_element_too_long() throws IOException {
+        InterchangeControlEnvelope isa = this.interchange();
+        isa.setInterchangeSenderId("THIS IS MORE THAN 15");
+        X12Writer x12Writer = new X12Writer(new StringWriter());
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class, () -> x12Writer.startInterchange(isa));
+        assertEquals("ISA06 must be at most 15 characters", iae.getMessage());
+    }
+
+    @Test
+    public void test_envelope_misuse() throws IOException {
+        X12Writer x12Writer = new X12Writer(new StringWriter());
+        assertThrows(IllegalStateException.class, () -> x12Writer.startGroup(this.group("1")));
+        assertThrows(IllegalStateException.class, () -> x12Writer.endInterchange());
+        assertThrows(IllegalStateException.class, () -> x12Writer.endTransaction());
+
+        x12Writer.startInterchange(this.interchange());
+        x12Writer.startGroup(this.group("1"));
+        x12Writer.startTransaction("856", "0001");
+        assertThrows(IllegalStateException.class, () -> x12Writer.endGroup());
+        x12Writer.endTransaction();
+        assertThrows(IllegalStateException.class, () -> x12Writer.endInterchange());
+    }
+
+    @Test
+    public void test_write_transaction_set_no_writer() throws IOException {
+        X12Writer x12Writer = new X12Writer(new StringWriter());
+        assertFalse(x12Writer.registerTransactionSetWriter(null));
+        GenericTransactionSet tx = new GenericTransactionSet();
+        tx.setTransactionSetIdentifierCode("850");
+        assertThrows(IllegalArgumentException.class, () -> x12Writer.writeTransactionSet(tx));
+    }
+
+    @Test
+    public void test_write_transaction_set() throws IOException {
+        StringWriter out = new StringWriter();
+        X12Writer x12Writer = new X12Writer(out);
+        assertTrue(x12Writer.registerTransactionSetWriter(new TransactionSetWriter() {
+            @Override
+            public boolean handlesTransactionSet(X12TransactionSet transactionSet) {
+                return "850".equals(transactionSet.getTransactionSetIdentifierCode());
+            }
+
+            @Override
+            public void writeTransactionSet(X12TransactionSet transactionSet, X12Writer writer) throws IOException {
+                writer.writeSegment("BEG", "00", "SA", "PO-1");
+            }
+        }));
+
+        GenericTransactionSet tx = new GenericTransactionSet();
+        tx.setTransactionSetIdentifierCode("850");
+        tx.setHeaderControlNumber("0001");
+        tx.setTransactionLineItems(3);
+
+        x12Writer.writeTransactionSet(tx);
+        x12Writer.flush();
+        assertEquals("ST*850*0001~BEG*00*SA*PO-1~CTT*3~SE*4*0001~", out.toString());
+    }
+
+    @Test
+    public void test_output_stream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (X12Writer x12Writer = new X12Writer(out)) {
+            x12Writer.writeSegment("N1", "SH", "CAFÉ 😀");
+        }
+        assertEquals("N1*SH*CAFÉ 😀~", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_output_stream_large() throws IOException {
+        List<String> values = new ArrayList<>();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            // odd length so a surrogate pair will cross the internal buffer
+            String value = "VALUE-" + i + "😀";
+            values.add(value);
+            expected.append("REF*XX*").append(value).append("~");
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        X12Writer x12Writer = new X12Writer(out);
+        for (String value : values) {
+            x12Writer.writeSegment("REF", "XX", value);
+        }
+        x12Writer.flush();
+        assertEquals(expected.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_byte_buffer() throws IOException {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(64);
+        X12Writer x12Writer = new X12Writer(byteBuffer);
+        x12Writer.writeSegment("REF", "BM", "999999-001");
+        x12Writer.flush();
+
+        byteBuffer.flip();
+        byte[] bytes = new byte[byteBuffer.remaining()];
+        byteBuffer.get(bytes);
+        assertEquals("REF*BM*999999-001~", new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void test_byte_buffer_overflow() throws IOException {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(8);
+        X12Writer x12Writer = new X12Writer(byteBuffer);
+        x12Writer.writeSegment("REF", "BM", "999999-001");
+        assertThrows(BufferOverflowException.class, () -> x12Writer.flush());
+    }
+
+    private InterchangeControlEnvelope interchange() {
+        InterchangeControlEnvelope isa = new InterchangeControlEnvelope();
+        isa.setAuthorizationInformationQualifier("01");
+        isa.setAuthorizationInformation("0000000000");
+        isa.setSecurityInformationQualifier("01");
+        isa.setSecurityInformation("0000000000");
+        isa.setInterchangeIdQualifier("ZZ");
+        isa.setInterchangeSenderId("ABC");
+        isa.setInterchangeIdQualifierTwo("ZZ");
+        isa.setInterchangeReceiverId("123456789012345");
+        isa.setInterchangeDate("101127");
+        isa.setInterchangeTime("1719");
+        isa.setInterchangeControlStandardId("U");
+        isa.setInterchangeControlVersion("00400");
+        isa.setInterchangeControlNumber("000003438");
+        isa.setAcknowledgementRequested("0");
+        isa.setUsageIndicator("P");
+        return isa;
+    }
+
+    private X12Group group(String controlNumber) {
+        X12Group group = new X12Group();
+        group.setFunctionalCodeId("SH");
+        group.setApplicationSenderCode("4405197800");
+        group.setApplicationReceiverCode("999999999");
+        group.setDate("20111206");
+        group.setTime("1045");
+        group.setHeaderGroupControlNumber(controlNumber);
+        group.setResponsibleAgencyCode("X");
+        group.setVersion("004060");
+        return group;
+    }
+}